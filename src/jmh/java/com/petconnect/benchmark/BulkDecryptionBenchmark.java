@@ -0,0 +1,97 @@
+package com.petconnect.benchmark;
+
+import com.petconnect.domain.user.entity.SecurityQuestions;
+import com.petconnect.domain.user.entity.User;
+import com.petconnect.domain.user.entity.UserProfile;
+import com.petconnect.domain.user.entity.UserType;
+import com.petconnect.infrastructure.security.encryption.DataEncryptionService;
+import com.petconnect.infrastructure.security.encryption.SensitiveDataDecryptionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Descriptografia de páginas de usuários (7 campos cada): serial na thread chamadora
+ * versus dividida no ForkJoinPool do serviço.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="BulkDecryption"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkDecryptionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private SensitiveDataDecryptionService serialService;
+    private SensitiveDataDecryptionService parallelService;
+    private List<User> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DataEncryptionService encryptionService = new DataEncryptionService();
+        ReflectionTestUtils.setField(encryptionService, "encryptionKey", "BenchmarkKey1234");
+        serialService = new SensitiveDataDecryptionService(encryptionService, 1, Integer.MAX_VALUE);
+        parallelService = new SensitiveDataDecryptionService(encryptionService, 0, 0);
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(User.builder()
+                    .id(UUID.randomUUID())
+                    .username("tutor" + i)
+                    .email(encryptionService.encryptSensitiveData("tutor" + i + "@petconnect.com.br"))
+                    .fullName("Tutor " + i)
+                    .userType(UserType.TUTOR)
+                    .active(true)
+                    .roles(Set.of("ROLE_TUTOR"))
+                    .userProfile(UserProfile.builder()
+                            .nome("Tutor " + i)
+                            .contactNumber(encryptionService.encryptSensitiveData("+55 (11) 98765-" + (1000 + i)))
+                            .cnpj(encryptionService.encryptSensitiveData("12.345.678/0001-90"))
+                            .crmv(encryptionService.encryptSensitiveData("CRMV-SP 123456-VET"))
+                            .build())
+                    .securityQuestions(SecurityQuestions.builder()
+                            .answer1(encryptionService.encryptSensitiveData("Rex"))
+                            .answer2(encryptionService.encryptSensitiveData("Ribeirão Preto"))
+                            .answer3(encryptionService.encryptSensitiveData("Feijoada"))
+                            .build())
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parallelService.shutdown();
+    }
+
+    @Benchmark
+    public List<User> decryptAllSerial() {
+        return serialService.decryptAll(page);
+    }
+
+    @Benchmark
+    public List<User> decryptAllParallel() {
+        return parallelService.decryptAll(page);
+    }
+}
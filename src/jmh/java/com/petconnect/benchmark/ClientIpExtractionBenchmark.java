@@ -0,0 +1,58 @@
+package com.petconnect.benchmark;
+
+import com.petconnect.infrastructure.security.interceptor.ClientIpResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extração do IP do cliente no ClientIpResolver: atrás de proxy confiável (X-Forwarded-For com
+ * vários saltos, lido da direita para a esquerda) e conexão direta de um IP não confiável.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ClientIpExtraction"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientIpExtractionBenchmark {
+
+    private ClientIpResolver resolver;
+    private MockHttpServletRequest proxiedRequest;
+    private MockHttpServletRequest directRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        resolver = new ClientIpResolver("10.0.0.0/8, 150.172.238.178");
+
+        proxiedRequest = new MockHttpServletRequest("GET", "/api/tutor/pets");
+        proxiedRequest.addHeader("X-Forwarded-For", "203.0.113.195, 70.41.3.18, 150.172.238.178");
+        proxiedRequest.setRemoteAddr("10.0.0.1");
+
+        directRequest = new MockHttpServletRequest("GET", "/api/tutor/pets");
+        directRequest.setRemoteAddr("198.51.100.23");
+    }
+
+    @Benchmark
+    public String forwardedForChain() {
+        return resolver.resolve(proxiedRequest);
+    }
+
+    @Benchmark
+    public String directConnection() {
+        return resolver.resolve(directRequest);
+    }
+}
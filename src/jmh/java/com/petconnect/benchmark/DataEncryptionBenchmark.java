@@ -0,0 +1,106 @@
+package com.petconnect.benchmark;
+
+import com.petconnect.domain.user.entity.SecurityQuestions;
+import com.petconnect.domain.user.entity.User;
+import com.petconnect.domain.user.entity.UserProfile;
+import com.petconnect.domain.user.entity.UserType;
+import com.petconnect.infrastructure.security.encryption.DataEncryptionService;
+import com.petconnect.infrastructure.security.encryption.SensitiveDataDecryptionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criptografia de campos sensíveis: um campo isolado e o usuário completo
+ * (email, contato, CNPJ, CRMV e três respostas de segurança).
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="DataEncryption"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataEncryptionBenchmark {
+
+    private static final String EMAIL = "veterinario.responsavel@petconnect.com.br";
+
+    private DataEncryptionService encryptionService;
+    private SensitiveDataDecryptionService decryptionService;
+    private String encryptedEmail;
+    private User encryptedUser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encryptionService = new DataEncryptionService();
+        ReflectionTestUtils.setField(encryptionService, "encryptionKey", "BenchmarkKey1234");
+        decryptionService = new SensitiveDataDecryptionService(encryptionService, 1, Integer.MAX_VALUE);
+        encryptedEmail = encryptionService.encryptSensitiveData(EMAIL);
+
+        encryptedUser = User.builder()
+                .id(UUID.randomUUID())
+                .username("vet.responsavel")
+                .email(encryptedEmail)
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .fullName("Veterinário Responsável")
+                .userType(UserType.TUTOR)
+                .active(true)
+                .roles(Set.of("ROLE_TUTOR"))
+                .userProfile(UserProfile.builder()
+                        .nome("Clínica Veterinária Central")
+                        .location("São Paulo - SP")
+                        .contactNumber(encryptionService.encryptSensitiveData("+55 (11) 98765-4321"))
+                        .cnpj(encryptionService.encryptSensitiveData("12.345.678/0001-90"))
+                        .crmv(encryptionService.encryptSensitiveData("CRMV-SP 123456-VET"))
+                        .build())
+                .securityQuestions(SecurityQuestions.builder()
+                        .question1("Nome do primeiro pet?")
+                        .answer1(encryptionService.encryptSensitiveData("Rex, o vira-lata caramelo"))
+                        .question2("Cidade natal?")
+                        .answer2(encryptionService.encryptSensitiveData("Ribeirão Preto - São Paulo"))
+                        .question3("Comida favorita?")
+                        .answer3(encryptionService.encryptSensitiveData("Feijoada com farofa e couve"))
+                        .build())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public String encryptSensitiveData() {
+        return encryptionService.encryptSensitiveData(EMAIL);
+    }
+
+    @Benchmark
+    public String decryptSensitiveData() {
+        return encryptionService.decryptSensitiveData(encryptedEmail);
+    }
+
+    @Benchmark
+    public User decryptUserSensitiveData() {
+        return decryptionService.decryptUserSensitiveData(encryptedUser);
+    }
+
+    /**
+     * Listagem que exibe só o email: a visão sob demanda paga um único AES
+     */
+    @Benchmark
+    public String decryptUserViewEmailOnly() {
+        return decryptionService.view(encryptedUser).getEmail();
+    }
+}
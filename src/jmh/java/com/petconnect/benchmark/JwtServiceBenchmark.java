@@ -0,0 +1,82 @@
+package com.petconnect.benchmark;
+
+import com.petconnect.infrastructure.security.jwt.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emissão de tokens e leitura de claims (com e sem o cache de tokens verificados).
+ * Sem chaveiro RSA injetado, mede a assinatura HS256.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="JwtService"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "NDA0RTYzNTI2NjU1NkE1ODZFMzI3MjM1NzUzODc4MkY0MTNGNDQyODQ3MkI0QjYy";
+
+    private JwtService jwtService;
+    private JwtService uncachedJwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = newJwtService(300);
+        // TTL zero: nada entra no cache e cada leitura refaz parse e verificação da assinatura
+        uncachedJwtService = newJwtService(0);
+        userDetails = User.withUsername("tutor@petconnect.com")
+                .password("irrelevant")
+                .authorities("ROLE_TUTOR")
+                .build();
+        token = jwtService.generateTokenWithUserInfo(userDetails, "6f1c2a9e-user", "TUTOR");
+    }
+
+    @Benchmark
+    public String generateTokenWithUserInfo() {
+        return jwtService.generateTokenWithUserInfo(userDetails, "6f1c2a9e-user", "TUTOR");
+    }
+
+    @Benchmark
+    public String extractUserIdCached() {
+        return jwtService.extractUserId(token);
+    }
+
+    @Benchmark
+    public String extractUserIdUncached() {
+        return uncachedJwtService.extractUserId(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValidCached() {
+        return jwtService.isTokenValid(token, userDetails);
+    }
+
+    private static JwtService newJwtService(long cacheTtlSeconds) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(service, "refreshExpiration", 7_200_000L);
+        ReflectionTestUtils.setField(service, "verifiedCacheTtlSeconds", cacheTtlSeconds);
+        return service;
+    }
+}
@@ -0,0 +1,51 @@
+package com.petconnect.benchmark;
+
+import com.petconnect.infrastructure.security.service.SecureAuthenticationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Força e validação de senha (sem hashing: nenhuma dependência do serviço é usada aqui).
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="PasswordValidation"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordValidationBenchmark {
+
+    @Param({"senha", "S3nh@Forte2024", "Uma#Frase-Secreta_Bem-Longa 2024!"})
+    private String password;
+
+    private SecureAuthenticationService authenticationService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        authenticationService = new SecureAuthenticationService(null, null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public int calculatePasswordStrength() {
+        return authenticationService.calculatePasswordStrength(password);
+    }
+
+    @Benchmark
+    public SecureAuthenticationService.PasswordValidationResult validatePassword() {
+        return authenticationService.validatePassword(password);
+    }
+}
@@ -0,0 +1,94 @@
+package com.petconnect.benchmark;
+
+import com.petconnect.infrastructure.security.ratelimit.RequestRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do rate limit no caminho quente do SecurityInterceptor.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="RateLimiter"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int DISTINCT_IPS = 4096;
+
+    private RequestRateLimiter permissive;
+    private RequestRateLimiter saturated;
+    private String[] ips;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Limites altos: mede a decisão "permitido" sem nunca rejeitar
+        permissive = new RequestRateLimiter(true, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                DISTINCT_IPS * 2, 600);
+        // Limite mínimo: após a primeira requisição toda chamada é rejeitada
+        saturated = new RequestRateLimiter(true, 1, 1, 1, 1, 1, 1, DISTINCT_IPS * 2, 600);
+
+        ips = new String[DISTINCT_IPS];
+        for (int i = 0; i < DISTINCT_IPS; i++) {
+            ips[i] = "10.0." + (i >> 8) + "." + (i & 0xFF);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        String ip(String[] ips) {
+            next = (next + 1) & (ips.length - 1);
+            return ips[next];
+        }
+    }
+
+    @Benchmark
+    public long unlimitedRoute() {
+        return permissive.tryAcquire("/api/public/pets", "10.0.0.1");
+    }
+
+    @Benchmark
+    public long allowedSingleIp() {
+        return permissive.tryAcquire("/api/tutor/pets", "10.0.0.1");
+    }
+
+    @Benchmark
+    public long allowedManyIps(Cursor cursor) {
+        return permissive.tryAcquire("/api/tutor/pets", cursor.ip(ips));
+    }
+
+    @Benchmark
+    public long rejectedSingleIp() {
+        return saturated.tryAcquire("/api/auth/login", "10.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long allowedSingleIpContended() {
+        return permissive.tryAcquire("/api/tutor/pets", "10.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long allowedManyIpsContended(Cursor cursor) {
+        return permissive.tryAcquire("/api/tutor/pets", cursor.ip(ips));
+    }
+}
@@ -0,0 +1,33 @@
+package com.petconnect.domain.security.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progresso persistido de uma recriptografia para a chave {@code targetKeyId}
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class EncryptionRotationCheckpoint {
+
+    private String jobName;
+    private int targetKeyId;
+    private UUID lastId;
+    private long rowsScanned;
+    private long rowsRewritten;
+    private long conflicts;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.petconnect.domain.security.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Par de chaves de assinatura de JWT: pública (X.509, Base64) e privada (PKCS#8, criptografada)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtSigningKey {
+
+    private String keyId;
+    private String algorithm;
+    private String publicKey;
+    private String privateKey;
+    private LocalDateTime createdAt;
+    private LocalDateTime activatesAt;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,56 @@
+package com.petconnect.domain.security.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Refresh token emitido, identificado pelo hash do seu jti e pertencente a uma família de rotação
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    private UUID id;
+    private String tokenHash;
+    private UUID familyId;
+    private String userId;
+    private String userIdentifier;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime usedAt;
+    private LocalDateTime revokedAt;
+
+    /**
+     * Cria o primeiro token de uma nova família (login)
+     */
+    public static RefreshToken issue(String tokenHash, String userId, String userIdentifier,
+                                     LocalDateTime expiresAt) {
+        return RefreshToken.builder()
+                .id(UUID.randomUUID())
+                .tokenHash(tokenHash)
+                .familyId(UUID.randomUUID())
+                .userId(userId)
+                .userIdentifier(userIdentifier)
+                .expiresAt(expiresAt)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Token já trocado por um sucessor: apresentá-lo de novo indica roubo/reuso
+     */
+    public boolean isUsed() {
+        return usedAt != null;
+    }
+
+    public boolean isRevoked() {
+        return revokedAt != null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.petconnect.domain.security.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token de acesso revogado antes da expiração (identificado pela claim jti)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    private String tokenId;
+    private String userIdentifier;
+    private LocalDateTime expiresAt;
+    private LocalDateTime revokedAt;
+    private String reason;
+
+    /**
+     * Cria o registro de revogação no instante atual
+     */
+    public static RevokedToken create(String tokenId, String userIdentifier, LocalDateTime expiresAt,
+                                      String reason) {
+        return RevokedToken.builder()
+                .tokenId(tokenId)
+                .userIdentifier(userIdentifier)
+                .expiresAt(expiresAt)
+                .revokedAt(LocalDateTime.now())
+                .reason(reason)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.petconnect.domain.security.entity;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros combináveis da listagem de logs de auditoria; campos nulos não filtram.
+ * O período é fechado no início e aberto no fim ({@code from <= t < to})
+ */
+@Value
+@Builder
+public class SecurityAuditLogFilter {
+    String eventType;
+    String userIdentifier;
+    String ipAddress;
+    LocalDateTime from;
+    LocalDateTime to;
+}
@@ -0,0 +1,21 @@
+package com.petconnect.domain.security.port;
+
+import com.petconnect.domain.security.entity.EncryptionRotationCheckpoint;
+
+import java.util.Optional;
+
+/**
+ * Port para repositório de checkpoints da recriptografia de dados sensíveis
+ */
+public interface EncryptionRotationCheckpointRepositoryPort {
+
+    /**
+     * Busca o checkpoint de um job
+     */
+    Optional<EncryptionRotationCheckpoint> findByJobName(String jobName);
+
+    /**
+     * Salva (cria ou atualiza) o checkpoint
+     */
+    EncryptionRotationCheckpoint save(EncryptionRotationCheckpoint checkpoint);
+}
@@ -0,0 +1,34 @@
+package com.petconnect.domain.security.port;
+
+import com.petconnect.domain.security.entity.JwtSigningKey;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Port para repositório de chaves de assinatura de JWT
+ */
+public interface JwtSigningKeyRepositoryPort {
+
+    /**
+     * Salva uma nova chave
+     */
+    JwtSigningKey save(JwtSigningKey signingKey);
+
+    /**
+     * Busca as chaves ainda não expiradas em {@code now} (ativas, pendentes e aposentadas)
+     */
+    List<JwtSigningKey> findUnexpired(LocalDateTime now);
+
+    /**
+     * Regrava a chave privada somente se ela ainda tiver o valor lido (usado na recriptografia)
+     *
+     * @return false quando a chave mudou ou não existe mais
+     */
+    boolean updatePrivateKey(String keyId, String currentValue, String newValue);
+
+    /**
+     * Remove chaves expiradas
+     */
+    int deleteExpired(LocalDateTime now);
+}
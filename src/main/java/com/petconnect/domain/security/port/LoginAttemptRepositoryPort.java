@@ -17,6 +17,24 @@ public interface LoginAttemptRepositoryPort {
      */
     LoginAttempt save(LoginAttempt loginAttempt);
     
+    /**
+     * Registra uma falha de forma atômica (um único comando): incrementa a contagem do par,
+     * bloqueia até {@code blockUntil} ao atingir {@code maxAttempts} e retorna o estado resultante.
+     * A contagem recomeça quando a última tentativa é anterior a {@code windowStart}
+     */
+    LoginAttempt recordFailedAttempt(String userIdentifier, String ipAddress, LocalDateTime now,
+                                     LocalDateTime windowStart, int maxAttempts, LocalDateTime blockUntil);
+    
+    /**
+     * Insere ou sobrescreve atomicamente o estado do par (identificador, IP)
+     */
+    void upsertAttemptState(LoginAttempt loginAttempt);
+    
+    /**
+     * Zera atomicamente contagem e bloqueio do par (identificador, IP)
+     */
+    void resetAttempts(String userIdentifier, String ipAddress);
+    
     /**
      * Busca uma tentativa por ID
      */
@@ -47,6 +65,11 @@ public interface LoginAttemptRepositoryPort {
      */
     List<LoginAttempt> findBlockedAttempts();
     
+    /**
+     * Busca tentativas ainda relevantes: bloqueios vigentes ou falhas desde o instante informado
+     */
+    List<LoginAttempt> findActiveAttempts(LocalDateTime since);
+    
     /**
      * Busca tentativas que devem ser desbloqueadas
      */
@@ -0,0 +1,40 @@
+package com.petconnect.domain.security.port;
+
+import com.petconnect.domain.security.entity.RefreshToken;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Port para repositório de refresh tokens
+ */
+public interface RefreshTokenRepositoryPort {
+
+    /**
+     * Salva um token emitido
+     */
+    RefreshToken save(RefreshToken refreshToken);
+
+    /**
+     * Consome atomicamente o token (se ainda válido e não usado) e cria o sucessor na mesma família.
+     * Retorna o sucessor, ou vazio quando o token é desconhecido, expirado, revogado ou já foi usado
+     */
+    Optional<RefreshToken> rotate(String tokenHash, String newTokenHash, LocalDateTime newExpiresAt,
+                                  LocalDateTime now);
+
+    /**
+     * Busca um token pelo hash do jti
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Revoga todos os tokens ainda ativos da família
+     */
+    int revokeFamily(UUID familyId, LocalDateTime now);
+
+    /**
+     * Remove tokens expirados
+     */
+    int deleteExpired(LocalDateTime now);
+}
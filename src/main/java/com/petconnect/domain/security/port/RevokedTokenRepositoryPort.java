@@ -0,0 +1,27 @@
+package com.petconnect.domain.security.port;
+
+import com.petconnect.domain.security.entity.RevokedToken;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Port para repositório de tokens revogados
+ */
+public interface RevokedTokenRepositoryPort {
+
+    /**
+     * Registra a revogação (idempotente para o mesmo token)
+     */
+    void save(RevokedToken revokedToken);
+
+    /**
+     * Busca revogações registradas a partir de {@code since} cujos tokens ainda não expiraram em {@code now}
+     */
+    List<RevokedToken> findActiveRevokedSince(LocalDateTime since, LocalDateTime now);
+
+    /**
+     * Remove revogações de tokens já expirados (não precisam mais ser lembradas)
+     */
+    int deleteExpired(LocalDateTime now);
+}
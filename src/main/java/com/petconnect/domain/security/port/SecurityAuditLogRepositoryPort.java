@@ -1,9 +1,11 @@
 package com.petconnect.domain.security.port;
 
 import com.petconnect.domain.security.entity.SecurityAuditLog;
+import com.petconnect.domain.security.entity.SecurityAuditLogFilter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -37,6 +39,13 @@ public interface SecurityAuditLogRepositoryPort {
      */
     List<SecurityAuditLog> findByIpAddress(String ipAddress);
     
+    /**
+     * Página de logs filtrados, do mais recente para o mais antigo, começando logo após a
+     * posição {@code (afterTimestamp, afterId)} (nulos para a primeira página)
+     */
+    List<SecurityAuditLog> findPage(SecurityAuditLogFilter filter, LocalDateTime afterTimestamp,
+                                    UUID afterId, int limit);
+    
     /**
      * Busca logs por período
      */
@@ -58,6 +67,21 @@ public interface SecurityAuditLogRepositoryPort {
      */
     long countLoginAttemptsByUserAndPeriod(String userIdentifier, LocalDateTime since);
     
+    /**
+     * Total de eventos desde {@code since}, a partir dos agregados por minuto
+     */
+    long countEventsSince(LocalDateTime since);
+    
+    /**
+     * Total de eventos por tipo desde {@code since}, a partir dos agregados por minuto
+     */
+    Map<String, Long> countEventsByTypeSince(LocalDateTime since);
+    
+    /**
+     * IPs com mais eventos desde {@code since}, em ordem decrescente, a partir dos agregados por minuto
+     */
+    Map<String, Long> findTopIpAddressesSince(LocalDateTime since, int limit);
+    
     /**
      * Remove logs antigos (para limpeza periódica)
      */
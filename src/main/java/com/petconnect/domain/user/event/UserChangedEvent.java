@@ -0,0 +1,14 @@
+package com.petconnect.domain.user.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Evento publicado quando um usuário é alterado ou removido na persistência
+ */
+@Value
+public class UserChangedEvent {
+    UUID userId;
+    String email;
+}
@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,4 +25,10 @@ public interface UserRepositoryPort {
 
     long countByUserType(String userType);
     User save(User user);
+
+    void updateSecurityEpoch(UUID id, long epochMillis);
+
+    void updatePassword(UUID id, String encodedPassword);
+
+    Map<UUID, Long> findSecurityEpochs();
 }
\ No newline at end of file
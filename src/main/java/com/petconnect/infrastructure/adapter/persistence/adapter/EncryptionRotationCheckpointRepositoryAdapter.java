@@ -0,0 +1,36 @@
+package com.petconnect.infrastructure.adapter.persistence.adapter;
+
+import com.petconnect.domain.security.entity.EncryptionRotationCheckpoint;
+import com.petconnect.domain.security.port.EncryptionRotationCheckpointRepositoryPort;
+import com.petconnect.infrastructure.adapter.persistence.mapper.EncryptionRotationCheckpointMapper;
+import com.petconnect.infrastructure.adapter.persistence.repository.EncryptionRotationCheckpointJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Implementação do repositório de checkpoints da recriptografia de dados sensíveis
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional
+public class EncryptionRotationCheckpointRepositoryAdapter implements EncryptionRotationCheckpointRepositoryPort {
+
+    private final EncryptionRotationCheckpointJpaRepository jpaRepository;
+    private final EncryptionRotationCheckpointMapper mapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EncryptionRotationCheckpoint> findByJobName(String jobName) {
+        return jpaRepository.findById(jobName).map(mapper::toDomain);
+    }
+
+    @Override
+    public EncryptionRotationCheckpoint save(EncryptionRotationCheckpoint checkpoint) {
+        var jpaEntity = mapper.toJpaEntity(checkpoint);
+        var savedEntity = jpaRepository.save(jpaEntity);
+        return mapper.toDomain(savedEntity);
+    }
+}
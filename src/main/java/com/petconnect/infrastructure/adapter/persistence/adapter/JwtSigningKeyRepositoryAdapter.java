@@ -0,0 +1,51 @@
+package com.petconnect.infrastructure.adapter.persistence.adapter;
+
+import com.petconnect.domain.security.entity.JwtSigningKey;
+import com.petconnect.domain.security.port.JwtSigningKeyRepositoryPort;
+import com.petconnect.infrastructure.adapter.persistence.mapper.JwtSigningKeyMapper;
+import com.petconnect.infrastructure.adapter.persistence.repository.JwtSigningKeyJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementação do repositório de chaves de assinatura de JWT
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional
+public class JwtSigningKeyRepositoryAdapter implements JwtSigningKeyRepositoryPort {
+
+    private final JwtSigningKeyJpaRepository jpaRepository;
+    private final JwtSigningKeyMapper mapper;
+
+    @Override
+    public JwtSigningKey save(JwtSigningKey signingKey) {
+        var jpaEntity = mapper.toJpaEntity(signingKey);
+        var savedEntity = jpaRepository.save(jpaEntity);
+        return mapper.toDomain(savedEntity);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<JwtSigningKey> findUnexpired(LocalDateTime now) {
+        return jpaRepository.findByExpiresAtAfterOrderByCreatedAtAsc(now)
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean updatePrivateKey(String keyId, String currentValue, String newValue) {
+        return jpaRepository.updatePrivateKey(keyId, currentValue, newValue) > 0;
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        return jpaRepository.deleteExpired(now);
+    }
+}
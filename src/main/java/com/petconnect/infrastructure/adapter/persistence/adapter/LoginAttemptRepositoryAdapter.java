@@ -3,6 +3,7 @@ package com.petconnect.infrastructure.adapter.persistence.adapter;
 import com.petconnect.domain.security.entity.LoginAttempt;
 import com.petconnect.domain.security.port.LoginAttemptRepositoryPort;
 import com.petconnect.infrastructure.adapter.persistence.mapper.LoginAttemptMapper;
+import com.petconnect.infrastructure.adapter.persistence.repository.LoginAttemptJdbcRepository;
 import com.petconnect.infrastructure.adapter.persistence.repository.LoginAttemptJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -23,6 +24,7 @@ import java.util.stream.Collectors;
 public class LoginAttemptRepositoryAdapter implements LoginAttemptRepositoryPort {
     
     private final LoginAttemptJpaRepository jpaRepository;
+    private final LoginAttemptJdbcRepository jdbcRepository;
     private final LoginAttemptMapper mapper;
     
     @Override
@@ -32,6 +34,30 @@ public class LoginAttemptRepositoryAdapter implements LoginAttemptRepositoryPort
         return mapper.toDomain(savedEntity);
     }
     
+    @Override
+    public LoginAttempt recordFailedAttempt(String userIdentifier, String ipAddress, LocalDateTime now,
+                                            LocalDateTime windowStart, int maxAttempts, LocalDateTime blockUntil) {
+        return mapper.toDomain(jdbcRepository.recordFailure(
+                userIdentifier, ipAddress, now, windowStart, maxAttempts, blockUntil));
+    }
+    
+    @Override
+    public void upsertAttemptState(LoginAttempt loginAttempt) {
+        jdbcRepository.upsertState(
+                loginAttempt.getUserIdentifier(),
+                loginAttempt.getIpAddress(),
+                loginAttempt.getAttemptTimestamp(),
+                Boolean.TRUE.equals(loginAttempt.getSuccess()),
+                loginAttempt.getAttemptCount() != null ? loginAttempt.getAttemptCount() : 0,
+                loginAttempt.getBlockedUntil(),
+                LocalDateTime.now());
+    }
+    
+    @Override
+    public void resetAttempts(String userIdentifier, String ipAddress) {
+        jdbcRepository.reset(userIdentifier, ipAddress, LocalDateTime.now());
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Optional<LoginAttempt> findById(UUID id) {
@@ -82,6 +108,15 @@ public class LoginAttemptRepositoryAdapter implements LoginAttemptRepositoryPort
                 .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<LoginAttempt> findActiveAttempts(LocalDateTime since) {
+        return jpaRepository.findActiveAttempts(since)
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<LoginAttempt> findAttemptsToUnblock() {
@@ -0,0 +1,58 @@
+package com.petconnect.infrastructure.adapter.persistence.adapter;
+
+import com.petconnect.domain.security.entity.RefreshToken;
+import com.petconnect.domain.security.port.RefreshTokenRepositoryPort;
+import com.petconnect.infrastructure.adapter.persistence.mapper.RefreshTokenMapper;
+import com.petconnect.infrastructure.adapter.persistence.repository.RefreshTokenJdbcRepository;
+import com.petconnect.infrastructure.adapter.persistence.repository.RefreshTokenJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implementação do repositório de refresh tokens
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional
+public class RefreshTokenRepositoryAdapter implements RefreshTokenRepositoryPort {
+
+    private final RefreshTokenJpaRepository jpaRepository;
+    private final RefreshTokenJdbcRepository jdbcRepository;
+    private final RefreshTokenMapper mapper;
+
+    @Override
+    public RefreshToken save(RefreshToken refreshToken) {
+        var jpaEntity = mapper.toJpaEntity(refreshToken);
+        var savedEntity = jpaRepository.save(jpaEntity);
+        return mapper.toDomain(savedEntity);
+    }
+
+    @Override
+    public Optional<RefreshToken> rotate(String tokenHash, String newTokenHash, LocalDateTime newExpiresAt,
+                                         LocalDateTime now) {
+        return jdbcRepository.rotate(tokenHash, newTokenHash, newExpiresAt, now)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        return jpaRepository.findByTokenHash(tokenHash)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public int revokeFamily(UUID familyId, LocalDateTime now) {
+        return jpaRepository.revokeFamily(familyId, now);
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        return jpaRepository.deleteExpired(now);
+    }
+}
@@ -0,0 +1,44 @@
+package com.petconnect.infrastructure.adapter.persistence.adapter;
+
+import com.petconnect.domain.security.entity.RevokedToken;
+import com.petconnect.domain.security.port.RevokedTokenRepositoryPort;
+import com.petconnect.infrastructure.adapter.persistence.mapper.RevokedTokenMapper;
+import com.petconnect.infrastructure.adapter.persistence.repository.RevokedTokenJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementação do repositório de tokens revogados
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional
+public class RevokedTokenRepositoryAdapter implements RevokedTokenRepositoryPort {
+
+    private final RevokedTokenJpaRepository jpaRepository;
+    private final RevokedTokenMapper mapper;
+
+    @Override
+    public void save(RevokedToken revokedToken) {
+        jpaRepository.save(mapper.toJpaEntity(revokedToken));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RevokedToken> findActiveRevokedSince(LocalDateTime since, LocalDateTime now) {
+        return jpaRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(since, now)
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        return jpaRepository.deleteExpired(now);
+    }
+}
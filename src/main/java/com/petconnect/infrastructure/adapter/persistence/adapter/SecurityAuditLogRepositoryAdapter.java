@@ -1,15 +1,19 @@
 package com.petconnect.infrastructure.adapter.persistence.adapter;
 
 import com.petconnect.domain.security.entity.SecurityAuditLog;
+import com.petconnect.domain.security.entity.SecurityAuditLogFilter;
 import com.petconnect.domain.security.port.SecurityAuditLogRepositoryPort;
 import com.petconnect.infrastructure.adapter.persistence.mapper.SecurityAuditLogMapper;
+import com.petconnect.infrastructure.adapter.persistence.repository.SecurityAuditLogJdbcRepository;
 import com.petconnect.infrastructure.adapter.persistence.repository.SecurityAuditLogJpaRepository;
+import com.petconnect.infrastructure.adapter.persistence.repository.SecurityAuditRollupJdbcRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -24,12 +28,16 @@ public class SecurityAuditLogRepositoryAdapter implements SecurityAuditLogReposi
     
     private final SecurityAuditLogJpaRepository jpaRepository;
     private final SecurityAuditLogMapper mapper;
+    private final SecurityAuditLogJdbcRepository jdbcRepository;
+    private final SecurityAuditRollupJdbcRepository rollupRepository;
     
     @Override
     public SecurityAuditLog save(SecurityAuditLog auditLog) {
         var jpaEntity = mapper.toJpaEntity(auditLog);
         var savedEntity = jpaRepository.save(jpaEntity);
-        return mapper.toDomain(savedEntity);
+        var saved = mapper.toDomain(savedEntity);
+        rollupRepository.increment(List.of(saved));
+        return saved;
     }
     
     @Override
@@ -39,6 +47,13 @@ public class SecurityAuditLogRepositoryAdapter implements SecurityAuditLogReposi
                 .map(mapper::toDomain);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<SecurityAuditLog> findPage(SecurityAuditLogFilter filter, LocalDateTime afterTimestamp,
+                                           UUID afterId, int limit) {
+        return jdbcRepository.findPage(filter, afterTimestamp, afterId, limit);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<SecurityAuditLog> findByEventType(String eventType) {
@@ -103,6 +118,25 @@ public class SecurityAuditLogRepositoryAdapter implements SecurityAuditLogReposi
     @Override
     public void deleteLogsOlderThan(LocalDateTime cutoffDate) {
         jpaRepository.deleteByEventTimestampBefore(cutoffDate);
+        rollupRepository.deleteBefore(cutoffDate);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long countEventsSince(LocalDateTime since) {
+        return rollupRepository.countSince(since);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> countEventsByTypeSince(LocalDateTime since) {
+        return rollupRepository.countByEventTypeSince(since);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> findTopIpAddressesSince(LocalDateTime since, int limit) {
+        return rollupRepository.topIpAddressesSince(since, limit);
     }
     
     @Override
@@ -1,16 +1,22 @@
 package com.petconnect.infrastructure.adapter.persistence.adapter;
 
 import com.petconnect.domain.user.entity.User;
+import com.petconnect.domain.user.event.UserChangedEvent;
 import com.petconnect.domain.user.port.UserRepositoryPort;
 import com.petconnect.infrastructure.adapter.persistence.entity.UserJpaEntity;
 import com.petconnect.infrastructure.adapter.persistence.mapper.UserMapper;
 import com.petconnect.infrastructure.adapter.persistence.repository.UserJpaRepository;
+import com.petconnect.infrastructure.security.encryption.BlindIndexService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -21,11 +27,15 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
 
     private final UserJpaRepository userJpaRepository;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlindIndexService blindIndexService;
 
     @Override
     public User save(User user) {
+        String email = user.getEmail();
         UserJpaEntity jpaEntity = userMapper.toJpaEntity(user);
         UserJpaEntity savedEntity = userJpaRepository.save(jpaEntity);
+        eventPublisher.publishEvent(new UserChangedEvent(savedEntity.getId(), email));
         return userMapper.toDomainEntity(savedEntity);
     }
 
@@ -41,9 +51,16 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
                 .map(userMapper::toDomainEntity);
     }
 
+    /**
+     * Busca pelo índice cego do email (uma única sonda no índice único email_bidx)
+     */
     @Override
     public Optional<User> findByEmail(String email) {
-        return userJpaRepository.findByEmail(email)
+        String emailBidx = blindIndexService.emailIndex(email);
+        if (emailBidx == null) {
+            return Optional.empty();
+        }
+        return userJpaRepository.findByEmailBidx(emailBidx)
                 .map(userMapper::toDomainEntity);
     }
 
@@ -72,10 +89,35 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
     @Override
     public void deleteById(UUID id) {
         userJpaRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id, null));
     }
 
     @Override
     public boolean existsByEmail(String email) {
-        return userJpaRepository.existsByEmail(email);
+        String emailBidx = blindIndexService.emailIndex(email);
+        return emailBidx != null && userJpaRepository.existsByEmailBidx(emailBidx);
+    }
+
+    @Override
+    @Transactional
+    public void updateSecurityEpoch(UUID id, long epochMillis) {
+        userJpaRepository.updateSecurityEpoch(id, epochMillis);
+    }
+
+    @Override
+    @Transactional
+    public void updatePassword(UUID id, String encodedPassword) {
+        userJpaRepository.updatePassword(id, encodedPassword);
+        eventPublisher.publishEvent(new UserChangedEvent(id, null));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Long> findSecurityEpochs() {
+        Map<UUID, Long> epochs = new HashMap<>();
+        for (Object[] row : userJpaRepository.findSecurityEpochs()) {
+            epochs.put(UUID.fromString(row[0].toString()), ((Number) row[1]).longValue());
+        }
+        return epochs;
     }
 }
@@ -0,0 +1,47 @@
+package com.petconnect.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "encryption_rotation_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EncryptionRotationCheckpointJpaEntity {
+
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Column(name = "target_key_id", nullable = false)
+    private int targetKeyId;
+
+    @Column(name = "last_id")
+    private UUID lastId;
+
+    @Column(name = "rows_scanned", nullable = false)
+    private long rowsScanned;
+
+    @Column(name = "rows_rewritten", nullable = false)
+    private long rowsRewritten;
+
+    @Column(name = "conflicts", nullable = false)
+    private long conflicts;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,43 @@
+package com.petconnect.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "jwt_signing_keys",
+       indexes = {
+           @Index(name = "idx_jwt_signing_keys_expires_at", columnList = "expires_at")
+       })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtSigningKeyJpaEntity {
+
+    @Id
+    @Column(name = "key_id", length = 64)
+    private String keyId;
+
+    @Column(name = "algorithm", nullable = false, length = 10)
+    private String algorithm;
+
+    @Column(name = "public_key", nullable = false, columnDefinition = "TEXT")
+    private String publicKey;
+
+    @Column(name = "private_key", nullable = false, columnDefinition = "TEXT")
+    private String privateKey;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "activates_at", nullable = false)
+    private LocalDateTime activatesAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
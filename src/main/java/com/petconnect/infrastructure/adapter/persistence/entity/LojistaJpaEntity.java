@@ -1,6 +1,8 @@
 package com.petconnect.infrastructure.adapter.persistence.entity;
 
 import com.petconnect.domain.lojista.entity.StoreType;
+import com.petconnect.infrastructure.security.encryption.Encrypted;
+import com.petconnect.infrastructure.security.encryption.SensitiveDataEncryptionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,6 +20,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(SensitiveDataEncryptionListener.class)
 public class LojistaJpaEntity {
     
     @Id
@@ -30,11 +33,13 @@ public class LojistaJpaEntity {
     @Column(nullable = false)
     private String nome;
     
+    @Encrypted
     @Column(unique = true)
     private String cnpj;
     
     private String location;
     
+    @Encrypted
     @Column(name = "contact_number")
     private String contactNumber;
     
@@ -0,0 +1,51 @@
+package com.petconnect.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "refresh_tokens",
+       indexes = {
+           @Index(name = "uk_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+           @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+           @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+       })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenJpaEntity {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    @Column(name = "user_id", nullable = false, length = 64)
+    private String userId;
+
+    @Column(name = "user_identifier", nullable = false)
+    private String userIdentifier;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,38 @@
+package com.petconnect.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_tokens",
+       indexes = {
+           @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+           @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+       })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedTokenJpaEntity {
+
+    @Id
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+
+    @Column(name = "user_identifier")
+    private String userIdentifier;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(name = "reason", length = 50)
+    private String reason;
+}
@@ -13,10 +13,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "security_audit_logs", 
        indexes = {
-           @Index(name = "idx_security_audit_event_type", columnList = "event_type"),
-           @Index(name = "idx_security_audit_user", columnList = "user_identifier"),
-           @Index(name = "idx_security_audit_timestamp", columnList = "event_timestamp"),
-           @Index(name = "idx_security_audit_ip", columnList = "ip_address")
+           @Index(name = "idx_security_audit_ts_id", columnList = "event_timestamp DESC, id DESC"),
+           @Index(name = "idx_security_audit_type_ts_id", columnList = "event_type, event_timestamp DESC, id DESC"),
+           @Index(name = "idx_security_audit_user_ts_id", columnList = "user_identifier, event_timestamp DESC, id DESC"),
+           @Index(name = "idx_security_audit_ip_ts_id", columnList = "ip_address, event_timestamp DESC, id DESC")
        })
 @Data
 @SuperBuilder
@@ -43,7 +43,7 @@ public class SecurityAuditLogJpaEntity extends AuditableEntity {
     @Column(name = "success")
     private Boolean success;
     
-    @Column(name = "event_timestamp")
+    @Column(name = "event_timestamp", nullable = false)
     private LocalDateTime eventTimestamp;
     
     @Column(name = "additional_data", columnDefinition = "TEXT")
@@ -2,6 +2,7 @@ package com.petconnect.infrastructure.adapter.persistence.entity;
 
 import com.petconnect.domain.shared.entity.AuditableEntity;
 import com.petconnect.domain.user.entity.UserType;
+import com.petconnect.infrastructure.security.encryption.Encrypted;
 import com.petconnect.infrastructure.security.encryption.SensitiveDataEncryptionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -26,9 +27,16 @@ public class UserJpaEntity extends AuditableEntity {
     @Column(unique = true, nullable = false)
     private String username;
     
+    @Encrypted
     @Column(unique = true, nullable = false)
     private String email;
     
+    /**
+     * HMAC do email normalizado (o email é criptografado com IV aleatório e não serve para busca)
+     */
+    @Column(name = "email_bidx", length = 64)
+    private String emailBidx;
+    
     @Column(nullable = false)
     private String password;
     
@@ -51,28 +59,35 @@ public class UserJpaEntity extends AuditableEntity {
     @Column(name = "security_question_1")
     private String securityQuestion1;
     
+    @Encrypted
     @Column(name = "security_answer_1")
     private String securityAnswer1;
     
     @Column(name = "security_question_2")
     private String securityQuestion2;
     
+    @Encrypted
     @Column(name = "security_answer_2")
     private String securityAnswer2;
     
     @Column(name = "security_question_3")
     private String securityQuestion3;
     
+    @Encrypted
     @Column(name = "security_answer_3")
     private String securityAnswer3;
     
     private String nome;
     private String location;
     
+    @Encrypted
     @Column(name = "contact_number")
     private String contactNumber;
     
+    @Encrypted
     private String cnpj;
+    
+    @Encrypted
     private String crmv;
     
     @Column(name = "store_type")
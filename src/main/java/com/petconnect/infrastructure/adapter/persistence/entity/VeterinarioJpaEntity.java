@@ -1,5 +1,7 @@
 package com.petconnect.infrastructure.adapter.persistence.entity;
 
+import com.petconnect.infrastructure.security.encryption.Encrypted;
+import com.petconnect.infrastructure.security.encryption.SensitiveDataEncryptionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,6 +19,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(SensitiveDataEncryptionListener.class)
 public class VeterinarioJpaEntity {
     
     @Id
@@ -29,11 +32,13 @@ public class VeterinarioJpaEntity {
     @Column(nullable = false)
     private String nome;
     
+    @Encrypted
     @Column(unique = true, nullable = false)
     private String crmv;
     
     private String location;
     
+    @Encrypted
     @Column(name = "contact_number")
     private String contactNumber;
     
@@ -0,0 +1,54 @@
+package com.petconnect.infrastructure.adapter.persistence.mapper;
+
+import com.petconnect.domain.security.entity.EncryptionRotationCheckpoint;
+import com.petconnect.infrastructure.adapter.persistence.entity.EncryptionRotationCheckpointJpaEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper para EncryptionRotationCheckpoint
+ */
+@Component
+public class EncryptionRotationCheckpointMapper {
+
+    /**
+     * Converte de domínio para JPA
+     */
+    public EncryptionRotationCheckpointJpaEntity toJpaEntity(EncryptionRotationCheckpoint domain) {
+        if (domain == null) {
+            return null;
+        }
+
+        return EncryptionRotationCheckpointJpaEntity.builder()
+                .jobName(domain.getJobName())
+                .targetKeyId(domain.getTargetKeyId())
+                .lastId(domain.getLastId())
+                .rowsScanned(domain.getRowsScanned())
+                .rowsRewritten(domain.getRowsRewritten())
+                .conflicts(domain.getConflicts())
+                .startedAt(domain.getStartedAt())
+                .updatedAt(domain.getUpdatedAt())
+                .completedAt(domain.getCompletedAt())
+                .build();
+    }
+
+    /**
+     * Converte de JPA para domínio
+     */
+    public EncryptionRotationCheckpoint toDomain(EncryptionRotationCheckpointJpaEntity jpaEntity) {
+        if (jpaEntity == null) {
+            return null;
+        }
+
+        return EncryptionRotationCheckpoint.builder()
+                .jobName(jpaEntity.getJobName())
+                .targetKeyId(jpaEntity.getTargetKeyId())
+                .lastId(jpaEntity.getLastId())
+                .rowsScanned(jpaEntity.getRowsScanned())
+                .rowsRewritten(jpaEntity.getRowsRewritten())
+                .conflicts(jpaEntity.getConflicts())
+                .startedAt(jpaEntity.getStartedAt())
+                .updatedAt(jpaEntity.getUpdatedAt())
+                .completedAt(jpaEntity.getCompletedAt())
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.petconnect.infrastructure.adapter.persistence.mapper;
+
+import com.petconnect.domain.security.entity.JwtSigningKey;
+import com.petconnect.infrastructure.adapter.persistence.entity.JwtSigningKeyJpaEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper para JwtSigningKey
+ */
+@Component
+public class JwtSigningKeyMapper {
+
+    /**
+     * Converte de domínio para JPA
+     */
+    public JwtSigningKeyJpaEntity toJpaEntity(JwtSigningKey domain) {
+        if (domain == null) {
+            return null;
+        }
+
+        return JwtSigningKeyJpaEntity.builder()
+                .keyId(domain.getKeyId())
+                .algorithm(domain.getAlgorithm())
+                .publicKey(domain.getPublicKey())
+                .privateKey(domain.getPrivateKey())
+                .createdAt(domain.getCreatedAt())
+                .activatesAt(domain.getActivatesAt())
+                .expiresAt(domain.getExpiresAt())
+                .build();
+    }
+
+    /**
+     * Converte de JPA para domínio
+     */
+    public JwtSigningKey toDomain(JwtSigningKeyJpaEntity jpaEntity) {
+        if (jpaEntity == null) {
+            return null;
+        }
+
+        return JwtSigningKey.builder()
+                .keyId(jpaEntity.getKeyId())
+                .algorithm(jpaEntity.getAlgorithm())
+                .publicKey(jpaEntity.getPublicKey())
+                .privateKey(jpaEntity.getPrivateKey())
+                .createdAt(jpaEntity.getCreatedAt())
+                .activatesAt(jpaEntity.getActivatesAt())
+                .expiresAt(jpaEntity.getExpiresAt())
+                .build();
+    }
+}
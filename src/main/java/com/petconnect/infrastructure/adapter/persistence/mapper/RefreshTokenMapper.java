@@ -0,0 +1,54 @@
+package com.petconnect.infrastructure.adapter.persistence.mapper;
+
+import com.petconnect.domain.security.entity.RefreshToken;
+import com.petconnect.infrastructure.adapter.persistence.entity.RefreshTokenJpaEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper para RefreshToken
+ */
+@Component
+public class RefreshTokenMapper {
+
+    /**
+     * Converte de domínio para JPA
+     */
+    public RefreshTokenJpaEntity toJpaEntity(RefreshToken domain) {
+        if (domain == null) {
+            return null;
+        }
+
+        return RefreshTokenJpaEntity.builder()
+                .id(domain.getId())
+                .tokenHash(domain.getTokenHash())
+                .familyId(domain.getFamilyId())
+                .userId(domain.getUserId())
+                .userIdentifier(domain.getUserIdentifier())
+                .expiresAt(domain.getExpiresAt())
+                .createdAt(domain.getCreatedAt())
+                .usedAt(domain.getUsedAt())
+                .revokedAt(domain.getRevokedAt())
+                .build();
+    }
+
+    /**
+     * Converte de JPA para domínio
+     */
+    public RefreshToken toDomain(RefreshTokenJpaEntity jpaEntity) {
+        if (jpaEntity == null) {
+            return null;
+        }
+
+        return RefreshToken.builder()
+                .id(jpaEntity.getId())
+                .tokenHash(jpaEntity.getTokenHash())
+                .familyId(jpaEntity.getFamilyId())
+                .userId(jpaEntity.getUserId())
+                .userIdentifier(jpaEntity.getUserIdentifier())
+                .expiresAt(jpaEntity.getExpiresAt())
+                .createdAt(jpaEntity.getCreatedAt())
+                .usedAt(jpaEntity.getUsedAt())
+                .revokedAt(jpaEntity.getRevokedAt())
+                .build();
+    }
+}
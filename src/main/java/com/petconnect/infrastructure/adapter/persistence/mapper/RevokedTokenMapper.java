@@ -0,0 +1,46 @@
+package com.petconnect.infrastructure.adapter.persistence.mapper;
+
+import com.petconnect.domain.security.entity.RevokedToken;
+import com.petconnect.infrastructure.adapter.persistence.entity.RevokedTokenJpaEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper para RevokedToken
+ */
+@Component
+public class RevokedTokenMapper {
+
+    /**
+     * Converte de domínio para JPA
+     */
+    public RevokedTokenJpaEntity toJpaEntity(RevokedToken domain) {
+        if (domain == null) {
+            return null;
+        }
+
+        return RevokedTokenJpaEntity.builder()
+                .tokenId(domain.getTokenId())
+                .userIdentifier(domain.getUserIdentifier())
+                .expiresAt(domain.getExpiresAt())
+                .revokedAt(domain.getRevokedAt())
+                .reason(domain.getReason())
+                .build();
+    }
+
+    /**
+     * Converte de JPA para domínio
+     */
+    public RevokedToken toDomain(RevokedTokenJpaEntity jpaEntity) {
+        if (jpaEntity == null) {
+            return null;
+        }
+
+        return RevokedToken.builder()
+                .tokenId(jpaEntity.getTokenId())
+                .userIdentifier(jpaEntity.getUserIdentifier())
+                .expiresAt(jpaEntity.getExpiresAt())
+                .revokedAt(jpaEntity.getRevokedAt())
+                .reason(jpaEntity.getReason())
+                .build();
+    }
+}
@@ -4,6 +4,8 @@ import com.petconnect.domain.security.entity.SecurityAuditLog;
 import com.petconnect.infrastructure.adapter.persistence.entity.SecurityAuditLogJpaEntity;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+
 /**
  * Mapper para SecurityAuditLog
  */
@@ -26,7 +28,8 @@ public class SecurityAuditLogMapper {
                 .ipAddress(domain.getIpAddress())
                 .userAgent(domain.getUserAgent())
                 .success(domain.getSuccess())
-                .eventTimestamp(domain.getEventTimestamp())
+                .eventTimestamp(domain.getEventTimestamp() != null
+                        ? domain.getEventTimestamp() : LocalDateTime.now())
                 .additionalData(domain.getAdditionalData())
                 .createdAt(domain.getCreatedAt())
                 .updatedAt(domain.getUpdatedAt())
@@ -0,0 +1,122 @@
+package com.petconnect.infrastructure.adapter.persistence.migration;
+
+import com.petconnect.infrastructure.security.encryption.BlindIndexService;
+import com.petconnect.infrastructure.security.encryption.DataEncryptionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Preenche users.email_bidx para as linhas existentes, em lotes percorridos por id.
+ *
+ * É um bean Spring (registrado no Flyway pelo Spring Boot) porque precisa das chaves de
+ * criptografia e de índice cego da aplicação. Emails duplicados (possíveis enquanto a
+ * unicidade comparava texto cifrado) ficam sem índice após o primeiro e são registrados no log.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class V20__BackfillUsersEmailBlindIndex extends BaseJavaMigration {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String SELECT_BATCH_SQL =
+            "SELECT id, email FROM users WHERE email_bidx IS NULL AND id > ? ORDER BY id LIMIT " + BATCH_SIZE;
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET email_bidx = ? WHERE id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM users other WHERE other.email_bidx = ?)";
+
+    private final DataEncryptionService dataEncryptionService;
+    private final BlindIndexService blindIndexService;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        UUID lastId = new UUID(0L, 0L);
+        int updated = 0;
+        int skipped = 0;
+
+        try (PreparedStatement select = connection.prepareStatement(SELECT_BATCH_SQL);
+             PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            while (true) {
+                List<UserEmail> batch = readBatch(select, lastId);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1).id;
+
+                for (UserEmail user : batch) {
+                    String emailBidx = toBlindIndex(user);
+                    if (emailBidx == null) {
+                        skipped++;
+                        continue;
+                    }
+                    update.setString(1, emailBidx);
+                    update.setObject(2, user.id);
+                    update.setString(3, emailBidx);
+                    update.addBatch();
+                }
+                // Cada UPDATE enxerga os anteriores da mesma transação: o NOT EXISTS descarta duplicados
+                for (int count : update.executeBatch()) {
+                    if (count > 0) {
+                        updated++;
+                    } else {
+                        skipped++;
+                    }
+                }
+            }
+        }
+
+        log.info("Índice cego do email preenchido para {} usuários ({} sem índice)", updated, skipped);
+    }
+
+    private List<UserEmail> readBatch(PreparedStatement select, UUID lastId) throws SQLException {
+        select.setObject(1, lastId);
+        List<UserEmail> batch = new ArrayList<>(BATCH_SIZE);
+        try (ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                batch.add(new UserEmail(rs.getObject(1, UUID.class), rs.getString(2)));
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Emails gravados antes da criptografia estão em claro; os demais são descriptografados
+     */
+    private String toBlindIndex(UserEmail user) {
+        if (user.email == null) {
+            return null;
+        }
+        try {
+            String email = user.email.indexOf('@') >= 0
+                    ? user.email
+                    : dataEncryptionService.decryptSensitiveData(user.email);
+            return blindIndexService.emailIndex(email);
+        } catch (Exception e) {
+            log.warn("Email do usuário {} não pôde ser lido; índice não preenchido", user.id);
+            return null;
+        }
+    }
+
+    private static final class UserEmail {
+        private final UUID id;
+        private final String email;
+
+        private UserEmail(UUID id, String email) {
+            this.id = id;
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.petconnect.infrastructure.adapter.persistence.repository;
+
+import com.petconnect.infrastructure.adapter.persistence.entity.EncryptionRotationCheckpointJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório JPA para checkpoints da recriptografia de dados sensíveis
+ */
+@Repository
+public interface EncryptionRotationCheckpointJpaRepository
+        extends JpaRepository<EncryptionRotationCheckpointJpaEntity, String> {
+}
@@ -0,0 +1,31 @@
+package com.petconnect.infrastructure.adapter.persistence.repository;
+
+import com.petconnect.infrastructure.adapter.persistence.entity.JwtSigningKeyJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório JPA para chaves de assinatura de JWT
+ */
+@Repository
+public interface JwtSigningKeyJpaRepository extends JpaRepository<JwtSigningKeyJpaEntity, String> {
+
+    List<JwtSigningKeyJpaEntity> findByExpiresAtAfterOrderByCreatedAtAsc(LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE JwtSigningKeyJpaEntity k SET k.privateKey = :newValue "
+            + "WHERE k.keyId = :keyId AND k.privateKey = :currentValue")
+    int updatePrivateKey(@Param("keyId") String keyId,
+                         @Param("currentValue") String currentValue,
+                         @Param("newValue") String newValue);
+
+    @Modifying
+    @Query("DELETE FROM JwtSigningKeyJpaEntity k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
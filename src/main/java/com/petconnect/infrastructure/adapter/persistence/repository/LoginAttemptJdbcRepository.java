@@ -0,0 +1,129 @@
+package com.petconnect.infrastructure.adapter.persistence.repository;
+
+import com.petconnect.infrastructure.adapter.persistence.entity.LoginAttemptJpaEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Operações atômicas (um único comando SQL) sobre {@code login_attempts}, seguras para
+ * várias instâncias da aplicação compartilhando o mesmo PostgreSQL.
+ *
+ * Usa o índice único {@code uk_login_attempts_user_ip} com {@code INSERT ... ON CONFLICT},
+ * evitando o read-modify-write com {@code @Version} da entidade JPA.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LoginAttemptJdbcRepository {
+
+    /**
+     * IP usado quando a requisição não tem IP conhecido (NULL não conflita no índice único)
+     */
+    public static final String UNKNOWN_IP = "unknown";
+
+    /**
+     * Nova contagem: recomeça em 1 quando a última tentativa saiu da janela ou o bloqueio expirou
+     */
+    private static final String NEXT_ATTEMPT_COUNT =
+            "CASE WHEN login_attempts.attempt_timestamp < :windowStart " +
+            "OR (login_attempts.blocked_until IS NOT NULL AND login_attempts.blocked_until <= :now) " +
+            "THEN 1 ELSE COALESCE(login_attempts.attempt_count, 0) + 1 END";
+
+    private static final String RECORD_FAILURE_SQL =
+            "INSERT INTO login_attempts (id, user_identifier, ip_address, attempt_timestamp, success, " +
+            "attempt_count, blocked_until, created_at, updated_at, version) " +
+            "VALUES (:id, :userIdentifier, :ipAddress, :now, FALSE, 1, " +
+            "CASE WHEN 1 >= :maxAttempts THEN CAST(:blockUntil AS TIMESTAMP) END, :now, :now, 0) " +
+            "ON CONFLICT (user_identifier, ip_address) DO UPDATE SET " +
+            "attempt_count = " + NEXT_ATTEMPT_COUNT + ", " +
+            "blocked_until = CASE " +
+            "WHEN login_attempts.blocked_until > :now THEN login_attempts.blocked_until " +
+            "WHEN " + NEXT_ATTEMPT_COUNT + " >= :maxAttempts THEN CAST(:blockUntil AS TIMESTAMP) " +
+            "ELSE NULL END, " +
+            "attempt_timestamp = :now, success = FALSE, updated_at = :now, " +
+            "version = login_attempts.version + 1 " +
+            "RETURNING id, attempt_count, blocked_until";
+
+    private static final String UPSERT_STATE_SQL =
+            "INSERT INTO login_attempts (id, user_identifier, ip_address, attempt_timestamp, success, " +
+            "attempt_count, blocked_until, created_at, updated_at, version) " +
+            "VALUES (:id, :userIdentifier, :ipAddress, :attemptTimestamp, :success, :attemptCount, " +
+            "CAST(:blockedUntil AS TIMESTAMP), :now, :now, 0) " +
+            "ON CONFLICT (user_identifier, ip_address) DO UPDATE SET " +
+            "attempt_timestamp = EXCLUDED.attempt_timestamp, success = EXCLUDED.success, " +
+            "attempt_count = EXCLUDED.attempt_count, blocked_until = EXCLUDED.blocked_until, " +
+            "updated_at = EXCLUDED.updated_at, version = login_attempts.version + 1";
+
+    private static final String RESET_SQL =
+            "UPDATE login_attempts SET attempt_count = 0, blocked_until = NULL, success = TRUE, " +
+            "updated_at = :now, version = version + 1 " +
+            "WHERE user_identifier = :userIdentifier AND ip_address = :ipAddress " +
+            "AND (attempt_count > 0 OR blocked_until IS NOT NULL)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Incrementa a contagem de falhas e bloqueia ao atingir o limite, retornando o estado resultante
+     */
+    public LoginAttemptJpaEntity recordFailure(String userIdentifier, String ipAddress, LocalDateTime now,
+                                               LocalDateTime windowStart, int maxAttempts, LocalDateTime blockUntil) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", UUID.randomUUID())
+                .addValue("userIdentifier", userIdentifier)
+                .addValue("ipAddress", normalizeIp(ipAddress))
+                .addValue("now", now)
+                .addValue("windowStart", windowStart)
+                .addValue("maxAttempts", maxAttempts)
+                .addValue("blockUntil", blockUntil);
+
+        return jdbcTemplate.queryForObject(RECORD_FAILURE_SQL, params, (rs, rowNum) -> {
+            Timestamp blockedUntil = rs.getTimestamp("blocked_until");
+            return LoginAttemptJpaEntity.builder()
+                    .id(rs.getObject("id", UUID.class))
+                    .userIdentifier(userIdentifier)
+                    .ipAddress(normalizeIp(ipAddress))
+                    .attemptTimestamp(now)
+                    .success(false)
+                    .attemptCount(rs.getInt("attempt_count"))
+                    .blockedUntil(blockedUntil != null ? blockedUntil.toLocalDateTime() : null)
+                    .build();
+        });
+    }
+
+    /**
+     * Grava o estado calculado em memória (insere ou sobrescreve a linha do par)
+     */
+    public void upsertState(String userIdentifier, String ipAddress, LocalDateTime attemptTimestamp,
+                            boolean success, int attemptCount, LocalDateTime blockedUntil, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", UUID.randomUUID())
+                .addValue("userIdentifier", userIdentifier)
+                .addValue("ipAddress", normalizeIp(ipAddress))
+                .addValue("attemptTimestamp", attemptTimestamp)
+                .addValue("success", success)
+                .addValue("attemptCount", attemptCount)
+                .addValue("blockedUntil", blockedUntil)
+                .addValue("now", now);
+        jdbcTemplate.update(UPSERT_STATE_SQL, params);
+    }
+
+    /**
+     * Zera contagem e bloqueio do par, se existirem
+     */
+    public int reset(String userIdentifier, String ipAddress, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userIdentifier", userIdentifier)
+                .addValue("ipAddress", normalizeIp(ipAddress))
+                .addValue("now", now);
+        return jdbcTemplate.update(RESET_SQL, params);
+    }
+
+    public static String normalizeIp(String ipAddress) {
+        return ipAddress != null ? ipAddress : UNKNOWN_IP;
+    }
+}
@@ -32,6 +32,10 @@ public interface LoginAttemptJpaRepository extends JpaRepository<LoginAttemptJpa
            "AND l.blockedUntil > CURRENT_TIMESTAMP")
     List<LoginAttemptJpaEntity> findBlockedAttempts();
     
+    @Query("SELECT l FROM LoginAttemptJpaEntity l WHERE (l.attemptCount > 0 AND l.attemptTimestamp >= :since) " +
+           "OR l.blockedUntil > CURRENT_TIMESTAMP")
+    List<LoginAttemptJpaEntity> findActiveAttempts(@Param("since") LocalDateTime since);
+    
     @Query("SELECT l FROM LoginAttemptJpaEntity l WHERE l.blockedUntil IS NOT NULL " +
            "AND l.blockedUntil <= CURRENT_TIMESTAMP")
     List<LoginAttemptJpaEntity> findAttemptsToUnblock();
@@ -11,6 +11,4 @@ import java.util.UUID;
 public interface LojistaJpaRepository extends JpaRepository<LojistaJpaEntity, UUID> {
     
     Optional<LojistaJpaEntity> findByUserId(UUID userId);
-    Optional<LojistaJpaEntity> findByCnpj(String cnpj);
-    boolean existsByCnpj(String cnpj);
 }
@@ -0,0 +1,60 @@
+package com.petconnect.infrastructure.adapter.persistence.repository;
+
+import com.petconnect.infrastructure.adapter.persistence.entity.RefreshTokenJpaEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Rotação de refresh tokens em um único comando SQL.
+ *
+ * O UPDATE condicional (used_at IS NULL) funciona como compare-and-set pela linha do índice
+ * único {@code uk_refresh_tokens_token_hash}: entre requisições concorrentes com o mesmo token,
+ * apenas uma consome a linha e insere a sucessora; as demais não retornam nada.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenJdbcRepository {
+
+    private static final String ROTATE_SQL =
+            "WITH consumed AS (" +
+            "UPDATE refresh_tokens SET used_at = :now " +
+            "WHERE token_hash = :tokenHash AND used_at IS NULL AND revoked_at IS NULL AND expires_at > :now " +
+            "RETURNING family_id, user_id, user_identifier) " +
+            "INSERT INTO refresh_tokens (id, token_hash, family_id, user_id, user_identifier, expires_at, created_at) " +
+            "SELECT :id, :newTokenHash, family_id, user_id, user_identifier, :newExpiresAt, :now FROM consumed " +
+            "RETURNING id, family_id, user_id, user_identifier";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Consome o token e cria o sucessor na mesma família, retornando o sucessor
+     */
+    public Optional<RefreshTokenJpaEntity> rotate(String tokenHash, String newTokenHash,
+                                                  LocalDateTime newExpiresAt, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", UUID.randomUUID())
+                .addValue("tokenHash", tokenHash)
+                .addValue("newTokenHash", newTokenHash)
+                .addValue("newExpiresAt", newExpiresAt)
+                .addValue("now", now);
+
+        List<RefreshTokenJpaEntity> rotated = jdbcTemplate.query(ROTATE_SQL, params, (rs, rowNum) ->
+                RefreshTokenJpaEntity.builder()
+                        .id(rs.getObject("id", UUID.class))
+                        .tokenHash(newTokenHash)
+                        .familyId(rs.getObject("family_id", UUID.class))
+                        .userId(rs.getString("user_id"))
+                        .userIdentifier(rs.getString("user_identifier"))
+                        .expiresAt(newExpiresAt)
+                        .createdAt(now)
+                        .build());
+        return rotated.stream().findFirst();
+    }
+}
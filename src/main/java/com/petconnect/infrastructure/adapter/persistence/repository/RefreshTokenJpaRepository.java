@@ -0,0 +1,30 @@
+package com.petconnect.infrastructure.adapter.persistence.repository;
+
+import com.petconnect.infrastructure.adapter.persistence.entity.RefreshTokenJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repositório JPA para refresh tokens
+ */
+@Repository
+public interface RefreshTokenJpaRepository extends JpaRepository<RefreshTokenJpaEntity, UUID> {
+
+    Optional<RefreshTokenJpaEntity> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenJpaEntity r SET r.revokedAt = :now " +
+           "WHERE r.familyId = :familyId AND r.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenJpaEntity r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,25 @@
+package com.petconnect.infrastructure.adapter.persistence.repository;
+
+import com.petconnect.infrastructure.adapter.persistence.entity.RevokedTokenJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório JPA para tokens revogados
+ */
+@Repository
+public interface RevokedTokenJpaRepository extends JpaRepository<RevokedTokenJpaEntity, String> {
+
+    List<RevokedTokenJpaEntity> findByRevokedAtGreaterThanEqualAndExpiresAtAfter(
+            LocalDateTime since, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RevokedTokenJpaEntity r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
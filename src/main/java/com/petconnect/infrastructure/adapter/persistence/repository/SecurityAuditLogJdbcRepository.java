@@ -0,0 +1,160 @@
+package com.petconnect.infrastructure.adapter.persistence.repository;
+
+import com.petconnect.domain.security.entity.SecurityAuditLog;
+import com.petconnect.domain.security.entity.SecurityAuditLogFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inserção em lote de logs de auditoria (um único round trip por lote, sem o ciclo do JPA).
+ * Idempotente pelo id, para que um lote reenviado após falha parcial não duplique eventos
+ * nem as contagens de {@link SecurityAuditRollupJdbcRepository}.
+ * A listagem pagina por posição {@code (event_timestamp, id)} em vez de OFFSET, apoiada nos
+ * índices compostos da V24: qualquer página custa o mesmo que a primeira
+ */
+@Repository
+@RequiredArgsConstructor
+public class SecurityAuditLogJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO security_audit_logs (id, event_type, event_description, user_identifier, ip_address, " +
+            "user_agent, success, event_timestamp, additional_data, created_at, updated_at, created_by, " +
+            "updated_by, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0) ON CONFLICT (id) DO NOTHING";
+
+    private static final String SELECT_SQL =
+            "SELECT id, event_type, event_description, user_identifier, ip_address, user_agent, success, " +
+            "event_timestamp, additional_data, created_at, updated_at, created_by, updated_by, version " +
+            "FROM security_audit_logs";
+
+    private static final RowMapper<SecurityAuditLog> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp eventTimestamp = rs.getTimestamp("event_timestamp");
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        boolean success = rs.getBoolean("success");
+        return SecurityAuditLog.builder()
+                .id(rs.getObject("id", UUID.class))
+                .eventType(rs.getString("event_type"))
+                .eventDescription(rs.getString("event_description"))
+                .userIdentifier(rs.getString("user_identifier"))
+                .ipAddress(rs.getString("ip_address"))
+                .userAgent(rs.getString("user_agent"))
+                .success(rs.wasNull() ? null : success)
+                .eventTimestamp(eventTimestamp != null ? eventTimestamp.toLocalDateTime() : null)
+                .additionalData(rs.getString("additional_data"))
+                .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                .updatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null)
+                .createdBy(rs.getString("created_by"))
+                .updatedBy(rs.getString("updated_by"))
+                .version(rs.getLong("version"))
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecurityAuditRollupJdbcRepository rollupRepository;
+
+    /**
+     * Até {@code limit} logs que atendem a todos os filtros informados, do mais recente para o
+     * mais antigo, estritamente depois da posição {@code (afterTimestamp, afterId)}
+     */
+    public List<SecurityAuditLog> findPage(SecurityAuditLogFilter filter, LocalDateTime afterTimestamp,
+                                           UUID afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL).append(" WHERE TRUE");
+        List<Object> args = new ArrayList<>();
+        if (filter.getEventType() != null) {
+            sql.append(" AND event_type = ?");
+            args.add(filter.getEventType());
+        }
+        if (filter.getUserIdentifier() != null) {
+            sql.append(" AND user_identifier = ?");
+            args.add(filter.getUserIdentifier());
+        }
+        if (filter.getIpAddress() != null) {
+            sql.append(" AND ip_address = ?");
+            args.add(filter.getIpAddress());
+        }
+        if (filter.getFrom() != null) {
+            sql.append(" AND event_timestamp >= ?");
+            args.add(Timestamp.valueOf(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND event_timestamp < ?");
+            args.add(Timestamp.valueOf(filter.getTo()));
+        }
+        if (afterTimestamp != null && afterId != null) {
+            sql.append(" AND (event_timestamp, id) < (?, ?)");
+            args.add(Timestamp.valueOf(afterTimestamp));
+            args.add(afterId);
+        }
+        sql.append(" ORDER BY event_timestamp DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * Insere os logs; ids já existentes são ignorados. Os agregados por minuto são atualizados
+     * na mesma transação e só com os logs efetivamente inseridos, para que um lote reenviado
+     * não conte duas vezes
+     */
+    @Transactional
+    public void insertBatch(List<SecurityAuditLog> auditLogs) {
+        for (SecurityAuditLog auditLog : auditLogs) {
+            if (auditLog.getId() == null) {
+                auditLog.setId(UUID.randomUUID());
+            }
+            if (auditLog.getEventTimestamp() == null) {
+                auditLog.setEventTimestamp(LocalDateTime.now());
+            }
+        }
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_SQL, auditLogs, auditLogs.size(), (ps, auditLog) -> {
+            LocalDateTime eventTimestamp = auditLog.getEventTimestamp();
+            LocalDateTime createdAt = auditLog.getCreatedAt() != null ? auditLog.getCreatedAt() : eventTimestamp;
+            String createdBy = auditLog.getCreatedBy() != null ? auditLog.getCreatedBy() : "system";
+
+            ps.setObject(1, auditLog.getId());
+            ps.setString(2, auditLog.getEventType());
+            ps.setString(3, auditLog.getEventDescription());
+            ps.setString(4, auditLog.getUserIdentifier());
+            ps.setString(5, auditLog.getIpAddress());
+            ps.setString(6, auditLog.getUserAgent());
+            if (auditLog.getSuccess() != null) {
+                ps.setBoolean(7, auditLog.getSuccess());
+            } else {
+                ps.setNull(7, Types.BOOLEAN);
+            }
+            ps.setTimestamp(8, Timestamp.valueOf(eventTimestamp));
+            ps.setString(9, auditLog.getAdditionalData());
+            ps.setTimestamp(10, Timestamp.valueOf(createdAt));
+            ps.setTimestamp(11, Timestamp.valueOf(createdAt));
+            ps.setString(12, createdBy);
+            ps.setString(13, createdBy);
+        });
+        rollupRepository.increment(inserted(auditLogs, results));
+    }
+
+    /**
+     * Logs cuja linha foi de fato inserida (0 = id já existente; SUCCESS_NO_INFO conta como inserido)
+     */
+    private static List<SecurityAuditLog> inserted(List<SecurityAuditLog> auditLogs, int[][] results) {
+        List<SecurityAuditLog> inserted = new ArrayList<>(auditLogs.size());
+        int index = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                if (count != 0) {
+                    inserted.add(auditLogs.get(index));
+                }
+                index++;
+            }
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,124 @@
+package com.petconnect.infrastructure.adapter.persistence.repository;
+
+import com.petconnect.domain.security.entity.SecurityAuditLog;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agregados por minuto, tipo de evento e IP dos logs de auditoria.
+ *
+ * Cada lote gravado soma suas contagens com um upsert por combinação distinta, então as
+ * estatísticas leem no máximo uma linha por minuto/tipo/IP do período, independente de
+ * quantos eventos ocorreram. Os períodos são arredondados para o início do minuto
+ */
+@Repository
+@RequiredArgsConstructor
+public class SecurityAuditRollupJdbcRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO security_audit_rollups (bucket_start, event_type, ip_address, event_count) " +
+            "VALUES (?, ?, ?, ?) ON CONFLICT (bucket_start, event_type, ip_address) " +
+            "DO UPDATE SET event_count = security_audit_rollups.event_count + EXCLUDED.event_count";
+
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator
+            .comparing(RollupKey::getBucketStart)
+            .thenComparing(RollupKey::getEventType)
+            .thenComparing(RollupKey::getIpAddress);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Soma os eventos às contagens dos respectivos minutos
+     */
+    public void increment(List<SecurityAuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+        Map<RollupKey, Long> counts = new HashMap<>();
+        for (SecurityAuditLog auditLog : auditLogs) {
+            LocalDateTime timestamp = auditLog.getEventTimestamp() != null
+                    ? auditLog.getEventTimestamp() : LocalDateTime.now();
+            RollupKey key = new RollupKey(timestamp.truncatedTo(ChronoUnit.MINUTES), auditLog.getEventType(),
+                    auditLog.getIpAddress() != null ? auditLog.getIpAddress() : "");
+            counts.merge(key, 1L, Long::sum);
+        }
+        // Ordem fixa das chaves: gravações concorrentes travam as linhas na mesma sequência
+        List<Map.Entry<RollupKey, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Map.Entry.comparingByKey(KEY_ORDER));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(entry.getKey().getBucketStart()));
+            ps.setString(2, entry.getKey().getEventType());
+            ps.setString(3, entry.getKey().getIpAddress());
+            ps.setLong(4, entry.getValue());
+        });
+    }
+
+    /**
+     * Total de eventos desde o minuto de {@code since}
+     */
+    public long countSince(LocalDateTime since) {
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(event_count), 0) FROM security_audit_rollups WHERE bucket_start >= ?",
+                Long.class, bucket(since));
+        return total != null ? total : 0L;
+    }
+
+    /**
+     * Total de eventos por tipo desde o minuto de {@code since}
+     */
+    public Map<String, Long> countByEventTypeSince(LocalDateTime since) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT event_type, SUM(event_count) AS total FROM security_audit_rollups " +
+                "WHERE bucket_start >= ? GROUP BY event_type ORDER BY total DESC",
+                rs -> {
+                    counts.put(rs.getString("event_type"), rs.getLong("total"));
+                }, bucket(since));
+        return counts;
+    }
+
+    /**
+     * IPs com mais eventos desde o minuto de {@code since}, em ordem decrescente
+     */
+    public Map<String, Long> topIpAddressesSince(LocalDateTime since, int limit) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT ip_address, SUM(event_count) AS total FROM security_audit_rollups " +
+                "WHERE bucket_start >= ? AND ip_address <> '' " +
+                "GROUP BY ip_address ORDER BY total DESC, ip_address LIMIT ?",
+                rs -> {
+                    counts.put(rs.getString("ip_address"), rs.getLong("total"));
+                }, bucket(since), limit);
+        return counts;
+    }
+
+    /**
+     * Remove agregados de minutos anteriores a {@code cutoff}
+     */
+    public void deleteBefore(LocalDateTime cutoff) {
+        jdbcTemplate.update("DELETE FROM security_audit_rollups WHERE bucket_start < ?", bucket(cutoff));
+    }
+
+    private static Timestamp bucket(LocalDateTime timestamp) {
+        return Timestamp.valueOf(timestamp.truncatedTo(ChronoUnit.MINUTES));
+    }
+
+    @Value
+    private static class RollupKey {
+        LocalDateTime bucketStart;
+        String eventType;
+        String ipAddress;
+    }
+}
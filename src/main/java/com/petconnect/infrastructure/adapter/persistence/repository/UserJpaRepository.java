@@ -5,6 +5,7 @@ import com.petconnect.domain.user.entity.UserType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -19,8 +20,8 @@ public interface UserJpaRepository extends JpaRepository<UserJpaEntity, UUID> {
     @Query("SELECT u FROM UserJpaEntity u WHERE u.username = :username")
     Optional<UserJpaEntity> findByUsername(@Param("username") String username);
     
-    @Query("SELECT u FROM UserJpaEntity u WHERE u.email = :email")
-    Optional<UserJpaEntity> findByEmail(@Param("email") String email);
+    @Query("SELECT u FROM UserJpaEntity u WHERE u.emailBidx = :emailBidx")
+    Optional<UserJpaEntity> findByEmailBidx(@Param("emailBidx") String emailBidx);
     
     @Query("SELECT u.id FROM UserJpaEntity u WHERE u.userType = :userType")
     List<UUID> findIdsByUserType(@Param("userType") UserType userType);
@@ -28,8 +29,8 @@ public interface UserJpaRepository extends JpaRepository<UserJpaEntity, UUID> {
     @Query("SELECT CASE WHEN COUNT(u.id) > 0 THEN true ELSE false END FROM UserJpaEntity u WHERE u.username = :username")
     boolean existsByUsername(@Param("username") String username);
     
-    @Query("SELECT CASE WHEN COUNT(u.id) > 0 THEN true ELSE false END FROM UserJpaEntity u WHERE u.email = :email")
-    boolean existsByEmail(@Param("email") String email);
+    @Query("SELECT CASE WHEN COUNT(u.id) > 0 THEN true ELSE false END FROM UserJpaEntity u WHERE u.emailBidx = :emailBidx")
+    boolean existsByEmailBidx(@Param("emailBidx") String emailBidx);
     
     @Query("SELECT COUNT(u.id) FROM UserJpaEntity u WHERE u.userType = :userType")
     long countByUserType(@Param("userType") UserType userType);
@@ -40,4 +41,15 @@ public interface UserJpaRepository extends JpaRepository<UserJpaEntity, UUID> {
     Page<UserJpaEntity> findByNameAndUserType(@Param("name") String name, 
                                             @Param("userType") UserType userType, 
                                             Pageable pageable);
+    
+    @Modifying
+    @Query(value = "UPDATE users SET security_epoch = :epoch WHERE id = :id", nativeQuery = true)
+    int updateSecurityEpoch(@Param("id") UUID id, @Param("epoch") long epoch);
+    
+    @Modifying
+    @Query("UPDATE UserJpaEntity u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") UUID id, @Param("password") String password);
+    
+    @Query(value = "SELECT CAST(id AS VARCHAR), security_epoch FROM users WHERE security_epoch > 0", nativeQuery = true)
+    List<Object[]> findSecurityEpochs();
 }
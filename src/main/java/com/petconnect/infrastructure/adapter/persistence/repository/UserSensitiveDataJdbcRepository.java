@@ -0,0 +1,109 @@
+package com.petconnect.infrastructure.adapter.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Acesso em lote às colunas criptografadas de {@code users}, para reescrita de formato e
+ * recriptografia sem carregar as entidades (e sem disparar o listener de criptografia).
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserSensitiveDataJdbcRepository {
+
+    /**
+     * Colunas criptografadas, na ordem dos valores de {@link SensitiveRow}
+     */
+    public static final List<String> COLUMNS = List.of(
+            "email", "contact_number", "cnpj", "crmv",
+            "security_answer_1", "security_answer_2", "security_answer_3");
+
+    private static final String SELECT_BATCH_SQL =
+            "SELECT id, " + String.join(", ", COLUMNS) + " FROM users WHERE id > :lastId ORDER BY id LIMIT :limit";
+
+    private static final String SELECT_BY_ID_SQL =
+            "SELECT id, " + String.join(", ", COLUMNS) + " FROM users WHERE id = :id";
+
+    /**
+     * Só grava se nenhuma coluna mudou desde a leitura (escrita concorrente da aplicação vence)
+     */
+    private static final String UPDATE_SQL =
+            "UPDATE users SET " +
+            IntStream.range(0, COLUMNS.size())
+                    .mapToObj(i -> COLUMNS.get(i) + " = :new" + i)
+                    .collect(Collectors.joining(", ")) +
+            " WHERE id = :id AND " +
+            IntStream.range(0, COLUMNS.size())
+                    .mapToObj(i -> COLUMNS.get(i) + " IS NOT DISTINCT FROM :old" + i)
+                    .collect(Collectors.joining(" AND "));
+
+    private static final RowMapper<SensitiveRow> ROW_MAPPER = (rs, rowNum) -> {
+        String[] values = new String[COLUMNS.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rs.getString(i + 2);
+        }
+        return new SensitiveRow(rs.getObject(1, UUID.class), values);
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Próximo lote em ordem de id (o primeiro lote usa o UUID nulo)
+     */
+    public List<SensitiveRow> findBatchAfter(UUID lastId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("lastId", lastId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(SELECT_BATCH_SQL, params, ROW_MAPPER);
+    }
+
+    /**
+     * Releitura de uma linha (após conflito com escrita concorrente)
+     */
+    public Optional<SensitiveRow> findById(UUID id) {
+        List<SensitiveRow> rows = jdbcTemplate.query(SELECT_BY_ID_SQL, new MapSqlParameterSource("id", id), ROW_MAPPER);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    /**
+     * Grava os novos valores da linha
+     *
+     * @return false quando a linha foi alterada por outra escrita após a leitura
+     */
+    public boolean update(UUID id, String[] oldValues, String[] newValues) {
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("id", id);
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            params.addValue("old" + i, oldValues[i], Types.VARCHAR);
+            params.addValue("new" + i, newValues[i], Types.VARCHAR);
+        }
+        return jdbcTemplate.update(UPDATE_SQL, params) > 0;
+    }
+
+    public static final class SensitiveRow {
+        private final UUID id;
+        private final String[] values;
+
+        public SensitiveRow(UUID id, String[] values) {
+            this.id = id;
+            this.values = values;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public String[] getValues() {
+            return values;
+        }
+    }
+}
@@ -4,10 +4,14 @@ import com.petconnect.domain.user.entity.UserType;
 import com.petconnect.domain.user.port.UserRepositoryPort;
 import com.petconnect.infrastructure.adapter.web.dto.UserResponse;
 import com.petconnect.infrastructure.adapter.web.shared.dto.ApiResponse;
+import com.petconnect.infrastructure.security.encryption.DecryptedUserView;
+import com.petconnect.infrastructure.security.encryption.SensitiveDataDecryptionService;
+import com.petconnect.infrastructure.security.service.UserSecurityEpochService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +28,8 @@ import java.util.UUID;
 public class AdminController {
 
     private final UserRepositoryPort userRepository;
+    private final UserSecurityEpochService securityEpochService;
+    private final SensitiveDataDecryptionService decryptionService;
 
     @GetMapping("/dashboard")
     @Cacheable(value = "dashboard-stats", key = "'admin-dashboard'")
@@ -54,24 +60,9 @@ public class AdminController {
         Pageable pageable = PageRequest.of(page, size);
         Page<com.petconnect.domain.user.entity.User> users = userRepository.findAll(pageable);
         
-        Page<UserResponse> userResponses = users.map(user -> UserResponse.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .fullName(user.getFullName())
-                .userType(user.getUserType())
-                .active(user.isActive())
-                .createdAt(user.getCreatedAt())
-                .updatedAt(user.getUpdatedAt())
-                .nome(user.getUserProfile() != null ? user.getUserProfile().getNome() : null)
-                .location(user.getUserProfile() != null ? user.getUserProfile().getLocation() : null)
-                .contactNumber(user.getUserProfile() != null ? user.getUserProfile().getContactNumber() : null)
-                .cnpj(user.getUserProfile() != null ? user.getUserProfile().getCnpj() : null)
-                .crmv(user.getUserProfile() != null ? user.getUserProfile().getCrmv() : null)
-                .storeType(user.getUserProfile() != null ? user.getUserProfile().getStoreType() : null)
-                .businessHours(user.getUserProfile() != null ? user.getUserProfile().getBusinessHours() : null)
-                .guardian(user.getUserProfile() != null ? user.getUserProfile().getGuardian() : null)
-                .build());
+        Page<UserResponse> userResponses = new PageImpl<>(
+                decryptionService.decryptAll(users.getContent(), this::toUserResponse),
+                pageable, users.getTotalElements());
 
         return ResponseEntity.ok(ApiResponse.success(userResponses));
     }
@@ -79,28 +70,8 @@ public class AdminController {
     @GetMapping("/users/{id}")
     public ResponseEntity<ApiResponse<UserResponse>> getUserDetails(@PathVariable UUID id) {
         return userRepository.findById(id)
-                .map(user -> {
-                    UserResponse response = UserResponse.builder()
-                            .id(user.getId())
-                            .username(user.getUsername())
-                            .email(user.getEmail())
-                            .fullName(user.getFullName())
-                            .userType(user.getUserType())
-                            .active(user.isActive())
-                            .createdAt(user.getCreatedAt())
-                            .updatedAt(user.getUpdatedAt())
-                            .nome(user.getUserProfile() != null ? user.getUserProfile().getNome() : null)
-                            .location(user.getUserProfile() != null ? user.getUserProfile().getLocation() : null)
-                            .contactNumber(user.getUserProfile() != null ? user.getUserProfile().getContactNumber() : null)
-                            .cnpj(user.getUserProfile() != null ? user.getUserProfile().getCnpj() : null)
-                            .crmv(user.getUserProfile() != null ? user.getUserProfile().getCrmv() : null)
-                            .storeType(user.getUserProfile() != null ? user.getUserProfile().getStoreType() : null)
-                            .businessHours(user.getUserProfile() != null ? user.getUserProfile().getBusinessHours() : null)
-                            .guardian(user.getUserProfile() != null ? user.getUserProfile().getGuardian() : null)
-                            .build();
-                    
-                    return ResponseEntity.ok(ApiResponse.success("Detalhes do usuário", response));
-                })
+                .map(user -> ResponseEntity.ok(ApiResponse.success("Detalhes do usuário",
+                        toUserResponse(decryptionService.view(user)))))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -115,10 +86,11 @@ public class AdminController {
                     }
                     
                     com.petconnect.domain.user.entity.User savedUser = userRepository.save(user);
+                    securityEpochService.bump(savedUser.getId());
                     UserResponse response = UserResponse.builder()
                             .id(savedUser.getId())
                             .username(savedUser.getUsername())
-                            .email(savedUser.getEmail())
+                            .email(decryptionService.view(savedUser).getEmail())
                             .fullName(savedUser.getFullName())
                             .userType(savedUser.getUserType())
                             .active(savedUser.isActive())
@@ -131,4 +103,34 @@ public class AdminController {
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    /**
+     * Descriptografa apenas os campos sensíveis exibidos (nunca as respostas de segurança)
+     */
+    private UserResponse toUserResponse(DecryptedUserView view) {
+        com.petconnect.domain.user.entity.User user = view.getUser();
+        UserResponse.UserResponseBuilder builder = UserResponse.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(view.getEmail())
+                .fullName(user.getFullName())
+                .userType(user.getUserType())
+                .active(user.isActive())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt());
+
+        if (user.getUserProfile() != null) {
+            var profile = user.getUserProfile();
+            builder.nome(profile.getNome())
+                   .location(profile.getLocation())
+                   .contactNumber(view.getContactNumber())
+                   .cnpj(view.getCnpj())
+                   .crmv(view.getCrmv())
+                   .storeType(profile.getStoreType())
+                   .businessHours(profile.getBusinessHours())
+                   .guardian(profile.getGuardian());
+        }
+
+        return builder.build();
+    }
 }
@@ -6,21 +6,29 @@ import com.petconnect.application.user.usecase.ResetPasswordUseCase;
 import com.petconnect.domain.user.entity.SecurityQuestions;
 import com.petconnect.domain.user.entity.User;
 import com.petconnect.domain.user.entity.UserProfile;
+import com.petconnect.domain.user.entity.UserType;
 import com.petconnect.infrastructure.adapter.web.dto.*;
 import com.petconnect.infrastructure.adapter.web.shared.dto.ApiResponse;
+import com.petconnect.infrastructure.security.encryption.DecryptedUserView;
+import com.petconnect.infrastructure.security.encryption.SensitiveDataDecryptionService;
+import com.petconnect.infrastructure.security.interceptor.ClientIpResolver;
 import com.petconnect.infrastructure.security.interceptor.SecurityInterceptor;
 import com.petconnect.infrastructure.security.jwt.JwtService;
+import com.petconnect.infrastructure.security.jwt.RefreshTokenService;
+import com.petconnect.infrastructure.security.jwt.TokenUserPrincipal;
 import com.petconnect.infrastructure.security.service.CustomUserDetailsService;
 import com.petconnect.infrastructure.security.service.SecureAuthenticationService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Set;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -33,6 +41,9 @@ public class AuthController {
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
     private final SecureAuthenticationService secureAuthenticationService;
+    private final RefreshTokenService refreshTokenService;
+    private final SensitiveDataDecryptionService decryptionService;
+    private final ClientIpResolver clientIpResolver;
 
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<AuthResponse>> register(@Valid @RequestBody CreateUserRequest request) {
@@ -76,7 +87,11 @@ public class AuthController {
                 user.getId().toString(), 
                 user.getUserType().name()
         );
-        String refreshToken = jwtService.generateRefreshToken(userDetails);
+        String refreshToken = refreshTokenService.issue(
+                userDetails,
+                user.getId().toString(),
+                user.getUserType().name()
+        );
         
         AuthResponse response = AuthResponse.builder()
                 .accessToken(accessToken)
@@ -92,9 +107,10 @@ public class AuthController {
     public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request, 
                                                           HttpServletRequest httpRequest) {
 
+        // Chave do throttle e da detecção de credential stuffing: nunca um cabeçalho não confiável
         String clientIp = SecurityInterceptor.getCurrentClientIp();
         if (clientIp == null) {
-            clientIp = httpRequest.getRemoteAddr();
+            clientIp = clientIpResolver.resolve(httpRequest);
         }
         
 
@@ -107,17 +123,30 @@ public class AuthController {
         }
         
 
-        User user = authenticateUserService.execute(request.getEmail(), request.getPassword());
+        User user = result.getUser();
         
         AuthResponse response = AuthResponse.builder()
                 .accessToken(result.getAccessToken())
                 .refreshToken(result.getRefreshToken())
-                .user(mapToUserInfo(user))
+                .user(user != null ? mapToUserInfo(user) : null)
                 .build();
 
         return ResponseEntity.ok(ApiResponse.success("Login realizado com sucesso", response));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<String>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")
+                || !secureAuthenticationService.logout(authorization.substring(7))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Token inválido"));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success("Logout realizado com sucesso"));
+    }
+
     @GetMapping("/forgot-password/{email}")
     public ResponseEntity<ApiResponse<String>> getSecurityQuestion(@PathVariable String email) {
         String question = resetPasswordUseCase.getSecurityQuestion(email);
@@ -145,24 +174,48 @@ public class AuthController {
                     .body(ApiResponse.error(result.getErrorMessage()));
         }
         
-
-        String userEmail = jwtService.extractUsername(request.getRefreshToken());
-        User user = authenticateUserService.execute(userEmail, "");
-        
         AuthResponse response = AuthResponse.builder()
                 .accessToken(result.getAccessToken())
                 .refreshToken(result.getRefreshToken())
-                .user(mapToUserInfo(user))
+                .user(mapToUserInfo(result.getPrincipal()))
                 .build();
         
         return ResponseEntity.ok(ApiResponse.success("Token renovado com sucesso", response));
     }
 
+    /**
+     * Na renovação só estão disponíveis os dados do principal (sem o perfil do usuário)
+     */
+    private AuthResponse.UserInfo mapToUserInfo(TokenUserPrincipal principal) {
+        if (principal == null) {
+            return null;
+        }
+
+        AuthResponse.UserInfo.UserInfoBuilder builder = AuthResponse.UserInfo.builder()
+                .email(principal.getUsername())
+                .active(true);
+        try {
+            builder.id(UUID.fromString(principal.getUserId()));
+        } catch (IllegalArgumentException ignored) {
+            // tokens emitidos sem o id real do usuário
+        }
+        try {
+            builder.userType(UserType.valueOf(principal.getUserType()));
+        } catch (IllegalArgumentException ignored) {
+            // tipo genérico ("USER") de tokens emitidos sem o principal completo
+        }
+        return builder.build();
+    }
+
+    /**
+     * Os campos sensíveis são descriptografados sob demanda, apenas os que entram na resposta
+     */
     private AuthResponse.UserInfo mapToUserInfo(User user) {
+        DecryptedUserView view = decryptionService.view(user);
         AuthResponse.UserInfo.UserInfoBuilder builder = AuthResponse.UserInfo.builder()
                 .id(user.getId())
                 .username(user.getUsername())
-                .email(user.getEmail())
+                .email(view.getEmail())
                 .fullName(user.getFullName())
                 .userType(user.getUserType())
                 .active(user.isActive())
@@ -173,9 +226,9 @@ public class AuthController {
             UserProfile profile = user.getUserProfile();
             builder.nome(profile.getNome())
                    .location(profile.getLocation())
-                   .contactNumber(profile.getContactNumber())
-                   .cnpj(profile.getCnpj())
-                   .crmv(profile.getCrmv())
+                   .contactNumber(view.getContactNumber())
+                   .cnpj(view.getCnpj())
+                   .crmv(view.getCrmv())
                    .storeType(profile.getStoreType())
                    .businessHours(profile.getBusinessHours())
                    .guardian(profile.getGuardian());
@@ -0,0 +1,54 @@
+package com.petconnect.infrastructure.adapter.web.controller;
+
+import com.petconnect.infrastructure.adapter.web.shared.dto.ApiResponse;
+import com.petconnect.infrastructure.security.encryption.ReencryptionProgress;
+import com.petconnect.infrastructure.security.encryption.SensitiveDataReencryptionJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller para acompanhar e controlar a recriptografia de dados sensíveis após troca de chave
+ */
+@RestController
+@RequestMapping("/api/admin/security/encryption/rotation")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('ADMIN')")
+public class EncryptionRotationController {
+
+    private final SensitiveDataReencryptionJob reencryptionJob;
+
+    /**
+     * Progresso (checkpoint, linhas por segundo) da recriptografia
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<ReencryptionProgress>> getProgress() {
+        return ResponseEntity.ok(ApiResponse.success("Progresso da recriptografia", reencryptionJob.getProgress()));
+    }
+
+    /**
+     * Inicia ou retoma a recriptografia a partir do checkpoint
+     */
+    @PostMapping("/start")
+    public ResponseEntity<ApiResponse<ReencryptionProgress>> start() {
+        if (!reencryptionJob.start()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Recriptografia já em execução"));
+        }
+        return ResponseEntity.accepted()
+                .body(ApiResponse.success("Recriptografia iniciada", reencryptionJob.getProgress()));
+    }
+
+    /**
+     * Para a recriptografia ao fim do lote corrente
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<ApiResponse<ReencryptionProgress>> stop() {
+        reencryptionJob.stop();
+        return ResponseEntity.accepted()
+                .body(ApiResponse.success("Parada solicitada", reencryptionJob.getProgress()));
+    }
+}
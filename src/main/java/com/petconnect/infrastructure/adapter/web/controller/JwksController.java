@@ -0,0 +1,39 @@
+package com.petconnect.infrastructure.adapter.web.controller;
+
+import com.petconnect.infrastructure.security.jwt.JwtSigningKeyRing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Publica as chaves públicas de assinatura de JWT (JWKS) para verificação local por outros serviços.
+ * O max-age deve ser menor que o atraso de ativação das chaves novas (jwt.signing.activation-delay-minutes)
+ */
+@RestController
+public class JwksController {
+
+    private final JwtSigningKeyRing signingKeyRing;
+    private final CacheControl cacheControl;
+
+    public JwksController(JwtSigningKeyRing signingKeyRing,
+                          @Value("${jwt.jwks.max-age-seconds:300}") long maxAgeSeconds) {
+        this.signingKeyRing = signingKeyRing;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+    }
+
+    /**
+     * Documento JWKS; o ETag muda somente quando o conjunto de chaves muda (If-None-Match responde 304)
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(signingKeyRing.getJwksVersion())
+                .body(signingKeyRing.getJwks());
+    }
+}
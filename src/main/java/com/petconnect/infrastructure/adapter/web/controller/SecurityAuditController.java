@@ -1,20 +1,36 @@
 package com.petconnect.infrastructure.adapter.web.controller;
 
 import com.petconnect.domain.security.entity.SecurityAuditLog;
+import com.petconnect.domain.security.entity.SecurityAuditLogFilter;
 import com.petconnect.domain.security.port.SecurityAuditLogRepositoryPort;
+import com.petconnect.exception.BadRequestException;
 import com.petconnect.infrastructure.adapter.web.shared.dto.ApiResponse;
+import com.petconnect.infrastructure.security.audit.AuditLogWriter;
+import com.petconnect.infrastructure.security.audit.CredentialStuffingDetector;
+import com.petconnect.infrastructure.security.audit.LiveSecurityTelemetry;
+import com.petconnect.infrastructure.security.audit.LoginThrottle;
+import com.petconnect.infrastructure.security.audit.SecurityTelemetry;
+import com.petconnect.infrastructure.security.hashing.PasswordHashingExecutor;
+import com.petconnect.infrastructure.security.hashing.PasswordHashingPolicy;
+import com.petconnect.infrastructure.security.jwt.JwtService;
+import com.petconnect.infrastructure.security.jwt.JwtSigningKeyRing;
+import com.petconnect.infrastructure.security.jwt.TokenRevocationService;
+import com.petconnect.infrastructure.security.ratelimit.RequestRateLimiter;
+import com.petconnect.infrastructure.security.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -28,101 +44,115 @@ import java.util.stream.Collectors;
 public class SecurityAuditController {
     
     private final SecurityAuditLogRepositoryPort securityAuditLogRepository;
+    private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordHashingPolicy passwordHashingPolicy;
+    private final LoginThrottle loginThrottle;
+    private final RequestRateLimiter requestRateLimiter;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtSigningKeyRing signingKeyRing;
+    private final AuditLogWriter auditLogWriter;
+    private final SecurityTelemetry securityTelemetry;
+    private final CredentialStuffingDetector credentialStuffingDetector;
+    
+    private static final int MAX_PAGE_SIZE = 200;
     
     /**
-     * Lista logs de auditoria de segurança com paginação
+     * Lista logs de auditoria de segurança, do mais recente para o mais antigo, combinando os
+     * filtros informados. A paginação é por cursor: {@code nextCursor} da resposta aponta para o
+     * último item e é passado como {@code cursor} para obter a página seguinte
      */
     @GetMapping("/audit-logs")
-    public ResponseEntity<ApiResponse<Page<SecurityAuditLogResponse>>> getAuditLogs(
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<ApiResponse<AuditLogPageResponse>> getAuditLogs(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) String eventType,
             @RequestParam(required = false) String userIdentifier,
-            @RequestParam(required = false) String ipAddress) {
-        
-        List<SecurityAuditLog> logs;
-        
-        if (eventType != null) {
-            logs = securityAuditLogRepository.findByEventType(eventType);
-        } else if (userIdentifier != null) {
-            logs = securityAuditLogRepository.findByUserIdentifier(userIdentifier);
-        } else if (ipAddress != null) {
-            logs = securityAuditLogRepository.findByIpAddress(ipAddress);
-        } else {
-            logs = securityAuditLogRepository.findAll();
+            @RequestParam(required = false) String ipAddress,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        SecurityAuditLogFilter filter = SecurityAuditLogFilter.builder()
+                .eventType(eventType)
+                .userIdentifier(userIdentifier)
+                .ipAddress(ipAddress)
+                .from(from)
+                .to(to)
+                .build();
+        
+        LocalDateTime afterTimestamp = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            afterTimestamp = LocalDateTime.parse(position[0]);
+            afterId = UUID.fromString(position[1]);
+        }
+        
+        // Um item a mais indica se existe próxima página sem precisar de COUNT
+        List<SecurityAuditLog> logs = securityAuditLogRepository.findPage(filter, afterTimestamp, afterId, pageSize + 1);
+        boolean hasNext = logs.size() > pageSize;
+        if (hasNext) {
+            logs = logs.subList(0, pageSize);
         }
         
-
         List<SecurityAuditLogResponse> responses = logs.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
         
-
-        Pageable pageable = PageRequest.of(page, size);
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), responses.size());
+        String nextCursor = null;
+        if (hasNext) {
+            SecurityAuditLog last = logs.get(logs.size() - 1);
+            nextCursor = encodeCursor(last.getEventTimestamp(), last.getId());
+        }
         
-        Page<SecurityAuditLogResponse> pageResponse = new PageImpl<>(
-                responses.subList(start, end), pageable, responses.size());
+        AuditLogPageResponse pageResponse = AuditLogPageResponse.builder()
+                .content(responses)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
         
         return ResponseEntity.ok(ApiResponse.success("Logs de auditoria recuperados", pageResponse));
     }
     
     /**
-     * Obtém estatísticas de segurança
+     * Obtém estatísticas de segurança a partir dos agregados por minuto (não lê os eventos)
      */
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getSecurityStats() {
         LocalDateTime last24Hours = LocalDateTime.now().minusHours(24);
         LocalDateTime lastWeek = LocalDateTime.now().minusWeeks(1);
         
-        List<SecurityAuditLog> recentLogs = securityAuditLogRepository.findByEventTimestampBetween(
-                last24Hours, LocalDateTime.now());
+        Map<String, Long> eventTypeCount = securityAuditLogRepository.countEventsByTypeSince(last24Hours);
+        long totalEvents24h = eventTypeCount.values().stream().mapToLong(Long::longValue).sum();
+        long totalEventsWeek = securityAuditLogRepository.countEventsSince(lastWeek);
         
-        List<SecurityAuditLog> weeklyLogs = securityAuditLogRepository.findByEventTimestampBetween(
-                lastWeek, LocalDateTime.now());
-        
-
-        Map<String, Long> eventTypeCount = recentLogs.stream()
-                .collect(Collectors.groupingBy(
-                        SecurityAuditLog::getEventType, Collectors.counting()));
-        
-
-        long failedLogins24h = recentLogs.stream()
-                .filter(log -> "LOGIN_FAILURE".equals(log.getEventType()))
-                .count();
-        
-
-        long securityViolations24h = recentLogs.stream()
-                .filter(log -> "SECURITY_VIOLATION".equals(log.getEventType()) || 
-                              "UNAUTHORIZED_ACCESS".equals(log.getEventType()))
-                .count();
-        
-
-        Map<String, Long> topIps = recentLogs.stream()
-                .filter(log -> log.getIpAddress() != null)
-                .collect(Collectors.groupingBy(
-                        SecurityAuditLog::getIpAddress, Collectors.counting()));
+        long failedLogins24h = eventTypeCount.getOrDefault("LOGIN_FAILURE", 0L);
+        long securityViolations24h = eventTypeCount.getOrDefault("SECURITY_VIOLATION", 0L)
+                + eventTypeCount.getOrDefault("UNAUTHORIZED_ACCESS", 0L);
         
         Map<String, Object> stats = Map.of(
-                "totalEvents24h", recentLogs.size(),
-                "totalEventsWeek", weeklyLogs.size(),
+                "totalEvents24h", totalEvents24h,
+                "totalEventsWeek", totalEventsWeek,
                 "failedLogins24h", failedLogins24h,
                 "securityViolations24h", securityViolations24h,
                 "eventTypeCount", eventTypeCount,
-                "topIpAddresses", topIps.entrySet().stream()
-                        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                        .limit(10)
-                        .collect(Collectors.toMap(
-                                Map.Entry::getKey,
-                                Map.Entry::getValue,
-                                (e1, e2) -> e1,
-                                java.util.LinkedHashMap::new))
+                "topIpAddresses", securityAuditLogRepository.findTopIpAddressesSince(last24Hours, 10)
         );
         
         return ResponseEntity.ok(ApiResponse.success("Estatísticas de segurança", stats));
     }
     
+    /**
+     * Taxas por tipo de evento e principais ofensores, lidos da memória (sem acesso ao banco)
+     */
+    @GetMapping("/live")
+    public ResponseEntity<ApiResponse<LiveSecurityTelemetry>> getLiveTelemetry() {
+        return ResponseEntity.ok(ApiResponse.success("Telemetria em tempo real", securityTelemetry.snapshot()));
+    }
+    
     /**
      * Busca violações de segurança recentes
      */
@@ -159,6 +189,50 @@ public class SecurityAuditController {
         return ResponseEntity.ok(ApiResponse.success("Logs do usuário", responses));
     }
     
+    /**
+     * Métricas de desempenho dos componentes de segurança (caches, filas)
+     */
+    @GetMapping("/performance")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPerformanceMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("verifiedTokenCache", jwtService.getVerifiedTokenCacheStats());
+        metrics.put("userPrincipalCache", userDetailsService.getPrincipalCacheStats());
+        metrics.put("passwordHashing", passwordHashingExecutor.getMetrics());
+        metrics.put("passwordPolicy", passwordHashingPolicy.getCalibration());
+        metrics.put("loginThrottle", loginThrottle.getMetrics());
+        metrics.put("credentialStuffing", credentialStuffingDetector.getMetrics());
+        metrics.put("rateLimiter", requestRateLimiter.getMetrics());
+        metrics.put("tokenRevocation", tokenRevocationService.getMetrics());
+        metrics.put("signingKeys", signingKeyRing.getMetrics());
+        metrics.put("auditWriter", auditLogWriter.getMetrics());
+        
+        return ResponseEntity.ok(ApiResponse.success("Métricas de desempenho", metrics));
+    }
+    
+    /**
+     * Cursor opaco: Base64 URL-safe de "timestamp|id" do último item entregue
+     */
+    static String encodeCursor(LocalDateTime eventTimestamp, UUID id) {
+        String position = eventTimestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|", -1);
+            if (parts.length == 2) {
+                LocalDateTime.parse(parts[0]);
+                UUID.fromString(parts[1]);
+                return parts;
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // tratado abaixo
+        }
+        throw new BadRequestException("Cursor de paginação inválido");
+    }
+    
     /**
      * Mapeia SecurityAuditLog para Response DTO
      */
@@ -176,6 +250,18 @@ public class SecurityAuditController {
                 .build();
     }
     
+    /**
+     * Página de logs de auditoria paginada por cursor
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class AuditLogPageResponse {
+        private List<SecurityAuditLogResponse> content;
+        private int size;
+        private boolean hasNext;
+        private String nextCursor;
+    }
+    
     /**
      * DTO para resposta de SecurityAuditLog
      */
@@ -0,0 +1,12 @@
+package com.petconnect.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita tarefas agendadas (sincronização de estado de segurança, limpezas periódicas)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
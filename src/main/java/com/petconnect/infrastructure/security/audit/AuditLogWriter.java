@@ -0,0 +1,453 @@
+package com.petconnect.infrastructure.security.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petconnect.domain.security.entity.SecurityAuditLog;
+import com.petconnect.infrastructure.adapter.persistence.repository.SecurityAuditLogJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gravação assíncrona dos logs de auditoria de segurança.
+ *
+ * A thread da requisição apenas enfileira o evento em um {@link AuditRingBuffer}; uma única
+ * thread consumidora grava em lotes JDBC quando acumula {@code batch-size} eventos ou quando
+ * o evento mais antigo espera {@code flush-interval-ms}. Com a fila cheia, a política
+ * {@code overflow} decide: BLOCK (espera até {@code block-timeout-ms} e então descarta),
+ * DROP (descarta e conta) ou SPILL (grava em arquivo, reenviado quando a fila esvazia).
+ * No desligamento a fila é drenada antes de a aplicação parar; um evento que entra na fila
+ * depois da drenagem final é gravado pela própria thread que o enfileirou.
+ *
+ * Os campos com limite de tamanho no banco são truncados antes de enfileirar, pois o IP e o
+ * identificador podem vir do cliente. Se um lote falhar, ele é regravado linha a linha: linhas
+ * recusadas pelo banco vão para o arquivo {@code <spill-file>.rejected} (nunca reenviado) e só
+ * falhas de conexão seguem a política de transbordo.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    public enum OverflowPolicy {
+        BLOCK, DROP, SPILL
+    }
+
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // Tamanhos das colunas VARCHAR de security_audit_logs (V12) e security_audit_rollups (V25)
+    private static final int EVENT_TYPE_LENGTH = 50;
+    private static final int USER_IDENTIFIER_LENGTH = 255;
+    private static final int IP_ADDRESS_LENGTH = 45;
+    private static final int CREATED_BY_LENGTH = 100;
+
+    private final SecurityAuditLogJdbcRepository jdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final AuditRingBuffer<SecurityAuditLog> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final Path spillFile;
+    private final Path rejectedFile;
+    private final long drainTimeoutMillis;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicBoolean spillPending = new AtomicBoolean();
+    private final Object spillLock = new Object();
+    private final Object drainLock = new Object();
+
+    private volatile boolean running;
+    private volatile boolean closed;
+    private volatile boolean consumerStopped = true;
+    private volatile Thread consumer;
+    private volatile long retryAfterNanos;
+    private volatile int held;
+
+    @Autowired
+    public AuditLogWriter(
+            SecurityAuditLogJdbcRepository jdbcRepository,
+            ObjectMapper objectMapper,
+            @Value("${app.security.audit.writer.capacity:8192}") int capacity,
+            @Value("${app.security.audit.writer.batch-size:500}") int batchSize,
+            @Value("${app.security.audit.writer.flush-interval-ms:50}") long flushIntervalMillis,
+            @Value("${app.security.audit.writer.overflow:DROP}") String overflowPolicy,
+            @Value("${app.security.audit.writer.block-timeout-ms:100}") long blockTimeoutMillis,
+            @Value("${app.security.audit.writer.spill-file:}") String spillFile,
+            @Value("${app.security.audit.writer.drain-timeout-ms:5000}") long drainTimeoutMillis) {
+        this.jdbcRepository = jdbcRepository;
+        this.objectMapper = objectMapper;
+        this.buffer = new AuditRingBuffer<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT));
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.spillFile = spillFile == null || spillFile.isBlank()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "petconnect-audit-spill.jsonl")
+                : Paths.get(spillFile);
+        this.rejectedFile = this.spillFile.resolveSibling(this.spillFile.getFileName() + ".rejected");
+        this.drainTimeoutMillis = drainTimeoutMillis;
+        this.retryAfterNanos = System.nanoTime();
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        spillPending.set(Files.exists(spillFile));
+        running = true;
+        consumerStopped = false;
+        Thread thread = new Thread(this::runConsumer, "audit-log-writer");
+        thread.setDaemon(true);
+        consumer = thread;
+        thread.start();
+        log.info("Gravação assíncrona de auditoria iniciada (fila de {}, lotes de {}, overflow {})",
+                buffer.capacity(), batchSize, overflowPolicy);
+    }
+
+    /**
+     * Enfileira o evento sem acessar o banco na thread chamadora
+     */
+    public void submit(SecurityAuditLog auditLog) {
+        if (auditLog.getCreatedBy() == null) {
+            auditLog.setCreatedBy(currentUser());
+        }
+        fitColumns(auditLog);
+        if (closed) {
+            write(List.of(auditLog));
+            return;
+        }
+        if (enqueue(auditLog)) {
+            // Conta também o lote parcial que o consumidor já retirou da fila e segura até o flush
+            if (buffer.size() + held >= batchSize) {
+                wakeConsumer();
+            }
+            return;
+        }
+        handleOverflow(auditLog);
+    }
+
+    /**
+     * Para de aceitar novos eventos na fila e drena o que está pendente
+     */
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = consumer;
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(drainTimeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (thread.isAlive()) {
+                closed = true;
+                log.warn("Drenagem da auditoria excedeu {} ms; {} eventos pendentes", drainTimeoutMillis, buffer.size());
+                return;
+            }
+        }
+        closed = true;
+        flushPending();
+    }
+
+    public AuditWriterMetrics getMetrics() {
+        return AuditWriterMetrics.builder()
+                .capacity(buffer.capacity())
+                .pending(buffer.size())
+                .enqueued(enqueued.sum())
+                .written(written.sum())
+                .batches(batches.sum())
+                .dropped(dropped.sum())
+                .spilled(spilled.sum())
+                .failed(failed.sum())
+                .rejected(rejected.sum())
+                .overflowPolicy(overflowPolicy.name())
+                .build();
+    }
+
+    /**
+     * Enfileira o evento. Um produtor que leu {@code closed == false} pode enfileirar depois da
+     * drenagem final do desligamento: nesse caso ninguém mais leria a fila, então ele mesmo a drena
+     *
+     * @return false quando a fila está cheia
+     */
+    boolean enqueue(SecurityAuditLog auditLog) {
+        if (!buffer.offer(auditLog)) {
+            return false;
+        }
+        enqueued.increment();
+        if (closed && consumerStopped) {
+            flushPending();
+        }
+        return true;
+    }
+
+    /**
+     * Grava de forma síncrona tudo o que está na fila (usado na drenagem final). Só roda depois que
+     * o consumidor terminou, serializado pelo lock, pois a fila admite um único consumidor
+     */
+    void flushPending() {
+        synchronized (drainLock) {
+            List<SecurityAuditLog> batch = new ArrayList<>(batchSize);
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void runConsumer() {
+        List<SecurityAuditLog> batch = new ArrayList<>(batchSize);
+        long pendingSince = 0L;
+        while (running || buffer.size() > 0) {
+            boolean wasEmpty = batch.isEmpty();
+            buffer.drainTo(batch, batchSize - batch.size());
+            if (batch.isEmpty()) {
+                replaySpill();
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            if (wasEmpty) {
+                pendingSince = System.nanoTime();
+            }
+            long waited = System.nanoTime() - pendingSince;
+            if (batch.size() >= batchSize || waited >= flushIntervalNanos || !running) {
+                held = 0;
+                write(batch);
+                batch.clear();
+                continue;
+            }
+            held = batch.size();
+            // Revalida depois de publicar held: um produtor que leu o valor antigo não acordaria o consumidor
+            if (buffer.size() + batch.size() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos - waited);
+            }
+        }
+        held = 0;
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+        consumerStopped = true;
+        // Eventos enfileirados entre a última verificação do laço e a marcação acima
+        flushPending();
+    }
+
+    private void write(List<SecurityAuditLog> batch) {
+        try {
+            jdbcRepository.insertBatch(batch);
+            written.add(batch.size());
+            batches.increment();
+        } catch (Exception e) {
+            if (batch.size() > 1) {
+                log.warn("Falha ao gravar lote de {} eventos de auditoria; regravando linha a linha: {}",
+                        batch.size(), e.getMessage());
+                writeRows(batch);
+            } else if (e instanceof DataIntegrityViolationException) {
+                reject(batch.get(0), e);
+            } else {
+                handleWriteFailure(batch, e);
+            }
+        }
+    }
+
+    /**
+     * Isola as linhas recusadas pelo banco; a primeira falha de outro tipo (conexão, timeout)
+     * encerra a regravação e o restante do lote segue a política de transbordo
+     */
+    private void writeRows(List<SecurityAuditLog> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            SecurityAuditLog auditLog = batch.get(i);
+            try {
+                jdbcRepository.insertBatch(List.of(auditLog));
+                written.increment();
+            } catch (DataIntegrityViolationException e) {
+                reject(auditLog, e);
+            } catch (Exception e) {
+                handleWriteFailure(batch.subList(i, batch.size()), e);
+                return;
+            }
+        }
+        batches.increment();
+    }
+
+    private void handleWriteFailure(List<SecurityAuditLog> auditLogs, Exception e) {
+        retryAfterNanos = System.nanoTime() + RETRY_BACKOFF_NANOS;
+        if (overflowPolicy == OverflowPolicy.SPILL) {
+            log.warn("Falha ao gravar {} eventos de auditoria; gravados em {}: {}",
+                    auditLogs.size(), spillFile, e.getMessage());
+            spill(auditLogs);
+        } else {
+            failed.add(auditLogs.size());
+            log.error("Falha ao gravar {} eventos de auditoria: {}", auditLogs.size(), e.getMessage());
+        }
+    }
+
+    private void reject(SecurityAuditLog auditLog, Exception e) {
+        rejected.increment();
+        log.error("Evento de auditoria {} ({}) recusado pelo banco; gravado em {}: {}",
+                auditLog.getId(), auditLog.getEventType(), rejectedFile, e.getMessage());
+        synchronized (spillLock) {
+            try {
+                appendJson(rejectedFile, List.of(auditLog));
+            } catch (IOException io) {
+                log.error("Falha ao gravar evento de auditoria recusado em {}: {}", rejectedFile, io.getMessage());
+            }
+        }
+    }
+
+    private void handleOverflow(SecurityAuditLog auditLog) {
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                long deadline = System.nanoTime() + blockTimeoutNanos;
+                while (System.nanoTime() - deadline < 0) {
+                    wakeConsumer();
+                    LockSupport.parkNanos(50_000L);
+                    if (enqueue(auditLog)) {
+                        return;
+                    }
+                }
+                dropped.increment();
+            }
+            case SPILL -> spill(List.of(auditLog));
+            default -> dropped.increment();
+        }
+    }
+
+    private void spill(List<SecurityAuditLog> auditLogs) {
+        synchronized (spillLock) {
+            try {
+                appendJson(spillFile, auditLogs);
+                spilled.add(auditLogs.size());
+                spillPending.set(true);
+            } catch (IOException e) {
+                dropped.add(auditLogs.size());
+                log.error("Falha ao gravar eventos de auditoria em {}: {}", spillFile, e.getMessage());
+            }
+        }
+    }
+
+    private void appendJson(Path file, List<SecurityAuditLog> auditLogs) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (SecurityAuditLog auditLog : auditLogs) {
+                writer.write(objectMapper.writeValueAsString(auditLog));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Reenvia os eventos do arquivo de transbordo quando a fila está vazia
+     */
+    private void replaySpill() {
+        if (!spillPending.get() || System.nanoTime() - retryAfterNanos < 0) {
+            return;
+        }
+        List<String> lines;
+        synchronized (spillLock) {
+            try {
+                Path replay = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+                Files.move(spillFile, replay, StandardCopyOption.REPLACE_EXISTING);
+                spillPending.set(false);
+                lines = Files.readAllLines(replay, StandardCharsets.UTF_8);
+                Files.delete(replay);
+            } catch (IOException e) {
+                spillPending.set(Files.exists(spillFile));
+                log.warn("Falha ao ler o arquivo de transbordo da auditoria {}: {}", spillFile, e.getMessage());
+                return;
+            }
+        }
+
+        List<SecurityAuditLog> batch = new ArrayList<>(batchSize);
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(fitColumns(objectMapper.readValue(line, SecurityAuditLog.class)));
+            } catch (IOException e) {
+                failed.increment();
+                log.warn("Evento de auditoria ilegível no arquivo de transbordo descartado");
+            }
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+        log.info("{} eventos de auditoria reenviados do arquivo de transbordo", lines.size());
+    }
+
+    private void wakeConsumer() {
+        Thread thread = consumer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Trunca os campos VARCHAR ao tamanho da coluna: um valor longo faria o banco recusar a linha
+     */
+    static SecurityAuditLog fitColumns(SecurityAuditLog auditLog) {
+        auditLog.setEventType(truncate(auditLog.getEventType(), EVENT_TYPE_LENGTH));
+        auditLog.setUserIdentifier(truncate(auditLog.getUserIdentifier(), USER_IDENTIFIER_LENGTH));
+        auditLog.setIpAddress(truncate(auditLog.getIpAddress(), IP_ADDRESS_LENGTH));
+        auditLog.setCreatedBy(truncate(auditLog.getCreatedBy(), CREATED_BY_LENGTH));
+        return auditLog;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        int end = Character.isHighSurrogate(value.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+        return value.substring(0, end);
+    }
+
+    /**
+     * Mesmo critério de {@code AuditableEntity}: a gravação acontece em outra thread,
+     * então o autor é capturado na thread da requisição
+     */
+    private static String currentUser() {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated()
+                    || "anonymousUser".equals(authentication.getName())) {
+                return "system";
+            }
+            return authentication.getName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
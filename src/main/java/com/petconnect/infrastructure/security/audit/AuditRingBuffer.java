@@ -0,0 +1,94 @@
+package com.petconnect.infrastructure.security.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular limitada e sem locks, para vários produtores e um único consumidor.
+ *
+ * Cada posição carrega um número de sequência: o produtor reserva a posição com um CAS no
+ * tail e a publica avançando a sequência; o consumidor só lê posições já publicadas e as
+ * libera para a próxima volta. A capacidade é arredondada para potência de 2.
+ */
+final class AuditRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    AuditRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Enfileira sem bloquear
+     *
+     * @return false quando a fila está cheia
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Retira o próximo elemento publicado (somente a thread consumidora)
+     */
+    E poll() {
+        long position = head.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, position + mask + 1);
+        head.lazySet(position + 1);
+        return element;
+    }
+
+    /**
+     * Move até {@code max} elementos para {@code sink} (somente a thread consumidora)
+     */
+    int drainTo(List<E> sink, int max) {
+        int drained = 0;
+        E element;
+        while (drained < max && (element = poll()) != null) {
+            sink.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
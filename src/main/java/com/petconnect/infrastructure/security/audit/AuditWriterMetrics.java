@@ -0,0 +1,22 @@
+package com.petconnect.infrastructure.security.audit;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Fotografia das métricas da gravação assíncrona de auditoria
+ */
+@Value
+@Builder
+public class AuditWriterMetrics {
+    int capacity;
+    int pending;
+    long enqueued;
+    long written;
+    long batches;
+    long dropped;
+    long spilled;
+    long failed;
+    long rejected;
+    String overflowPolicy;
+}
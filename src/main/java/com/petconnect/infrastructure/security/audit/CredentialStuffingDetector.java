@@ -0,0 +1,197 @@
+package com.petconnect.infrastructure.security.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detector de credential stuffing: um IP que erra login com muitos identificadores distintos.
+ *
+ * O bloqueio por (identificador, IP) do {@link LoginThrottle} não dispara quando o atacante
+ * troca de usuário a cada tentativa; aqui cada IP tem um {@link SlidingHyperLogLog} com os
+ * identificadores das falhas na janela {@code window-minutes}. Ao atingir
+ * {@code distinct-identifiers} o IP fica bloqueado por {@code block-minutes}.
+ * Tudo em memória, sem consultas ao banco; o custo por IP é fixo e o número de IPs
+ * acompanhados é limitado por {@code max-tracked-ips} (IPs novos além do limite não são
+ * acompanhados até a limpeza periódica liberar espaço).
+ *
+ * O IP recebido deve vir do {@code ClientIpResolver} (remoteAddr ou X-Forwarded-For de proxy
+ * confiável); com um cabeçalho livre o atacante escaparia trocando o valor ou bloquearia o IP de
+ * outra pessoa. Usuários legítimos atrás do mesmo NAT também somam identificadores: se
+ * {@code distinct-identifiers} deles errarem a senha dentro da janela, o endereço é bloqueado.
+ */
+@Component
+@Slf4j
+public class CredentialStuffingDetector {
+
+    private static final int SLICES = 4;
+
+    private final boolean enabled;
+    private final int distinctIdentifiers;
+    private final long windowMillis;
+    private final long blockMillis;
+    private final int precision;
+    private final int maxTrackedIps;
+    private final Clock clock;
+    private final long hashSeed = new SecureRandom().nextLong();
+
+    private final ConcurrentHashMap<String, IpState> states = new ConcurrentHashMap<>();
+    private final LongAdder blocks = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+
+    @Autowired
+    public CredentialStuffingDetector(
+            @Value("${app.security.credential-stuffing.enabled:true}") boolean enabled,
+            @Value("${app.security.credential-stuffing.distinct-identifiers:20}") int distinctIdentifiers,
+            @Value("${app.security.credential-stuffing.window-minutes:10}") long windowMinutes,
+            @Value("${app.security.credential-stuffing.block-minutes:30}") long blockMinutes,
+            @Value("${app.security.credential-stuffing.precision:6}") int precision,
+            @Value("${app.security.credential-stuffing.max-tracked-ips:50000}") int maxTrackedIps) {
+        this(enabled, distinctIdentifiers, Duration.ofMinutes(windowMinutes), Duration.ofMinutes(blockMinutes),
+                precision, maxTrackedIps, Clock.systemUTC());
+    }
+
+    CredentialStuffingDetector(boolean enabled, int distinctIdentifiers, Duration window, Duration block,
+                               int precision, int maxTrackedIps, Clock clock) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision deve estar entre 4 e 16");
+        }
+        this.enabled = enabled;
+        this.distinctIdentifiers = Math.max(2, distinctIdentifiers);
+        this.windowMillis = window.toMillis();
+        this.blockMillis = block.toMillis();
+        this.precision = precision;
+        this.maxTrackedIps = maxTrackedIps;
+        this.clock = clock;
+    }
+
+    /**
+     * Verifica se o IP está bloqueado por credential stuffing
+     */
+    public boolean isBlocked(String clientIp) {
+        if (!enabled || clientIp == null) {
+            return false;
+        }
+        IpState state = states.get(clientIp);
+        if (state == null || state.blockedUntil <= clock.millis()) {
+            return false;
+        }
+        rejected.increment();
+        return true;
+    }
+
+    /**
+     * Registra um login falho do IP com o identificador informado.
+     *
+     * @return true quando esta falha fez o IP ultrapassar o limite e ser bloqueado
+     */
+    public boolean recordFailure(String clientIp, String identifier) {
+        if (!enabled || clientIp == null || identifier == null) {
+            return false;
+        }
+        long now = clock.millis();
+        IpState state = stateFor(clientIp, now);
+        if (state == null) {
+            return false;
+        }
+        long hash = hash(identifier.trim().toLowerCase(Locale.ROOT));
+        long distinct;
+        synchronized (state) {
+            state.lastSeen = now;
+            state.sketch.add(hash, now);
+            if (state.blockedUntil > now) {
+                return false;
+            }
+            distinct = state.sketch.estimate(now);
+            if (distinct < distinctIdentifiers) {
+                return false;
+            }
+            state.blockedUntil = now + blockMillis;
+        }
+        blocks.increment();
+        log.warn("IP {} bloqueado por credential stuffing: ~{} identificadores distintos em {} min",
+                clientIp, distinct, Duration.ofMillis(windowMillis).toMinutes());
+        return true;
+    }
+
+    /**
+     * Remove IPs sem falhas na janela e sem bloqueio ativo
+     */
+    @Scheduled(fixedDelayString = "${app.security.credential-stuffing.sweep-ms:60000}")
+    public void evictIdle() {
+        long now = clock.millis();
+        Iterator<IpState> iterator = states.values().iterator();
+        while (iterator.hasNext()) {
+            IpState state = iterator.next();
+            if (now - state.lastSeen > windowMillis && state.blockedUntil <= now) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public CredentialStuffingMetrics getMetrics() {
+        return CredentialStuffingMetrics.builder()
+                .enabled(enabled)
+                .trackedIps(states.size())
+                .maxTrackedIps(maxTrackedIps)
+                .bytesPerIp(SLICES << precision)
+                .distinctIdentifiersThreshold(distinctIdentifiers)
+                .blocks(blocks.sum())
+                .rejectedAttempts(rejected.sum())
+                .untrackedFailures(untracked.sum())
+                .build();
+    }
+
+    private IpState stateFor(String clientIp, long now) {
+        IpState state = states.get(clientIp);
+        if (state != null) {
+            return state;
+        }
+        if (states.size() >= maxTrackedIps) {
+            untracked.increment();
+            return null;
+        }
+        return states.computeIfAbsent(clientIp,
+                key -> new IpState(new SlidingHyperLogLog(precision, SLICES, windowMillis), now));
+    }
+
+    /**
+     * FNV-1a com semente aleatória por instância e finalizador do MurmurHash3: sem a semente,
+     * identificadores escolhidos para colidir poderiam esconder o ataque
+     */
+    private long hash(String value) {
+        long h = hashSeed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class IpState {
+        private final SlidingHyperLogLog sketch;
+        private volatile long lastSeen;
+        private volatile long blockedUntil;
+
+        private IpState(SlidingHyperLogLog sketch, long now) {
+            this.sketch = sketch;
+            this.lastSeen = now;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.petconnect.infrastructure.security.audit;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Fotografia das métricas do detector de credential stuffing
+ */
+@Value
+@Builder
+public class CredentialStuffingMetrics {
+    boolean enabled;
+    int trackedIps;
+    int maxTrackedIps;
+    int bytesPerIp;
+    int distinctIdentifiersThreshold;
+    long blocks;
+    long rejectedAttempts;
+    long untrackedFailures;
+}
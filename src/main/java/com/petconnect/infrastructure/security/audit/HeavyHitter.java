@@ -0,0 +1,16 @@
+package com.petconnect.infrastructure.security.audit;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Item frequente estimado pelo {@link SpaceSavingSketch}: a contagem real está entre
+ * {@code count - error} e {@code count}
+ */
+@Value
+@Builder
+public class HeavyHitter {
+    String key;
+    long count;
+    long error;
+}
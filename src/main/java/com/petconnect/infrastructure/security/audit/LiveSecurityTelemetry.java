@@ -0,0 +1,33 @@
+package com.petconnect.infrastructure.security.audit;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fotografia da telemetria de segurança em memória
+ */
+@Value
+@Builder
+public class LiveSecurityTelemetry {
+    Instant timestamp;
+    int windowSeconds;
+    Map<String, EventRate> rates;
+    List<HeavyHitter> topIpAddresses;
+    List<HeavyHitter> topIdentifiers;
+
+    /**
+     * Eventos de um tipo no último segundo, no último minuto e na janela inteira
+     */
+    @Value
+    @Builder
+    public static class EventRate {
+        long lastSecond;
+        long lastMinute;
+        long window;
+        double perSecond;
+    }
+}
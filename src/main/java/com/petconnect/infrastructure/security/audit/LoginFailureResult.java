@@ -0,0 +1,12 @@
+package com.petconnect.infrastructure.security.audit;
+
+import lombok.Value;
+
+/**
+ * Estado do par (identificador, IP) após registrar uma falha de login
+ */
+@Value
+public class LoginFailureResult {
+    int attemptCount;
+    boolean blocked;
+}
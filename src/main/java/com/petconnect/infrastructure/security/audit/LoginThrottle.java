@@ -0,0 +1,621 @@
+package com.petconnect.infrastructure.security.audit;
+
+import com.petconnect.domain.security.entity.LoginAttempt;
+import com.petconnect.domain.security.port.LoginAttemptRepositoryPort;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Controle de tentativas de login em memória, com janela deslizante por (identificador, IP)
+ * e por IP.
+ *
+ * As decisões de bloqueio não consultam o banco: o estado fica em memória, protegido por
+ * locks particionados (striping), e é gravado em {@code login_attempts} de forma assíncrona
+ * (write-behind) para durabilidade e recuperação após reinício.
+ *
+ * No modo {@code shared} (várias instâncias com o mesmo banco) o banco é a fonte da verdade:
+ * cada falha é registrada com um upsert atômico e o estado do par é relido no máximo uma vez
+ * por {@code shared-sync-ms} antes das decisões.
+ *
+ * O número de janelas de pares (identificador, IP) em memória é limitado por
+ * {@code max-tracked-keys}. Com o mapa cheio, falhas de pares novos são registradas direto no
+ * banco com o mesmo upsert atômico do modo {@code shared}, e as decisões desses pares consultam
+ * o banco enquanto houver registros recentes gravados assim: nenhuma falha deixa de contar.
+ * Janelas por IP não entram no limite, pois cada uma exige uma falha real vinda do endereço.
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final String IP_KEY_PREFIX = "ip:";
+    private static final String UNKNOWN_IP = "unknown";
+    private static final int DEFAULT_MAX_TRACKED_KEYS = 100_000;
+
+    private final LoginAttemptRepositoryPort loginAttemptRepository;
+    private final int maxAttempts;
+    private final long windowMillis;
+    private final long lockoutMillis;
+    private final int ipMaxFailures;
+    private final long ipLockoutMillis;
+    private final boolean shared;
+    private final long sharedSyncMillis;
+    private final int maxTrackedKeys;
+    private final Clock clock;
+
+    private final Map<String, AttemptWindow> windows = new ConcurrentHashMap<>();
+    private final Set<String> dirtyKeys = ConcurrentHashMap.newKeySet();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final LongAdder flushedWrites = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+    private final LongAdder storeFallbackFailures = new LongAdder();
+    private volatile long storeFallbackUntil;
+
+    @Autowired
+    public LoginThrottle(
+            LoginAttemptRepositoryPort loginAttemptRepository,
+            @Value("${app.security.login-throttle.max-attempts:5}") int maxAttempts,
+            @Value("${app.security.login-throttle.window-minutes:15}") long windowMinutes,
+            @Value("${app.security.login-throttle.lockout-minutes:30}") long lockoutMinutes,
+            @Value("${app.security.login-throttle.ip-max-failures:50}") int ipMaxFailures,
+            @Value("${app.security.login-throttle.ip-lockout-minutes:15}") long ipLockoutMinutes,
+            @Value("${app.security.login-throttle.mode:local}") String mode,
+            @Value("${app.security.login-throttle.shared-sync-ms:1000}") long sharedSyncMillis,
+            @Value("${app.security.login-throttle.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this(loginAttemptRepository, maxAttempts, Duration.ofMinutes(windowMinutes), Duration.ofMinutes(lockoutMinutes),
+                ipMaxFailures, Duration.ofMinutes(ipLockoutMinutes), "shared".equalsIgnoreCase(mode),
+                Duration.ofMillis(sharedSyncMillis), maxTrackedKeys, Clock.systemDefaultZone());
+    }
+
+    LoginThrottle(LoginAttemptRepositoryPort loginAttemptRepository, int maxAttempts, Duration window,
+                  Duration lockout, int ipMaxFailures, Duration ipLockout, Clock clock) {
+        this(loginAttemptRepository, maxAttempts, window, lockout, ipMaxFailures, ipLockout, false, Duration.ZERO,
+                DEFAULT_MAX_TRACKED_KEYS, clock);
+    }
+
+    LoginThrottle(LoginAttemptRepositoryPort loginAttemptRepository, int maxAttempts, Duration window,
+                  Duration lockout, int ipMaxFailures, Duration ipLockout, boolean shared,
+                  Duration sharedSync, int maxTrackedKeys, Clock clock) {
+        this.loginAttemptRepository = loginAttemptRepository;
+        this.shared = shared;
+        this.sharedSyncMillis = sharedSync.toMillis();
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.maxAttempts = maxAttempts;
+        this.windowMillis = window.toMillis();
+        this.lockoutMillis = lockout.toMillis();
+        this.ipMaxFailures = ipMaxFailures;
+        this.ipLockoutMillis = ipLockout.toMillis();
+        this.clock = clock;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Verifica se o par (identificador, IP) ou o próprio IP está bloqueado.
+     * Bloqueios expirados são limpos, como no comportamento anterior
+     */
+    public boolean isBlocked(String identifier, String ipAddress) {
+        long now = clock.millis();
+        String key = pairKey(identifier, ipAddress);
+        if (shared) {
+            syncSharedState(key, identifier, ipAddress, now);
+        }
+        boolean tracked;
+        synchronized (lockFor(key)) {
+            AttemptWindow window = windows.get(key);
+            tracked = window != null;
+            if (window != null && window.blockedUntil > 0) {
+                if (window.blockedUntil > now) {
+                    return true;
+                }
+                window.reset();
+                if (!shared) {
+                    dirtyKeys.add(key);
+                }
+            }
+        }
+        if (!tracked) {
+            LoginAttempt stored = storedFallbackState(identifier, ipAddress, now);
+            if (stored != null && stored.getBlockedUntil() != null
+                    && stored.getBlockedUntil().isAfter(toLocalDateTime(now))) {
+                return true;
+            }
+        }
+        return isIpBlocked(ipAddress, now);
+    }
+
+    /**
+     * Verifica se ainda há tentativas disponíveis na janela deslizante
+     */
+    public boolean canAttempt(String identifier, String ipAddress) {
+        if (isBlocked(identifier, ipAddress)) {
+            return false;
+        }
+        long now = clock.millis();
+        String key = pairKey(identifier, ipAddress);
+        synchronized (lockFor(key)) {
+            AttemptWindow window = windows.get(key);
+            if (window != null) {
+                return window.countFailures(now, windowMillis) < maxAttempts;
+            }
+        }
+        LoginAttempt stored = storedFallbackState(identifier, ipAddress, now);
+        return stored == null || stored.getAttemptCount() == null || stored.getAttemptTimestamp() == null
+                || !stored.getAttemptTimestamp().isAfter(toLocalDateTime(now - windowMillis))
+                || stored.getAttemptCount() < maxAttempts;
+    }
+
+    /**
+     * Minutos restantes do bloqueio mais longo entre o par e o IP
+     */
+    public long getRemainingLockoutMinutes(String identifier, String ipAddress) {
+        long now = clock.millis();
+        long pairBlockedUntil = blockedUntil(pairKey(identifier, ipAddress));
+        if (pairBlockedUntil == 0) {
+            LoginAttempt stored = storedFallbackState(identifier, ipAddress, now);
+            if (stored != null && stored.getBlockedUntil() != null) {
+                pairBlockedUntil = stored.getBlockedUntil().atZone(clock.getZone()).toInstant().toEpochMilli();
+            }
+        }
+        long blockedUntil = Math.max(pairBlockedUntil, blockedUntil(ipKey(ipAddress)));
+        return blockedUntil > now ? Duration.ofMillis(blockedUntil - now).toMinutes() : 0;
+    }
+
+    /**
+     * Registra uma falha; bloqueia o par ao atingir o limite da janela e o IP ao atingir o limite por IP
+     */
+    public LoginFailureResult recordFailure(String identifier, String ipAddress) {
+        long now = clock.millis();
+        String key = pairKey(identifier, ipAddress);
+        LoginFailureResult result = shared ? recordSharedFailure(key, identifier, ipAddress, now) : null;
+        if (result == null) {
+            result = recordLocalFailure(key, identifier, ipAddress, now);
+        }
+        recordIpFailure(ipAddress, now);
+        return result;
+    }
+
+    private LoginFailureResult recordLocalFailure(String key, String identifier, String ipAddress, long now) {
+        int attemptCount;
+        boolean blocked;
+        synchronized (lockFor(key)) {
+            AttemptWindow window = windowFor(key, identifier, normalizeIp(ipAddress), maxAttempts);
+            if (window == null) {
+                LoginFailureResult stored = recordStoreFallbackFailure(identifier, ipAddress, now);
+                if (stored != null) {
+                    return stored;
+                }
+                // Banco indisponível: a falha é contada em memória mesmo acima do limite
+                window = new AttemptWindow(identifier, normalizeIp(ipAddress), maxAttempts);
+                windows.put(key, window);
+            }
+            window.addFailure(now, windowMillis);
+            attemptCount = window.countFailures(now, windowMillis);
+            if (window.blockedUntil > now) {
+                attemptCount = Math.max(attemptCount, maxAttempts);
+            } else if (attemptCount >= maxAttempts) {
+                window.blockedUntil = now + lockoutMillis;
+            }
+            blocked = window.blockedUntil > now;
+            dirtyKeys.add(key);
+        }
+        return new LoginFailureResult(attemptCount, blocked);
+    }
+
+    /**
+     * Registra a falha diretamente no banco (upsert atômico) e espelha o resultado em memória;
+     * retorna null se o banco estiver indisponível, caindo para a contagem local
+     */
+    private LoginFailureResult recordSharedFailure(String key, String identifier, String ipAddress, long now) {
+        try {
+            LoginAttempt state = loginAttemptRepository.recordFailedAttempt(identifier, normalizeIp(ipAddress),
+                    toLocalDateTime(now), toLocalDateTime(now - windowMillis), maxAttempts,
+                    toLocalDateTime(now + lockoutMillis));
+            synchronized (lockFor(key)) {
+                AttemptWindow window = windowFor(key, identifier, normalizeIp(ipAddress), maxAttempts);
+                if (window == null) {
+                    storeFallbackFailures.increment();
+                    extendStoreFallback(now);
+                    return toFailureResult(state, now);
+                }
+                window.restore(state, clock);
+                window.syncedAt = now;
+                return new LoginFailureResult(state.getAttemptCount(), window.blockedUntil > now);
+            }
+        } catch (Exception e) {
+            log.warn("Falha ao registrar tentativa no banco; usando contagem local: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void recordIpFailure(String ipAddress, long now) {
+        String ipKey = ipKey(ipAddress);
+        synchronized (lockFor(ipKey)) {
+            AttemptWindow ipWindow = windows.computeIfAbsent(ipKey, k -> new AttemptWindow(null, ipAddress, ipMaxFailures));
+            ipWindow.addFailure(now, windowMillis);
+            if (ipWindow.blockedUntil <= now && ipWindow.countFailures(now, windowMillis) >= ipMaxFailures) {
+                ipWindow.blockedUntil = now + ipLockoutMillis;
+                log.warn("IP bloqueado após {} falhas de login na janela: {}", ipMaxFailures, ipAddress);
+            }
+        }
+    }
+
+    /**
+     * Zera a janela do par após login bem-sucedido (a janela por IP é mantida)
+     */
+    public void recordSuccess(String identifier, String ipAddress) {
+        String key = pairKey(identifier, ipAddress);
+        boolean hadFailures = false;
+        boolean tracked;
+        synchronized (lockFor(key)) {
+            AttemptWindow window = windows.get(key);
+            tracked = window != null;
+            if (window != null && !window.isEmpty()) {
+                window.reset();
+                hadFailures = true;
+            }
+        }
+        if (shared || (!tracked && isStoreFallbackActive(clock.millis()))) {
+            resetShared(key, identifier, ipAddress);
+        } else if (hadFailures) {
+            dirtyKeys.add(key);
+        }
+    }
+
+    /**
+     * Desbloqueia o identificador em todos os IPs conhecidos
+     */
+    public boolean unlock(String identifier) {
+        boolean unlocked = false;
+        for (String key : windows.keySet()) {
+            synchronized (lockFor(key)) {
+                AttemptWindow window = windows.get(key);
+                if (window != null && identifier.equals(window.identifier)) {
+                    window.reset();
+                    dirtyKeys.add(key);
+                    unlocked = true;
+                }
+            }
+        }
+        return unlocked;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Grava no banco as janelas alteradas desde o último flush e descarta janelas ociosas
+     */
+    @Scheduled(fixedDelayString = "${app.security.login-throttle.flush-ms:5000}")
+    public void flush() {
+        long now = clock.millis();
+        for (String key : new ArrayList<>(dirtyKeys)) {
+            dirtyKeys.remove(key);
+            LoginAttempt snapshot;
+            synchronized (lockFor(key)) {
+                AttemptWindow window = windows.get(key);
+                if (window == null) {
+                    continue;
+                }
+                snapshot = window.toLoginAttempt(now, windowMillis, clock);
+            }
+            try {
+                persist(snapshot);
+                flushedWrites.increment();
+            } catch (Exception e) {
+                failedWrites.increment();
+                dirtyKeys.add(key);
+                log.warn("Falha ao gravar tentativa de login (será refeito no próximo ciclo): {}", e.getMessage());
+            }
+        }
+        evictIdle(now);
+    }
+
+    /**
+     * Recupera bloqueios e falhas recentes persistidos antes de um reinício
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehydrate() {
+        try {
+            LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(clock.millis() - windowMillis), clock.getZone());
+            List<LoginAttempt> attempts = loginAttemptRepository.findActiveAttempts(since);
+            for (LoginAttempt attempt : attempts) {
+                String key = pairKey(attempt.getUserIdentifier(), attempt.getIpAddress());
+                synchronized (lockFor(key)) {
+                    AttemptWindow window = windowFor(key, attempt.getUserIdentifier(),
+                            normalizeIp(attempt.getIpAddress()), maxAttempts);
+                    if (window != null) {
+                        window.restore(attempt, clock);
+                    }
+                }
+            }
+            log.info("Controle de tentativas de login recuperado: {} registros ativos", attempts.size());
+        } catch (Exception e) {
+            log.warn("Falha ao recuperar tentativas de login persistidas: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public LoginThrottleMetrics getMetrics() {
+        return LoginThrottleMetrics.builder()
+                .trackedWindows(windows.size())
+                .maxTrackedWindows(maxTrackedKeys)
+                .storeFallbackFailures(storeFallbackFailures.sum())
+                .pendingWrites(dirtyKeys.size())
+                .flushedWrites(flushedWrites.sum())
+                .failedWrites(failedWrites.sum())
+                .build();
+    }
+
+    private void persist(LoginAttempt snapshot) {
+        if (snapshot.getAttemptCount() == 0 && snapshot.getBlockedUntil() == null) {
+            loginAttemptRepository.resetAttempts(snapshot.getUserIdentifier(), snapshot.getIpAddress());
+        } else {
+            loginAttemptRepository.upsertAttemptState(snapshot);
+        }
+    }
+
+    private void resetShared(String key, String identifier, String ipAddress) {
+        try {
+            loginAttemptRepository.resetAttempts(identifier, normalizeIp(ipAddress));
+        } catch (Exception e) {
+            dirtyKeys.add(key);
+            log.warn("Falha ao zerar tentativas no banco (será refeito no próximo ciclo): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Relê do banco o estado do par, no máximo uma vez por intervalo de sincronização
+     */
+    private void syncSharedState(String key, String identifier, String ipAddress, long now) {
+        synchronized (lockFor(key)) {
+            AttemptWindow window = windows.get(key);
+            if (window != null && now - window.syncedAt < sharedSyncMillis) {
+                return;
+            }
+        }
+        try {
+            Optional<LoginAttempt> stored = loginAttemptRepository.findByUserIdentifierAndIpAddress(
+                    identifier, normalizeIp(ipAddress));
+            synchronized (lockFor(key)) {
+                AttemptWindow window = windowFor(key, identifier, normalizeIp(ipAddress), maxAttempts);
+                if (window == null) {
+                    return;
+                }
+                if (stored.isPresent()) {
+                    window.restore(stored.get(), clock);
+                } else {
+                    window.reset();
+                }
+                window.syncedAt = now;
+            }
+        } catch (Exception e) {
+            log.warn("Falha ao sincronizar tentativas de login; usando estado local: {}", e.getMessage());
+        }
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), clock.getZone());
+    }
+
+    /**
+     * Registra no banco a falha de um par sem janela em memória (mapa cheio); null se o banco falhar
+     */
+    private LoginFailureResult recordStoreFallbackFailure(String identifier, String ipAddress, long now) {
+        try {
+            LoginAttempt state = loginAttemptRepository.recordFailedAttempt(identifier, normalizeIp(ipAddress),
+                    toLocalDateTime(now), toLocalDateTime(now - windowMillis), maxAttempts,
+                    toLocalDateTime(now + lockoutMillis));
+            storeFallbackFailures.increment();
+            extendStoreFallback(now);
+            return toFailureResult(state, now);
+        } catch (Exception e) {
+            log.warn("Falha ao registrar tentativa no banco com o controle em memória cheio: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Estado persistido de um par sem janela em memória, consultado apenas enquanto houver
+     * falhas recentes gravadas direto no banco
+     */
+    private LoginAttempt storedFallbackState(String identifier, String ipAddress, long now) {
+        if (!isStoreFallbackActive(now)) {
+            return null;
+        }
+        try {
+            return loginAttemptRepository.findByUserIdentifierAndIpAddress(identifier, normalizeIp(ipAddress))
+                    .orElse(null);
+        } catch (Exception e) {
+            log.warn("Falha ao consultar tentativas de login no banco: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void extendStoreFallback(long now) {
+        storeFallbackUntil = Math.max(storeFallbackUntil, now + Math.max(windowMillis, lockoutMillis));
+    }
+
+    private boolean isStoreFallbackActive(long now) {
+        return storeFallbackUntil > now;
+    }
+
+    private LoginFailureResult toFailureResult(LoginAttempt state, long now) {
+        return new LoginFailureResult(state.getAttemptCount(), state.getBlockedUntil() != null
+                && state.getBlockedUntil().isAfter(toLocalDateTime(now)));
+    }
+
+    /**
+     * Janela existente do par ou uma nova, se houver espaço; null com o mapa cheio.
+     * Chamado sob o lock da partição da chave
+     */
+    private AttemptWindow windowFor(String key, String identifier, String ipAddress, int capacity) {
+        AttemptWindow window = windows.get(key);
+        if (window != null) {
+            return window;
+        }
+        if (windows.size() >= maxTrackedKeys) {
+            return null;
+        }
+        window = new AttemptWindow(identifier, ipAddress, capacity);
+        windows.put(key, window);
+        return window;
+    }
+
+    /**
+     * Percorre o mapa diretamente (iterador fracamente consistente), sem copiar as chaves
+     */
+    private void evictIdle(long now) {
+        Iterator<Map.Entry<String, AttemptWindow>> iterator = windows.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, AttemptWindow> entry = iterator.next();
+            String key = entry.getKey();
+            synchronized (lockFor(key)) {
+                AttemptWindow window = entry.getValue();
+                if (!dirtyKeys.contains(key)
+                        && window.blockedUntil <= now && window.countFailures(now, windowMillis) == 0) {
+                    windows.remove(key, window);
+                }
+            }
+        }
+    }
+
+    private boolean isIpBlocked(String ipAddress, long now) {
+        return blockedUntil(ipKey(ipAddress)) > now;
+    }
+
+    private long blockedUntil(String key) {
+        synchronized (lockFor(key)) {
+            AttemptWindow window = windows.get(key);
+            return window != null ? window.blockedUntil : 0;
+        }
+    }
+
+    private Object lockFor(String key) {
+        return locks[(key.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private static String pairKey(String identifier, String ipAddress) {
+        return identifier + "|" + normalizeIp(ipAddress);
+    }
+
+    private static String ipKey(String ipAddress) {
+        return IP_KEY_PREFIX + normalizeIp(ipAddress);
+    }
+
+    /**
+     * IP nulo vira "unknown": NULL não conflita no índice único (user_identifier, ip_address)
+     */
+    private static String normalizeIp(String ipAddress) {
+        return ipAddress != null ? ipAddress : UNKNOWN_IP;
+    }
+
+    /**
+     * Janela deslizante com os instantes das últimas falhas (buffer circular limitado ao limite).
+     * Acessada somente sob o lock da partição correspondente
+     */
+    private static final class AttemptWindow {
+        private final String identifier;
+        private final String ipAddress;
+        private final long[] failures;
+        private int head;
+        private int size;
+        private long lastAttemptAt;
+        private long blockedUntil;
+        private long syncedAt;
+
+        private AttemptWindow(String identifier, String ipAddress, int capacity) {
+            this.identifier = identifier;
+            this.ipAddress = ipAddress;
+            this.failures = new long[Math.max(1, capacity)];
+        }
+
+        private void addFailure(long now, long windowMillis) {
+            prune(now, windowMillis);
+            if (size == failures.length) {
+                head = (head + 1) % failures.length;
+                size--;
+            }
+            failures[(head + size) % failures.length] = now;
+            size++;
+            lastAttemptAt = now;
+        }
+
+        private int countFailures(long now, long windowMillis) {
+            prune(now, windowMillis);
+            return size;
+        }
+
+        private void prune(long now, long windowMillis) {
+            while (size > 0 && failures[head] <= now - windowMillis) {
+                head = (head + 1) % failures.length;
+                size--;
+            }
+        }
+
+        private boolean isEmpty() {
+            return size == 0 && blockedUntil == 0;
+        }
+
+        private void reset() {
+            head = 0;
+            size = 0;
+            blockedUntil = 0;
+        }
+
+        private void restore(LoginAttempt attempt, Clock clock) {
+            long attemptAt = attempt.getAttemptTimestamp() != null
+                    ? attempt.getAttemptTimestamp().atZone(clock.getZone()).toInstant().toEpochMilli()
+                    : clock.millis();
+            int count = attempt.getAttemptCount() != null ? Math.min(attempt.getAttemptCount(), failures.length) : 0;
+            head = 0;
+            size = 0;
+            for (int i = 0; i < count; i++) {
+                failures[size++] = attemptAt;
+            }
+            lastAttemptAt = attemptAt;
+            blockedUntil = attempt.getBlockedUntil() != null
+                    ? attempt.getBlockedUntil().atZone(clock.getZone()).toInstant().toEpochMilli()
+                    : 0;
+        }
+
+        private LoginAttempt toLoginAttempt(long now, long windowMillis, Clock clock) {
+            int count = countFailures(now, windowMillis);
+            LoginAttempt attempt = LoginAttempt.create(identifier, ipAddress, count == 0);
+            attempt.setAttemptCount(count);
+            if (lastAttemptAt > 0) {
+                attempt.setAttemptTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(lastAttemptAt), clock.getZone()));
+            }
+            attempt.setBlockedUntil(blockedUntil > now
+                    ? LocalDateTime.ofInstant(Instant.ofEpochMilli(blockedUntil), clock.getZone())
+                    : null);
+            return attempt;
+        }
+    }
+}
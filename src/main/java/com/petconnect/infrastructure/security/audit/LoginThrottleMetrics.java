@@ -0,0 +1,18 @@
+package com.petconnect.infrastructure.security.audit;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Fotografia das métricas do controle de tentativas de login
+ */
+@Value
+@Builder
+public class LoginThrottleMetrics {
+    int trackedWindows;
+    int maxTrackedWindows;
+    long storeFallbackFailures;
+    int pendingWrites;
+    long flushedWrites;
+    long failedWrites;
+}
@@ -0,0 +1,57 @@
+package com.petconnect.infrastructure.security.audit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contador de eventos por segundo em um anel de {@code slots} segundos, sem locks.
+ *
+ * Cada posição guarda o segundo (32 bits altos) e a contagem (32 bits baixos) em um único
+ * long, então o incremento e a troca de segundo são um só CAS. Posições com segundo antigo
+ * são ignoradas na leitura e reaproveitadas no primeiro incremento do novo segundo
+ */
+final class PerSecondCounter {
+
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final AtomicLongArray slots;
+
+    PerSecondCounter(int slots) {
+        this.slots = new AtomicLongArray(slots);
+    }
+
+    void increment(long epochSecond) {
+        int index = index(epochSecond);
+        long stamp = epochSecond << 32;
+        while (true) {
+            long current = slots.get(index);
+            long next = (current & ~COUNT_MASK) == stamp ? current + 1 : stamp | 1;
+            if (slots.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Soma dos últimos {@code seconds} segundos até {@code epochSecond}, inclusive
+     */
+    long sum(long epochSecond, int seconds) {
+        int window = Math.min(seconds, slots.length());
+        long total = 0;
+        for (int i = 0; i < window; i++) {
+            long second = epochSecond - i;
+            long value = slots.get(index(second));
+            if ((value >>> 32) == (second & COUNT_MASK)) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    private int index(long epochSecond) {
+        return (int) Math.floorMod(epochSecond, (long) slots.length());
+    }
+}
@@ -1,145 +1,71 @@
 package com.petconnect.infrastructure.security.audit;
 
-import com.petconnect.domain.security.entity.LoginAttempt;
 import com.petconnect.domain.security.entity.SecurityAuditLog;
-import com.petconnect.domain.security.port.LoginAttemptRepositoryPort;
-import com.petconnect.domain.security.port.SecurityAuditLogRepositoryPort;
 import com.petconnect.infrastructure.security.interceptor.SecurityInterceptor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.Optional;
-
+/**
+ * Auditoria de eventos de segurança e controle de tentativas de login.
+ * As decisões de bloqueio são tomadas em memória pelo {@link LoginThrottle} e os eventos
+ * são gravados em lote pelo {@link AuditLogWriter}, fora da thread da requisição.
+ * Cada evento também alimenta a telemetria em memória ({@link SecurityTelemetry})
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SecurityAuditService {
     
-    private final SecurityAuditLogRepositoryPort securityAuditLogRepository;
-    private final LoginAttemptRepositoryPort loginAttemptRepository;
-    
-    private static final int MAX_LOGIN_ATTEMPTS = 5;
-    private static final int LOCKOUT_DURATION_MINUTES = 30;
-    private static final int ATTEMPT_RESET_MINUTES = 15;
+    private final AuditLogWriter auditLogWriter;
+    private final LoginThrottle loginThrottle;
+    private final SecurityTelemetry securityTelemetry;
     
     public void recordLoginAttempt(String identifier, boolean success) {
         String clientIp = SecurityInterceptor.getCurrentClientIp();
         String userAgent = SecurityInterceptor.getCurrentUserAgent();
         
-        Optional<LoginAttempt> existingAttempt = 
-            loginAttemptRepository.findByUserIdentifierAndIpAddress(identifier, clientIp);
-        
-        LoginAttempt attempt;
-        if (existingAttempt.isPresent()) {
-            attempt = existingAttempt.get();
-            if (!success) {
-                attempt.incrementAttemptCount();
-            }
-        } else {
-            attempt = LoginAttempt.create(identifier, clientIp, success);
-        }
-        
         if (success) {
-            attempt.resetAttemptCount();
+            loginThrottle.recordSuccess(identifier, clientIp);
             recordSecurityEvent(SecurityAuditLog.EventType.LOGIN_SUCCESS, 
                 "Login realizado com sucesso", identifier, clientIp, userAgent, true);
-        } else {
-            
-            if (attempt.getAttemptCount() >= MAX_LOGIN_ATTEMPTS) {
-                attempt.blockUntil(LocalDateTime.now().plusMinutes(LOCKOUT_DURATION_MINUTES));
-                recordSecurityEvent(SecurityAuditLog.EventType.ACCOUNT_LOCKED, 
-                    "Conta bloqueada após " + attempt.getAttemptCount() + " tentativas falhas", 
-                    identifier, clientIp, userAgent, false);
-            } else {
-                recordSecurityEvent(SecurityAuditLog.EventType.LOGIN_FAILURE,
-                    "Tentativa de login falha (" + attempt.getAttemptCount() + "/" + MAX_LOGIN_ATTEMPTS + ")", 
-                    identifier, clientIp, userAgent, false);
-            }
+            return;
         }
         
-        loginAttemptRepository.save(attempt);
+        LoginFailureResult result = loginThrottle.recordFailure(identifier, clientIp);
+        if (result.isBlocked()) {
+            recordSecurityEvent(SecurityAuditLog.EventType.ACCOUNT_LOCKED, 
+                "Conta bloqueada após " + result.getAttemptCount() + " tentativas falhas", 
+                identifier, clientIp, userAgent, false);
+        } else {
+            recordSecurityEvent(SecurityAuditLog.EventType.LOGIN_FAILURE,
+                "Tentativa de login falha (" + result.getAttemptCount() + "/" + loginThrottle.getMaxAttempts() + ")", 
+                identifier, clientIp, userAgent, false);
+        }
     }
     
     public boolean isUserBlocked(String identifier) {
-        String clientIp = SecurityInterceptor.getCurrentClientIp();
-        Optional<LoginAttempt> attempt = 
-            loginAttemptRepository.findByUserIdentifierAndIpAddress(identifier, clientIp);
-        
-        if (attempt.isPresent()) {
-            LoginAttempt loginAttempt = attempt.get();
-            
-            if (loginAttempt.isBlocked()) {
-                return true;
-            }
-            
-            if (loginAttempt.getBlockedUntil() != null && 
-                LocalDateTime.now().isAfter(loginAttempt.getBlockedUntil())) {
-                loginAttempt.resetAttemptCount();
-                loginAttemptRepository.save(loginAttempt);
-            }
-        }
-        
-        return false;
+        return loginThrottle.isBlocked(identifier, SecurityInterceptor.getCurrentClientIp());
     }
     
     public boolean canAttemptLogin(String identifier) {
-        if (isUserBlocked(identifier)) {
-            return false;
-        }
-        
-        String clientIp = SecurityInterceptor.getCurrentClientIp();
-        Optional<LoginAttempt> attempt = 
-            loginAttemptRepository.findByUserIdentifierAndIpAddress(identifier, clientIp);
-        
-        if (attempt.isPresent()) {
-            LoginAttempt loginAttempt = attempt.get();
-            
-            if (loginAttempt.getAttemptTimestamp() != null &&
-                loginAttempt.getAttemptTimestamp().isBefore(
-                    LocalDateTime.now().minusMinutes(ATTEMPT_RESET_MINUTES))) {
-                loginAttempt.resetAttemptCount();
-                loginAttemptRepository.save(loginAttempt);
-                return true;
-            }
-            
-            return loginAttempt.getAttemptCount() < MAX_LOGIN_ATTEMPTS;
-        }
-        
-        return true;
+        return loginThrottle.canAttempt(identifier, SecurityInterceptor.getCurrentClientIp());
     }
     
     public long getRemainingLockoutMinutes(String identifier) {
-        String clientIp = SecurityInterceptor.getCurrentClientIp();
-        Optional<LoginAttempt> attempt = 
-            loginAttemptRepository.findByUserIdentifierAndIpAddress(identifier, clientIp);
-        
-        if (attempt.isPresent()) {
-            return attempt.get().getRemainingBlockMinutes();
-        }
-        
-        return 0;
+        return loginThrottle.getRemainingLockoutMinutes(identifier, SecurityInterceptor.getCurrentClientIp());
     }
     
     public boolean unlockUser(String identifier, String adminUser) {
-        String clientIp = SecurityInterceptor.getCurrentClientIp();
-        Optional<LoginAttempt> attempt = 
-            loginAttemptRepository.findByUserIdentifierAndIpAddress(identifier, clientIp);
-        
-        if (attempt.isPresent()) {
-            LoginAttempt loginAttempt = attempt.get();
-            loginAttempt.resetAttemptCount();
-            loginAttemptRepository.save(loginAttempt);
-            
-            recordSecurityEvent(SecurityAuditLog.EventType.ACCOUNT_UNLOCKED,
-                "Usuário " + identifier + " desbloqueado manualmente por " + adminUser, 
-                identifier, clientIp, SecurityInterceptor.getCurrentUserAgent(), true);
-            
-            return true;
+        if (!loginThrottle.unlock(identifier)) {
+            return false;
         }
         
-        return false;
+        recordSecurityEvent(SecurityAuditLog.EventType.ACCOUNT_UNLOCKED,
+            "Usuário " + identifier + " desbloqueado manualmente por " + adminUser, 
+            identifier, SecurityInterceptor.getCurrentClientIp(), SecurityInterceptor.getCurrentUserAgent(), true);
+        
+        return true;
     }
     
     private void recordSecurityEvent(SecurityAuditLog.EventType eventType, String description, 
@@ -152,7 +78,8 @@ public class SecurityAuditService {
             auditLog.setUserAgent(userAgent);
         }
         
-        securityAuditLogRepository.save(auditLog);
+        securityTelemetry.record(eventType, ipAddress, userIdentifier, success);
+        auditLogWriter.submit(auditLog);
         
         log.info("Security event recorded: {} for user: {} from IP: {} - Success: {}", 
                 eventType, userIdentifier, ipAddress, success);
@@ -0,0 +1,144 @@
+package com.petconnect.infrastructure.security.audit;
+
+import com.petconnect.domain.security.entity.SecurityAuditLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Telemetria de segurança em tempo real, só em memória.
+ *
+ * Cada tipo de evento tem um {@link PerSecondCounter} cobrindo {@code window-seconds}; IPs e
+ * identificadores de eventos sem sucesso alimentam sketches {@link SpaceSavingSketch} que
+ * giram a cada {@code sketch-window-seconds} (a leitura soma a janela atual e a anterior,
+ * para que os ofensores não sumam logo após a troca). A memória é fixa: não cresce com a
+ * quantidade de IPs ou identificadores distintos, e a leitura não acessa o banco
+ */
+@Component
+public class SecurityTelemetry {
+
+    private static final String UNKNOWN_IDENTIFIER = "UNKNOWN";
+    private static final SecurityAuditLog.EventType[] EVENT_TYPES = SecurityAuditLog.EventType.values();
+
+    private final PerSecondCounter[] counters = new PerSecondCounter[EVENT_TYPES.length];
+    private final RollingSketch ipAddresses;
+    private final RollingSketch identifiers;
+    private final int windowSeconds;
+    private final int topK;
+    private final Clock clock;
+
+    @Autowired
+    public SecurityTelemetry(
+            @Value("${app.security.telemetry.window-seconds:300}") int windowSeconds,
+            @Value("${app.security.telemetry.top-k:10}") int topK,
+            @Value("${app.security.telemetry.sketch-capacity:256}") int sketchCapacity,
+            @Value("${app.security.telemetry.sketch-window-seconds:300}") long sketchWindowSeconds) {
+        this(windowSeconds, topK, sketchCapacity, sketchWindowSeconds, Clock.systemUTC());
+    }
+
+    SecurityTelemetry(int windowSeconds, int topK, int sketchCapacity, long sketchWindowSeconds, Clock clock) {
+        this.windowSeconds = Math.max(60, windowSeconds);
+        this.topK = Math.max(1, topK);
+        this.clock = clock;
+        for (int i = 0; i < counters.length; i++) {
+            // Um segundo extra: o incremento do segundo seguinte não apaga o mais antigo da janela
+            counters[i] = new PerSecondCounter(this.windowSeconds + 1);
+        }
+        long sketchWindowMillis = Math.max(1, sketchWindowSeconds) * 1000L;
+        int capacity = Math.max(this.topK, sketchCapacity);
+        this.ipAddresses = new RollingSketch(capacity, sketchWindowMillis, clock.millis());
+        this.identifiers = new RollingSketch(capacity, sketchWindowMillis, clock.millis());
+    }
+
+    /**
+     * Contabiliza o evento; chamado na thread da requisição, sem bloqueio nos contadores
+     */
+    public void record(SecurityAuditLog.EventType eventType, String ipAddress, String identifier, boolean success) {
+        long now = clock.millis();
+        counters[eventType.ordinal()].increment(now / 1000);
+        if (success) {
+            return;
+        }
+        if (ipAddress != null) {
+            ipAddresses.offer(ipAddress, now);
+        }
+        if (identifier != null && !UNKNOWN_IDENTIFIER.equals(identifier)) {
+            identifiers.offer(identifier, now);
+        }
+    }
+
+    public LiveSecurityTelemetry snapshot() {
+        long now = clock.millis();
+        long second = now / 1000;
+        Map<String, LiveSecurityTelemetry.EventRate> rates = new LinkedHashMap<>();
+        for (SecurityAuditLog.EventType eventType : EVENT_TYPES) {
+            PerSecondCounter counter = counters[eventType.ordinal()];
+            long window = counter.sum(second, windowSeconds);
+            rates.put(eventType.getValue(), LiveSecurityTelemetry.EventRate.builder()
+                    .lastSecond(counter.sum(second, 1))
+                    .lastMinute(counter.sum(second, 60))
+                    .window(window)
+                    .perSecond((double) window / windowSeconds)
+                    .build());
+        }
+        return LiveSecurityTelemetry.builder()
+                .timestamp(Instant.ofEpochMilli(now))
+                .windowSeconds(windowSeconds)
+                .rates(rates)
+                .topIpAddresses(ipAddresses.top(topK, now))
+                .topIdentifiers(identifiers.top(topK, now))
+                .build();
+    }
+
+    /**
+     * Par de sketches (janela atual e anterior) trocados a cada {@code windowMillis}
+     */
+    private static final class RollingSketch {
+
+        private final int capacity;
+        private final long windowMillis;
+        private volatile SpaceSavingSketch current;
+        private volatile SpaceSavingSketch previous;
+        private volatile long windowStart;
+
+        private RollingSketch(int capacity, long windowMillis, long now) {
+            this.capacity = capacity;
+            this.windowMillis = windowMillis;
+            this.current = new SpaceSavingSketch(capacity);
+            this.previous = new SpaceSavingSketch(capacity);
+            this.windowStart = now;
+        }
+
+        void offer(String item, long now) {
+            rotateIfNeeded(now);
+            current.offer(item);
+        }
+
+        List<HeavyHitter> top(int limit, long now) {
+            rotateIfNeeded(now);
+            return SpaceSavingSketch.merge(current.snapshot(), previous.snapshot(), limit);
+        }
+
+        private void rotateIfNeeded(long now) {
+            if (now - windowStart < windowMillis) {
+                return;
+            }
+            synchronized (this) {
+                long elapsed = now - windowStart;
+                if (elapsed < windowMillis) {
+                    return;
+                }
+                // Sem eventos por mais de uma janela, a anterior também já expirou
+                previous = elapsed < 2 * windowMillis ? current : new SpaceSavingSketch(capacity);
+                current = new SpaceSavingSketch(capacity);
+                windowStart = now - elapsed % windowMillis;
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.petconnect.infrastructure.security.audit;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sobre uma janela deslizante: a janela é dividida em {@code slices} fatias com
+ * registradores próprios, a fatia mais antiga é zerada quando o tempo a reutiliza e a
+ * estimativa usa o máximo de cada registrador entre as fatias ainda vivas.
+ *
+ * Ocupa {@code slices * 2^precision} bytes, independente de quantos itens são adicionados;
+ * o erro padrão é ~1.04/sqrt(2^precision), com correção por contagem linear para valores
+ * pequenos (a faixa dos limites de detecção). Não é thread-safe: quem chama sincroniza
+ */
+final class SlidingHyperLogLog {
+
+    private final int precision;
+    private final int registerCount;
+    private final int slices;
+    private final long sliceMillis;
+    private final byte[] registers;
+    private final long[] sliceIds;
+
+    SlidingHyperLogLog(int precision, int slices, long windowMillis) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision deve estar entre 4 e 16");
+        }
+        this.precision = precision;
+        this.registerCount = 1 << precision;
+        this.slices = Math.max(1, slices);
+        this.sliceMillis = Math.max(1, windowMillis / this.slices);
+        this.registers = new byte[this.slices * registerCount];
+        this.sliceIds = new long[this.slices];
+        Arrays.fill(sliceIds, Long.MIN_VALUE);
+    }
+
+    void add(long hash, long nowMillis) {
+        long sliceId = nowMillis / sliceMillis;
+        int slice = (int) Math.floorMod(sliceId, (long) slices);
+        int offset = slice * registerCount;
+        if (sliceIds[slice] != sliceId) {
+            Arrays.fill(registers, offset, offset + registerCount, (byte) 0);
+            sliceIds[slice] = sliceId;
+        }
+        int index = (int) (hash >>> (64 - precision));
+        // Sentinela garante rho <= 64 - precision + 1 mesmo com os bits restantes zerados
+        byte rho = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (registers[offset + index] < rho) {
+            registers[offset + index] = rho;
+        }
+    }
+
+    /**
+     * Estimativa de itens distintos nas fatias da janela que termina em {@code nowMillis}
+     */
+    long estimate(long nowMillis) {
+        long currentSlice = nowMillis / sliceMillis;
+        double sum = 0;
+        int zeros = 0;
+        for (int index = 0; index < registerCount; index++) {
+            int max = 0;
+            for (int slice = 0; slice < slices; slice++) {
+                long age = currentSlice - sliceIds[slice];
+                if (age >= 0 && age < slices) {
+                    max = Math.max(max, registers[slice * registerCount + index]);
+                }
+            }
+            if (max == 0) {
+                zeros++;
+            }
+            sum += 1.0 / (1L << max);
+        }
+        double m = registerCount;
+        double estimate = alpha(registerCount) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log(m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.petconnect.infrastructure.security.audit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Top-K aproximado (Space-Saving, Metwally et al.) com no máximo {@code capacity} contadores.
+ *
+ * Um item novo com a tabela cheia herda o contador de menor valor (+1) e registra esse valor
+ * como erro: a contagem reportada nunca subestima e excede a real em no máximo {@code error}.
+ * Qualquer item com frequência acima de N/capacity está garantidamente na tabela.
+ * A memória não depende da cardinalidade dos itens observados
+ */
+final class SpaceSavingSketch {
+
+    private static final Comparator<HeavyHitter> BY_COUNT_DESC =
+            Comparator.comparingLong(HeavyHitter::getCount).reversed()
+                    .thenComparing(HeavyHitter::getKey);
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+
+    SpaceSavingSketch(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.counters = new HashMap<>(this.capacity * 2);
+    }
+
+    synchronized void offer(String item) {
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count++;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new Counter(1, 0));
+            return;
+        }
+        // Varredura linear: capacity é pequeno e o despejo só ocorre para itens fora da tabela
+        String minItem = null;
+        Counter min = null;
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            if (min == null || entry.getValue().count < min.count) {
+                minItem = entry.getKey();
+                min = entry.getValue();
+            }
+        }
+        counters.remove(minItem);
+        counters.put(item, new Counter(min.count + 1, min.count));
+    }
+
+    /**
+     * Itens monitorados, do mais frequente para o menos
+     */
+    synchronized List<HeavyHitter> snapshot() {
+        List<HeavyHitter> result = new ArrayList<>(counters.size());
+        counters.forEach((item, counter) -> result.add(HeavyHitter.builder()
+                .key(item)
+                .count(counter.count)
+                .error(counter.error)
+                .build()));
+        result.sort(BY_COUNT_DESC);
+        return result;
+    }
+
+    /**
+     * Soma os itens de dois sketches (janela atual e anterior) e devolve os {@code limit} maiores
+     */
+    static List<HeavyHitter> merge(List<HeavyHitter> first, List<HeavyHitter> second, int limit) {
+        Map<String, HeavyHitter> merged = new HashMap<>();
+        for (List<HeavyHitter> hitters : List.of(first, second)) {
+            for (HeavyHitter hitter : hitters) {
+                merged.merge(hitter.getKey(), hitter, (a, b) -> HeavyHitter.builder()
+                        .key(a.getKey())
+                        .count(a.getCount() + b.getCount())
+                        .error(a.getError() + b.getError())
+                        .build());
+            }
+        }
+        List<HeavyHitter> result = new ArrayList<>(merged.values());
+        result.sort(BY_COUNT_DESC);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    private static final class Counter {
+        private long count;
+        private final long error;
+
+        private Counter(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.petconnect.infrastructure.security.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para strings, seguro para leitura e escrita concorrentes sem locks.
+ *
+ * "Não contém" é definitivo; "talvez contém" precisa ser confirmado na estrutura exata.
+ * Não suporta remoção: para descartar elementos, reconstrua um novo filtro.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final int bitSize;
+    private final int hashFunctions;
+
+    private BloomFilter(int bitSize, int hashFunctions) {
+        this.words = new AtomicLongArray(bitSize / Long.SIZE);
+        this.bitSize = bitSize;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Dimensiona o filtro para a quantidade esperada de elementos e a taxa de falsos positivos desejada
+     */
+    public static BloomFilter create(int expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0) {
+            throw new IllegalArgumentException("falsePositiveRate deve estar entre 0 e 1");
+        }
+        int n = Math.max(1, expectedInsertions);
+        double optimalBits = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long bits = Math.min((long) Math.ceil(optimalBits), Integer.MAX_VALUE - Long.SIZE);
+        int bitSize = (int) Math.max(Long.SIZE, (bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+        int hashFunctions = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+        return new BloomFilter(bitSize, hashFunctions);
+    }
+
+    public void put(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            int bit = index(h1 + i * h2);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            int bit = index(h1 + i * h2);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    private int index(int combinedHash) {
+        return (combinedHash < 0 ? ~combinedHash : combinedHash) % bitSize;
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido do finalizador do MurmurHash3 (boa dispersão nos dois meios do hash)
+     */
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,20 @@
+package com.petconnect.infrastructure.security.cache;
+
+import lombok.Value;
+
+/**
+ * Fotografia dos contadores de um {@link ExpiringCache}
+ */
+@Value
+public class CacheStats {
+    long hits;
+    long misses;
+    long evictions;
+    int size;
+    int maxSize;
+
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,126 @@
+package com.petconnect.infrastructure.security.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Cache em memória limitado por tamanho e com expiração por entrada.
+ *
+ * Cada entrada carrega o seu próprio instante de expiração, permitindo que o chamador
+ * alinhe a validade ao conteúdo (ex.: expiração de um JWT). Quando o limite é atingido,
+ * as entradas expiradas são removidas primeiro e, se necessário, entradas arbitrárias
+ * são descartadas até liberar espaço.
+ */
+public class ExpiringCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public ExpiringCache(int maxSize, Duration ttl, Clock clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize deve ser positivo");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Retorna o valor se presente e não expirado, contabilizando hit/miss
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis <= clock.millis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Armazena o valor com o TTL padrão do cache
+     */
+    public void put(K key, V value) {
+        put(key, value, clock.millis() + ttlMillis);
+    }
+
+    /**
+     * Armazena o valor expirando no menor instante entre o informado e o TTL padrão
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        long now = clock.millis();
+        long effectiveExpiry = Math.min(expiresAtMillis, now + ttlMillis);
+        if (effectiveExpiry <= now) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            makeRoom(now);
+        }
+        entries.put(key, new Entry<>(value, effectiveExpiry));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove todas as entradas cujo valor satisfaz o predicado
+     */
+    public void invalidateIf(Predicate<V> predicate) {
+        entries.values().removeIf(entry -> predicate.test(entry.value));
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), maxSize);
+    }
+
+    private void makeRoom(long now) {
+        entries.entrySet().removeIf(e -> e.getValue().expiresAtMillis <= now);
+
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        private Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.petconnect.infrastructure.security.encryption;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Índices cegos (blind index) para buscas por igualdade em colunas criptografadas.
+ *
+ * O valor normalizado passa por HMAC-SHA256 com uma chave própria, diferente da chave de
+ * criptografia: o resultado é determinístico (indexável em B-tree) mas não revela o dado sem
+ * a chave. Trocar a chave invalida todos os índices gravados.
+ */
+@Service
+public class BlindIndexService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public BlindIndexService(@Value("${app.encryption.blind-index-key:MyBlindIndexKey-ChangeMe}") String blindIndexKey) {
+        this.key = new SecretKeySpec(blindIndexKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Índice do email: trim + minúsculas, para que variações de caixa encontrem o mesmo usuário
+     */
+    public String emailIndex(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return index(email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private String index(String normalized) {
+        byte[] digest = macs.get().doFinal(normalized.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponível", e);
+        }
+    }
+}
@@ -1,37 +1,94 @@
 package com.petconnect.infrastructure.security.encryption;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.AEADBadTagException;
 import javax.crypto.Cipher;
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Base64;
 
+/**
+ * Criptografia de campos sensíveis com AES-GCM.
+ *
+ * Formato: "enc:" + Base64(versão (1 byte) | id da chave (1 byte) | nonce (12 bytes) | texto cifrado + tag).
+ * O prefixo torna a detecção de valor criptografado um startsWith; o cabeçalho binário entra como
+ * dado autenticado, então versão e chave não podem ser trocadas. Valores antigos sem prefixo
+ * (AES-CBC com IV de 16 bytes, ou GCM sem prefixo) continuam legíveis.
+ *
+ * Chaveiro: a chave ativa ({@code app.encryption.key} / {@code key-id}) criptografa; as anteriores
+ * ({@code app.encryption.previous-keys}, "id:segredo" separados por vírgula) apenas descriptografam,
+ * até o job de recriptografia migrar os valores antigos.
+ *
+ * As chaves são derivadas uma única vez; cada thread reaproveita as suas instâncias de Cipher
+ * e de SecureRandom, evitando o custo de inicialização do JCE a cada campo.
+ */
 @Service
 @Slf4j
 public class DataEncryptionService {
-    
+
     private static final String ALGORITHM = "AES";
-    private static final String TRANSFORMATION = "AES/CBC/PKCS5Padding";
-    
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final String LEGACY_TRANSFORMATION = "AES/CBC/PKCS5Padding";
+
+    /**
+     * Prefixo dos valores no formato atual
+     */
+    public static final String ENCRYPTED_PREFIX = "enc:";
+
+    static final byte FORMAT_VERSION = 1;
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int HEADER_LENGTH = 2 + NONCE_LENGTH;
+    private static final int LEGACY_IV_LENGTH = 16;
+
+    private static final ThreadLocal<CipherContext> CIPHERS = ThreadLocal.withInitial(CipherContext::new);
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
     @Value("${app.encryption.key:MySecretKey12345}")
     private String encryptionKey;
-    
-    private SecretKey getSecretKey() {
-        byte[] key = encryptionKey.getBytes(StandardCharsets.UTF_8);
 
-        byte[] keyBytes = new byte[16];
-        System.arraycopy(key, 0, keyBytes, 0, Math.min(key.length, keyBytes.length));
-        return new SecretKeySpec(keyBytes, ALGORITHM);
+    @Value("${app.encryption.key-id:1}")
+    private int keyId = 1;
+
+    @Value("${app.encryption.previous-keys:}")
+    private String previousKeys = "";
+
+    /**
+     * Segredo dos valores CBC legados (sem id de chave). Sem chaves anteriores, o padrão é a própria
+     * chave ativa; depois de uma rotação é obrigatório enquanto a detecção legada estiver ligada
+     */
+    @Value("${app.encryption.legacy-key:}")
+    private String legacyEncryptionKey = "";
+
+    /**
+     * Reconhece também valores legados sem prefixo (heurística Base64); desligar após reescrevê-los
+     */
+    @Value("${app.encryption.legacy-detection:true}")
+    private boolean legacyDetection = true;
+
+    private volatile Keys keys;
+
+    /**
+     * Deriva as chaves na subida, para que uma configuração inválida impeça o início da aplicação
+     * em vez de falhar no primeiro acesso a um campo
+     */
+    @PostConstruct
+    public void validateKeys() {
+        getKeys();
     }
-    
+
     /**
      * Criptografa dados sensíveis como CPF, CNPJ, email, etc.
      */
@@ -39,82 +96,242 @@ public class DataEncryptionService {
         if (plainText == null || plainText.isEmpty()) {
             return plainText;
         }
-        
+
         try {
+            Keys current = getKeys();
+            CipherContext context = CIPHERS.get();
+            byte[] plain = plainText.getBytes(StandardCharsets.UTF_8);
+
+            byte[] output = new byte[HEADER_LENGTH + plain.length + TAG_BITS / 8];
+            output[0] = FORMAT_VERSION;
+            output[1] = current.keyId;
+            context.random.nextBytes(context.nonce);
+            System.arraycopy(context.nonce, 0, output, 2, NONCE_LENGTH);
 
-            byte[] iv = new byte[16];
-            new SecureRandom().nextBytes(iv);
-            IvParameterSpec ivSpec = new IvParameterSpec(iv);
-            
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.ENCRYPT_MODE, getSecretKey(), ivSpec);
-            byte[] encryptedData = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
-            
-
-            byte[] encryptedWithIv = new byte[iv.length + encryptedData.length];
-            System.arraycopy(iv, 0, encryptedWithIv, 0, iv.length);
-            System.arraycopy(encryptedData, 0, encryptedWithIv, iv.length, encryptedData.length);
-            
-            return Base64.getEncoder().encodeToString(encryptedWithIv);
+            Cipher cipher = context.gcm;
+            cipher.init(Cipher.ENCRYPT_MODE, current.key, new GCMParameterSpec(TAG_BITS, context.nonce));
+            cipher.updateAAD(output, 0, 2);
+            cipher.doFinal(plain, 0, plain.length, output, HEADER_LENGTH);
+
+            return ENCRYPTED_PREFIX.concat(Base64.getEncoder().encodeToString(output));
         } catch (Exception e) {
             log.error("Erro ao criptografar dados sensíveis", e);
             throw new SecurityException("Falha na criptografia de dados", e);
         }
     }
-    
+
     /**
-     * Descriptografa dados sensíveis
+     * Descriptografa dados sensíveis (formato GCM atual ou CBC legado)
      */
     public String decryptSensitiveData(String encryptedText) {
         if (encryptedText == null || encryptedText.isEmpty()) {
             return encryptedText;
         }
-        
+
         try {
-            byte[] encryptedWithIv = Base64.getDecoder().decode(encryptedText);
-            
-
-            byte[] iv = new byte[16];
-            System.arraycopy(encryptedWithIv, 0, iv, 0, iv.length);
-            IvParameterSpec ivSpec = new IvParameterSpec(iv);
-            
-            byte[] encryptedData = new byte[encryptedWithIv.length - iv.length];
-            System.arraycopy(encryptedWithIv, iv.length, encryptedData, 0, encryptedData.length);
-            
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.DECRYPT_MODE, getSecretKey(), ivSpec);
-            byte[] decryptedData = cipher.doFinal(encryptedData);
-            return new String(decryptedData, StandardCharsets.UTF_8);
+            Keys current = getKeys();
+            if (encryptedText.startsWith(ENCRYPTED_PREFIX)) {
+                byte[] data = Base64.getDecoder().decode(encryptedText.substring(ENCRYPTED_PREFIX.length()));
+                if (data.length < HEADER_LENGTH + TAG_BITS / 8 || data[0] != FORMAT_VERSION) {
+                    throw new GeneralSecurityException("Versão de formato não suportada");
+                }
+                return decryptGcm(data, current);
+            }
+
+            byte[] data = Base64.getDecoder().decode(encryptedText);
+            if (data.length >= HEADER_LENGTH + TAG_BITS / 8 && data[0] == FORMAT_VERSION) {
+                try {
+                    return decryptGcm(data, current);
+                } catch (AEADBadTagException e) {
+                    // Pode ser um valor CBC cujo IV começa com o byte de versão. Como o CBC não é
+                    // autenticado, só tenta o formato legado para valores que a heurística reconhece
+                    if (!legacyDetection || !isLegacyLength(data) || !looksLikeLegacyCiphertext(encryptedText)) {
+                        throw e;
+                    }
+                }
+            }
+            return decryptLegacy(data, current);
         } catch (Exception e) {
             log.error("Erro ao descriptografar dados sensíveis", e);
             throw new SecurityException("Falha na descriptografia de dados", e);
         }
     }
-    
+
+    /**
+     * Indica se o valor já está criptografado: O(1) pelo prefixo. Enquanto houver valores legados
+     * (sem prefixo), aplica também a heurística antiga, sem regex
+     */
+    public boolean isEncrypted(String data) {
+        if (data == null) {
+            return false;
+        }
+        return data.startsWith(ENCRYPTED_PREFIX) || (legacyDetection && looksLikeLegacyCiphertext(data));
+    }
+
+    /**
+     * Critério do formato legado: Base64 com mais de 50 caracteres
+     */
+    static boolean looksLikeLegacyCiphertext(String data) {
+        int length = data.length();
+        if (length <= 50 || length % 4 != 0) {
+            return false;
+        }
+        int end = length;
+        if (data.charAt(end - 1) == '=') {
+            end--;
+            if (data.charAt(end - 1) == '=') {
+                end--;
+            }
+        }
+        for (int i = 0; i < end; i++) {
+            char c = data.charAt(i);
+            boolean base64 = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '+' || c == '/';
+            if (!base64) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Id da chave usada nas novas criptografias
+     */
+    public int getActiveKeyId() {
+        return Byte.toUnsignedInt(getKeys().keyId);
+    }
+
+    /**
+     * Indica se o valor precisa ser regravado com a chave ativa: valores sem prefixo (legados ou
+     * em claro) e valores de outra chave. Lê apenas os 3 primeiros bytes do envelope
+     */
+    public boolean needsReencryption(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        if (!value.startsWith(ENCRYPTED_PREFIX)) {
+            return true;
+        }
+        int start = ENCRYPTED_PREFIX.length();
+        if (value.length() < start + 4) {
+            return true;
+        }
+        try {
+            byte[] header = Base64.getDecoder().decode(value.substring(start, start + 4));
+            return header[0] != FORMAT_VERSION || header[1] != getKeys().keyId;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private String decryptGcm(byte[] data, Keys current) throws GeneralSecurityException {
+        SecretKey key = current.byId[Byte.toUnsignedInt(data[1])];
+        if (key == null) {
+            throw new AEADBadTagException("Chave de criptografia desconhecida: " + Byte.toUnsignedInt(data[1]));
+        }
+        Cipher cipher = CIPHERS.get().gcm;
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 2, NONCE_LENGTH));
+        cipher.updateAAD(data, 0, 2);
+        byte[] plain = cipher.doFinal(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+        return new String(plain, StandardCharsets.UTF_8);
+    }
+
+    private String decryptLegacy(byte[] data, Keys current) throws GeneralSecurityException {
+        if (!isLegacyLength(data)) {
+            throw new GeneralSecurityException("Formato de dado criptografado inválido");
+        }
+        if (current.legacyKey == null) {
+            throw new GeneralSecurityException("Chave dos valores legados não configurada");
+        }
+        Cipher cipher = CIPHERS.get().cbc;
+        cipher.init(Cipher.DECRYPT_MODE, current.legacyKey, new IvParameterSpec(data, 0, LEGACY_IV_LENGTH));
+        byte[] plain = cipher.doFinal(data, LEGACY_IV_LENGTH, data.length - LEGACY_IV_LENGTH);
+        return new String(plain, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isLegacyLength(byte[] data) {
+        return data.length >= 2 * LEGACY_IV_LENGTH && data.length % LEGACY_IV_LENGTH == 0;
+    }
+
+    /**
+     * Chaves derivadas uma única vez: AES-256 (SHA-256 do segredo) para o GCM e a chave
+     * AES-128 original (segredo truncado em 16 bytes) para ler os valores CBC legados
+     */
+    private Keys getKeys() {
+        Keys current = keys;
+        if (current == null) {
+            if (keyId < 0 || keyId > 255) {
+                throw new IllegalStateException("app.encryption.key-id deve estar entre 0 e 255");
+            }
+            SecretKey[] byId = new SecretKey[256];
+            byId[keyId] = gcmKey(encryptionKey);
+            boolean rotated = previousKeys != null && !previousKeys.isBlank();
+            if (rotated) {
+                for (String entry : previousKeys.split(",")) {
+                    int separator = entry.indexOf(':');
+                    int previousId = Integer.parseInt(entry.substring(0, separator).trim());
+                    if (previousId != keyId) {
+                        byId[previousId] = gcmKey(entry.substring(separator + 1).trim());
+                    }
+                }
+            }
+
+            // Após uma rotação a chave ativa não é a que cifrou os valores CBC: usá-la faria o CBC,
+            // que não é autenticado, "decifrar" lixo em vez de falhar
+            String legacySecret = legacyEncryptionKey;
+            if (legacySecret == null || legacySecret.isEmpty()) {
+                if (rotated && legacyDetection) {
+                    throw new IllegalStateException("app.encryption.legacy-key é obrigatória quando há "
+                            + "app.encryption.previous-keys e a detecção legada está ligada");
+                }
+                legacySecret = rotated ? null : encryptionKey;
+            }
+
+            current = new Keys((byte) keyId, byId, legacySecret != null ? legacyKey(legacySecret) : null);
+            keys = current;
+        }
+        return current;
+    }
+
+    private static SecretKey legacyKey(String secret) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        byte[] keyBytes = new byte[16];
+        System.arraycopy(secretBytes, 0, keyBytes, 0, Math.min(secretBytes.length, keyBytes.length));
+        return new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    private static SecretKey gcmKey(String secret) {
+        try {
+            byte[] keyBytes = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return new SecretKeySpec(keyBytes, ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
     /**
      * Gera uma chave de criptografia segura
      */
     public String generateSecureKey() {
         try {
             KeyGenerator keyGenerator = KeyGenerator.getInstance(ALGORITHM);
-            keyGenerator.init(256, new SecureRandom());
+            keyGenerator.init(256, SECURE_RANDOM);
             SecretKey secretKey = keyGenerator.generateKey();
             return Base64.getEncoder().encodeToString(secretKey.getEncoded());
         } catch (NoSuchAlgorithmException e) {
             throw new SecurityException("Erro ao gerar chave de criptografia", e);
         }
     }
-    
+
     /**
      * Gera um salt aleatório para senhas
      */
     public String generateSalt() {
-        SecureRandom random = new SecureRandom();
         byte[] salt = new byte[32];
-        random.nextBytes(salt);
+        CIPHERS.get().random.nextBytes(salt);
         return Base64.getEncoder().encodeToString(salt);
     }
-    
+
     /**
      * Mascarar dados sensíveis para logs
      */
@@ -122,10 +339,44 @@ public class DataEncryptionService {
         if (data == null || data.length() <= visibleChars) {
             return "***";
         }
-        
+
         StringBuilder masked = new StringBuilder();
         masked.append(data.substring(0, visibleChars));
         masked.append("*".repeat(data.length() - visibleChars));
         return masked.toString();
     }
+
+    private static final class Keys {
+        private final byte keyId;
+        private final SecretKey key;
+        private final SecretKey[] byId;
+        private final SecretKey legacyKey;
+
+        private Keys(byte keyId, SecretKey[] byId, SecretKey legacyKey) {
+            this.keyId = keyId;
+            this.key = byId[Byte.toUnsignedInt(keyId)];
+            this.byId = byId;
+            this.legacyKey = legacyKey;
+        }
+    }
+
+    /**
+     * Instâncias por thread: Cipher não é thread-safe, e um SecureRandom por thread evita disputa
+     */
+    private static final class CipherContext {
+        private final Cipher gcm;
+        private final Cipher cbc;
+        private final SecureRandom random;
+        private final byte[] nonce = new byte[NONCE_LENGTH];
+
+        private CipherContext() {
+            try {
+                gcm = Cipher.getInstance(TRANSFORMATION);
+                cbc = Cipher.getInstance(LEGACY_TRANSFORMATION);
+                random = new SecureRandom();
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("AES indisponível", e);
+            }
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package com.petconnect.infrastructure.security.encryption;
+
+import com.petconnect.domain.user.entity.SecurityQuestions;
+import com.petconnect.domain.user.entity.User;
+import com.petconnect.domain.user.entity.UserProfile;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Visão de leitura de um {@link User} com os dados sensíveis ainda criptografados.
+ *
+ * Cada campo sensível é descriptografado só no primeiro acesso e memorizado; quem serializa
+ * apenas o email paga um único AES. Os demais campos são lidos direto do usuário.
+ * Feita para uso dentro de uma requisição (sem sincronização: dois acessos concorrentes
+ * no máximo descriptografam o mesmo valor duas vezes).
+ */
+@Slf4j
+public final class DecryptedUserView {
+
+    private static final int EMAIL = 0;
+    private static final int CONTACT_NUMBER = 1;
+    private static final int CNPJ = 2;
+    private static final int CRMV = 3;
+    private static final int ANSWER_1 = 4;
+    private static final int ANSWER_2 = 5;
+    private static final int ANSWER_3 = 6;
+    private static final int FIELD_COUNT = 7;
+
+    private final User user;
+    private final DataEncryptionService encryptionService;
+    private final String[] decrypted = new String[FIELD_COUNT];
+    private int resolved;
+
+    DecryptedUserView(User user, DataEncryptionService encryptionService) {
+        this.user = user;
+        this.encryptionService = encryptionService;
+    }
+
+    /**
+     * Usuário original (campos sensíveis criptografados)
+     */
+    public User getUser() {
+        return user;
+    }
+
+    public String getEmail() {
+        return resolve(EMAIL, user.getEmail());
+    }
+
+    public String getContactNumber() {
+        UserProfile profile = user.getUserProfile();
+        return profile == null ? null : resolve(CONTACT_NUMBER, profile.getContactNumber());
+    }
+
+    public String getCnpj() {
+        UserProfile profile = user.getUserProfile();
+        return profile == null ? null : resolve(CNPJ, profile.getCnpj());
+    }
+
+    public String getCrmv() {
+        UserProfile profile = user.getUserProfile();
+        return profile == null ? null : resolve(CRMV, profile.getCrmv());
+    }
+
+    public String getSecurityAnswer1() {
+        SecurityQuestions questions = user.getSecurityQuestions();
+        return questions == null ? null : resolve(ANSWER_1, questions.getAnswer1());
+    }
+
+    public String getSecurityAnswer2() {
+        SecurityQuestions questions = user.getSecurityQuestions();
+        return questions == null ? null : resolve(ANSWER_2, questions.getAnswer2());
+    }
+
+    public String getSecurityAnswer3() {
+        SecurityQuestions questions = user.getSecurityQuestions();
+        return questions == null ? null : resolve(ANSWER_3, questions.getAnswer3());
+    }
+
+    /**
+     * Descriptografa no primeiro acesso; valores em claro ou ilegíveis são devolvidos como estão
+     */
+    private String resolve(int field, String value) {
+        int mask = 1 << field;
+        if ((resolved & mask) != 0) {
+            return decrypted[field];
+        }
+        String result = value;
+        if (value != null && encryptionService.isEncrypted(value)) {
+            try {
+                result = encryptionService.decryptSensitiveData(value);
+            } catch (Exception e) {
+                log.warn("Erro ao descriptografar dado sensível, retornando original", e);
+            }
+        }
+        decrypted[field] = result;
+        resolved |= mask;
+        return result;
+    }
+}
@@ -0,0 +1,19 @@
+package com.petconnect.infrastructure.security.encryption;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um campo String de entidade JPA para ser gravado criptografado.
+ *
+ * A entidade precisa registrar {@link SensitiveDataEncryptionListener} em
+ * {@code @EntityListeners}; a coluna deve comportar o texto cifrado ("enc:" + Base64).
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Encrypted {
+}
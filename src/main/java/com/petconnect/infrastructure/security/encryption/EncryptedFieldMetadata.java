@@ -0,0 +1,111 @@
+package com.petconnect.infrastructure.security.encryption;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Campos {@link Encrypted} de uma classe, com acesso por method handles.
+ *
+ * A varredura por reflexão acontece uma única vez por classe ({@link ClassValue}); cada
+ * gravação apenas percorre a lista já pronta. Classes sem campos marcados ficam com a
+ * lista vazia e custo desprezível.
+ */
+public final class EncryptedFieldMetadata {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(String.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, String.class);
+
+    private static final ClassValue<EncryptedFieldMetadata> CACHE = new ClassValue<>() {
+        @Override
+        protected EncryptedFieldMetadata computeValue(Class<?> type) {
+            return scan(type);
+        }
+    };
+
+    private final List<EncryptedField> fields;
+
+    private EncryptedFieldMetadata(List<EncryptedField> fields) {
+        this.fields = fields;
+    }
+
+    public static EncryptedFieldMetadata of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    public List<EncryptedField> getFields() {
+        return fields;
+    }
+
+    public boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    private static EncryptedFieldMetadata scan(Class<?> type) {
+        List<EncryptedField> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Encrypted.class)) {
+                    fields.add(toEncryptedField(current, field));
+                }
+            }
+        }
+        return new EncryptedFieldMetadata(Collections.unmodifiableList(fields));
+    }
+
+    private static EncryptedField toEncryptedField(Class<?> owner, Field field) {
+        if (field.getType() != String.class || Modifier.isStatic(field.getModifiers())
+                || Modifier.isFinal(field.getModifiers())) {
+            throw new IllegalStateException("@Encrypted exige campo String de instância e não final: "
+                    + owner.getName() + "." + field.getName());
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+            return new EncryptedField(field.getName(),
+                    lookup.unreflectGetter(field).asType(GETTER_TYPE),
+                    lookup.unreflectSetter(field).asType(SETTER_TYPE));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Sem acesso ao campo " + owner.getName() + "." + field.getName(), e);
+        }
+    }
+
+    /**
+     * Campo criptografado com getter e setter diretos (sem passar pelos métodos da entidade)
+     */
+    public static final class EncryptedField {
+        private final String name;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private EncryptedField(String name, MethodHandle getter, MethodHandle setter) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String get(Object entity) {
+            try {
+                return (String) getter.invokeExact(entity);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Falha ao ler o campo " + name, e);
+            }
+        }
+
+        public void set(Object entity, String value) {
+            try {
+                setter.invokeExact(entity, value);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Falha ao gravar o campo " + name, e);
+            }
+        }
+    }
+}
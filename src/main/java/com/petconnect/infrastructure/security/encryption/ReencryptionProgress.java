@@ -0,0 +1,30 @@
+package com.petconnect.infrastructure.security.encryption;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Fotografia do progresso da recriptografia de dados sensíveis
+ */
+@Value
+@Builder
+public class ReencryptionProgress {
+    boolean running;
+    boolean stopRequested;
+    int activeKeyId;
+    Integer targetKeyId;
+    UUID lastId;
+    long rowsScanned;
+    long rowsRewritten;
+    long conflicts;
+    double rowsPerSecond;
+    int batchSize;
+    int maxRowsPerSecond;
+    LocalDateTime startedAt;
+    LocalDateTime updatedAt;
+    LocalDateTime completedAt;
+    String lastError;
+}
@@ -1,22 +1,83 @@
 package com.petconnect.infrastructure.security.encryption;
 
 import com.petconnect.domain.user.entity.User;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
 /**
- * Serviço para descriptografar dados sensíveis quando necessário
+ * Serviço para descriptografar dados sensíveis quando necessário.
+ *
+ * Listagens grandes ({@link #decryptAll}) dividem o AES em um ForkJoinPool próprio e limitado
+ * ({@code app.encryption.bulk-decrypt.parallelism}); abaixo de {@code threshold} usuários o
+ * trabalho fica na thread da requisição, onde o custo de coordenação não compensa.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class SensitiveDataDecryptionService {
     
+    /**
+     * Usuários por tarefa folha (~7 campos cada)
+     */
+    private static final int LEAF_SIZE = 8;
+    
     private final DataEncryptionService encryptionService;
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+    
+    public SensitiveDataDecryptionService(
+            DataEncryptionService encryptionService,
+            @Value("${app.encryption.bulk-decrypt.parallelism:0}") int parallelism,
+            @Value("${app.encryption.bulk-decrypt.threshold:64}") int parallelThreshold) {
+        this.encryptionService = encryptionService;
+        this.parallelThreshold = parallelThreshold;
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = workers > 1 ? new ForkJoinPool(workers, SensitiveDataDecryptionService::newWorker, null, false) : null;
+    }
+    
+    /**
+     * Descriptografa todos os usuários, preservando a ordem. Erros ficam isolados por usuário,
+     * como em {@link #decryptUserSensitiveData(User)}
+     */
+    public List<User> decryptAll(List<User> users) {
+        return mapAll(users, this::decryptUserSensitiveData);
+    }
     
     /**
-     * Descriptografa dados sensíveis do usuário para exibição
+     * Aplica {@code mapper} à visão sob demanda de cada usuário, preservando a ordem; apenas os
+     * campos lidos pelo mapper são descriptografados
+     */
+    public <R> List<R> decryptAll(List<User> users, Function<DecryptedUserView, R> mapper) {
+        return mapAll(users, user -> mapper.apply(view(user)));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+    
+    /**
+     * Visão do usuário que descriptografa cada campo sensível só quando lido. Preferível a
+     * {@link #decryptUserSensitiveData(User)} quando apenas parte dos campos é exibida
+     */
+    public DecryptedUserView view(User user) {
+        return user == null ? null : new DecryptedUserView(user, encryptionService);
+    }
+    
+    /**
+     * Descriptografa todos os dados sensíveis do usuário para exibição
      */
     public User decryptUserSensitiveData(User user) {
         if (user == null) {
@@ -142,15 +203,66 @@ public class SensitiveDataDecryptionService {
     }
     
     /**
-     * Verifica se um dado está criptografado
+     * Verifica se um dado está criptografado (prefixo do formato atual)
      */
     private boolean isEncrypted(String data) {
-        if (data == null || data.length() < 50) {
-            return false;
+        return encryptionService.isEncrypted(data);
+    }
+    
+    private <R> List<R> mapAll(List<User> users, Function<User, R> mapper) {
+        if (users == null || users.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (pool == null || users.size() < parallelThreshold) {
+            List<R> results = new ArrayList<>(users.size());
+            for (User user : users) {
+                results.add(mapper.apply(user));
+            }
+            return results;
+        }
+        Object[] results = new Object[users.size()];
+        pool.invoke(new MapTask<>(users, mapper, results, 0, users.size()));
+        @SuppressWarnings("unchecked")
+        List<R> list = (List<R>) Arrays.asList(results);
+        return list;
+    }
+    
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("bulk-decrypt-" + thread.getPoolIndex());
+        return thread;
+    }
+    
+    /**
+     * Divide a lista ao meio até {@link #LEAF_SIZE}; cada folha grava na sua faixa de índices
+     */
+    private static final class MapTask<R> extends RecursiveAction {
+        private final List<User> users;
+        private final Function<User, R> mapper;
+        private final Object[] results;
+        private final int from;
+        private final int to;
+        
+        private MapTask(List<User> users, Function<User, R> mapper, Object[] results, int from, int to) {
+            this.users = users;
+            this.mapper = mapper;
+            this.results = results;
+            this.from = from;
+            this.to = to;
         }
         
-
-        return data.matches("^[A-Za-z0-9+/]*={0,2}$") && data.length() > 50;
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    results[i] = mapper.apply(users.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new MapTask<>(users, mapper, results, from, middle),
+                    new MapTask<>(users, mapper, results, middle, to));
+        }
     }
     
     /**
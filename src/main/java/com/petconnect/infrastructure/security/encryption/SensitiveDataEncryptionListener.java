@@ -9,19 +9,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
- * Entity Listener para criptografar dados sensíveis automaticamente
+ * Entity Listener que criptografa automaticamente os campos {@link Encrypted} de qualquer
+ * entidade que o registre em {@code @EntityListeners}
  */
 @Component
 @Slf4j
 public class SensitiveDataEncryptionListener {
     
     private static DataEncryptionService encryptionService;
+    private static BlindIndexService blindIndexService;
     
     @Autowired
     public void setEncryptionService(DataEncryptionService encryptionService) {
         SensitiveDataEncryptionListener.encryptionService = encryptionService;
     }
     
+    @Autowired
+    public void setBlindIndexService(BlindIndexService blindIndexService) {
+        SensitiveDataEncryptionListener.blindIndexService = blindIndexService;
+    }
+    
     @PrePersist
     @PreUpdate
     public void encryptSensitiveData(Object entity) {
@@ -30,74 +37,62 @@ public class SensitiveDataEncryptionListener {
             return;
         }
         
-        String currentIp = SecurityInterceptor.getCurrentClientIp();
-        log.debug("Criptografando dados sensíveis para entidade: {} from IP: {}", 
-                 entity.getClass().getSimpleName(), currentIp);
+        EncryptedFieldMetadata metadata = EncryptedFieldMetadata.of(entity.getClass());
+        if (metadata.isEmpty()) {
+            return;
+        }
         
-        if (entity instanceof UserJpaEntity) {
-            encryptUserData((UserJpaEntity) entity);
+        if (log.isDebugEnabled()) {
+            log.debug("Criptografando dados sensíveis para entidade: {} from IP: {}",
+                     entity.getClass().getSimpleName(), SecurityInterceptor.getCurrentClientIp());
         }
-
-    }
-    
-    /**
-     * Criptografa dados sensíveis do usuário
-     */
-    private void encryptUserData(UserJpaEntity user) {
+        
         try {
-
-            if (user.getEmail() != null && !isEncrypted(user.getEmail())) {
-                String encryptedEmail = encryptionService.encryptSensitiveData(user.getEmail());
-                user.setEmail(encryptedEmail);
-                log.debug("Email criptografado para usuário: {}", 
-                         encryptionService.maskSensitiveData(user.getUsername(), 3));
-            }
-            
-
-            if (user.getContactNumber() != null && !isEncrypted(user.getContactNumber())) {
-                user.setContactNumber(encryptionService.encryptSensitiveData(user.getContactNumber()));
+            if (entity instanceof UserJpaEntity) {
+                updateEmailBlindIndex((UserJpaEntity) entity);
             }
             
-
-            if (user.getCnpj() != null && !isEncrypted(user.getCnpj())) {
-                user.setCnpj(encryptionService.encryptSensitiveData(user.getCnpj()));
-            }
-            
-
-            if (user.getCrmv() != null && !isEncrypted(user.getCrmv())) {
-                user.setCrmv(encryptionService.encryptSensitiveData(user.getCrmv()));
+            for (EncryptedFieldMetadata.EncryptedField field : metadata.getFields()) {
+                String value = field.get(entity);
+                if (value != null && !isEncrypted(value)) {
+                    field.set(entity, encryptionService.encryptSensitiveData(value));
+                }
             }
             
+        } catch (Exception e) {
+            log.error("Erro ao criptografar dados sensíveis da entidade: {}", 
+                     entity.getClass().getSimpleName(), e);
 
-            if (user.getSecurityAnswer1() != null && !isEncrypted(user.getSecurityAnswer1())) {
-                user.setSecurityAnswer1(encryptionService.encryptSensitiveData(user.getSecurityAnswer1()));
-            }
-            
-            if (user.getSecurityAnswer2() != null && !isEncrypted(user.getSecurityAnswer2())) {
-                user.setSecurityAnswer2(encryptionService.encryptSensitiveData(user.getSecurityAnswer2()));
-            }
-            
-            if (user.getSecurityAnswer3() != null && !isEncrypted(user.getSecurityAnswer3())) {
-                user.setSecurityAnswer3(encryptionService.encryptSensitiveData(user.getSecurityAnswer3()));
+        }
+    }
+    
+    /**
+     * Mantém o índice cego do email, calculado sobre o email em claro (antes de criptografar).
+     * Entidades vindas do mapper chegam sem o índice e com o email já criptografado
+     */
+    private void updateEmailBlindIndex(UserJpaEntity user) {
+        if (blindIndexService == null || user.getEmail() == null) {
+            return;
+        }
+        String email = user.getEmail();
+        try {
+            if (email.indexOf('@') < 0) {
+                if (user.getEmailBidx() != null) {
+                    return;
+                }
+                email = encryptionService.decryptSensitiveData(email);
             }
-            
+            user.setEmailBidx(blindIndexService.emailIndex(email));
         } catch (Exception e) {
-            log.error("Erro ao criptografar dados sensíveis do usuário: {}", 
-                     user.getUsername(), e);
-
+            log.warn("Não foi possível calcular o índice do email do usuário: {}",
+                    encryptionService.maskSensitiveData(user.getUsername(), 3));
         }
     }
     
     /**
-     * Verifica se um dado já está criptografado
-     * (dados criptografados geralmente são muito maiores que os originais)
+     * Verifica se um dado já está criptografado (prefixo do formato atual)
      */
     private boolean isEncrypted(String data) {
-        if (data == null || data.length() < 50) {
-            return false;
-        }
-        
-
-        return data.matches("^[A-Za-z0-9+/]*={0,2}$") && data.length() > 50;
+        return encryptionService.isEncrypted(data);
     }
 }
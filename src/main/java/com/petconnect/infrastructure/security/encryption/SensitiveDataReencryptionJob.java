@@ -0,0 +1,447 @@
+package com.petconnect.infrastructure.security.encryption;
+
+import com.petconnect.domain.security.entity.EncryptionRotationCheckpoint;
+import com.petconnect.domain.security.entity.JwtSigningKey;
+import com.petconnect.domain.security.port.EncryptionRotationCheckpointRepositoryPort;
+import com.petconnect.domain.security.port.JwtSigningKeyRepositoryPort;
+import com.petconnect.infrastructure.adapter.persistence.repository.UserSensitiveDataJdbcRepository;
+import com.petconnect.infrastructure.adapter.persistence.repository.UserSensitiveDataJdbcRepository.SensitiveRow;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recriptografia online dos dados sensíveis de {@code users} e das chaves privadas de
+ * {@code jwt_signing_keys} com a chave ativa.
+ *
+ * Depois de trocar {@code app.encryption.key}/{@code key-id} (mantendo a chave anterior em
+ * {@code app.encryption.previous-keys}), o job percorre a tabela em background, em ordem de id,
+ * regravando os valores de outra chave, em formatos antigos (CBC, GCM sem prefixo) ou em claro.
+ *
+ * Para não competir com o tráfego: a criptografia de cada lote é feita fora da transação, que
+ * abrange apenas os UPDATEs condicionais do lote e o checkpoint (locks curtos); o ritmo é limitado
+ * a {@code max-rows-per-second}. O checkpoint persistido permite retomar após parada ou reinício.
+ *
+ * As chaves de assinatura (poucas linhas) são regravadas ao fim da varredura de {@code users}, antes
+ * de o checkpoint ser concluído: uma chave anterior só pode sair de {@code previous-keys} depois de
+ * um job concluído para a chave ativa.
+ */
+@Component
+@Slf4j
+public class SensitiveDataReencryptionJob {
+
+    static final String JOB_NAME = "users-sensitive-data";
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final UserSensitiveDataJdbcRepository sensitiveDataRepository;
+    private final DataEncryptionService encryptionService;
+    private final EncryptionRotationCheckpointRepositoryPort checkpointRepository;
+    private final JwtSigningKeyRepositoryPort signingKeyRepository;
+    private final TransactionOperations transactionOperations;
+    private final boolean autoStart;
+    private final int batchSize;
+    private final int maxRowsPerSecond;
+    private final Clock clock;
+    private final ExecutorService executor;
+    private final Object pacer = new Object();
+
+    private volatile boolean running;
+    private volatile boolean stopRequested;
+    private volatile long runStartedNanos;
+    private volatile long runScanned;
+    private volatile String lastError;
+    private volatile EncryptionRotationCheckpoint lastCheckpoint;
+
+    @Autowired
+    public SensitiveDataReencryptionJob(
+            UserSensitiveDataJdbcRepository sensitiveDataRepository,
+            DataEncryptionService encryptionService,
+            EncryptionRotationCheckpointRepositoryPort checkpointRepository,
+            JwtSigningKeyRepositoryPort signingKeyRepository,
+            TransactionOperations transactionOperations,
+            @Value("${app.encryption.rotation.auto-start:false}") boolean autoStart,
+            @Value("${app.encryption.rotation.batch-size:200}") int batchSize,
+            @Value("${app.encryption.rotation.max-rows-per-second:1000}") int maxRowsPerSecond) {
+        this(sensitiveDataRepository, encryptionService, checkpointRepository, signingKeyRepository,
+                transactionOperations,
+                autoStart, batchSize, maxRowsPerSecond, Clock.systemDefaultZone());
+    }
+
+    SensitiveDataReencryptionJob(UserSensitiveDataJdbcRepository sensitiveDataRepository,
+                                 DataEncryptionService encryptionService,
+                                 EncryptionRotationCheckpointRepositoryPort checkpointRepository,
+                                 JwtSigningKeyRepositoryPort signingKeyRepository,
+                                 TransactionOperations transactionOperations,
+                                 boolean autoStart, int batchSize, int maxRowsPerSecond, Clock clock) {
+        this.sensitiveDataRepository = sensitiveDataRepository;
+        this.encryptionService = encryptionService;
+        this.checkpointRepository = checkpointRepository;
+        this.signingKeyRepository = signingKeyRepository;
+        this.transactionOperations = transactionOperations;
+        this.autoStart = autoStart;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.clock = clock;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "encryption-rotation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Inicia na subida quando configurado, ou retoma um job interrompido para a chave ativa
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        try {
+            boolean pending = checkpointRepository.findByJobName(JOB_NAME)
+                    .filter(checkpoint -> !checkpoint.isCompleted())
+                    .filter(checkpoint -> checkpoint.getTargetKeyId() == encryptionService.getActiveKeyId())
+                    .isPresent();
+            if (autoStart || pending) {
+                log.info("Recriptografia de dados sensíveis {} na inicialização", pending ? "retomada" : "iniciada");
+                start();
+            }
+        } catch (Exception e) {
+            log.warn("Não foi possível verificar o checkpoint da recriptografia: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Inicia (ou retoma do checkpoint) em background
+     *
+     * @return false quando o job já está em execução
+     */
+    public synchronized boolean start() {
+        if (running) {
+            return false;
+        }
+        running = true;
+        stopRequested = false;
+        lastError = null;
+        executor.execute(this::runSafely);
+        return true;
+    }
+
+    /**
+     * Pede a parada ao fim do lote corrente; o checkpoint permite retomar depois
+     */
+    public void stop() {
+        stopRequested = true;
+        synchronized (pacer) {
+            pacer.notifyAll();
+        }
+    }
+
+    public ReencryptionProgress getProgress() {
+        EncryptionRotationCheckpoint checkpoint = lastCheckpoint;
+        if (checkpoint == null && !running) {
+            checkpoint = loadCheckpoint().orElse(null);
+        }
+        long elapsedNanos = System.nanoTime() - runStartedNanos;
+        double rowsPerSecond = running && elapsedNanos > 0 ? runScanned * 1_000_000_000.0 / elapsedNanos : 0.0;
+
+        ReencryptionProgress.ReencryptionProgressBuilder progress = ReencryptionProgress.builder()
+                .running(running)
+                .stopRequested(running && stopRequested)
+                .activeKeyId(encryptionService.getActiveKeyId())
+                .batchSize(batchSize)
+                .maxRowsPerSecond(maxRowsPerSecond)
+                .rowsPerSecond(rowsPerSecond)
+                .lastError(lastError);
+        if (checkpoint != null) {
+            progress.targetKeyId(checkpoint.getTargetKeyId())
+                    .lastId(checkpoint.getLastId())
+                    .rowsScanned(checkpoint.getRowsScanned())
+                    .rowsRewritten(checkpoint.getRowsRewritten())
+                    .conflicts(checkpoint.getConflicts())
+                    .startedAt(checkpoint.getStartedAt())
+                    .updatedAt(checkpoint.getUpdatedAt())
+                    .completedAt(checkpoint.getCompletedAt());
+        }
+        return progress.build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+        executor.shutdown();
+    }
+
+    private void runSafely() {
+        try {
+            runToCompletion();
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            log.error("Recriptografia de dados sensíveis interrompida por erro: {}", e.getMessage(), e);
+        } finally {
+            running = false;
+        }
+    }
+
+    /**
+     * Processa lotes a partir do checkpoint até o fim da tabela ou até {@link #stop()}
+     *
+     * @return true quando a tabela foi percorrida até o fim
+     */
+    boolean runToCompletion() throws InterruptedException {
+        int targetKeyId = encryptionService.getActiveKeyId();
+        EncryptionRotationCheckpoint checkpoint = loadCheckpoint()
+                .filter(existing -> existing.getTargetKeyId() == targetKeyId && !existing.isCompleted())
+                .orElseGet(() -> newCheckpoint(targetKeyId));
+        lastCheckpoint = checkpoint;
+        runStartedNanos = System.nanoTime();
+        runScanned = 0;
+        log.info("Recriptografia para a chave {} a partir do id {} ({} linhas já lidas)",
+                targetKeyId, checkpoint.getLastId(), checkpoint.getRowsScanned());
+
+        while (!stopRequested) {
+            List<SensitiveRow> batch = sensitiveDataRepository.findBatchAfter(checkpoint.getLastId(), batchSize);
+            if (batch.isEmpty()) {
+                reencryptSigningKeys();
+                checkpoint = copy(checkpoint);
+                checkpoint.setCompletedAt(LocalDateTime.now(clock));
+                checkpoint.setUpdatedAt(checkpoint.getCompletedAt());
+                lastCheckpoint = checkpointRepository.save(checkpoint);
+                log.info("Recriptografia para a chave {} concluída: {} linhas lidas, {} regravadas, {} conflitos",
+                        targetKeyId, checkpoint.getRowsScanned(), checkpoint.getRowsRewritten(), checkpoint.getConflicts());
+                return true;
+            }
+
+            List<PendingRow> pending = prepare(batch);
+            EncryptionRotationCheckpoint next = copy(checkpoint);
+            checkpoint = transactionOperations.execute(status -> writeBatch(pending, batch, next));
+            lastCheckpoint = checkpoint;
+            runScanned += batch.size();
+            log.debug("Recriptografia: {} linhas lidas, {} regravadas", checkpoint.getRowsScanned(),
+                    checkpoint.getRowsRewritten());
+
+            pace();
+        }
+
+        log.info("Recriptografia parada no id {} ({} linhas lidas)", checkpoint.getLastId(), checkpoint.getRowsScanned());
+        return false;
+    }
+
+    /**
+     * Regrava as chaves privadas de assinatura não expiradas que ainda usam outra chave ou formato.
+     * Uma chave ilegível é mantida (e registrada): o chaveiro já a ignora ao carregar
+     */
+    private void reencryptSigningKeys() {
+        int rewritten = 0;
+        for (JwtSigningKey signingKey : signingKeyRepository.findUnexpired(LocalDateTime.now(clock))) {
+            String current = signingKey.getPrivateKey();
+            if (!encryptionService.needsReencryption(current)) {
+                continue;
+            }
+            String reencrypted;
+            try {
+                reencrypted = encryptionService.encryptSensitiveData(encryptionService.decryptSensitiveData(current));
+            } catch (SecurityException e) {
+                log.warn("Chave de assinatura {} ignorada na recriptografia: {}", signingKey.getKeyId(), e.getMessage());
+                continue;
+            }
+            if (signingKeyRepository.updatePrivateKey(signingKey.getKeyId(), current, reencrypted)) {
+                rewritten++;
+            }
+        }
+        if (rewritten > 0) {
+            log.info("Recriptografia: {} chaves de assinatura regravadas", rewritten);
+        }
+    }
+
+    /**
+     * Grava o lote e avança o checkpoint na mesma transação curta
+     */
+    private EncryptionRotationCheckpoint writeBatch(List<PendingRow> pending, List<SensitiveRow> batch,
+                                                    EncryptionRotationCheckpoint checkpoint) {
+        long rewritten = 0;
+        long conflicts = 0;
+        for (PendingRow row : pending) {
+            if (sensitiveDataRepository.update(row.id, row.oldValues, row.newValues)) {
+                rewritten++;
+            } else if (retryConflict(row.id)) {
+                rewritten++;
+            } else {
+                conflicts++;
+            }
+        }
+        checkpoint.setLastId(batch.get(batch.size() - 1).getId());
+        checkpoint.setRowsScanned(checkpoint.getRowsScanned() + batch.size());
+        checkpoint.setRowsRewritten(checkpoint.getRowsRewritten() + rewritten);
+        checkpoint.setConflicts(checkpoint.getConflicts() + conflicts);
+        checkpoint.setUpdatedAt(LocalDateTime.now(clock));
+        return checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * A linha mudou entre a leitura e a escrita: relê e tenta uma vez. Se a escrita
+     * concorrente já gravou com a chave ativa, não há o que fazer
+     */
+    private boolean retryConflict(UUID id) {
+        Optional<SensitiveRow> current = sensitiveDataRepository.findById(id);
+        if (current.isEmpty()) {
+            return false;
+        }
+        String[] values = current.get().getValues();
+        String[] newValues = reencrypt(values);
+        return newValues == null || sensitiveDataRepository.update(id, values, newValues);
+    }
+
+    private List<PendingRow> prepare(List<SensitiveRow> batch) {
+        List<PendingRow> pending = new ArrayList<>();
+        for (SensitiveRow row : batch) {
+            try {
+                String[] newValues = reencrypt(row.getValues());
+                if (newValues != null) {
+                    pending.add(new PendingRow(row.getId(), row.getValues(), newValues));
+                }
+            } catch (SecurityException e) {
+                log.warn("Linha {} ignorada na recriptografia: {}", row.getId(), e.getMessage());
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Novos valores da linha, ou null quando todos já estão com a chave ativa
+     */
+    private String[] reencrypt(String[] values) {
+        String[] result = null;
+        for (int i = 0; i < values.length; i++) {
+            String value = values[i];
+            if (!encryptionService.needsReencryption(value)) {
+                continue;
+            }
+            if (result == null) {
+                result = values.clone();
+            }
+            result[i] = encryptionService.encryptSensitiveData(toPlainText(value));
+        }
+        return result;
+    }
+
+    /**
+     * Valores com prefixo são de outra chave. Sem prefixo, o CBC legado não é autenticado e
+     * decifra texto em claro por acaso (padding válido em ~1/256 dos casos): o resultado só é
+     * aceito se o valor passar na heurística legada de {@link DataEncryptionService#isEncrypted}
+     * ou, para os curtos que ela não reconhece, se for texto imprimível; senão o valor está em claro
+     */
+    private String toPlainText(String value) {
+        if (value.startsWith(DataEncryptionService.ENCRYPTED_PREFIX)) {
+            return encryptionService.decryptSensitiveData(value);
+        }
+        boolean legacy = encryptionService.isEncrypted(value);
+        if (!legacy && !hasBase64Shape(value)) {
+            return value;
+        }
+        String decrypted;
+        try {
+            decrypted = encryptionService.decryptSensitiveData(value);
+        } catch (SecurityException e) {
+            return value;
+        }
+        return legacy || isPrintableText(decrypted) ? decrypted : value;
+    }
+
+    /**
+     * Texto decifrado plausível: não vazio, sem caracteres de substituição (bytes UTF-8 inválidos),
+     * surrogates soltos, controles ou pontos de código não atribuídos
+     */
+    static boolean isPrintableText(String text) {
+        if (text == null || text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            int type = Character.getType(codePoint);
+            if (codePoint == 0xFFFD || type == Character.SURROGATE || type == Character.UNASSIGNED
+                    || (type == Character.CONTROL && codePoint != '\t' && codePoint != '\n' && codePoint != '\r')) {
+                return false;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return true;
+    }
+
+    private static boolean hasBase64Shape(String value) {
+        if (value.length() % 4 != 0) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean base64 = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '+' || c == '/' || c == '=';
+            if (!base64) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Espera o necessário para manter a média abaixo de {@code maxRowsPerSecond}
+     */
+    private void pace() throws InterruptedException {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+        long expectedNanos = runScanned * 1_000_000_000L / maxRowsPerSecond;
+        long aheadNanos = expectedNanos - (System.nanoTime() - runStartedNanos);
+        if (aheadNanos > 0) {
+            synchronized (pacer) {
+                if (!stopRequested) {
+                    TimeUnit.NANOSECONDS.timedWait(pacer, aheadNanos);
+                }
+            }
+        }
+    }
+
+    private Optional<EncryptionRotationCheckpoint> loadCheckpoint() {
+        return checkpointRepository.findByJobName(JOB_NAME);
+    }
+
+    private EncryptionRotationCheckpoint newCheckpoint(int targetKeyId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return EncryptionRotationCheckpoint.builder()
+                .jobName(JOB_NAME)
+                .targetKeyId(targetKeyId)
+                .lastId(FIRST_ID)
+                .startedAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private static EncryptionRotationCheckpoint copy(EncryptionRotationCheckpoint checkpoint) {
+        return checkpoint.toBuilder().build();
+    }
+
+    private static final class PendingRow {
+        private final UUID id;
+        private final String[] oldValues;
+        private final String[] newValues;
+
+        private PendingRow(UUID id, String[] oldValues, String[] newValues) {
+            this.id = id;
+            this.oldValues = oldValues;
+            this.newValues = newValues;
+        }
+    }
+}
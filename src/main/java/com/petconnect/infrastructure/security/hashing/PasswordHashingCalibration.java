@@ -0,0 +1,20 @@
+package com.petconnect.infrastructure.security.hashing;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Resultado da calibração do custo de hash de senhas feita na inicialização
+ */
+@Value
+@Builder
+public class PasswordHashingCalibration {
+    String algorithm;
+    long targetVerifyMillis;
+    double measuredVerifyMillis;
+    int bcryptStrength;
+    int argon2Iterations;
+    int argon2MemoryKib;
+    int argon2Parallelism;
+    boolean calibrated;
+}
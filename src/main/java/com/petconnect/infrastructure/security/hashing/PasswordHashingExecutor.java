@@ -0,0 +1,135 @@
+package com.petconnect.infrastructure.security.hashing;
+
+import com.petconnect.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool dedicado e limitado para operações de hash de senha (BCrypt/Argon2).
+ *
+ * O trabalho de CPU fica restrito a um número fixo de workers; quando a fila enche,
+ * novas requisições são rejeitadas imediatamente com 503/Retry-After em vez de
+ * ocupar as threads do Tomcat e degradar os demais endpoints.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public PasswordHashingExecutor(
+            @Value("${app.security.password-hashing.threads:0}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.password-hashing.max-wait-ms:2000}") long maxWaitMillis,
+            @Value("${app.security.password-hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("Pool de hash de senhas iniciado com {} workers e fila de {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Executa a tarefa no pool, aguardando o resultado por no máximo max-wait-ms
+     */
+    public <T> T execute(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                recordWait(System.nanoTime() - enqueuedAt);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw saturated();
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw saturated();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw saturated();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Falha no hash de senha", cause);
+        }
+    }
+
+    public PasswordHashingMetrics getMetrics() {
+        long waits = waitCount.sum();
+        return PasswordHashingMetrics.builder()
+                .poolSize(executor.getCorePoolSize())
+                .activeWorkers(executor.getActiveCount())
+                .queueDepth(executor.getQueue().size())
+                .queueCapacity(queueCapacity)
+                .completedTasks(executor.getCompletedTaskCount())
+                .rejectedTasks(rejected.sum())
+                .timedOutTasks(timedOut.sum())
+                .averageWaitMillis(waits == 0 ? 0.0 : totalWaitNanos.sum() / (waits * 1_000_000.0))
+                .maxWaitMillis(maxWaitNanos.get() / 1_000_000.0)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void recordWait(long waitNanos) {
+        waitCount.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private ServiceUnavailableException saturated() {
+        return new ServiceUnavailableException(
+                "Servidor temporariamente sobrecarregado. Tente novamente em instantes", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,21 @@
+package com.petconnect.infrastructure.security.hashing;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Fotografia das métricas do pool de hash de senhas
+ */
+@Value
+@Builder
+public class PasswordHashingMetrics {
+    int poolSize;
+    int activeWorkers;
+    int queueDepth;
+    int queueCapacity;
+    long completedTasks;
+    long rejectedTasks;
+    long timedOutTasks;
+    double averageWaitMillis;
+    double maxWaitMillis;
+}
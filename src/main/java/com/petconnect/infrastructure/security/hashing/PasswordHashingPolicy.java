@@ -0,0 +1,179 @@
+package com.petconnect.infrastructure.security.hashing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Política de hash de senhas: escolhe o algoritmo (BCrypt ou Argon2id) e calibra o custo
+ * na inicialização para que uma verificação leve aproximadamente o tempo alvo no hardware atual.
+ *
+ * O encoder gerado é um {@link DelegatingPasswordEncoder}: hashes antigos (sem prefixo ou com
+ * custo abaixo da política) continuam válidos e são regravados no próximo login bem-sucedido.
+ */
+@Component
+@Slf4j
+public class PasswordHashingPolicy {
+
+    static final String BCRYPT_ID = "bcrypt";
+    static final String ARGON2_ID = "argon2";
+
+    private static final String CALIBRATION_SAMPLE = "Calibracao-Senha#2024";
+    private static final int CALIBRATION_ROUNDS = 2;
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+
+    private final String algorithm;
+    private final long targetVerifyMillis;
+    private final int bcryptStrength;
+    private final int bcryptMinStrength;
+    private final int bcryptMaxStrength;
+    private final int argon2Iterations;
+    private final int argon2MinIterations;
+    private final int argon2MaxIterations;
+    private final int argon2MemoryKib;
+    private final int argon2Parallelism;
+
+    private volatile PasswordHashingCalibration calibration;
+
+    public PasswordHashingPolicy(
+            @Value("${app.security.password.algorithm:bcrypt}") String algorithm,
+            @Value("${app.security.password.target-verify-ms:100}") long targetVerifyMillis,
+            @Value("${app.security.password.bcrypt.strength:0}") int bcryptStrength,
+            @Value("${app.security.password.bcrypt.min-strength:10}") int bcryptMinStrength,
+            @Value("${app.security.password.bcrypt.max-strength:16}") int bcryptMaxStrength,
+            @Value("${app.security.password.argon2.iterations:0}") int argon2Iterations,
+            @Value("${app.security.password.argon2.min-iterations:2}") int argon2MinIterations,
+            @Value("${app.security.password.argon2.max-iterations:10}") int argon2MaxIterations,
+            @Value("${app.security.password.argon2.memory-kib:19456}") int argon2MemoryKib,
+            @Value("${app.security.password.argon2.parallelism:1}") int argon2Parallelism) {
+        this.algorithm = algorithm;
+        this.targetVerifyMillis = targetVerifyMillis;
+        this.bcryptStrength = bcryptStrength;
+        this.bcryptMinStrength = bcryptMinStrength;
+        this.bcryptMaxStrength = bcryptMaxStrength;
+        this.argon2Iterations = argon2Iterations;
+        this.argon2MinIterations = argon2MinIterations;
+        this.argon2MaxIterations = argon2MaxIterations;
+        this.argon2MemoryKib = argon2MemoryKib;
+        this.argon2Parallelism = argon2Parallelism;
+    }
+
+    /**
+     * Calibra o custo (quando não fixado por configuração) e monta o encoder delegante
+     */
+    public PasswordEncoder createEncoder() {
+        boolean useArgon2 = isArgon2(algorithm);
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(targetVerifyMillis);
+        Map<Integer, Long> measurements = new HashMap<>();
+
+        int strength = bcryptStrength;
+        if (strength <= 0) {
+            strength = useArgon2
+                    ? bcryptMinStrength
+                    : chooseBcryptStrength(bcryptMinStrength, bcryptMaxStrength, targetNanos, cost -> {
+                        long nanos = measureVerifyNanos(new BCryptPasswordEncoder(cost));
+                        measurements.put(cost, nanos);
+                        return nanos;
+                    });
+        }
+
+        int iterations = argon2Iterations;
+        if (iterations <= 0) {
+            if (useArgon2) {
+                long nanosAtMin = measureVerifyNanos(argon2Encoder(argon2MinIterations));
+                iterations = chooseArgon2Iterations(argon2MinIterations, argon2MaxIterations, targetNanos, nanosAtMin);
+                measurements.put(iterations, iterations == argon2MinIterations
+                        ? nanosAtMin
+                        : measureVerifyNanos(argon2Encoder(iterations)));
+            } else {
+                iterations = argon2MinIterations;
+            }
+        }
+
+        boolean calibrated = useArgon2 ? argon2Iterations <= 0 : bcryptStrength <= 0;
+        Long measuredNanos = measurements.get(useArgon2 ? iterations : strength);
+        calibration = PasswordHashingCalibration.builder()
+                .algorithm(useArgon2 ? "argon2id" : BCRYPT_ID)
+                .targetVerifyMillis(targetVerifyMillis)
+                .measuredVerifyMillis(measuredNanos != null ? measuredNanos / 1_000_000.0 : 0.0)
+                .bcryptStrength(strength)
+                .argon2Iterations(iterations)
+                .argon2MemoryKib(argon2MemoryKib)
+                .argon2Parallelism(argon2Parallelism)
+                .calibrated(calibrated)
+                .build();
+        log.info("Política de hash de senhas: {}", calibration);
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT_ID, bcrypt);
+        encoders.put(ARGON2_ID, argon2Encoder(iterations));
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(useArgon2 ? ARGON2_ID : BCRYPT_ID, encoders);
+        // Hashes legados sem prefixo {id} são BCrypt puros
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    public PasswordHashingCalibration getCalibration() {
+        return calibration;
+    }
+
+    /**
+     * Maior custo BCrypt cuja verificação cabe no tempo alvo; cada incremento dobra o tempo,
+     * então a busca para assim que o próximo custo estimado ultrapassar o alvo
+     */
+    static int chooseBcryptStrength(int minStrength, int maxStrength, long targetNanos, IntToLongFunction verifyNanos) {
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long nanos = verifyNanos.applyAsLong(strength);
+            if (nanos > targetNanos && strength > minStrength) {
+                break;
+            }
+            chosen = strength;
+            if (nanos * 2 > targetNanos) {
+                break;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Número de iterações Argon2 para o tempo alvo, assumindo custo linear nas iterações
+     */
+    static int chooseArgon2Iterations(int minIterations, int maxIterations, long targetNanos, long nanosAtMin) {
+        long perIteration = Math.max(1, nanosAtMin / Math.max(1, minIterations));
+        long iterations = targetNanos / perIteration;
+        return (int) Math.max(minIterations, Math.min(maxIterations, iterations));
+    }
+
+    private Argon2PasswordEncoder argon2Encoder(int iterations) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH,
+                argon2Parallelism, argon2MemoryKib, iterations);
+    }
+
+    private static long measureVerifyNanos(PasswordEncoder encoder) {
+        String hash = encoder.encode(CALIBRATION_SAMPLE);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.matches(CALIBRATION_SAMPLE, hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static boolean isArgon2(String algorithm) {
+        return ARGON2_ID.equalsIgnoreCase(algorithm) || "argon2id".equalsIgnoreCase(algorithm);
+    }
+}
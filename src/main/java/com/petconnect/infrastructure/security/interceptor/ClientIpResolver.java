@@ -0,0 +1,189 @@
+package com.petconnect.infrastructure.security.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolve o IP do cliente usado como chave do rate limit, do throttle de login e da detecção
+ * de credential stuffing.
+ *
+ * Cabeçalhos de proxy são controlados pelo cliente: só são considerados quando a conexão vem de
+ * um proxy listado em {@code app.security.trusted-proxies} (IPs ou blocos CIDR). Nesse caso o
+ * X-Forwarded-For é lido da direita para a esquerda, ignorando os saltos confiáveis, e o primeiro
+ * endereço não confiável é o cliente. Sem proxies configurados vale sempre o remoteAddr.
+ */
+@Component
+@Slf4j
+public class ClientIpResolver {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+    private static final String REAL_IP = "X-Real-IP";
+    private static final int MAX_FORWARDED_HOPS = 20;
+
+    private final List<Cidr> trustedProxies;
+
+    @Autowired
+    public ClientIpResolver(@Value("${app.security.trusted-proxies:}") String trustedProxies) {
+        this.trustedProxies = List.copyOf(parseProxies(trustedProxies));
+        if (!this.trustedProxies.isEmpty()) {
+            log.info("Cabeçalhos de proxy aceitos apenas de {} proxies confiáveis", this.trustedProxies.size());
+        }
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (trustedProxies.isEmpty() || !isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        String forwardedFor = request.getHeader(FORWARDED_FOR);
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            return fromForwardedFor(forwardedFor, remoteAddr);
+        }
+
+        String realIp = request.getHeader(REAL_IP);
+        if (realIp != null && parseLiteral(realIp.trim()) != null) {
+            return realIp.trim();
+        }
+        return remoteAddr;
+    }
+
+    /**
+     * Percorre o X-Forwarded-For da direita para a esquerda; entradas inválidas encerram a busca,
+     * pois o que está à esquerda delas não foi escrito por um proxy confiável
+     */
+    private String fromForwardedFor(String forwardedFor, String remoteAddr) {
+        String client = remoteAddr;
+        int end = forwardedFor.length();
+        for (int hops = 0; end > 0 && hops < MAX_FORWARDED_HOPS; hops++) {
+            int comma = forwardedFor.lastIndexOf(',', end - 1);
+            String candidate = forwardedFor.substring(comma + 1, end).trim();
+            byte[] address = parseLiteral(candidate);
+            if (address == null) {
+                return client;
+            }
+            client = candidate;
+            if (!matchesTrusted(address)) {
+                return client;
+            }
+            end = comma;
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String ip) {
+        byte[] address = parseLiteral(ip);
+        return address != null && matchesTrusted(address);
+    }
+
+    private boolean matchesTrusted(byte[] address) {
+        for (Cidr proxy : trustedProxies) {
+            if (proxy.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Cidr> parseProxies(String value) {
+        List<Cidr> proxies = new ArrayList<>();
+        if (value == null || value.isBlank()) {
+            return proxies;
+        }
+        for (String entry : value.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int slash = trimmed.indexOf('/');
+            byte[] network = parseLiteral(slash < 0 ? trimmed : trimmed.substring(0, slash));
+            if (network == null) {
+                throw new IllegalArgumentException("Proxy confiável inválido: " + trimmed);
+            }
+            int prefix = network.length * 8;
+            if (slash >= 0) {
+                prefix = Integer.parseInt(trimmed.substring(slash + 1));
+                if (prefix < 0 || prefix > network.length * 8) {
+                    throw new IllegalArgumentException("Prefixo CIDR inválido: " + trimmed);
+                }
+            }
+            proxies.add(new Cidr(network, prefix));
+        }
+        return proxies;
+    }
+
+    /**
+     * Converte um IP literal em bytes sem consultar DNS; retorna null para qualquer outra coisa
+     */
+    static byte[] parseLiteral(String ip) {
+        if (ip == null || ip.isEmpty() || ip.length() > 45) {
+            return null;
+        }
+        boolean ipv6 = ip.indexOf(':') >= 0;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            boolean valid = (c >= '0' && c <= '9') || c == '.'
+                    || (ipv6 && (c == ':' || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')));
+            if (!valid) {
+                return null;
+            }
+        }
+        if (!ipv6 && !isDottedQuad(ip)) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(ip).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private static boolean isDottedQuad(String ip) {
+        String[] parts = ip.split("\\.", -1);
+        if (parts.length != 4) {
+            return false;
+        }
+        for (String part : parts) {
+            if (part.isEmpty() || part.length() > 3 || Integer.parseInt(part) > 255) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Cidr {
+        private final byte[] network;
+        private final int prefix;
+
+        private Cidr(byte[] network, int prefix) {
+            this.network = network;
+            this.prefix = prefix;
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefix / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefix % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
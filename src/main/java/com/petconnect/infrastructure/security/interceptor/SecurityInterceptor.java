@@ -1,22 +1,46 @@
 package com.petconnect.infrastructure.security.interceptor;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petconnect.infrastructure.adapter.web.shared.dto.ApiResponse;
+import com.petconnect.infrastructure.security.ratelimit.RequestRateLimiter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class SecurityInterceptor implements HandlerInterceptor {
     
     private static final ThreadLocal<String> clientIpHolder = new ThreadLocal<>();
     private static final ThreadLocal<String> userAgentHolder = new ThreadLocal<>();
     
+    private final RequestRateLimiter rateLimiter;
+    private final ClientIpResolver clientIpResolver;
+    private final ObjectMapper objectMapper;
+    
     @Override
-    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+
+        String clientIp = clientIpResolver.resolve(request);
+
+        // Rejeita antes de preencher os ThreadLocals: com preHandle=false o afterCompletion não é chamado
+        long waitNanos = rateLimiter.tryAcquire(request.getRequestURI(), clientIp);
+        if (waitNanos != RequestRateLimiter.ALLOWED) {
+            rejectTooManyRequests(response, clientIp, request.getRequestURI(), waitNanos);
+            return false;
+        }
 
-        String clientIp = getClientIpAddress(request);
         clientIpHolder.set(clientIp);
         
 
@@ -38,6 +62,19 @@ public class SecurityInterceptor implements HandlerInterceptor {
         userAgentHolder.remove();
     }
     
+    private void rejectTooManyRequests(HttpServletResponse response, String clientIp, String uri,
+                                       long waitNanos) throws IOException {
+        long retryAfterSeconds = RequestRateLimiter.toRetryAfterSeconds(waitNanos);
+        log.debug("Rate limit excedido para IP {} em {} (Retry-After {}s)", clientIp, uri, retryAfterSeconds);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(),
+                ApiResponse.error("Muitas requisições. Tente novamente em " + retryAfterSeconds + " segundos."));
+    }
+    
     public static String getCurrentClientIp() {
         return clientIpHolder.get();
     }
@@ -45,34 +82,4 @@ public class SecurityInterceptor implements HandlerInterceptor {
     public static String getCurrentUserAgent() {
         return userAgentHolder.get();
     }
-    
-    private String getClientIpAddress(HttpServletRequest request) {
-        String[] headers = {
-            "X-Forwarded-For",
-            "X-Real-IP",
-            "Proxy-Client-IP",
-            "WL-Proxy-Client-IP",
-            "HTTP_X_FORWARDED_FOR",
-            "HTTP_X_FORWARDED",
-            "HTTP_X_CLUSTER_CLIENT_IP",
-            "HTTP_CLIENT_IP",
-            "HTTP_FORWARDED_FOR",
-            "HTTP_FORWARDED",
-            "HTTP_VIA",
-            "REMOTE_ADDR"
-        };
-        
-        for (String header : headers) {
-            String ip = request.getHeader(header);
-            if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-
-                if (ip.contains(",")) {
-                    ip = ip.split(",")[0].trim();
-                }
-                return ip;
-            }
-        }
-        
-        return request.getRemoteAddr();
-    }
 }
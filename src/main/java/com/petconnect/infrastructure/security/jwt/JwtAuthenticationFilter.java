@@ -1,11 +1,13 @@
 package com.petconnect.infrastructure.security.jwt;
 
+import com.petconnect.infrastructure.security.service.UserSecurityEpochService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,6 +26,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserSecurityEpochService securityEpochService;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${jwt.stateless-auth.enabled:false}")
+    private boolean statelessAuthEnabled;
 
     @Override
     protected void doFilterInternal(
@@ -34,7 +41,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -46,14 +52,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            userEmail = jwtService.extractUsername(jwt);
-
+            VerifiedToken token = jwtService.verify(jwt);
+            String userEmail = token.getSubject();
 
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            if (tokenRevocationService.isRevoked(token.getTokenId())) {
+                log.debug("Token revogado recebido para usuário: {}", userEmail);
+            } else if (jwtService.isRefreshToken(token)) {
+                log.debug("Refresh token usado como access token para usuário: {}", userEmail);
+            } else if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = resolveUserDetails(token, userEmail);
                 
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null && jwtService.isTokenValid(token, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -71,4 +81,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * No modo stateless o principal vem das claims do token (validado contra a época de segurança);
+     * tokens sem as claims necessárias, ou com o modo desabilitado, consultam o UserDetailsService
+     */
+    private UserDetails resolveUserDetails(VerifiedToken token, String userEmail) {
+        if (statelessAuthEnabled) {
+            TokenUserPrincipal principal = TokenUserPrincipal.from(token);
+            if (principal != null) {
+                if (!securityEpochService.isTokenCurrent(principal.getUserId(), token.getIssuedAt())) {
+                    log.debug("Token emitido antes da época de segurança do usuário {}", principal.getUserId());
+                    return null;
+                }
+                return principal;
+            }
+        }
+        return this.userDetailsService.loadUserByUsername(userEmail);
+    }
 }
@@ -1,23 +1,46 @@
 package com.petconnect.infrastructure.security.jwt;
 
+import com.petconnect.infrastructure.security.cache.CacheStats;
+import com.petconnect.infrastructure.security.cache.ExpiringCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_USER_TYPE = "userType";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_TOKEN_TYPE = "tokenType";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
     @Value("${jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
     private String secretKey;
 
@@ -27,18 +50,65 @@ public class JwtService {
     @Value("${jwt.refresh-token.expiration:604800000}")
     private long refreshExpiration;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize = 10000;
+
+    @Value("${jwt.verified-cache.ttl-seconds:300}")
+    private long verifiedCacheTtlSeconds = 300;
+
+    /**
+     * Aceita tokens HS256 sem kid (emitidos antes da assinatura assimétrica) durante a transição:
+     * do início do chaveiro até a vida máxima de um token depois dele
+     */
+    @Value("${jwt.signing.accept-legacy-hmac:true}")
+    private boolean acceptLegacyHmac = true;
+
+    @Autowired(required = false)
+    private JwtSigningKeyRing signingKeyRing;
+
+    private volatile Key signInKey;
+    private volatile JwtParser jwtParser;
+    private volatile ExpiringCache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * Verifica assinatura e expiração do token uma única vez e retorna a visão imutável das claims.
+     * Tokens já verificados são servidos do cache (chaveado pelo SHA-256 do token) até expirarem.
+     */
+    public VerifiedToken verify(String token) {
+        ExpiringCache<String, VerifiedToken> cache = getVerifiedTokenCache();
+        String digest = digest(token);
+
+        VerifiedToken cached = cache.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedToken verified = VerifiedToken.from(getParser().parseClaimsJws(token).getBody());
+        if (verified.getExpiration() != null) {
+            cache.put(digest, verified, verified.getExpiration().toEpochMilli());
+        }
+        return verified;
+    }
+
+    /**
+     * Contadores de hit/miss do cache de tokens verificados
+     */
+    public CacheStats getVerifiedTokenCacheStats() {
+        return getVerifiedTokenCache().stats();
+    }
+
     /**
      * Extrai o username (email) do token JWT
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     /**
      * Extrai uma claim específica do token
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = Jwts.claims(verify(token).getClaims());
         return claimsResolver.apply(claims);
     }
 
@@ -60,90 +130,191 @@ public class JwtService {
      * Gera um refresh token
      */
     public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_TOKEN_TYPE, TOKEN_TYPE_REFRESH);
+        return buildToken(claims, userDetails, refreshExpiration);
     }
 
     /**
-     * Constrói o token JWT
+     * Gera um refresh token com id, tipo e roles do usuário, permitindo renovar o acesso sem recarregar o usuário
+     */
+    public String generateRefreshToken(UserDetails userDetails, String userId, String userType) {
+        Map<String, Object> claims = userInfoClaims(userDetails, userId, userType);
+        claims.put(CLAIM_TOKEN_TYPE, TOKEN_TYPE_REFRESH);
+        return buildToken(claims, userDetails, refreshExpiration);
+    }
+
+    /**
+     * Verifica se o token é um refresh token (e não um access token)
+     */
+    public boolean isRefreshToken(VerifiedToken token) {
+        return TOKEN_TYPE_REFRESH.equals(token.getClaim(CLAIM_TOKEN_TYPE, String.class));
+    }
+
+    /**
+     * Constrói o token JWT (com jti único, usado na revogação). Com o chaveiro habilitado assina
+     * RS256 com o kid da chave ativa, verificável por outros serviços via JWKS; senão, HS256
      */
     private String buildToken(
             Map<String, Object> extraClaims,
             UserDetails userDetails,
             long expiration
     ) {
-        return Jwts
+        JwtBuilder builder = Jwts
                 .builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .setExpiration(new Date(System.currentTimeMillis() + expiration));
+
+        JwtSigningKeyRing.SigningKey signingKey = signingKeyRing != null ? signingKeyRing.getSigningKey() : null;
+        if (signingKey != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, signingKey.getKeyId())
+                    .signWith(signingKey.getPrivateKey(), SignatureAlgorithm.RS256);
+        } else {
+            builder.signWith(getSignInKey(), SignatureAlgorithm.HS256);
+        }
+        return builder.compact();
     }
 
     /**
      * Valida se o token é válido para o usuário
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
     }
 
     /**
-     * Verifica se o token está expirado
+     * Valida um token já verificado para o usuário, sem novo parse
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.getSubject() != null
+                && token.getSubject().equals(userDetails.getUsername())
+                && !token.isExpired();
     }
 
     /**
-     * Extrai a data de expiração do token
+     * Obtém a chave de assinatura (decodificada uma única vez)
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private Key getSignInKey() {
+        Key key = signInKey;
+        if (key == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+            key = Keys.hmacShaKeyFor(keyBytes);
+            signInKey = key;
+        }
+        return key;
     }
 
     /**
-     * Extrai todas as claims do token
+     * Obtém o parser reutilizável (thread-safe); a chave de verificação é escolhida pelo kid do cabeçalho
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private JwtParser getParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                        @Override
+                        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                            return resolveVerificationKey(header);
+                        }
+                    })
+                    .build();
+            jwtParser = parser;
+        }
+        return parser;
     }
 
     /**
-     * Obtém a chave de assinatura
+     * Sem kid: token HMAC, aceito só sem chaveiro ou na janela de transição. Com kid: somente RS256
+     * com chave publicada no chaveiro
      */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Key resolveVerificationKey(JwsHeader<?> header) {
+        String keyId = header.getKeyId();
+        if (keyId == null) {
+            if (signingKeyRing != null && signingKeyRing.getSigningKey() != null && !isLegacyHmacWindowOpen()) {
+                throw new SignatureException("Token sem kid não é mais aceito");
+            }
+            return getSignInKey();
+        }
+        if (signingKeyRing == null || !SignatureAlgorithm.RS256.getValue().equals(header.getAlgorithm())) {
+            throw new SignatureException("Algoritmo não permitido para tokens com kid");
+        }
+        Key key = signingKeyRing.getVerificationKey(keyId);
+        if (key == null) {
+            throw new SignatureException("Chave de assinatura desconhecida: " + keyId);
+        }
+        return key;
+    }
+
+    /**
+     * Depois de uma vida de token desde a primeira ativação nenhum HS256 legítimo segue válido; o
+     * segredo HMAC deixa de ser aceito, mesmo que tenha vazado
+     */
+    private boolean isLegacyHmacWindowOpen() {
+        if (!acceptLegacyHmac) {
+            return false;
+        }
+        Instant cutover = signingKeyRing.getEarliestActivation();
+        return cutover != null && Instant.now().isBefore(
+                cutover.plusMillis(Math.max(jwtExpiration, refreshExpiration)));
+    }
+
+    private ExpiringCache<String, VerifiedToken> getVerifiedTokenCache() {
+        ExpiringCache<String, VerifiedToken> cache = verifiedTokens;
+        if (cache == null) {
+            synchronized (this) {
+                cache = verifiedTokens;
+                if (cache == null) {
+                    cache = new ExpiringCache<>(verifiedCacheMaxSize, Duration.ofSeconds(verifiedCacheTtlSeconds));
+                    verifiedTokens = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
     }
 
     /**
      * Extrai o ID do usuário do token
      */
     public String extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get("userId", String.class));
+        return verify(token).getClaim(CLAIM_USER_ID, String.class);
     }
 
     /**
      * Extrai as roles do usuário do token
      */
     public String extractUserType(String token) {
-        return extractClaim(token, claims -> claims.get("userType", String.class));
+        return verify(token).getClaim(CLAIM_USER_TYPE, String.class);
     }
 
     /**
-     * Gera token com informações adicionais do usuário
+     * Gera token com informações adicionais do usuário (incluindo as roles, para o modo stateless)
      */
     public String generateTokenWithUserInfo(UserDetails userDetails, String userId, String userType) {
-        Map<String, Object> extraClaims = new HashMap<>();
-        extraClaims.put("userId", userId);
-        extraClaims.put("userType", userType);
-        return generateToken(extraClaims, userDetails);
+        return generateToken(userInfoClaims(userDetails, userId, userType), userDetails);
+    }
+
+    private static Map<String, Object> userInfoClaims(UserDetails userDetails, String userId, String userType) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, userId);
+        claims.put(CLAIM_USER_TYPE, userType);
+        if (userDetails.getAuthorities() != null) {
+            List<String> roles = userDetails.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList();
+            claims.put(CLAIM_ROLES, roles);
+        }
+        return claims;
     }
 }
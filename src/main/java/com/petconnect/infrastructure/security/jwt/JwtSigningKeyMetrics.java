@@ -0,0 +1,21 @@
+package com.petconnect.infrastructure.security.jwt;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fotografia do chaveiro de assinatura de JWT
+ */
+@Value
+@Builder
+public class JwtSigningKeyMetrics {
+    boolean enabled;
+    String activeKeyId;
+    int publishedKeys;
+    int pendingKeys;
+    int localKeys;
+    LocalDateTime lastSync;
+    LocalDateTime lastRotation;
+}
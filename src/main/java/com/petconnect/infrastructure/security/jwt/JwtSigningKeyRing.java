@@ -0,0 +1,420 @@
+package com.petconnect.infrastructure.security.jwt;
+
+import com.petconnect.domain.security.entity.JwtSigningKey;
+import com.petconnect.domain.security.port.JwtSigningKeyRepositoryPort;
+import com.petconnect.infrastructure.security.encryption.DataEncryptionService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chaveiro RSA (RS256) para assinatura de JWT com rotação agendada, sem reinício.
+ *
+ * Cada chave nasce pendente: é publicada no JWKS imediatamente, mas só passa a assinar após o
+ * atraso de ativação, tempo para os consumidores renovarem o JWKS em cache. Chaves aposentadas
+ * continuam verificando até o último token assinado por elas expirar. A leitura (assinar,
+ * verificar, JWKS) usa um snapshot imutável; somente a sincronização periódica acessa o banco.
+ */
+@Component
+@Slf4j
+public class JwtSigningKeyRing {
+
+    public static final String ALGORITHM = "RS256";
+
+    /**
+     * Intervalo mínimo entre recargas disparadas por kid desconhecido (kids arbitrários não geram carga no banco)
+     */
+    private static final Duration UNKNOWN_KEY_RELOAD_INTERVAL = Duration.ofSeconds(5);
+
+    private final JwtSigningKeyRepositoryPort signingKeyRepository;
+    private final DataEncryptionService dataEncryptionService;
+    private final boolean enabled;
+    private final int keySize;
+    private final Duration rotationInterval;
+    private final Duration activationDelay;
+    private final Duration maxTokenLifetime;
+    private final Clock clock;
+
+    /**
+     * Chaves geradas enquanto o banco estava indisponível: válidas apenas nesta instância
+     */
+    private final Map<String, SigningKey> localKeys = new ConcurrentHashMap<>();
+    private final AtomicLong lastUnknownKeyReload = new AtomicLong();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile LocalDateTime lastSync;
+    private volatile LocalDateTime lastRotation;
+
+    @Autowired
+    public JwtSigningKeyRing(
+            JwtSigningKeyRepositoryPort signingKeyRepository,
+            DataEncryptionService dataEncryptionService,
+            @Value("${jwt.signing.algorithm:RS256}") String algorithm,
+            @Value("${jwt.signing.key-size:2048}") int keySize,
+            @Value("${jwt.signing.rotation-interval-hours:168}") long rotationIntervalHours,
+            @Value("${jwt.signing.activation-delay-minutes:10}") long activationDelayMinutes,
+            @Value("${jwt.refresh-token.expiration:604800000}") long maxTokenLifetimeMs) {
+        this(signingKeyRepository, dataEncryptionService, ALGORITHM.equalsIgnoreCase(algorithm), keySize,
+                Duration.ofHours(rotationIntervalHours), Duration.ofMinutes(activationDelayMinutes),
+                Duration.ofMillis(maxTokenLifetimeMs), Clock.systemDefaultZone());
+    }
+
+    JwtSigningKeyRing(JwtSigningKeyRepositoryPort signingKeyRepository, DataEncryptionService dataEncryptionService,
+                      boolean enabled, int keySize, Duration rotationInterval, Duration activationDelay,
+                      Duration maxTokenLifetime, Clock clock) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.dataEncryptionService = dataEncryptionService;
+        this.enabled = enabled;
+        this.keySize = keySize;
+        this.rotationInterval = rotationInterval;
+        this.activationDelay = activationDelay;
+        this.maxTokenLifetime = maxTokenLifetime;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            log.info("Assinatura assimétrica de JWT desabilitada; usando HMAC");
+            return;
+        }
+        reload();
+        rotateIfDue();
+    }
+
+    /**
+     * Sincroniza com as demais instâncias, rotaciona quando vencida e remove chaves expiradas
+     */
+    @Scheduled(fixedDelayString = "${jwt.signing.sync-ms:60000}",
+               initialDelayString = "${jwt.signing.sync-ms:60000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        reload();
+        rotateIfDue();
+        try {
+            int removed = signingKeyRepository.deleteExpired(LocalDateTime.now(clock));
+            if (removed > 0) {
+                log.info("{} chaves de assinatura expiradas removidas", removed);
+            }
+        } catch (Exception e) {
+            log.debug("Falha ao remover chaves de assinatura expiradas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Chave usada para assinar agora: a ativada mais recentemente (null quando desabilitado)
+     */
+    public SigningKey getSigningKey() {
+        List<SigningKey> keys = snapshot.keys;
+        Instant now = clock.instant();
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            if (!keys.get(i).activatesAt.isAfter(now)) {
+                return keys.get(i);
+            }
+        }
+        return keys.isEmpty() ? null : keys.get(0);
+    }
+
+    /**
+     * Ativação da chave publicada mais antiga (null sem chaves). Marca o início da troca do HMAC
+     * para o RS256: como chaves expiradas saem do chaveiro, o valor só avança com as rotações
+     */
+    public Instant getEarliestActivation() {
+        List<SigningKey> keys = snapshot.keys;
+        return keys.isEmpty() ? null : keys.get(0).activatesAt;
+    }
+
+    /**
+     * Chave pública para o kid do token. Um kid desconhecido pode ser uma chave recém-criada por
+     * outra instância: nesse caso o chaveiro é recarregado, no máximo uma vez a cada poucos segundos
+     */
+    public RSAPublicKey getVerificationKey(String keyId) {
+        SigningKey key = snapshot.byId.get(keyId);
+        if (key == null && enabled && reserveUnknownKeyReload()) {
+            reload();
+            key = snapshot.byId.get(keyId);
+        }
+        return key != null ? key.publicKey : null;
+    }
+
+    /**
+     * Documento JWKS (RFC 7517) com todas as chaves não expiradas, inclusive as pendentes
+     */
+    public Map<String, Object> getJwks() {
+        return snapshot.jwks;
+    }
+
+    /**
+     * Identifica o conjunto de chaves publicado (usado como ETag do JWKS)
+     */
+    public String getJwksVersion() {
+        return snapshot.version;
+    }
+
+    public JwtSigningKeyMetrics getMetrics() {
+        Snapshot current = snapshot;
+        SigningKey active = getSigningKey();
+        Instant now = clock.instant();
+        return JwtSigningKeyMetrics.builder()
+                .enabled(enabled)
+                .activeKeyId(active != null ? active.keyId : null)
+                .publishedKeys(current.keys.size())
+                .pendingKeys((int) current.keys.stream().filter(key -> key.activatesAt.isAfter(now)).count())
+                .localKeys(localKeys.size())
+                .lastSync(lastSync)
+                .lastRotation(lastRotation)
+                .build();
+    }
+
+    /**
+     * Acrescenta as chaves do banco ainda desconhecidas. Chaves já carregadas só saem do snapshot
+     * ao expirar, mesmo que uma leitura (réplica atrasada, falha parcial) deixe de trazê-las
+     */
+    private synchronized void reload() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        try {
+            Map<String, SigningKey> loaded = new LinkedHashMap<>(snapshot.byId);
+            for (JwtSigningKey stored : signingKeyRepository.findUnexpired(now)) {
+                if (loaded.containsKey(stored.getKeyId())) {
+                    continue;
+                }
+                try {
+                    loaded.put(stored.getKeyId(), decode(stored));
+                } catch (Exception e) {
+                    log.warn("Chave de assinatura {} ignorada: {}", stored.getKeyId(), e.getMessage());
+                }
+            }
+            publish(loaded.values());
+            lastSync = now;
+        } catch (Exception e) {
+            log.warn("Falha ao sincronizar chaves de assinatura: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void rotateIfDue() {
+        Instant now = clock.instant();
+        SigningKey newest = snapshot.keys.stream()
+                .max(Comparator.comparing(key -> key.createdAt))
+                .orElse(null);
+        if (newest == null) {
+            addKey(now, now);
+        } else if (!newest.createdAt.plus(rotationInterval).isAfter(now)) {
+            addKey(now, now.plus(activationDelay));
+        }
+    }
+
+    /**
+     * Gera e persiste uma nova chave. O prazo de validade cobre o período em que ela assina, um
+     * intervalo extra de folga para rotações atrasadas e a vida do último token assinado
+     */
+    private void addKey(Instant now, Instant activatesAt) {
+        SigningKey key;
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(keySize);
+            KeyPair keyPair = generator.generateKeyPair();
+            Instant expiresAt = activatesAt.plus(rotationInterval.multipliedBy(2)).plus(maxTokenLifetime);
+            key = new SigningKey((RSAPublicKey) keyPair.getPublic(), keyPair.getPrivate(), now, activatesAt, expiresAt);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao gerar chave de assinatura RSA", e);
+        }
+
+        try {
+            signingKeyRepository.save(JwtSigningKey.builder()
+                    .keyId(key.keyId)
+                    .algorithm(ALGORITHM)
+                    .publicKey(Base64.getEncoder().encodeToString(key.publicKey.getEncoded()))
+                    .privateKey(dataEncryptionService.encryptSensitiveData(
+                            Base64.getEncoder().encodeToString(key.privateKey.getEncoded())))
+                    .createdAt(toLocalDateTime(now))
+                    .activatesAt(toLocalDateTime(activatesAt))
+                    .expiresAt(toLocalDateTime(key.expiresAt))
+                    .build());
+        } catch (Exception e) {
+            log.warn("Falha ao persistir chave de assinatura {}; usando-a apenas nesta instância: {}",
+                    key.keyId, e.getMessage());
+            localKeys.put(key.keyId, key);
+        }
+
+        List<SigningKey> keys = new ArrayList<>(snapshot.keys);
+        keys.add(key);
+        publish(keys);
+        lastRotation = toLocalDateTime(now);
+        log.info("Nova chave de assinatura {} (ativa a partir de {})", key.keyId, toLocalDateTime(activatesAt));
+    }
+
+    private void publish(Collection<SigningKey> candidates) {
+        Instant now = clock.instant();
+        localKeys.values().removeIf(key -> !key.expiresAt.isAfter(now));
+        List<SigningKey> keys = candidates.stream()
+                .filter(key -> key.expiresAt.isAfter(now))
+                .sorted(Comparator.comparing((SigningKey key) -> key.activatesAt).thenComparing(key -> key.keyId))
+                .toList();
+        snapshot = Snapshot.of(keys);
+    }
+
+    private boolean reserveUnknownKeyReload() {
+        long nowMillis = clock.millis();
+        long last = lastUnknownKeyReload.get();
+        return nowMillis - last >= UNKNOWN_KEY_RELOAD_INTERVAL.toMillis()
+                && lastUnknownKeyReload.compareAndSet(last, nowMillis);
+    }
+
+    private SigningKey decode(JwtSigningKey stored) throws GeneralSecurityException {
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        RSAPublicKey publicKey = (RSAPublicKey) keyFactory.generatePublic(
+                new X509EncodedKeySpec(Base64.getDecoder().decode(stored.getPublicKey())));
+        PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(
+                dataEncryptionService.decryptSensitiveData(stored.getPrivateKey()))));
+        return new SigningKey(publicKey, privateKey, toInstant(stored.getCreatedAt()),
+                toInstant(stored.getActivatesAt()), toInstant(stored.getExpiresAt()));
+    }
+
+    private LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, clock.getZone());
+    }
+
+    private Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant();
+    }
+
+    /**
+     * Chave de assinatura decodificada; o kid é o thumbprint da chave pública (RFC 7638)
+     */
+    public static final class SigningKey {
+        private final String keyId;
+        private final RSAPublicKey publicKey;
+        private final PrivateKey privateKey;
+        private final Instant createdAt;
+        private final Instant activatesAt;
+        private final Instant expiresAt;
+
+        SigningKey(RSAPublicKey publicKey, PrivateKey privateKey, Instant createdAt, Instant activatesAt,
+                   Instant expiresAt) {
+            this.keyId = thumbprint(publicKey);
+            this.publicKey = publicKey;
+            this.privateKey = privateKey;
+            this.createdAt = createdAt;
+            this.activatesAt = activatesAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public PrivateKey getPrivateKey() {
+            return privateKey;
+        }
+
+        public RSAPublicKey getPublicKey() {
+            return publicKey;
+        }
+
+        private Map<String, Object> toJwk() {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", ALGORITHM);
+            jwk.put("kid", keyId);
+            jwk.put("n", base64Url(publicKey.getModulus()));
+            jwk.put("e", base64Url(publicKey.getPublicExponent()));
+            return Collections.unmodifiableMap(jwk);
+        }
+
+        private static String thumbprint(RSAPublicKey publicKey) {
+            String canonical = "{\"e\":\"" + base64Url(publicKey.getPublicExponent())
+                    + "\",\"kty\":\"RSA\",\"n\":\"" + base64Url(publicKey.getModulus()) + "\"}";
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("SHA-256 indisponível", e);
+            }
+        }
+
+        /**
+         * Inteiro sem sinal em big-endian, sem o zero à esquerda que o BigInteger acrescenta
+         */
+        private static String base64Url(BigInteger value) {
+            byte[] bytes = value.toByteArray();
+            if (bytes.length > 1 && bytes[0] == 0) {
+                bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        }
+    }
+
+    /**
+     * Estado publicado: chaves ordenadas por ativação, índice por kid e o JWKS pré-montado
+     */
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = of(List.of());
+
+        private final List<SigningKey> keys;
+        private final Map<String, SigningKey> byId;
+        private final Map<String, Object> jwks;
+        private final String version;
+
+        private Snapshot(List<SigningKey> keys, Map<String, SigningKey> byId, Map<String, Object> jwks,
+                         String version) {
+            this.keys = keys;
+            this.byId = byId;
+            this.jwks = jwks;
+            this.version = version;
+        }
+
+        private static Snapshot of(List<SigningKey> keys) {
+            Map<String, SigningKey> byId = new LinkedHashMap<>();
+            List<Map<String, Object>> jwks = new ArrayList<>();
+            StringBuilder keyIds = new StringBuilder();
+            for (SigningKey key : keys) {
+                byId.put(key.keyId, key);
+                jwks.add(key.toJwk());
+                keyIds.append(key.keyId).append(',');
+            }
+            String version;
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256")
+                        .digest(keyIds.toString().getBytes(StandardCharsets.UTF_8));
+                version = HexFormat.of().formatHex(digest, 0, 8);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("SHA-256 indisponível", e);
+            }
+            return new Snapshot(List.copyOf(keys), Map.copyOf(byId), Map.of("keys", List.copyOf(jwks)), version);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.petconnect.infrastructure.security.jwt;
+
+import lombok.Value;
+
+/**
+ * Resultado de uma renovação: principal (das claims) e o novo par de tokens
+ */
+@Value
+public class RefreshTokenRotation {
+    TokenUserPrincipal principal;
+    String accessToken;
+    String refreshToken;
+}
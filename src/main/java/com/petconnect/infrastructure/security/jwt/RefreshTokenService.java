@@ -0,0 +1,153 @@
+package com.petconnect.infrastructure.security.jwt;
+
+import com.petconnect.domain.security.entity.RefreshToken;
+import com.petconnect.domain.security.port.RefreshTokenRepositoryPort;
+import com.petconnect.exception.UnauthorizedException;
+import com.petconnect.infrastructure.security.audit.SecurityAuditService;
+import com.petconnect.infrastructure.security.service.CustomUserDetailsService;
+import com.petconnect.infrastructure.security.service.CustomUserDetailsService.CustomUserPrincipal;
+import com.petconnect.infrastructure.security.service.UserSecurityEpochService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Emissão e rotação de refresh tokens persistidos.
+ *
+ * Cada login abre uma família; cada renovação consome o token apresentado e emite o sucessor
+ * na mesma família em um único comando SQL. Apresentar um token já consumido indica que ele
+ * vazou, e a família inteira é revogada. O usuário é recarregado pelo
+ * {@link CustomUserDetailsService} (cache de principals): usuários removidos ou inativos não
+ * renovam, e roles e tipo do novo par são os atuais, não os copiados do token anterior.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final String INVALID_TOKEN = "Token de refresh inválido";
+
+    private final JwtService jwtService;
+    private final RefreshTokenRepositoryPort refreshTokenRepository;
+    private final UserSecurityEpochService securityEpochService;
+    private final SecurityAuditService securityAuditService;
+    private final CustomUserDetailsService userDetailsService;
+
+    /**
+     * Emite o refresh token inicial de uma nova família
+     */
+    public String issue(UserDetails userDetails, String userId, String userType) {
+        String refreshToken = jwtService.generateRefreshToken(userDetails, userId, userType);
+        VerifiedToken verified = jwtService.verify(refreshToken);
+        refreshTokenRepository.save(RefreshToken.issue(hash(verified.getTokenId()), userId,
+                userDetails.getUsername(), toLocalDateTime(verified)));
+        return refreshToken;
+    }
+
+    /**
+     * Troca o refresh token por um novo par (access + refresh)
+     *
+     * @throws UnauthorizedException quando o token é inválido, expirado, revogado ou reutilizado
+     */
+    public RefreshTokenRotation rotate(String refreshToken) {
+        VerifiedToken token = jwtService.verify(refreshToken);
+        if (!jwtService.isRefreshToken(token) || token.getTokenId() == null) {
+            throw new UnauthorizedException(INVALID_TOKEN);
+        }
+
+        TokenUserPrincipal claims = TokenUserPrincipal.from(token);
+        if (claims == null || !securityEpochService.isTokenCurrent(claims.getUserId(), token.getIssuedAt())) {
+            throw new UnauthorizedException(INVALID_TOKEN);
+        }
+        TokenUserPrincipal principal = loadCurrentPrincipal(claims);
+
+        String tokenHash = hash(token.getTokenId());
+        String newRefreshToken = jwtService.generateRefreshToken(
+                principal, principal.getUserId(), principal.getUserType());
+        VerifiedToken successor = jwtService.verify(newRefreshToken);
+
+        Optional<RefreshToken> rotated = refreshTokenRepository.rotate(tokenHash, hash(successor.getTokenId()),
+                toLocalDateTime(successor), LocalDateTime.now());
+        if (rotated.isEmpty()) {
+            handleRejected(tokenHash, principal.getUsername());
+            throw new UnauthorizedException(INVALID_TOKEN);
+        }
+
+        String accessToken = jwtService.generateTokenWithUserInfo(
+                principal, principal.getUserId(), principal.getUserType());
+        return new RefreshTokenRotation(principal, accessToken, newRefreshToken);
+    }
+
+    /**
+     * Principal atual do dono do token; rejeita usuário removido, inativo ou com outro id
+     * (e-mail reaproveitado por uma nova conta)
+     */
+    private TokenUserPrincipal loadCurrentPrincipal(TokenUserPrincipal claims) {
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(claims.getUsername());
+        } catch (UsernameNotFoundException e) {
+            throw new UnauthorizedException(INVALID_TOKEN);
+        }
+        if (!(userDetails instanceof CustomUserPrincipal user) || !user.isEnabled()
+                || !user.getUserId().equals(claims.getUserId())) {
+            throw new UnauthorizedException(INVALID_TOKEN);
+        }
+        return TokenUserPrincipal.of(user, user.getUserId(), user.getUserType());
+    }
+
+    /**
+     * Remove refresh tokens expirados
+     */
+    @Scheduled(fixedDelayString = "${app.security.refresh-token.cleanup-ms:3600000}",
+               initialDelayString = "${app.security.refresh-token.cleanup-ms:3600000}")
+    public void deleteExpired() {
+        try {
+            int removed = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+            if (removed > 0) {
+                log.debug("{} refresh tokens expirados removidos", removed);
+            }
+        } catch (Exception e) {
+            log.warn("Falha ao remover refresh tokens expirados: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Somente o caminho de falha faz a leitura extra: reuso de um token já consumido revoga a família
+     */
+    private void handleRejected(String tokenHash, String userIdentifier) {
+        refreshTokenRepository.findByTokenHash(tokenHash)
+                .filter(stored -> stored.isUsed() && !stored.isRevoked())
+                .ifPresent(stored -> {
+                    int revoked = refreshTokenRepository.revokeFamily(stored.getFamilyId(), LocalDateTime.now());
+                    log.warn("Reuso de refresh token detectado para usuário {}; família {} revogada ({} tokens)",
+                            userIdentifier, stored.getFamilyId(), revoked);
+                    securityAuditService.recordSecurityViolation("REFRESH_TOKEN_REUSE",
+                            "Reuso de refresh token; família revogada para usuário: " + userIdentifier);
+                });
+    }
+
+    private static LocalDateTime toLocalDateTime(VerifiedToken token) {
+        return LocalDateTime.ofInstant(token.getExpiration(), ZoneId.systemDefault());
+    }
+
+    private static String hash(String tokenId) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(tokenId.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.petconnect.infrastructure.security.jwt;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fotografia das métricas do denylist de tokens revogados
+ */
+@Value
+@Builder
+public class TokenRevocationMetrics {
+    int revokedTokens;
+    int bloomBits;
+    int bloomHashFunctions;
+    long bloomPositives;
+    long falsePositives;
+    LocalDateTime lastSync;
+}
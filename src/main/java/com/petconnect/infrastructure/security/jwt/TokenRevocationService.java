@@ -0,0 +1,169 @@
+package com.petconnect.infrastructure.security.jwt;
+
+import com.petconnect.domain.security.entity.RevokedToken;
+import com.petconnect.domain.security.port.RevokedTokenRepositoryPort;
+import com.petconnect.infrastructure.security.cache.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Denylist em memória dos tokens de acesso revogados (claim jti).
+ *
+ * Um filtro de Bloom responde "não revogado" sem tocar no mapa para a quase totalidade das
+ * requisições; apenas os positivos são confirmados no conjunto exato (jti -> expiração).
+ * A tabela revoked_tokens é lida somente pela sincronização periódica, que também traz as
+ * revogações feitas por outras instâncias e descarta tokens já expirados.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    /**
+     * Margem ao reler revogações recentes (relógios e commits atrasados entre instâncias)
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final RevokedTokenRepositoryPort revokedTokenRepository;
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+    private final Clock clock;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private volatile LocalDateTime lastSync;
+
+    private final LongAdder bloomPositives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    @Autowired
+    public TokenRevocationService(
+            RevokedTokenRepositoryPort revokedTokenRepository,
+            @Value("${jwt.revocation.expected-tokens:100000}") int expectedTokens,
+            @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this(revokedTokenRepository, expectedTokens, falsePositiveRate, Clock.systemDefaultZone());
+    }
+
+    TokenRevocationService(RevokedTokenRepositoryPort revokedTokenRepository, int expectedTokens,
+                           double falsePositiveRate, Clock clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.bloomFilter = BloomFilter.create(expectedTokens, falsePositiveRate);
+    }
+
+    /**
+     * Verifica se o token foi revogado, sem acesso ao banco. Tokens sem jti (emitidos antes
+     * da revogação existir) não podem ser revogados individualmente e expiram normalmente
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        bloomPositives.increment();
+        if (revoked.containsKey(tokenId)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Revoga o token até a sua expiração, persistindo para as demais instâncias
+     *
+     * @return false quando o token não tem jti ou já expirou (nada a revogar)
+     */
+    public boolean revoke(String tokenId, String userIdentifier, Instant expiresAt, String reason) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(clock.instant())) {
+            return false;
+        }
+        revokedTokenRepository.save(RevokedToken.create(tokenId, userIdentifier,
+                LocalDateTime.ofInstant(expiresAt, clock.getZone()), reason));
+        remember(tokenId, expiresAt.toEpochMilli());
+        log.info("Token revogado ({}) para usuário: {}", reason, userIdentifier);
+        return true;
+    }
+
+    /**
+     * Carrega revogações novas (inclusive de outras instâncias) e descarta as expiradas
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-ms:10000}",
+               initialDelayString = "${jwt.revocation.sync-ms:10000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime since = lastSync != null ? lastSync.minus(SYNC_OVERLAP) : EPOCH;
+        try {
+            ZoneId zone = clock.getZone();
+            for (RevokedToken token : revokedTokenRepository.findActiveRevokedSince(since, now)) {
+                if (!revoked.containsKey(token.getTokenId())) {
+                    remember(token.getTokenId(), token.getExpiresAt().atZone(zone).toInstant().toEpochMilli());
+                }
+            }
+            lastSync = now;
+        } catch (Exception e) {
+            log.warn("Falha ao sincronizar tokens revogados: {}", e.getMessage());
+        }
+
+        if (pruneExpired() > 0) {
+            try {
+                revokedTokenRepository.deleteExpired(now);
+            } catch (Exception e) {
+                log.debug("Falha ao remover revogações expiradas: {}", e.getMessage());
+            }
+        }
+    }
+
+    public TokenRevocationMetrics getMetrics() {
+        BloomFilter filter = bloomFilter;
+        return TokenRevocationMetrics.builder()
+                .revokedTokens(revoked.size())
+                .bloomBits(filter.getBitSize())
+                .bloomHashFunctions(filter.getHashFunctions())
+                .bloomPositives(bloomPositives.sum())
+                .falsePositives(falsePositives.sum())
+                .lastSync(lastSync)
+                .build();
+    }
+
+    /**
+     * Revogações são raras (logout); a sincronização com a reconstrução do filtro garante
+     * que nenhum jti adicionado durante a troca fique fora do novo filtro
+     */
+    private synchronized void remember(String tokenId, long expiresAtMillis) {
+        revoked.put(tokenId, expiresAtMillis);
+        bloomFilter.put(tokenId);
+    }
+
+    /**
+     * Remove tokens expirados do conjunto exato e reconstrói o filtro (que não suporta remoção)
+     */
+    private synchronized int pruneExpired() {
+        long nowMillis = clock.millis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        int removed = before - revoked.size();
+
+        if (removed > 0 || revoked.size() > expectedTokens) {
+            BloomFilter rebuilt = BloomFilter.create(Math.max(expectedTokens, revoked.size() * 2), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+        }
+        return removed;
+    }
+}
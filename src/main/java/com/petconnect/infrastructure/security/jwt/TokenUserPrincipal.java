@@ -0,0 +1,100 @@
+package com.petconnect.infrastructure.security.jwt;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Principal reconstruído apenas a partir das claims de um token verificado,
+ * usado no modo de autenticação stateless (sem consulta ao banco)
+ */
+public class TokenUserPrincipal implements UserDetails {
+
+    private final String username;
+    private final String userId;
+    private final String userType;
+    private final Set<GrantedAuthority> authorities;
+
+    private TokenUserPrincipal(String username, String userId, String userType, Set<GrantedAuthority> authorities) {
+        this.username = username;
+        this.userId = userId;
+        this.userType = userType;
+        this.authorities = authorities;
+    }
+
+    /**
+     * Constrói o principal se o token carrega userId, userType e roles; caso contrário retorna null
+     */
+    public static TokenUserPrincipal from(VerifiedToken token) {
+        String userId = token.getClaim(JwtService.CLAIM_USER_ID, String.class);
+        String userType = token.getClaim(JwtService.CLAIM_USER_TYPE, String.class);
+        List<?> roles = token.getClaim(JwtService.CLAIM_ROLES, List.class);
+
+        if (token.getSubject() == null || userId == null || userType == null || roles == null) {
+            return null;
+        }
+
+        Set<GrantedAuthority> authorities = roles.stream()
+                .map(String::valueOf)
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toUnmodifiableSet());
+
+        return new TokenUserPrincipal(token.getSubject(), userId, userType, authorities);
+    }
+
+    /**
+     * Constrói o principal a partir de um usuário carregado (roles e tipo atuais, não os do token)
+     */
+    public static TokenUserPrincipal of(UserDetails userDetails, String userId, String userType) {
+        return new TokenUserPrincipal(userDetails.getUsername(), userId, userType,
+                Set.copyOf(userDetails.getAuthorities()));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getUserType() {
+        return userType;
+    }
+}
@@ -0,0 +1,79 @@
+package com.petconnect.infrastructure.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Visão imutável das claims de um token JWT cuja assinatura já foi verificada
+ */
+public final class VerifiedToken {
+
+    private final String tokenId;
+    private final String subject;
+    private final Instant issuedAt;
+    private final Instant expiration;
+    private final Map<String, Object> claims;
+
+    private VerifiedToken(String tokenId, String subject, Instant issuedAt, Instant expiration,
+                          Map<String, Object> claims) {
+        this.tokenId = tokenId;
+        this.subject = subject;
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+        this.claims = claims;
+    }
+
+    /**
+     * Cria a visão a partir das claims retornadas pelo parser
+     */
+    static VerifiedToken from(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                issuedAt != null ? issuedAt.toInstant() : null,
+                expiration != null ? expiration.toInstant() : null,
+                Collections.unmodifiableMap(new LinkedHashMap<>(claims)));
+    }
+
+    /**
+     * Claim jti; null para tokens emitidos antes da revogação existir
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiration() {
+        return expiration;
+    }
+
+    public Map<String, Object> getClaims() {
+        return claims;
+    }
+
+    /**
+     * Obtém uma claim convertida para o tipo informado, ou null se ausente
+     */
+    public <T> T getClaim(String name, Class<T> type) {
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && !expiration.isAfter(Instant.now());
+    }
+}
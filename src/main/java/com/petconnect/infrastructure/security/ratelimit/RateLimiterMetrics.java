@@ -0,0 +1,18 @@
+package com.petconnect.infrastructure.security.ratelimit;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Fotografia das métricas do rate limit por IP/rota
+ */
+@Value
+@Builder
+public class RateLimiterMetrics {
+    boolean enabled;
+    int trackedBuckets;
+    int maxBucketsPerGroup;
+    long rejectedRequests;
+    long overflowRequests;
+    long evictedBuckets;
+}
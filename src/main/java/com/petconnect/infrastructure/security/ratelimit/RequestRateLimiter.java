@@ -0,0 +1,262 @@
+package com.petconnect.infrastructure.security.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de requisições por IP e grupo de rotas ({@code /api/auth/**}, {@code /api/tutor/**},
+ * {@code /api/admin/**}).
+ *
+ * Cada balde é um único {@link AtomicLong} com o "tempo teórico de chegada" (GCRA, equivalente
+ * a um token bucket): a decisão é um compareAndSet, sem locks nem alocação no caminho quente.
+ * Baldes ociosos (já totalmente recarregados) são removidos periodicamente. Quando o mapa de um
+ * grupo atinge o limite, uma varredura de baldes ociosos é feita na hora (no máximo uma por
+ * segundo por grupo); se ainda não houver espaço, IPs novos passam a dividir um único balde de
+ * overflow do grupo, contado em overflowRequests. Assim um flood de endereços distintos fica
+ * limitado à taxa de um IP, em vez de desligar o rate limit.
+ */
+@Component
+@Slf4j
+public class RequestRateLimiter {
+
+    /**
+     * Retorno de {@link #tryAcquire} quando a requisição é permitida
+     */
+    public static final long ALLOWED = 0L;
+
+    private static final String UNKNOWN_IP = "unknown";
+    private static final long INLINE_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final RouteLimit authLimit;
+    private final RouteLimit tutorLimit;
+    private final RouteLimit adminLimit;
+    private final int maxBucketsPerGroup;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    @Autowired
+    public RequestRateLimiter(
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.auth.requests-per-minute:30}") int authRequestsPerMinute,
+            @Value("${app.rate-limit.auth.burst:10}") int authBurst,
+            @Value("${app.rate-limit.tutor.requests-per-minute:600}") int tutorRequestsPerMinute,
+            @Value("${app.rate-limit.tutor.burst:100}") int tutorBurst,
+            @Value("${app.rate-limit.admin.requests-per-minute:300}") int adminRequestsPerMinute,
+            @Value("${app.rate-limit.admin.burst:50}") int adminBurst,
+            @Value("${app.rate-limit.max-buckets:100000}") int maxBucketsPerGroup,
+            @Value("${app.rate-limit.idle-seconds:600}") long idleSeconds) {
+        this(enabled,
+                RouteLimit.of("auth", "/api/auth", authRequestsPerMinute, authBurst),
+                RouteLimit.of("tutor", "/api/tutor", tutorRequestsPerMinute, tutorBurst),
+                RouteLimit.of("admin", "/api/admin", adminRequestsPerMinute, adminBurst),
+                maxBucketsPerGroup, Duration.ofSeconds(idleSeconds), System::nanoTime);
+
+        log.info("Rate limit {}: auth={}/min, tutor={}/min, admin={}/min, até {} IPs por grupo",
+                enabled ? "ativo" : "desativado",
+                authRequestsPerMinute, tutorRequestsPerMinute, adminRequestsPerMinute, maxBucketsPerGroup);
+    }
+
+    RequestRateLimiter(boolean enabled, RouteLimit authLimit, RouteLimit tutorLimit, RouteLimit adminLimit,
+                       int maxBucketsPerGroup, Duration idle, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.authLimit = authLimit;
+        this.tutorLimit = tutorLimit;
+        this.adminLimit = adminLimit;
+        this.maxBucketsPerGroup = maxBucketsPerGroup;
+        this.idleNanos = idle.toNanos();
+        this.nanoClock = nanoClock;
+
+        long now = nanoClock.getAsLong();
+        for (RouteLimit limit : new RouteLimit[]{authLimit, tutorLimit, adminLimit}) {
+            if (limit != null) {
+                limit.overflowBucket.set(now);
+                limit.nextInlineSweep.set(now);
+            }
+        }
+    }
+
+    /**
+     * Consome uma permissão do balde (IP, grupo da rota).
+     *
+     * @return {@link #ALLOWED} ou, quando rejeitada, quantos nanossegundos esperar pela próxima permissão
+     */
+    public long tryAcquire(String requestUri, String clientIp) {
+        if (!enabled || requestUri == null) {
+            return ALLOWED;
+        }
+        RouteLimit limit = resolve(requestUri);
+        if (limit == null) {
+            return ALLOWED;
+        }
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = bucketFor(limit, clientIp != null ? clientIp : UNKNOWN_IP, now);
+        long waitNanos = limit.acquire(bucket, now);
+        if (waitNanos > 0) {
+            rejected.increment();
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Converte a espera em segundos inteiros para o cabeçalho Retry-After (mínimo 1)
+     */
+    public static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Remove baldes sem uso há mais de idle-seconds (já recarregados, portanto sem estado relevante)
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        int removed = evictIdle(authLimit, now) + evictIdle(tutorLimit, now) + evictIdle(adminLimit, now);
+        if (removed > 0) {
+            evicted.add(removed);
+            log.debug("Rate limit: {} baldes ociosos removidos", removed);
+        }
+    }
+
+    public RateLimiterMetrics getMetrics() {
+        return RateLimiterMetrics.builder()
+                .enabled(enabled)
+                .trackedBuckets(size(authLimit) + size(tutorLimit) + size(adminLimit))
+                .maxBucketsPerGroup(maxBucketsPerGroup)
+                .rejectedRequests(rejected.sum())
+                .overflowRequests(overflowed.sum())
+                .evictedBuckets(evicted.sum())
+                .build();
+    }
+
+    private RouteLimit resolve(String uri) {
+        if (!uri.startsWith("/api/")) {
+            return null;
+        }
+        if (authLimit != null && authLimit.matches(uri)) {
+            return authLimit;
+        }
+        if (tutorLimit != null && tutorLimit.matches(uri)) {
+            return tutorLimit;
+        }
+        if (adminLimit != null && adminLimit.matches(uri)) {
+            return adminLimit;
+        }
+        return null;
+    }
+
+    /**
+     * Balde do IP no grupo; com o mapa cheio mesmo após varrer os ociosos, o balde de overflow
+     * compartilhado do grupo
+     */
+    private AtomicLong bucketFor(RouteLimit limit, String clientIp, long now) {
+        AtomicLong bucket = limit.buckets.get(clientIp);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (limit.buckets.size() >= maxBucketsPerGroup && !sweepWhenFull(limit, now)) {
+            overflowed.increment();
+            return limit.overflowBucket;
+        }
+        return limit.buckets.computeIfAbsent(clientIp, key -> new AtomicLong(now));
+    }
+
+    /**
+     * Varre os baldes ociosos do grupo cheio, no máximo uma vez por intervalo (a varredura é O(n));
+     * retorna true quando sobrou espaço para um balde novo
+     */
+    private boolean sweepWhenFull(RouteLimit limit, long now) {
+        long nextSweep = limit.nextInlineSweep.get();
+        if (now - nextSweep >= 0
+                && limit.nextInlineSweep.compareAndSet(nextSweep, now + INLINE_SWEEP_INTERVAL_NANOS)) {
+            int removed = evictIdle(limit, now);
+            if (removed > 0) {
+                evicted.add(removed);
+                log.debug("Rate limit: {} baldes ociosos removidos com o grupo cheio", removed);
+            }
+        }
+        return limit.buckets.size() < maxBucketsPerGroup;
+    }
+
+    private int evictIdle(RouteLimit limit, long now) {
+        if (limit == null) {
+            return 0;
+        }
+        int removed = 0;
+        Iterator<AtomicLong> iterator = limit.buckets.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().get() > idleNanos) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private static int size(RouteLimit limit) {
+        return limit != null ? limit.buckets.size() : 0;
+    }
+
+    /**
+     * Limite de um grupo de rotas: intervalo entre permissões e rajada tolerada
+     */
+    static final class RouteLimit {
+        private final String prefix;
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong overflowBucket = new AtomicLong();
+        private final AtomicLong nextInlineSweep = new AtomicLong();
+
+        private RouteLimit(String prefix, long emissionIntervalNanos, int burst) {
+            this.prefix = prefix;
+            this.emissionIntervalNanos = emissionIntervalNanos;
+            this.burstToleranceNanos = emissionIntervalNanos * Math.max(1, burst);
+        }
+
+        /**
+         * Cria o limite do grupo ou retorna null quando requests-per-minute <= 0 (grupo sem limite)
+         */
+        static RouteLimit of(String name, String prefix, int requestsPerMinute, int burst) {
+            if (requestsPerMinute <= 0) {
+                log.info("Rate limit do grupo {} desativado", name);
+                return null;
+            }
+            return new RouteLimit(prefix, TimeUnit.MINUTES.toNanos(1) / requestsPerMinute, burst);
+        }
+
+        boolean matches(String uri) {
+            return uri.startsWith(prefix)
+                    && (uri.length() == prefix.length() || uri.charAt(prefix.length()) == '/');
+        }
+
+        long acquire(AtomicLong theoreticalArrival, long now) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long next = (current - now > 0 ? current : now) + emissionIntervalNanos;
+                long waitNanos = next - now - burstToleranceNanos;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return ALLOWED;
+                }
+            }
+        }
+    }
+}
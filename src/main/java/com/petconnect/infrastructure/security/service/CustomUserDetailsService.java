@@ -1,31 +1,106 @@
 package com.petconnect.infrastructure.security.service;
 
 import com.petconnect.domain.user.entity.User;
+import com.petconnect.domain.user.event.UserChangedEvent;
 import com.petconnect.domain.user.port.UserRepositoryPort;
+import com.petconnect.infrastructure.security.cache.CacheStats;
+import com.petconnect.infrastructure.security.cache.ExpiringCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepositoryPort userRepository;
 
+    @Value("${app.security.principal-cache.max-size:5000}")
+    private int principalCacheMaxSize = 5000;
+
+    @Value("${app.security.principal-cache.ttl-seconds:60}")
+    private long principalCacheTtlSeconds = 60;
+
+    private volatile ExpiringCache<String, CustomUserPrincipal> principalCache;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        ExpiringCache<String, CustomUserPrincipal> cache = getPrincipalCache();
+        CustomUserPrincipal cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + email));
 
-        return new CustomUserPrincipal(user);
+        CustomUserPrincipal principal = new CustomUserPrincipal(user);
+        cache.put(email, principal);
+        return principal;
+    }
+
+    /**
+     * Persiste o hash regravado pelo DaoAuthenticationProvider quando o hash armazenado
+     * está abaixo da política atual; reaproveita a senha já verificada no login
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        if (!(userDetails instanceof CustomUserPrincipal)) {
+            return userDetails;
+        }
+
+        User user = ((CustomUserPrincipal) userDetails).getUser();
+        userRepository.updatePassword(user.getId(), newPassword);
+        user.updatePassword(newPassword);
+        return userDetails;
+    }
+
+    /**
+     * Remove do cache o principal do usuário alterado/removido (após o commit, se houver transação)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        ExpiringCache<String, CustomUserPrincipal> cache = getPrincipalCache();
+        if (event.getEmail() != null) {
+            cache.invalidate(event.getEmail());
+        }
+        if (event.getUserId() != null) {
+            cache.invalidateIf(principal -> event.getUserId().equals(principal.getUser().getId()));
+        }
+    }
+
+    /**
+     * Contadores de hit/miss do cache de principals
+     */
+    public CacheStats getPrincipalCacheStats() {
+        return getPrincipalCache().stats();
+    }
+
+    private ExpiringCache<String, CustomUserPrincipal> getPrincipalCache() {
+        ExpiringCache<String, CustomUserPrincipal> cache = principalCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = principalCache;
+                if (cache == null) {
+                    cache = new ExpiringCache<>(principalCacheMaxSize, Duration.ofSeconds(principalCacheTtlSeconds));
+                    principalCache = cache;
+                }
+            }
+        }
+        return cache;
     }
 
     public static class CustomUserPrincipal implements UserDetails {
@@ -1,8 +1,18 @@
 package com.petconnect.infrastructure.security.service;
 
+import com.petconnect.domain.user.entity.User;
+import com.petconnect.exception.ServiceUnavailableException;
+import com.petconnect.exception.UnauthorizedException;
+import com.petconnect.infrastructure.security.audit.CredentialStuffingDetector;
 import com.petconnect.infrastructure.security.audit.SecurityAuditService;
 import com.petconnect.infrastructure.security.encryption.DataEncryptionService;
 import com.petconnect.infrastructure.security.jwt.JwtService;
+import com.petconnect.infrastructure.security.jwt.RefreshTokenRotation;
+import com.petconnect.infrastructure.security.jwt.RefreshTokenService;
+import com.petconnect.infrastructure.security.jwt.TokenRevocationService;
+import com.petconnect.infrastructure.security.jwt.TokenUserPrincipal;
+import com.petconnect.infrastructure.security.jwt.VerifiedToken;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -30,6 +40,9 @@ public class SecureAuthenticationService {
     private final JwtService jwtService;
     private final SecurityAuditService securityAuditService;
     private final DataEncryptionService dataEncryptionService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final CredentialStuffingDetector credentialStuffingDetector;
 
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
         "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
@@ -72,6 +85,13 @@ public class SecureAuthenticationService {
                     .build();
             }
 
+            if (credentialStuffingDetector.isBlocked(clientIp)) {
+                return AuthenticationResult.builder()
+                    .success(false)
+                    .errorMessage("Muitas tentativas de login a partir deste endereço. Tente novamente mais tarde")
+                    .build();
+            }
+
             if (securityAuditService.isUserBlocked(identifier)) {
                 long remainingMinutes = securityAuditService.getRemainingLockoutMinutes(identifier);
                 securityAuditService.recordUnauthorizedAccess("LOGIN", 
@@ -97,9 +117,8 @@ public class SecureAuthenticationService {
             
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
-            String accessToken = jwtService.generateTokenWithUserInfo(
-                userDetails, userDetails.getUsername(), "USER");
-            String refreshToken = jwtService.generateRefreshToken(userDetails);
+            String accessToken = generateAccessToken(userDetails);
+            String refreshToken = issueRefreshToken(userDetails);
 
             securityAuditService.recordLoginAttempt(identifier, true);
             
@@ -111,11 +130,16 @@ public class SecureAuthenticationService {
                 .accessToken(accessToken)
                 .refreshToken(refreshToken)
                 .username(userDetails.getUsername())
+                .user(extractUser(userDetails))
                 .expiresIn(86400L)
                 .build();
                 
         } catch (BadCredentialsException e) {
             securityAuditService.recordLoginAttempt(identifier, false);
+            if (credentialStuffingDetector.recordFailure(clientIp, identifier)) {
+                securityAuditService.recordSecurityViolation("CREDENTIAL_STUFFING",
+                    "IP " + clientIp + " bloqueado: falhas de login com muitos identificadores distintos");
+            }
             log.warn("Tentativa de login com credenciais inválidas para: {} de IP: {}", 
                 dataEncryptionService.maskSensitiveData(identifier, 3), clientIp);
             
@@ -134,6 +158,10 @@ public class SecureAuthenticationService {
                 .errorMessage("Conta desabilitada")
                 .build();
                 
+        } catch (ServiceUnavailableException e) {
+            log.warn("Pool de hash de senhas saturado; login rejeitado para IP: {}", clientIp);
+            throw e;
+            
         } catch (Exception e) {
             log.error("Erro durante autenticação para usuário: {}", 
                 dataEncryptionService.maskSensitiveData(identifier, 3), e);
@@ -190,30 +218,29 @@ public class SecureAuthenticationService {
         return hashedPassword;
     }
     
+    /**
+     * Renova o par de tokens consumindo o refresh token persistido (sem recarregar o usuário)
+     */
     public AuthenticationResult refreshToken(String refreshToken) {
         try {
-            if (!jwtService.isTokenValid(refreshToken, null)) {
-                return AuthenticationResult.builder()
-                    .success(false)
-                    .errorMessage("Token de refresh inválido")
-                    .build();
-            }
-            
-            String username = jwtService.extractUsername(refreshToken);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            
-            String newAccessToken = jwtService.generateTokenWithUserInfo(
-                userDetails, username, "USER");
-            String newRefreshToken = jwtService.generateRefreshToken(userDetails);
+            RefreshTokenRotation rotation = refreshTokenService.rotate(refreshToken);
             
             return AuthenticationResult.builder()
                 .success(true)
-                .accessToken(newAccessToken)
-                .refreshToken(newRefreshToken)
-                .username(username)
+                .accessToken(rotation.getAccessToken())
+                .refreshToken(rotation.getRefreshToken())
+                .username(rotation.getPrincipal().getUsername())
+                .principal(rotation.getPrincipal())
                 .expiresIn(86400L)
                 .build();
                 
+        } catch (UnauthorizedException | JwtException | IllegalArgumentException e) {
+            log.debug("Refresh token rejeitado: {}", e.getMessage());
+            return AuthenticationResult.builder()
+                .success(false)
+                .errorMessage("Token de refresh inválido")
+                .build();
+                
         } catch (Exception e) {
             log.error("Erro ao renovar token", e);
             return AuthenticationResult.builder()
@@ -223,6 +250,61 @@ public class SecureAuthenticationService {
         }
     }
     
+    /**
+     * Revoga o access token até a sua expiração e registra o logout
+     *
+     * @return false quando o token é inválido, expirado ou não pode ser revogado (sem jti)
+     */
+    public boolean logout(String accessToken) {
+        try {
+            VerifiedToken token = jwtService.verify(accessToken);
+            if (!tokenRevocationService.revoke(token.getTokenId(), token.getSubject(),
+                    token.getExpiration(), "LOGOUT")) {
+                return false;
+            }
+            securityAuditService.recordLogout(token.getSubject());
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Logout com token inválido: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Obtém o usuário já carregado pelo AuthenticationManager, evitando nova consulta e nova verificação de senha
+     */
+    private User extractUser(UserDetails userDetails) {
+        if (userDetails instanceof CustomUserDetailsService.CustomUserPrincipal) {
+            return ((CustomUserDetailsService.CustomUserPrincipal) userDetails).getUser();
+        }
+        return null;
+    }
+    
+    /**
+     * Abre uma nova família de refresh tokens para o login
+     */
+    private String issueRefreshToken(UserDetails userDetails) {
+        if (userDetails instanceof CustomUserDetailsService.CustomUserPrincipal) {
+            CustomUserDetailsService.CustomUserPrincipal principal =
+                (CustomUserDetailsService.CustomUserPrincipal) userDetails;
+            return refreshTokenService.issue(userDetails, principal.getUserId(), principal.getUserType());
+        }
+        return refreshTokenService.issue(userDetails, userDetails.getUsername(), "USER");
+    }
+    
+    /**
+     * Gera o access token com id, tipo e roles reais do usuário quando disponíveis no principal
+     */
+    private String generateAccessToken(UserDetails userDetails) {
+        if (userDetails instanceof CustomUserDetailsService.CustomUserPrincipal) {
+            CustomUserDetailsService.CustomUserPrincipal principal =
+                (CustomUserDetailsService.CustomUserPrincipal) userDetails;
+            return jwtService.generateTokenWithUserInfo(
+                userDetails, principal.getUserId(), principal.getUserType());
+        }
+        return jwtService.generateTokenWithUserInfo(userDetails, userDetails.getUsername(), "USER");
+    }
+    
     public int calculatePasswordStrength(String password) {
         if (password == null || password.isEmpty()) {
             return 0;
@@ -276,6 +358,8 @@ public class SecureAuthenticationService {
         private String accessToken;
         private String refreshToken;
         private String username;
+        private User user;
+        private TokenUserPrincipal principal;
         private Long expiresIn;
         private String errorMessage;
     }
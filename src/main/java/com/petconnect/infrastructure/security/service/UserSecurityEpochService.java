@@ -0,0 +1,67 @@
+package com.petconnect.infrastructure.security.service;
+
+import com.petconnect.domain.user.port.UserRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantém em memória a "época de segurança" de cada usuário.
+ *
+ * Tokens emitidos antes da época atual do usuário deixam de ser aceitos no modo
+ * stateless, permitindo revogar o acesso (ex.: desativação pelo administrador)
+ * sem consultar o banco a cada requisição.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserSecurityEpochService {
+
+    private final UserRepositoryPort userRepository;
+
+    private final Map<String, Long> epochs = new ConcurrentHashMap<>();
+
+    /**
+     * Avança a época do usuário, invalidando todos os tokens emitidos até agora
+     */
+    public void bump(UUID userId) {
+        long epoch = System.currentTimeMillis();
+        epochs.merge(userId.toString(), epoch, Math::max);
+        userRepository.updateSecurityEpoch(userId, epoch);
+        log.info("Época de segurança atualizada para usuário: {}", userId);
+    }
+
+    /**
+     * Verifica se um token emitido no instante informado ainda é aceito para o usuário
+     */
+    public boolean isTokenCurrent(String userId, Instant issuedAt) {
+        if (userId == null || issuedAt == null) {
+            return false;
+        }
+        Long epoch = epochs.get(userId);
+        return epoch == null || issuedAt.toEpochMilli() >= epoch;
+    }
+
+    /**
+     * Sincroniza as épocas persistidas (inclusive alterações feitas por outras instâncias)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.stateless-auth.epoch-sync-ms:30000}",
+               initialDelayString = "${jwt.stateless-auth.epoch-sync-ms:30000}")
+    public void refresh() {
+        try {
+            userRepository.findSecurityEpochs()
+                    .forEach((id, epoch) -> epochs.merge(id.toString(), epoch, Math::max));
+        } catch (Exception e) {
+            log.warn("Falha ao sincronizar épocas de segurança: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- Época de segurança por usuário: tokens emitidos antes deste instante (epoch millis)
+-- são rejeitados no modo de autenticação stateless (ex.: após desativação da conta)
+ALTER TABLE users
+ADD COLUMN IF NOT EXISTS security_epoch BIGINT DEFAULT 0 NOT NULL;
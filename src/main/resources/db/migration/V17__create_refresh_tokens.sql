@@ -0,0 +1,18 @@
+-- Refresh tokens persistidos apenas pelo hash do jti, agrupados em famílias de rotação.
+-- Cada uso consome a linha (used_at) e cria a sucessora na mesma família; reutilizar um
+-- token já consumido revoga a família inteira
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id UUID PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL,
+    family_id UUID NOT NULL,
+    user_id VARCHAR(64) NOT NULL,
+    user_identifier VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    used_at TIMESTAMP NULL,
+    revoked_at TIMESTAMP NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_refresh_tokens_token_hash ON refresh_tokens (token_hash);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
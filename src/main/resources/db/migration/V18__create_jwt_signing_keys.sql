@@ -0,0 +1,14 @@
+-- Chaves assimétricas de assinatura de JWT (RS256), compartilhadas entre as instâncias.
+-- A chave pública é publicada em /.well-known/jwks.json; a privada fica criptografada.
+-- activates_at > created_at dá tempo para os consumidores do JWKS conhecerem a chave antes do uso
+CREATE TABLE IF NOT EXISTS jwt_signing_keys (
+    key_id VARCHAR(64) PRIMARY KEY,
+    algorithm VARCHAR(10) NOT NULL,
+    public_key TEXT NOT NULL,
+    private_key TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    activates_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_jwt_signing_keys_expires_at ON jwt_signing_keys (expires_at);
@@ -0,0 +1,10 @@
+-- Índice cego do email: HMAC-SHA256 do email normalizado (trim + minúsculas).
+-- O email é criptografado com IV aleatório, então buscas por igualdade usam esta coluna.
+-- Preenchida para as linhas existentes pela migração Java V20 (precisa das chaves da aplicação)
+ALTER TABLE users
+ADD COLUMN IF NOT EXISTS email_bidx VARCHAR(64);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email_bidx ON users (email_bidx);
+
+-- Índice sobre o texto cifrado: nunca é usado por uma busca
+DROP INDEX IF EXISTS idx_users_email;
@@ -0,0 +1,3 @@
+-- O email criptografado ("enc:" + Base64 de cabeçalho, texto cifrado e tag) excede 100 caracteres
+ALTER TABLE users
+ALTER COLUMN email TYPE VARCHAR(255);
@@ -0,0 +1,13 @@
+-- Checkpoint do job de recriptografia de dados sensíveis: o último id processado permite
+-- retomar a varredura de users (paginação por id) após reinício ou parada manual
+CREATE TABLE IF NOT EXISTS encryption_rotation_checkpoints (
+    job_name VARCHAR(64) PRIMARY KEY,
+    target_key_id INTEGER NOT NULL,
+    last_id UUID,
+    rows_scanned BIGINT NOT NULL DEFAULT 0,
+    rows_rewritten BIGINT NOT NULL DEFAULT 0,
+    conflicts BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
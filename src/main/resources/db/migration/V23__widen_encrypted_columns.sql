@@ -0,0 +1,19 @@
+-- Colunas com @Encrypted precisam comportar o texto cifrado ("enc:" + Base64 de cabeçalho,
+-- texto cifrado e tag): contato, CNPJ e CRMV de users (já criptografados) e de lojistas e
+-- veterinários (criptografados a partir de agora)
+ALTER TABLE users
+ALTER COLUMN contact_number TYPE VARCHAR(255),
+ALTER COLUMN cnpj TYPE VARCHAR(255),
+ALTER COLUMN crmv TYPE VARCHAR(255);
+
+ALTER TABLE lojistas
+ALTER COLUMN cnpj TYPE VARCHAR(255),
+ALTER COLUMN contact_number TYPE VARCHAR(255);
+
+ALTER TABLE veterinarios
+ALTER COLUMN crmv TYPE VARCHAR(255),
+ALTER COLUMN contact_number TYPE VARCHAR(255);
+
+-- Índices sobre texto cifrado (nonce aleatório) não servem para busca
+DROP INDEX IF EXISTS idx_lojistas_cnpj;
+DROP INDEX IF EXISTS idx_veterinarios_crmv;
@@ -0,0 +1,25 @@
+-- A listagem de auditoria pagina por (event_timestamp, id) em ordem decrescente; a coluna
+-- precisa ser não nula para que a comparação de linha não perca eventos
+UPDATE security_audit_logs
+SET event_timestamp = COALESCE(created_at, CURRENT_TIMESTAMP)
+WHERE event_timestamp IS NULL;
+
+ALTER TABLE security_audit_logs
+ALTER COLUMN event_timestamp SET NOT NULL;
+
+-- Um índice por filtro de igualdade, seguido da chave de paginação: o filtro e o período
+-- viram um único intervalo no índice, sem ordenação em memória
+CREATE INDEX IF NOT EXISTS idx_security_audit_ts_id
+    ON security_audit_logs (event_timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_security_audit_type_ts_id
+    ON security_audit_logs (event_type, event_timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_security_audit_user_ts_id
+    ON security_audit_logs (user_identifier, event_timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_security_audit_ip_ts_id
+    ON security_audit_logs (ip_address, event_timestamp DESC, id DESC);
+
+-- Prefixos dos índices compostos acima
+DROP INDEX IF EXISTS idx_security_audit_event_type;
+DROP INDEX IF EXISTS idx_security_audit_user;
+DROP INDEX IF EXISTS idx_security_audit_timestamp;
+DROP INDEX IF EXISTS idx_security_audit_ip;
@@ -0,0 +1,15 @@
+-- Contagens de eventos de auditoria por minuto, tipo e IP, mantidas a cada lote gravado.
+-- As estatísticas somam estes agregados em vez de ler os eventos (IP ausente vira '')
+CREATE TABLE security_audit_rollups (
+    bucket_start TIMESTAMP NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    ip_address VARCHAR(45) NOT NULL DEFAULT '',
+    event_count BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, event_type, ip_address)
+);
+
+-- Agregados dos eventos já existentes
+INSERT INTO security_audit_rollups (bucket_start, event_type, ip_address, event_count)
+SELECT date_trunc('minute', event_timestamp), event_type, COALESCE(ip_address, ''), COUNT(*)
+FROM security_audit_logs
+GROUP BY date_trunc('minute', event_timestamp), event_type, COALESCE(ip_address, '');
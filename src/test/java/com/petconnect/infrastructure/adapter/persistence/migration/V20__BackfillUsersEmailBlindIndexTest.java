@@ -0,0 +1,98 @@
+package com.petconnect.infrastructure.adapter.persistence.migration;
+
+import com.petconnect.infrastructure.security.encryption.BlindIndexService;
+import com.petconnect.infrastructure.security.encryption.DataEncryptionService;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Executa o preenchimento do índice cego contra um PostgreSQL real (ignorado quando não há Docker)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class V20__BackfillUsersEmailBlindIndexTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static DriverManagerDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private DataEncryptionService encryptionService;
+    private BlindIndexService blindIndexService;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE users (id UUID PRIMARY KEY, email VARCHAR(255) NOT NULL, " +
+                "email_bidx VARCHAR(64))");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX uk_users_email_bidx ON users (email_bidx)");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM users");
+        encryptionService = new DataEncryptionService();
+        ReflectionTestUtils.setField(encryptionService, "encryptionKey", "MySecretKey12345");
+        blindIndexService = new BlindIndexService("test-blind-index-key");
+    }
+
+    @Test
+    void shouldIndexPlainAndEncryptedEmailsAcrossBatches() throws Exception {
+        int users = V20__BackfillUsersEmailBlindIndex.BATCH_SIZE + 20;
+        for (int i = 0; i < users; i++) {
+            String email = "user" + i + "@example.com";
+            insert(i % 2 == 0 ? email : encryptionService.encryptSensitiveData(email));
+        }
+
+        migrate();
+
+        assertEquals(0, count("SELECT COUNT(*) FROM users WHERE email_bidx IS NULL"));
+        assertEquals(1, count("SELECT COUNT(*) FROM users WHERE email_bidx = '"
+                + blindIndexService.emailIndex("USER7@example.com") + "'"));
+    }
+
+    @Test
+    void shouldLeaveDuplicateEmailsWithoutIndex() throws Exception {
+        insert("dup@example.com");
+        insert(encryptionService.encryptSensitiveData("Dup@Example.com"));
+        insert("not-base64-and-no-at");
+
+        migrate();
+
+        assertEquals(1, count("SELECT COUNT(*) FROM users WHERE email_bidx = '"
+                + blindIndexService.emailIndex("dup@example.com") + "'"));
+        assertEquals(2, count("SELECT COUNT(*) FROM users WHERE email_bidx IS NULL"));
+    }
+
+    private void migrate() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            Context context = mock(Context.class);
+            when(context.getConnection()).thenReturn(connection);
+            new V20__BackfillUsersEmailBlindIndex(encryptionService, blindIndexService).migrate(context);
+        }
+    }
+
+    private void insert(String email) {
+        jdbcTemplate.update("INSERT INTO users (id, email) VALUES (?, ?)", UUID.randomUUID(), email);
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,170 @@
+package com.petconnect.infrastructure.adapter.persistence.repository;
+
+import com.petconnect.infrastructure.adapter.persistence.entity.LoginAttemptJpaEntity;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Executa o upsert atômico contra um PostgreSQL real (ignorado quando não há Docker)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class LoginAttemptJdbcRepositoryTest {
+
+    private static final String USER = "test@example.com";
+    private static final String IP = "192.168.1.1";
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+
+    private LoginAttemptJdbcRepository repository;
+
+    @BeforeAll
+    static void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        jdbcTemplate.getJdbcOperations().execute(
+                "CREATE TABLE login_attempts (" +
+                "id UUID PRIMARY KEY, " +
+                "user_identifier VARCHAR(255) NOT NULL, " +
+                "ip_address VARCHAR(45), " +
+                "attempt_timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "success BOOLEAN DEFAULT FALSE, " +
+                "blocked_until TIMESTAMP NULL, " +
+                "attempt_count INT DEFAULT 0, " +
+                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "created_by VARCHAR(100), " +
+                "updated_by VARCHAR(100), " +
+                "version BIGINT DEFAULT 0 NOT NULL)");
+        jdbcTemplate.getJdbcOperations().execute(
+                "CREATE UNIQUE INDEX uk_login_attempts_user_ip ON login_attempts (user_identifier, ip_address)");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.getJdbcOperations().execute("DELETE FROM login_attempts");
+        repository = new LoginAttemptJdbcRepository(jdbcTemplate);
+    }
+
+    @Test
+    void shouldCountEveryConcurrentFailureExactlyOnce() throws Exception {
+        int threads = 16;
+        int failuresPerThread = 25;
+        LocalDateTime now = LocalDateTime.now();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Integer> observedCounts = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < failuresPerThread; i++) {
+                    LoginAttemptJpaEntity state = repository.recordFailure(USER, IP, now,
+                            now.minusMinutes(15), MAX_ATTEMPTS, now.plusMinutes(30));
+                    observedCounts.add(state.getAttemptCount());
+                    if (state.getAttemptCount() >= MAX_ATTEMPTS) {
+                        assertNotNull(state.getBlockedUntil());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int total = threads * failuresPerThread;
+        assertEquals(total, observedCounts.size());
+        assertEquals(total, (int) Collections.max(observedCounts));
+        assertEquals(total, jdbcTemplate.queryForObject(
+                "SELECT attempt_count FROM login_attempts WHERE user_identifier = :user AND ip_address = :ip",
+                new MapSqlParameterSource().addValue("user", USER).addValue("ip", IP), Integer.class));
+        assertEquals(1, jdbcTemplate.getJdbcOperations().queryForObject(
+                "SELECT COUNT(*) FROM login_attempts", Integer.class));
+    }
+
+    @Test
+    void shouldBlockWhenThresholdIsCrossedAndKeepBlockUntilExpiry() {
+        LocalDateTime now = LocalDateTime.now();
+        LoginAttemptJpaEntity state = null;
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            state = repository.recordFailure(USER, IP, now, now.minusMinutes(15), MAX_ATTEMPTS, now.plusMinutes(30));
+        }
+
+        assertEquals(MAX_ATTEMPTS, state.getAttemptCount());
+        assertNotNull(state.getBlockedUntil());
+
+        LoginAttemptJpaEntity later = repository.recordFailure(USER, IP, now.plusMinutes(1),
+                now.minusMinutes(14), MAX_ATTEMPTS, now.plusMinutes(31));
+        assertEquals(state.getBlockedUntil(), later.getBlockedUntil());
+    }
+
+    @Test
+    void shouldRestartCountAfterWindowOrExpiredBlock() {
+        LocalDateTime now = LocalDateTime.now();
+        repository.recordFailure(USER, IP, now, now.minusMinutes(15), MAX_ATTEMPTS, now.plusMinutes(30));
+        repository.recordFailure(USER, IP, now, now.minusMinutes(15), MAX_ATTEMPTS, now.plusMinutes(30));
+
+        LocalDateTime later = now.plusMinutes(20);
+        LoginAttemptJpaEntity state = repository.recordFailure(USER, IP, later, later.minusMinutes(15),
+                MAX_ATTEMPTS, later.plusMinutes(30));
+
+        assertEquals(1, state.getAttemptCount());
+        assertNull(state.getBlockedUntil());
+    }
+
+    @Test
+    void shouldStoreNullIpUnderSingleUnknownRow() {
+        LocalDateTime now = LocalDateTime.now();
+        repository.recordFailure(USER, null, now, now.minusMinutes(15), MAX_ATTEMPTS, now.plusMinutes(30));
+        LoginAttemptJpaEntity state = repository.recordFailure(USER, null, now, now.minusMinutes(15),
+                MAX_ATTEMPTS, now.plusMinutes(30));
+
+        assertEquals(2, state.getAttemptCount());
+        assertEquals(LoginAttemptJdbcRepository.UNKNOWN_IP, state.getIpAddress());
+    }
+
+    @Test
+    void shouldResetCountAndBlock() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            repository.recordFailure(USER, IP, now, now.minusMinutes(15), MAX_ATTEMPTS, now.plusMinutes(30));
+        }
+
+        assertEquals(1, repository.reset(USER, IP, now));
+        assertEquals(0, repository.reset(USER, IP, now));
+
+        LoginAttemptJpaEntity state = repository.recordFailure(USER, IP, now, now.minusMinutes(15),
+                MAX_ATTEMPTS, now.plusMinutes(30));
+        assertEquals(1, state.getAttemptCount());
+        assertNull(state.getBlockedUntil());
+    }
+}
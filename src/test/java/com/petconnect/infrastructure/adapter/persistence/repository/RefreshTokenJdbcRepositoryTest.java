@@ -0,0 +1,135 @@
+package com.petconnect.infrastructure.adapter.persistence.repository;
+
+import com.petconnect.infrastructure.adapter.persistence.entity.RefreshTokenJpaEntity;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Executa a rotação atômica contra um PostgreSQL real (ignorado quando não há Docker)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RefreshTokenJdbcRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+
+    private RefreshTokenJdbcRepository repository;
+    private UUID familyId;
+
+    @BeforeAll
+    static void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        jdbcTemplate.getJdbcOperations().execute(
+                "CREATE TABLE refresh_tokens (" +
+                "id UUID PRIMARY KEY, " +
+                "token_hash VARCHAR(64) NOT NULL, " +
+                "family_id UUID NOT NULL, " +
+                "user_id VARCHAR(64) NOT NULL, " +
+                "user_identifier VARCHAR(255) NOT NULL, " +
+                "expires_at TIMESTAMP NOT NULL, " +
+                "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+                "used_at TIMESTAMP NULL, " +
+                "revoked_at TIMESTAMP NULL)");
+        jdbcTemplate.getJdbcOperations().execute(
+                "CREATE UNIQUE INDEX uk_refresh_tokens_token_hash ON refresh_tokens (token_hash)");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.getJdbcOperations().execute("DELETE FROM refresh_tokens");
+        repository = new RefreshTokenJdbcRepository(jdbcTemplate);
+        familyId = UUID.randomUUID();
+        insert("original", LocalDateTime.now().plusDays(7));
+    }
+
+    @Test
+    void shouldCreateSuccessorInSameFamily() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Optional<RefreshTokenJpaEntity> successor = repository.rotate("original", "next", now.plusDays(7), now);
+
+        assertTrue(successor.isPresent());
+        assertEquals(familyId, successor.get().getFamilyId());
+        assertEquals("user-1", successor.get().getUserId());
+        assertNotNull(jdbcTemplate.queryForObject(
+                "SELECT used_at FROM refresh_tokens WHERE token_hash = 'original'",
+                new MapSqlParameterSource(), LocalDateTime.class));
+    }
+
+    @Test
+    void shouldRotateEachTokenOnlyOnceUnderConcurrency() throws Exception {
+        int threads = 16;
+        LocalDateTime now = LocalDateTime.now();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            String successorHash = "next-" + t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return repository.rotate("original", successorHash, now.plusDays(7), now).isPresent();
+            }));
+        }
+        start.countDown();
+        int rotated = 0;
+        for (Future<Boolean> future : futures) {
+            if (future.get(60, TimeUnit.SECONDS)) {
+                rotated++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, rotated);
+        assertEquals(2, jdbcTemplate.getJdbcOperations().queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens", Integer.class));
+    }
+
+    @Test
+    void shouldNotRotateExpiredOrRevokedToken() {
+        LocalDateTime now = LocalDateTime.now();
+        insert("expired", now.minusMinutes(1));
+        insert("revoked", now.plusDays(1));
+        jdbcTemplate.getJdbcOperations().execute(
+                "UPDATE refresh_tokens SET revoked_at = CURRENT_TIMESTAMP WHERE token_hash = 'revoked'");
+
+        assertTrue(repository.rotate("expired", "a", now.plusDays(7), now).isEmpty());
+        assertTrue(repository.rotate("revoked", "b", now.plusDays(7), now).isEmpty());
+        assertTrue(repository.rotate("unknown", "c", now.plusDays(7), now).isEmpty());
+    }
+
+    private void insert(String tokenHash, LocalDateTime expiresAt) {
+        jdbcTemplate.update(
+                "INSERT INTO refresh_tokens (id, token_hash, family_id, user_id, user_identifier, expires_at) " +
+                "VALUES (:id, :tokenHash, :familyId, 'user-1', 'test@example.com', :expiresAt)",
+                new MapSqlParameterSource()
+                        .addValue("id", UUID.randomUUID())
+                        .addValue("tokenHash", tokenHash)
+                        .addValue("familyId", familyId)
+                        .addValue("expiresAt", expiresAt));
+    }
+}
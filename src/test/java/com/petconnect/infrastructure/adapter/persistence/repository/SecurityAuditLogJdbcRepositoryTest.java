@@ -0,0 +1,201 @@
+package com.petconnect.infrastructure.adapter.persistence.repository;
+
+import com.petconnect.domain.security.entity.SecurityAuditLog;
+import com.petconnect.domain.security.entity.SecurityAuditLogFilter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Executa a inserção em lote e a paginação por posição contra um PostgreSQL real
+ * (ignorado quando não há Docker)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SecurityAuditLogJdbcRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private SecurityAuditRollupJdbcRepository rollupRepository;
+    private SecurityAuditLogJdbcRepository repository;
+
+    @BeforeAll
+    static void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(
+                "CREATE TABLE security_audit_logs (" +
+                "id UUID PRIMARY KEY, " +
+                "event_type VARCHAR(50) NOT NULL, " +
+                "event_description TEXT, " +
+                "user_identifier VARCHAR(255), " +
+                "ip_address VARCHAR(45), " +
+                "user_agent TEXT, " +
+                "success BOOLEAN DEFAULT FALSE, " +
+                "event_timestamp TIMESTAMP NOT NULL, " +
+                "additional_data TEXT, " +
+                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "created_by VARCHAR(100), " +
+                "updated_by VARCHAR(100), " +
+                "version BIGINT DEFAULT 0 NOT NULL)");
+        jdbcTemplate.execute(
+                "CREATE INDEX idx_security_audit_ts_id ON security_audit_logs (event_timestamp DESC, id DESC)");
+        jdbcTemplate.execute(
+                "CREATE TABLE security_audit_rollups (" +
+                "bucket_start TIMESTAMP NOT NULL, " +
+                "event_type VARCHAR(50) NOT NULL, " +
+                "ip_address VARCHAR(45) NOT NULL DEFAULT '', " +
+                "event_count BIGINT NOT NULL, " +
+                "PRIMARY KEY (bucket_start, event_type, ip_address))");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM security_audit_logs");
+        jdbcTemplate.execute("DELETE FROM security_audit_rollups");
+        rollupRepository = new SecurityAuditRollupJdbcRepository(jdbcTemplate);
+        repository = new SecurityAuditLogJdbcRepository(jdbcTemplate, rollupRepository);
+    }
+
+    @Test
+    void shouldWalkAllPagesWithoutGapsOrDuplicatesWhenTimestampsTie() {
+        List<SecurityAuditLog> logs = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // grupos de 5 eventos com o mesmo instante: o id desempata
+            logs.add(log("LOGIN_FAILURE", "user@example.com", "10.0.0.1", BASE.plusSeconds(i / 5)));
+        }
+        repository.insertBatch(logs);
+
+        List<SecurityAuditLog> seen = new ArrayList<>();
+        SecurityAuditLog last = null;
+        do {
+            List<SecurityAuditLog> page = repository.findPage(SecurityAuditLogFilter.builder().build(),
+                    last != null ? last.getEventTimestamp() : null, last != null ? last.getId() : null, 7);
+            seen.addAll(page);
+            last = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (last != null);
+
+        assertEquals(25, seen.size());
+        assertEquals(25, seen.stream().map(SecurityAuditLog::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            SecurityAuditLog previous = seen.get(i - 1);
+            SecurityAuditLog current = seen.get(i);
+            int byTimestamp = previous.getEventTimestamp().compareTo(current.getEventTimestamp());
+            assertTrue(byTimestamp > 0 || (byTimestamp == 0
+                    && jdbcTemplate.queryForObject("SELECT ?::uuid > ?::uuid", Boolean.class,
+                            previous.getId(), current.getId())));
+        }
+    }
+
+    @Test
+    void shouldCombineAllFilters() {
+        repository.insertBatch(List.of(
+                log("LOGIN_FAILURE", "alice@example.com", "10.0.0.1", BASE),
+                log("LOGIN_FAILURE", "alice@example.com", "10.0.0.1", BASE.plusHours(2)),
+                log("LOGIN_FAILURE", "alice@example.com", "10.0.0.2", BASE.plusMinutes(10)),
+                log("LOGIN_SUCCESS", "alice@example.com", "10.0.0.1", BASE.plusMinutes(20)),
+                log("LOGIN_FAILURE", "bob@example.com", "10.0.0.1", BASE.plusMinutes(30)),
+                log("LOGIN_FAILURE", "alice@example.com", "10.0.0.1", BASE.plusMinutes(40))));
+
+        List<SecurityAuditLog> page = repository.findPage(SecurityAuditLogFilter.builder()
+                        .eventType("LOGIN_FAILURE")
+                        .userIdentifier("alice@example.com")
+                        .ipAddress("10.0.0.1")
+                        .from(BASE)
+                        .to(BASE.plusHours(1))
+                        .build(), null, null, 10);
+
+        assertEquals(2, page.size());
+        assertEquals(BASE.plusMinutes(40), page.get(0).getEventTimestamp());
+        assertEquals(BASE, page.get(1).getEventTimestamp());
+    }
+
+    @Test
+    void shouldMapAllColumns() {
+        SecurityAuditLog original = log("DATA_ACCESS", "carol@example.com", "10.0.0.9", BASE)
+                .withSuccess(true)
+                .withAdditionalData("{\"resource\":\"users\"}");
+        original.setUserAgent("JUnit");
+        original.setCreatedBy("admin");
+        repository.insertBatch(List.of(original));
+
+        SecurityAuditLog loaded = repository.findPage(SecurityAuditLogFilter.builder().build(), null, null, 1).get(0);
+
+        assertEquals(original.getId(), loaded.getId());
+        assertEquals("DATA_ACCESS", loaded.getEventType());
+        assertEquals("carol@example.com", loaded.getUserIdentifier());
+        assertEquals("10.0.0.9", loaded.getIpAddress());
+        assertEquals("JUnit", loaded.getUserAgent());
+        assertTrue(loaded.getSuccess());
+        assertEquals(BASE, loaded.getEventTimestamp());
+        assertEquals("{\"resource\":\"users\"}", loaded.getAdditionalData());
+        assertEquals("admin", loaded.getCreatedBy());
+    }
+
+    @Test
+    void shouldAggregateRollupsPerMinuteTypeAndIp() {
+        repository.insertBatch(List.of(
+                log("LOGIN_FAILURE", "alice@example.com", "10.0.0.1", BASE.plusSeconds(5)),
+                log("LOGIN_FAILURE", "bob@example.com", "10.0.0.1", BASE.plusSeconds(50)),
+                log("LOGIN_FAILURE", "alice@example.com", "10.0.0.2", BASE.plusMinutes(1)),
+                log("LOGIN_SUCCESS", "alice@example.com", "10.0.0.1", BASE.plusMinutes(2)),
+                log("LOGOUT", "alice@example.com", null, BASE.plusMinutes(3))));
+        repository.insertBatch(List.of(
+                log("LOGIN_FAILURE", "carol@example.com", "10.0.0.1", BASE.plusSeconds(30))));
+
+        assertEquals(3L, jdbcTemplate.queryForObject(
+                "SELECT event_count FROM security_audit_rollups WHERE bucket_start = ? AND event_type = ? " +
+                "AND ip_address = ?", Long.class, BASE, "LOGIN_FAILURE", "10.0.0.1"));
+        assertEquals(6, rollupRepository.countSince(BASE));
+        assertEquals(3, rollupRepository.countSince(BASE.plusMinutes(1).plusSeconds(59)));
+        assertEquals(Map.of("LOGIN_FAILURE", 4L, "LOGIN_SUCCESS", 1L, "LOGOUT", 1L),
+                rollupRepository.countByEventTypeSince(BASE));
+        assertEquals(List.of("10.0.0.1", "10.0.0.2"),
+                new ArrayList<>(rollupRepository.topIpAddressesSince(BASE, 10).keySet()));
+        assertEquals(Map.of("10.0.0.1", 4L), rollupRepository.topIpAddressesSince(BASE, 1));
+    }
+
+    @Test
+    void shouldNotCountReplayedEventsTwice() {
+        List<SecurityAuditLog> batch = List.of(
+                log("LOGIN_FAILURE", "alice@example.com", "10.0.0.1", BASE),
+                log("LOGIN_FAILURE", "alice@example.com", "10.0.0.1", BASE.plusSeconds(1)));
+        repository.insertBatch(batch);
+
+        repository.insertBatch(List.of(batch.get(0), batch.get(1),
+                log("LOGIN_FAILURE", "alice@example.com", "10.0.0.1", BASE.plusSeconds(2))));
+
+        assertEquals(3, rollupRepository.countSince(BASE));
+        assertEquals(3L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM security_audit_logs", Long.class));
+    }
+
+    private static SecurityAuditLog log(String eventType, String user, String ip, LocalDateTime timestamp) {
+        return SecurityAuditLog.builder()
+                .id(UUID.randomUUID())
+                .eventType(eventType)
+                .eventDescription("teste")
+                .userIdentifier(user)
+                .ipAddress(ip)
+                .eventTimestamp(timestamp)
+                .build();
+    }
+}
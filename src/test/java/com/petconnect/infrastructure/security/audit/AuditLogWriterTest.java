@@ -0,0 +1,258 @@
+package com.petconnect.infrastructure.security.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.petconnect.domain.security.entity.SecurityAuditLog;
+import com.petconnect.infrastructure.adapter.persistence.repository.SecurityAuditLogJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock
+    private SecurityAuditLogJdbcRepository jdbcRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final List<SecurityAuditLog> inserted = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            List<SecurityAuditLog> batch = invocation.getArgument(0);
+            inserted.addAll(batch);
+            batchSizes.add(batch.size());
+            return null;
+        }).when(jdbcRepository).insertBatch(anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void shouldNotTouchDatabaseOnSubmittingThread() {
+        writer = newWriter(16, 4, 10_000, "DROP");
+
+        writer.submit(event("a"));
+        writer.submit(event("b"));
+
+        verifyNoInteractions(jdbcRepository);
+        assertEquals(2, writer.getMetrics().getPending());
+    }
+
+    @Test
+    void shouldFlushBySizeInBatches() throws Exception {
+        writer = newWriter(1024, 100, 60_000, "DROP");
+        writer.start();
+
+        for (int i = 0; i < 250; i++) {
+            writer.submit(event("user" + i));
+        }
+
+        awaitInserted(200);
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 100));
+        assertEquals("user0", inserted.get(0).getUserIdentifier());
+    }
+
+    @Test
+    void shouldFlushByTime() throws Exception {
+        writer = newWriter(1024, 500, 20, "DROP");
+        writer.start();
+
+        writer.submit(event("lonely"));
+
+        awaitInserted(1);
+        assertEquals("lonely", inserted.get(0).getUserIdentifier());
+        assertEquals("system", inserted.get(0).getCreatedBy());
+    }
+
+    @Test
+    void shouldDrainPendingEventsOnShutdown() {
+        writer = newWriter(1024, 500, 60_000, "DROP");
+        writer.start();
+        for (int i = 0; i < 42; i++) {
+            writer.submit(event("user" + i));
+        }
+
+        writer.shutdown();
+
+        assertEquals(42, inserted.size());
+        assertEquals(0, writer.getMetrics().getPending());
+        writer = null;
+    }
+
+    @Test
+    void shouldWriteEventEnqueuedAfterFinalDrain() {
+        writer = newWriter(16, 100, 60_000, "DROP");
+        writer.start();
+        writer.shutdown();
+
+        // Produtor que leu closed == false antes do desligamento e só então enfileirou
+        assertTrue(writer.enqueue(event("late")));
+
+        assertEquals(1, inserted.size());
+        assertEquals("late", inserted.get(0).getUserIdentifier());
+        assertEquals(0, writer.getMetrics().getPending());
+    }
+
+    @Test
+    void shouldDropAndCountWhenFull() {
+        writer = newWriter(2, 500, 60_000, "DROP");
+
+        writer.submit(event("a"));
+        writer.submit(event("b"));
+        writer.submit(event("c"));
+
+        assertEquals(1, writer.getMetrics().getDropped());
+        assertEquals(2, writer.getMetrics().getEnqueued());
+    }
+
+    @Test
+    void shouldSpillOverflowToDiskAndReplayIt() throws Exception {
+        Path spillFile = tempDir.resolve("audit-spill.jsonl");
+        writer = new AuditLogWriter(jdbcRepository, objectMapper, 2, 500, 20, "SPILL", 100,
+                spillFile.toString(), 5_000);
+
+        writer.submit(event("a"));
+        writer.submit(event("b"));
+        writer.submit(event("spilled"));
+
+        assertEquals(1, writer.getMetrics().getSpilled());
+        assertTrue(Files.readString(spillFile).contains("spilled"));
+
+        writer.start();
+
+        awaitInserted(3);
+        assertTrue(inserted.stream().anyMatch(log -> "spilled".equals(log.getUserIdentifier())));
+        assertFalse(Files.exists(spillFile));
+    }
+
+    @Test
+    void shouldSpillBatchWhenDatabaseFails() throws Exception {
+        Path spillFile = tempDir.resolve("audit-spill.jsonl");
+        doThrow(new RuntimeException("banco indisponível")).when(jdbcRepository).insertBatch(anyList());
+        writer = new AuditLogWriter(jdbcRepository, objectMapper, 16, 500, 60_000, "SPILL", 100,
+                spillFile.toString(), 5_000);
+        writer.submit(event("a"));
+
+        writer.flushPending();
+
+        assertEquals(1, writer.getMetrics().getSpilled());
+        assertTrue(Files.readString(spillFile).contains("\"userIdentifier\":\"a\""));
+    }
+
+    @Test
+    void shouldTruncateOversizedColumnsBeforeEnqueue() {
+        writer = newWriter(16, 500, 60_000, "DROP");
+        SecurityAuditLog auditLog = SecurityAuditLog.create(SecurityAuditLog.EventType.LOGIN_FAILURE, "Login",
+                "u".repeat(300), "1".repeat(1000));
+
+        writer.submit(auditLog);
+        writer.flushPending();
+
+        assertEquals(45, inserted.get(0).getIpAddress().length());
+        assertEquals(255, inserted.get(0).getUserIdentifier().length());
+    }
+
+    @Test
+    void shouldRewriteFailedBatchRowByRowAndRejectOnlyBadRows() throws Exception {
+        rejectRowsOf("bad");
+        writer = newWriter(16, 500, 60_000, "SPILL");
+        writer.submit(event("a"));
+        writer.submit(event("bad"));
+        writer.submit(event("b"));
+
+        writer.flushPending();
+
+        assertEquals(List.of("a", "b"), inserted.stream().map(SecurityAuditLog::getUserIdentifier).toList());
+        assertEquals(2, writer.getMetrics().getWritten());
+        assertEquals(1, writer.getMetrics().getRejected());
+        assertEquals(0, writer.getMetrics().getSpilled());
+        assertFalse(Files.exists(tempDir.resolve("spill.jsonl")));
+        assertTrue(Files.readString(tempDir.resolve("spill.jsonl.rejected")).contains("\"userIdentifier\":\"bad\""));
+    }
+
+    @Test
+    void shouldSpillRemainingRowsWhenRowByRowRewriteHitsConnectionFailure() throws Exception {
+        doThrow(new RuntimeException("banco indisponível")).when(jdbcRepository).insertBatch(anyList());
+        writer = newWriter(16, 500, 60_000, "SPILL");
+        writer.submit(event("a"));
+        writer.submit(event("b"));
+
+        writer.flushPending();
+
+        assertEquals(2, writer.getMetrics().getSpilled());
+        assertEquals(0, writer.getMetrics().getRejected());
+        verify(jdbcRepository, times(2)).insertBatch(anyList());
+    }
+
+    @Test
+    void shouldBlockUntilTimeoutThenDrop() {
+        writer = newWriter(2, 500, 60_000, "BLOCK");
+        writer.submit(event("a"));
+        writer.submit(event("b"));
+
+        long started = System.nanoTime();
+        writer.submit(event("c"));
+
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(1, writer.getMetrics().getDropped());
+    }
+
+    private AuditLogWriter newWriter(int capacity, int batchSize, long flushIntervalMillis, String overflow) {
+        return new AuditLogWriter(jdbcRepository, objectMapper, capacity, batchSize, flushIntervalMillis,
+                overflow, 20, tempDir.resolve("spill.jsonl").toString(), 5_000);
+    }
+
+    private void rejectRowsOf(String user) {
+        doAnswer(invocation -> {
+            List<SecurityAuditLog> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(log -> user.equals(log.getUserIdentifier()))) {
+                throw new DataIntegrityViolationException("value too long for type character varying(45)");
+            }
+            inserted.addAll(batch);
+            batchSizes.add(batch.size());
+            return null;
+        }).when(jdbcRepository).insertBatch(anyList());
+    }
+
+    private void awaitInserted(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inserted.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(inserted.size() >= count, "esperados " + count + " eventos, gravados " + inserted.size());
+    }
+
+    private static SecurityAuditLog event(String user) {
+        return SecurityAuditLog.create(SecurityAuditLog.EventType.LOGIN_SUCCESS, "Login", user, "10.0.0.1")
+                .withSuccess(true);
+    }
+}
@@ -0,0 +1,87 @@
+package com.petconnect.infrastructure.security.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void shouldKeepFifoOrderAndRejectWhenFull() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, buffer.drainTo(drained, 10));
+        assertEquals(List.of(1, 2, 3, 4), drained);
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void shouldRoundCapacityToPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer<>(5).capacity());
+        assertEquals(8, new AuditRingBuffer<>(8).capacity());
+        assertEquals(2, new AuditRingBuffer<>(1).capacity());
+    }
+
+    @Test
+    void shouldDeliverEveryElementFromConcurrentProducers() throws Exception {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                executor.execute(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    done.countDown();
+                });
+            }
+
+            Set<Integer> received = new HashSet<>();
+            int[] lastPerProducer = new int[producers];
+            java.util.Arrays.fill(lastPerProducer, -1);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+                Integer value = buffer.poll();
+                if (value == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                assertTrue(received.add(value));
+                int producer = value / perProducer;
+                assertTrue(value > lastPerProducer[producer]);
+                lastPerProducer[producer] = value;
+            }
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(producers * perProducer, received.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
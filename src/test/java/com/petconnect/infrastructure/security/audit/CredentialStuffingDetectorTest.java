@@ -0,0 +1,126 @@
+package com.petconnect.infrastructure.security.audit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CredentialStuffingDetectorTest {
+
+    private static final String IP = "203.0.113.7";
+
+    private MutableClock clock;
+    private CredentialStuffingDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        detector = newDetector(1000);
+    }
+
+    @Test
+    void shouldBlockIpRotatingIdentifiers() {
+        int blockedAt = -1;
+        for (int i = 0; i < 40 && blockedAt < 0; i++) {
+            if (detector.recordFailure(IP, "user" + i + "@example.com")) {
+                blockedAt = i + 1;
+            }
+        }
+
+        assertTrue(blockedAt >= 8 && blockedAt <= 16, "bloqueado após " + blockedAt);
+        assertTrue(detector.isBlocked(IP));
+        assertFalse(detector.isBlocked("198.51.100.1"));
+        assertEquals(1, detector.getMetrics().getBlocks());
+    }
+
+    @Test
+    void shouldNotBlockRepeatedFailuresOfSameIdentifier() {
+        for (int i = 0; i < 200; i++) {
+            assertFalse(detector.recordFailure(IP, i % 2 == 0 ? "alice@example.com" : " ALICE@example.com"));
+        }
+
+        assertFalse(detector.isBlocked(IP));
+    }
+
+    @Test
+    void shouldForgetFailuresOutsideWindowAndLiftBlockAfterDuration() {
+        for (int i = 0; i < 6; i++) {
+            detector.recordFailure(IP, "early" + i + "@example.com");
+        }
+        clock.advance(Duration.ofMinutes(11));
+        for (int i = 0; i < 6; i++) {
+            assertFalse(detector.recordFailure(IP, "late" + i + "@example.com"));
+        }
+
+        for (int i = 0; i < 40 && !detector.isBlocked(IP); i++) {
+            detector.recordFailure(IP, "more" + i + "@example.com");
+        }
+        assertTrue(detector.isBlocked(IP));
+
+        clock.advance(Duration.ofMinutes(31));
+
+        assertFalse(detector.isBlocked(IP));
+    }
+
+    @Test
+    void shouldBoundTrackedIpsAndEvictIdleOnes() {
+        detector = newDetector(2);
+
+        detector.recordFailure("10.0.0.1", "a@example.com");
+        detector.recordFailure("10.0.0.2", "a@example.com");
+        detector.recordFailure("10.0.0.3", "a@example.com");
+
+        assertEquals(2, detector.getMetrics().getTrackedIps());
+        assertEquals(1, detector.getMetrics().getUntrackedFailures());
+
+        clock.advance(Duration.ofMinutes(11));
+        detector.evictIdle();
+
+        assertEquals(0, detector.getMetrics().getTrackedIps());
+    }
+
+    @Test
+    void shouldIgnoreEverythingWhenDisabled() {
+        detector = new CredentialStuffingDetector(false, 10, Duration.ofMinutes(10), Duration.ofMinutes(30),
+                6, 1000, clock);
+        for (int i = 0; i < 100; i++) {
+            assertFalse(detector.recordFailure(IP, "user" + i + "@example.com"));
+        }
+
+        assertFalse(detector.isBlocked(IP));
+    }
+
+    private CredentialStuffingDetector newDetector(int maxTrackedIps) {
+        return new CredentialStuffingDetector(true, 10, Duration.ofMinutes(10), Duration.ofMinutes(30),
+                6, maxTrackedIps, clock);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.petconnect.infrastructure.security.audit;
+
+import com.petconnect.domain.security.entity.LoginAttempt;
+import com.petconnect.domain.security.port.LoginAttemptRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginThrottleTest {
+
+    private static final String USER = "test@example.com";
+    private static final String IP = "10.0.0.1";
+
+    @Mock
+    private LoginAttemptRepositoryPort loginAttemptRepository;
+
+    private MutableClock clock;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        throttle = new LoginThrottle(loginAttemptRepository, 3, Duration.ofMinutes(15),
+                Duration.ofMinutes(30), 5, Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    void shouldForgetFailuresOutsideSlidingWindow() {
+        throttle.recordFailure(USER, IP);
+        throttle.recordFailure(USER, IP);
+        clock.advance(Duration.ofMinutes(16));
+
+        LoginFailureResult result = throttle.recordFailure(USER, IP);
+
+        assertEquals(1, result.getAttemptCount());
+        assertFalse(result.isBlocked());
+        assertTrue(throttle.canAttempt(USER, IP));
+    }
+
+    @Test
+    void shouldLockPairUntilLockoutExpires() {
+        throttle.recordFailure(USER, IP);
+        throttle.recordFailure(USER, IP);
+        LoginFailureResult result = throttle.recordFailure(USER, IP);
+
+        assertTrue(result.isBlocked());
+        assertTrue(throttle.isBlocked(USER, IP));
+        assertFalse(throttle.isBlocked(USER, "10.0.0.2"));
+        assertEquals(30, throttle.getRemainingLockoutMinutes(USER, IP));
+
+        clock.advance(Duration.ofMinutes(31));
+
+        assertFalse(throttle.isBlocked(USER, IP));
+        assertTrue(throttle.canAttempt(USER, IP));
+    }
+
+    @Test
+    void shouldBlockIpAcrossIdentifiers() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i + "@example.com", IP);
+        }
+
+        assertTrue(throttle.isBlocked("another@example.com", IP));
+        assertFalse(throttle.canAttempt("another@example.com", IP));
+        assertFalse(throttle.isBlocked("another@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void shouldKeepDirtyWindowWhenFlushFails() {
+        doThrow(new IllegalStateException("db down"))
+                .doNothing()
+                .when(loginAttemptRepository).upsertAttemptState(any());
+        throttle.recordFailure(USER, IP);
+
+        throttle.flush();
+        assertEquals(1, throttle.getMetrics().getPendingWrites());
+        assertEquals(1, throttle.getMetrics().getFailedWrites());
+
+        throttle.flush();
+        assertEquals(0, throttle.getMetrics().getPendingWrites());
+        verify(loginAttemptRepository, times(2)).upsertAttemptState(argThat(attempt ->
+                attempt.getAttemptCount() == 1 && USER.equals(attempt.getUserIdentifier())));
+    }
+
+    @Test
+    void shouldEvictIdleWindowsAfterFlush() {
+        throttle.recordFailure(USER, IP);
+        throttle.flush();
+        assertEquals(2, throttle.getMetrics().getTrackedWindows());
+
+        clock.advance(Duration.ofMinutes(16));
+        throttle.flush();
+
+        assertEquals(0, throttle.getMetrics().getTrackedWindows());
+    }
+
+    @Test
+    void shouldCountFailuresInStoreWhenMapIsFull() {
+        LoginThrottle capped = new LoginThrottle(loginAttemptRepository, 3, Duration.ofMinutes(15),
+                Duration.ofMinutes(30), 5, Duration.ofMinutes(10), false, Duration.ZERO, 2, clock);
+        capped.recordFailure(USER, IP);
+        LoginAttempt state = LoginAttempt.create("other@example.com", IP, false);
+        state.setAttemptCount(3);
+        state.setAttemptTimestamp(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC));
+        state.setBlockedUntil(LocalDateTime.ofInstant(clock.instant().plus(Duration.ofMinutes(30)), ZoneOffset.UTC));
+        when(loginAttemptRepository.recordFailedAttempt(eq("other@example.com"), eq(IP), any(), any(), eq(3), any()))
+                .thenReturn(state);
+        when(loginAttemptRepository.findByUserIdentifierAndIpAddress("other@example.com", IP))
+                .thenReturn(Optional.of(state));
+
+        LoginFailureResult result = capped.recordFailure("other@example.com", IP);
+
+        assertTrue(result.isBlocked());
+        assertTrue(capped.isBlocked("other@example.com", IP));
+        assertFalse(capped.canAttempt("other@example.com", IP));
+        assertEquals(30, capped.getRemainingLockoutMinutes("other@example.com", IP));
+        assertEquals(2, capped.getMetrics().getTrackedWindows());
+        assertEquals(1, capped.getMetrics().getStoreFallbackFailures());
+    }
+
+    @Test
+    void shouldCountInMemoryAboveCapWhenStoreFails() {
+        LoginThrottle capped = new LoginThrottle(loginAttemptRepository, 3, Duration.ofMinutes(15),
+                Duration.ofMinutes(30), 5, Duration.ofMinutes(10), false, Duration.ZERO, 2, clock);
+        capped.recordFailure(USER, IP);
+        when(loginAttemptRepository.recordFailedAttempt(any(), any(), any(), any(), anyInt(), any()))
+                .thenThrow(new IllegalStateException("db down"));
+
+        capped.recordFailure("other@example.com", IP);
+        capped.recordFailure("other@example.com", IP);
+        LoginFailureResult result = capped.recordFailure("other@example.com", IP);
+
+        assertTrue(result.isBlocked());
+        assertEquals(3, capped.getMetrics().getTrackedWindows());
+    }
+
+    @Test
+    void shouldUseAtomicUpsertInSharedMode() {
+        LoginThrottle sharedThrottle = sharedThrottle();
+        LoginAttempt state = LoginAttempt.create(USER, IP, false);
+        state.setAttemptCount(3);
+        state.setBlockedUntil(LocalDateTime.ofInstant(clock.instant().plus(Duration.ofMinutes(30)), ZoneOffset.UTC));
+        when(loginAttemptRepository.recordFailedAttempt(eq(USER), eq(IP), any(), any(), eq(3), any()))
+                .thenReturn(state);
+
+        LoginFailureResult result = sharedThrottle.recordFailure(USER, IP);
+
+        assertEquals(3, result.getAttemptCount());
+        assertTrue(result.isBlocked());
+        assertTrue(sharedThrottle.isBlocked(USER, IP));
+        verify(loginAttemptRepository, never()).findByUserIdentifierAndIpAddress(any(), any());
+    }
+
+    @Test
+    void shouldSeeLockoutsFromOtherNodesInSharedMode() {
+        LoginThrottle sharedThrottle = sharedThrottle();
+        LoginAttempt lockedElsewhere = LoginAttempt.create(USER, IP, false);
+        lockedElsewhere.setAttemptCount(3);
+        lockedElsewhere.setAttemptTimestamp(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC));
+        lockedElsewhere.setBlockedUntil(LocalDateTime.ofInstant(clock.instant().plus(Duration.ofMinutes(30)), ZoneOffset.UTC));
+        when(loginAttemptRepository.findByUserIdentifierAndIpAddress(USER, IP)).thenReturn(Optional.of(lockedElsewhere));
+
+        assertTrue(sharedThrottle.isBlocked(USER, IP));
+        assertFalse(sharedThrottle.canAttempt(USER, IP));
+        verify(loginAttemptRepository, times(1)).findByUserIdentifierAndIpAddress(USER, IP);
+
+        clock.advance(Duration.ofSeconds(2));
+        lockedElsewhere.resetAttemptCount();
+        assertFalse(sharedThrottle.isBlocked(USER, IP));
+    }
+
+    @Test
+    void shouldFallBackToLocalCountingWhenSharedStoreFails() {
+        LoginThrottle sharedThrottle = sharedThrottle();
+        when(loginAttemptRepository.recordFailedAttempt(any(), any(), any(), any(), anyInt(), any()))
+                .thenThrow(new IllegalStateException("db down"));
+
+        LoginFailureResult result = sharedThrottle.recordFailure(USER, IP);
+
+        assertEquals(1, result.getAttemptCount());
+        assertEquals(1, sharedThrottle.getMetrics().getPendingWrites());
+    }
+
+    private LoginThrottle sharedThrottle() {
+        return new LoginThrottle(loginAttemptRepository, 3, Duration.ofMinutes(15), Duration.ofMinutes(30),
+                5, Duration.ofMinutes(10), true, Duration.ofSeconds(1), 1_000, clock);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
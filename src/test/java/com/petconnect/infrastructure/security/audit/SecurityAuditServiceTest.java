@@ -3,18 +3,18 @@ package com.petconnect.infrastructure.security.audit;
 import com.petconnect.domain.security.entity.LoginAttempt;
 import com.petconnect.domain.security.entity.SecurityAuditLog;
 import com.petconnect.domain.security.port.LoginAttemptRepositoryPort;
-import com.petconnect.domain.security.port.SecurityAuditLogRepositoryPort;
 import com.petconnect.infrastructure.security.interceptor.SecurityInterceptor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -24,12 +24,16 @@ import static org.mockito.Mockito.*;
 class SecurityAuditServiceTest {
 
     @Mock
-    private SecurityAuditLogRepositoryPort securityAuditLogRepository;
+    private AuditLogWriter auditLogWriter;
 
     @Mock
     private LoginAttemptRepositoryPort loginAttemptRepository;
 
-    @InjectMocks
+    @Mock
+    private SecurityTelemetry securityTelemetry;
+
+    private LoginThrottle loginThrottle;
+
     private SecurityAuditService securityAuditService;
 
     private static final String TEST_IDENTIFIER = "test@example.com";
@@ -38,7 +42,10 @@ class SecurityAuditServiceTest {
 
     @BeforeEach
     void setUp() {
-        reset(securityAuditLogRepository, loginAttemptRepository);
+        reset(auditLogWriter, loginAttemptRepository);
+        loginThrottle = new LoginThrottle(loginAttemptRepository, 5, Duration.ofMinutes(15),
+                Duration.ofMinutes(30), 50, Duration.ofMinutes(15), Clock.systemDefaultZone());
+        securityAuditService = new SecurityAuditService(auditLogWriter, loginThrottle, securityTelemetry);
     }
 
     @Test
@@ -47,17 +54,17 @@ class SecurityAuditServiceTest {
             mockedInterceptor.when(SecurityInterceptor::getCurrentClientIp).thenReturn(TEST_IP);
             mockedInterceptor.when(SecurityInterceptor::getCurrentUserAgent).thenReturn(TEST_USER_AGENT);
 
-            LoginAttempt existingAttempt = LoginAttempt.create(TEST_IDENTIFIER, TEST_IP, false);
-            existingAttempt.incrementAttemptCount();
-            when(loginAttemptRepository.findByUserIdentifierAndIpAddress(TEST_IDENTIFIER, TEST_IP))
-                    .thenReturn(Optional.of(existingAttempt));
-
+            securityAuditService.recordLoginAttempt(TEST_IDENTIFIER, false);
             securityAuditService.recordLoginAttempt(TEST_IDENTIFIER, true);
 
-            verify(loginAttemptRepository).save(argThat(attempt -> 
-                attempt.getAttemptCount() == 0 && !attempt.isBlocked()));
-            verify(securityAuditLogRepository).save(argThat(log -> 
+            verify(auditLogWriter).submit(argThat(log -> 
                 SecurityAuditLog.EventType.LOGIN_SUCCESS.getValue().equals(log.getEventType())));
+            verifyNoInteractions(loginAttemptRepository);
+
+            loginThrottle.flush();
+
+            verify(loginAttemptRepository).resetAttempts(TEST_IDENTIFIER, TEST_IP);
+            verify(loginAttemptRepository, never()).upsertAttemptState(any());
         }
     }
 
@@ -67,15 +74,18 @@ class SecurityAuditServiceTest {
             mockedInterceptor.when(SecurityInterceptor::getCurrentClientIp).thenReturn(TEST_IP);
             mockedInterceptor.when(SecurityInterceptor::getCurrentUserAgent).thenReturn(TEST_USER_AGENT);
 
-            when(loginAttemptRepository.findByUserIdentifierAndIpAddress(TEST_IDENTIFIER, TEST_IP))
-                    .thenReturn(Optional.empty());
-
             securityAuditService.recordLoginAttempt(TEST_IDENTIFIER, false);
 
-            verify(loginAttemptRepository).save(argThat(attempt -> 
+            verify(auditLogWriter).submit(argThat(log -> 
+                SecurityAuditLog.EventType.LOGIN_FAILURE.getValue().equals(log.getEventType()) &&
+                log.getEventDescription().contains("(1/5)")));
+            verify(securityTelemetry).record(SecurityAuditLog.EventType.LOGIN_FAILURE, TEST_IP, TEST_IDENTIFIER, false);
+            verifyNoInteractions(loginAttemptRepository);
+
+            loginThrottle.flush();
+
+            verify(loginAttemptRepository).upsertAttemptState(argThat(attempt -> 
                 attempt.getAttemptCount() == 1 && !attempt.isBlocked()));
-            verify(securityAuditLogRepository).save(argThat(log -> 
-                SecurityAuditLog.EventType.LOGIN_FAILURE.getValue().equals(log.getEventType())));
         }
     }
 
@@ -85,19 +95,19 @@ class SecurityAuditServiceTest {
             mockedInterceptor.when(SecurityInterceptor::getCurrentClientIp).thenReturn(TEST_IP);
             mockedInterceptor.when(SecurityInterceptor::getCurrentUserAgent).thenReturn(TEST_USER_AGENT);
 
-            LoginAttempt existingAttempt = LoginAttempt.create(TEST_IDENTIFIER, TEST_IP, false);
-            for (int i = 0; i < 3; i++) {
-                existingAttempt.incrementAttemptCount();
+            for (int i = 0; i < 5; i++) {
+                securityAuditService.recordLoginAttempt(TEST_IDENTIFIER, false);
             }
-            when(loginAttemptRepository.findByUserIdentifierAndIpAddress(TEST_IDENTIFIER, TEST_IP))
-                    .thenReturn(Optional.of(existingAttempt));
 
-            securityAuditService.recordLoginAttempt(TEST_IDENTIFIER, false);
+            assertTrue(securityAuditService.isUserBlocked(TEST_IDENTIFIER));
+            assertTrue(securityAuditService.getRemainingLockoutMinutes(TEST_IDENTIFIER) > 0);
+            verify(auditLogWriter).submit(argThat(log -> 
+                SecurityAuditLog.EventType.ACCOUNT_LOCKED.getValue().equals(log.getEventType())));
+
+            loginThrottle.flush();
 
-            verify(loginAttemptRepository).save(argThat(attempt -> 
+            verify(loginAttemptRepository).upsertAttemptState(argThat(attempt -> 
                 attempt.getAttemptCount() == 5 && attempt.isBlocked()));
-            verify(securityAuditLogRepository).save(argThat(log -> 
-                SecurityAuditLog.EventType.ACCOUNT_LOCKED.getValue().equals(log.getEventType())));
         }
     }
 
@@ -108,8 +118,8 @@ class SecurityAuditServiceTest {
 
             LoginAttempt blockedAttempt = LoginAttempt.create(TEST_IDENTIFIER, TEST_IP, false);
             blockedAttempt.blockUntil(LocalDateTime.now().plusMinutes(30));
-            when(loginAttemptRepository.findByUserIdentifierAndIpAddress(TEST_IDENTIFIER, TEST_IP))
-                    .thenReturn(Optional.of(blockedAttempt));
+            when(loginAttemptRepository.findActiveAttempts(any())).thenReturn(List.of(blockedAttempt));
+            loginThrottle.rehydrate();
 
             boolean isBlocked = securityAuditService.isUserBlocked(TEST_IDENTIFIER);
 
@@ -122,12 +132,10 @@ class SecurityAuditServiceTest {
         try (MockedStatic<SecurityInterceptor> mockedInterceptor = mockStatic(SecurityInterceptor.class)) {
             mockedInterceptor.when(SecurityInterceptor::getCurrentClientIp).thenReturn(TEST_IP);
 
-            when(loginAttemptRepository.findByUserIdentifierAndIpAddress(TEST_IDENTIFIER, TEST_IP))
-                    .thenReturn(Optional.empty());
-
             boolean isBlocked = securityAuditService.isUserBlocked(TEST_IDENTIFIER);
 
             assertFalse(isBlocked);
+            verifyNoInteractions(loginAttemptRepository);
         }
     }
 
@@ -138,14 +146,14 @@ class SecurityAuditServiceTest {
 
             LoginAttempt expiredBlocked = LoginAttempt.create(TEST_IDENTIFIER, TEST_IP, false);
             expiredBlocked.blockUntil(LocalDateTime.now().minusMinutes(1));
-            when(loginAttemptRepository.findByUserIdentifierAndIpAddress(TEST_IDENTIFIER, TEST_IP))
-                    .thenReturn(Optional.of(expiredBlocked));
+            when(loginAttemptRepository.findActiveAttempts(any())).thenReturn(List.of(expiredBlocked));
+            loginThrottle.rehydrate();
 
             boolean isBlocked = securityAuditService.isUserBlocked(TEST_IDENTIFIER);
+            loginThrottle.flush();
 
             assertFalse(isBlocked);
-            verify(loginAttemptRepository).save(argThat(attempt -> 
-                attempt.getAttemptCount() == 0 && !attempt.isBlocked()));
+            verify(loginAttemptRepository).resetAttempts(TEST_IDENTIFIER, TEST_IP);
         }
     }
 
@@ -153,11 +161,10 @@ class SecurityAuditServiceTest {
     void shouldAllowLoginWhenUnderAttemptLimit() {
         try (MockedStatic<SecurityInterceptor> mockedInterceptor = mockStatic(SecurityInterceptor.class)) {
             mockedInterceptor.when(SecurityInterceptor::getCurrentClientIp).thenReturn(TEST_IP);
+            mockedInterceptor.when(SecurityInterceptor::getCurrentUserAgent).thenReturn(TEST_USER_AGENT);
 
-            LoginAttempt attempt = LoginAttempt.create(TEST_IDENTIFIER, TEST_IP, false);
-            attempt.incrementAttemptCount();
-            when(loginAttemptRepository.findByUserIdentifierAndIpAddress(TEST_IDENTIFIER, TEST_IP))
-                    .thenReturn(Optional.of(attempt));
+            securityAuditService.recordLoginAttempt(TEST_IDENTIFIER, false);
+            securityAuditService.recordLoginAttempt(TEST_IDENTIFIER, false);
 
             boolean canAttempt = securityAuditService.canAttemptLogin(TEST_IDENTIFIER);
 
@@ -169,18 +176,20 @@ class SecurityAuditServiceTest {
     void shouldResetAttemptsAfterResetTime() {
         try (MockedStatic<SecurityInterceptor> mockedInterceptor = mockStatic(SecurityInterceptor.class)) {
             mockedInterceptor.when(SecurityInterceptor::getCurrentClientIp).thenReturn(TEST_IP);
+            mockedInterceptor.when(SecurityInterceptor::getCurrentUserAgent).thenReturn(TEST_USER_AGENT);
 
             LoginAttempt oldAttempt = LoginAttempt.create(TEST_IDENTIFIER, TEST_IP, false);
             oldAttempt.setAttemptTimestamp(LocalDateTime.now().minusMinutes(20));
-            oldAttempt.incrementAttemptCount();
-            when(loginAttemptRepository.findByUserIdentifierAndIpAddress(TEST_IDENTIFIER, TEST_IP))
-                    .thenReturn(Optional.of(oldAttempt));
+            oldAttempt.setAttemptCount(4);
+            when(loginAttemptRepository.findActiveAttempts(any())).thenReturn(List.of(oldAttempt));
+            loginThrottle.rehydrate();
 
             boolean canAttempt = securityAuditService.canAttemptLogin(TEST_IDENTIFIER);
+            securityAuditService.recordLoginAttempt(TEST_IDENTIFIER, false);
 
             assertTrue(canAttempt);
-            verify(loginAttemptRepository).save(argThat(attempt -> 
-                attempt.getAttemptCount() == 0));
+            verify(auditLogWriter).submit(argThat(log -> 
+                log.getEventDescription().contains("(1/5)")));
         }
     }
 
@@ -190,21 +199,43 @@ class SecurityAuditServiceTest {
             mockedInterceptor.when(SecurityInterceptor::getCurrentClientIp).thenReturn(TEST_IP);
             mockedInterceptor.when(SecurityInterceptor::getCurrentUserAgent).thenReturn(TEST_USER_AGENT);
 
-            LoginAttempt blockedAttempt = LoginAttempt.create(TEST_IDENTIFIER, TEST_IP, false);
-            blockedAttempt.blockUntil(LocalDateTime.now().plusMinutes(30));
-            when(loginAttemptRepository.findByUserIdentifierAndIpAddress(TEST_IDENTIFIER, TEST_IP))
-                    .thenReturn(Optional.of(blockedAttempt));
+            for (int i = 0; i < 5; i++) {
+                securityAuditService.recordLoginAttempt(TEST_IDENTIFIER, false);
+            }
 
             boolean unlocked = securityAuditService.unlockUser(TEST_IDENTIFIER, "admin");
 
             assertTrue(unlocked);
-            verify(loginAttemptRepository).save(argThat(attempt -> 
-                attempt.getAttemptCount() == 0 && !attempt.isBlocked()));
-            verify(securityAuditLogRepository).save(argThat(log -> 
+            assertFalse(securityAuditService.isUserBlocked(TEST_IDENTIFIER));
+            verify(auditLogWriter).submit(argThat(log -> 
                 SecurityAuditLog.EventType.ACCOUNT_UNLOCKED.getValue().equals(log.getEventType())));
         }
     }
 
+    @Test
+    void shouldNotUnlockUnknownUser() {
+        boolean unlocked = securityAuditService.unlockUser(TEST_IDENTIFIER, "admin");
+
+        assertFalse(unlocked);
+        verifyNoInteractions(auditLogWriter);
+    }
+
+    @Test
+    void shouldDecideLoginWithoutDatabaseRoundTrips() {
+        try (MockedStatic<SecurityInterceptor> mockedInterceptor = mockStatic(SecurityInterceptor.class)) {
+            mockedInterceptor.when(SecurityInterceptor::getCurrentClientIp).thenReturn(TEST_IP);
+            mockedInterceptor.when(SecurityInterceptor::getCurrentUserAgent).thenReturn(TEST_USER_AGENT);
+
+            securityAuditService.isUserBlocked(TEST_IDENTIFIER);
+            securityAuditService.canAttemptLogin(TEST_IDENTIFIER);
+            securityAuditService.getRemainingLockoutMinutes(TEST_IDENTIFIER);
+            securityAuditService.recordLoginAttempt(TEST_IDENTIFIER, false);
+            securityAuditService.recordLoginAttempt(TEST_IDENTIFIER, true);
+
+            verifyNoInteractions(loginAttemptRepository);
+        }
+    }
+
     @Test
     void shouldRecordUnauthorizedAccess() {
         try (MockedStatic<SecurityInterceptor> mockedInterceptor = mockStatic(SecurityInterceptor.class)) {
@@ -213,7 +244,7 @@ class SecurityAuditServiceTest {
 
             securityAuditService.recordUnauthorizedAccess("API_ACCESS", "Invalid token");
 
-            verify(securityAuditLogRepository).save(argThat(log -> 
+            verify(auditLogWriter).submit(argThat(log -> 
                 SecurityAuditLog.EventType.UNAUTHORIZED_ACCESS.getValue().equals(log.getEventType()) &&
                 log.getEventDescription().contains("API_ACCESS: Invalid token")));
         }
@@ -227,7 +258,7 @@ class SecurityAuditServiceTest {
 
             securityAuditService.recordSecurityViolation("SQL_INJECTION", "Malicious query detected");
 
-            verify(securityAuditLogRepository).save(argThat(log -> 
+            verify(auditLogWriter).submit(argThat(log -> 
                 SecurityAuditLog.EventType.SECURITY_VIOLATION.getValue().equals(log.getEventType()) &&
                 log.getEventDescription().contains("SQL_INJECTION: Malicious query detected")));
         }
@@ -241,7 +272,7 @@ class SecurityAuditServiceTest {
 
             securityAuditService.recordSensitiveOperation("PASSWORD_CHANGE", TEST_IDENTIFIER);
 
-            verify(securityAuditLogRepository).save(argThat(log -> 
+            verify(auditLogWriter).submit(argThat(log -> 
                 SecurityAuditLog.EventType.SENSITIVE_OPERATION.getValue().equals(log.getEventType()) &&
                 log.getEventDescription().contains("Operação sensível: PASSWORD_CHANGE")));
         }
@@ -255,7 +286,7 @@ class SecurityAuditServiceTest {
 
             securityAuditService.recordLogout(TEST_IDENTIFIER);
 
-            verify(securityAuditLogRepository).save(argThat(log -> 
+            verify(auditLogWriter).submit(argThat(log -> 
                 SecurityAuditLog.EventType.LOGOUT.getValue().equals(log.getEventType()) &&
                 log.getEventDescription().equals("Logout realizado")));
         }
@@ -0,0 +1,134 @@
+package com.petconnect.infrastructure.security.audit;
+
+import com.petconnect.domain.security.entity.SecurityAuditLog.EventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityTelemetryTest {
+
+    private MutableClock clock;
+    private SecurityTelemetry telemetry;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        telemetry = new SecurityTelemetry(120, 3, 8, 60, clock);
+    }
+
+    @Test
+    void shouldReportRatesPerSecondMinuteAndWindow() {
+        telemetry.record(EventType.LOGIN_FAILURE, "10.0.0.1", "alice@example.com", false);
+        clock.advance(Duration.ofSeconds(30));
+        telemetry.record(EventType.LOGIN_FAILURE, "10.0.0.1", "alice@example.com", false);
+        clock.advance(Duration.ofSeconds(45));
+        telemetry.record(EventType.LOGIN_FAILURE, "10.0.0.1", "alice@example.com", false);
+        telemetry.record(EventType.LOGIN_SUCCESS, "10.0.0.2", "bob@example.com", true);
+
+        LiveSecurityTelemetry.EventRate failures = telemetry.snapshot().getRates().get("LOGIN_FAILURE");
+
+        assertEquals(1, failures.getLastSecond());
+        assertEquals(2, failures.getLastMinute());
+        assertEquals(3, failures.getWindow());
+        assertEquals(3 / 120.0, failures.getPerSecond(), 1e-9);
+        assertEquals(1, telemetry.snapshot().getRates().get("LOGIN_SUCCESS").getLastSecond());
+    }
+
+    @Test
+    void shouldForgetEventsOlderThanWindow() {
+        telemetry.record(EventType.SECURITY_VIOLATION, "10.0.0.1", "UNKNOWN", false);
+        clock.advance(Duration.ofSeconds(121));
+        telemetry.record(EventType.SECURITY_VIOLATION, "10.0.0.1", "UNKNOWN", false);
+
+        assertEquals(1, telemetry.snapshot().getRates().get("SECURITY_VIOLATION").getWindow());
+    }
+
+    @Test
+    void shouldTrackTopOffendersFromFailedEventsOnly() {
+        for (int i = 0; i < 10; i++) {
+            telemetry.record(EventType.LOGIN_FAILURE, "10.0.0.66", "victim@example.com", false);
+        }
+        for (int i = 0; i < 50; i++) {
+            telemetry.record(EventType.LOGIN_SUCCESS, "10.0.0.2", "bob@example.com", true);
+            telemetry.record(EventType.UNAUTHORIZED_ACCESS, "10.2.0." + i, "UNKNOWN", false);
+        }
+
+        LiveSecurityTelemetry live = telemetry.snapshot();
+
+        assertEquals(3, live.getTopIpAddresses().size());
+        assertEquals("10.0.0.66", live.getTopIpAddresses().get(0).getKey());
+        assertTrue(live.getTopIpAddresses().get(0).getCount() >= 10);
+        assertEquals(List.of("victim@example.com"),
+                live.getTopIdentifiers().stream().map(HeavyHitter::getKey).toList());
+    }
+
+    @Test
+    void shouldKeepPreviousSketchWindowUntilItExpires() {
+        telemetry.record(EventType.LOGIN_FAILURE, "10.0.0.66", "victim@example.com", false);
+        clock.advance(Duration.ofSeconds(61));
+        telemetry.record(EventType.LOGIN_FAILURE, "10.0.0.66", "victim@example.com", false);
+
+        assertEquals(2, telemetry.snapshot().getTopIpAddresses().get(0).getCount());
+
+        clock.advance(Duration.ofSeconds(121));
+
+        assertTrue(telemetry.snapshot().getTopIpAddresses().isEmpty());
+    }
+
+    @Test
+    void shouldCountConcurrentEventsExactly() throws Exception {
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    telemetry.record(EventType.DATA_ACCESS, null, null, true);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, telemetry.snapshot().getRates().get("DATA_ACCESS").getLastSecond());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
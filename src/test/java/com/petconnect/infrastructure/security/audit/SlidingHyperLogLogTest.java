@@ -0,0 +1,65 @@
+package com.petconnect.infrastructure.security.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingHyperLogLogTest {
+
+    private static final long WINDOW = 60_000L;
+
+    @Test
+    void shouldCountSmallCardinalitiesAlmostExactly() {
+        SlidingHyperLogLog sketch = new SlidingHyperLogLog(6, 4, WINDOW);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] hashes = new long[20];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = random.nextLong();
+        }
+        for (int repeat = 0; repeat < 5; repeat++) {
+            for (long hash : hashes) {
+                sketch.add(hash, 1_000L);
+            }
+        }
+
+        long estimate = sketch.estimate(1_000L);
+
+        assertTrue(estimate >= 17 && estimate <= 23, "estimativa " + estimate);
+    }
+
+    @Test
+    void shouldStayWithinErrorBoundForLargeCardinalities() {
+        SlidingHyperLogLog sketch = new SlidingHyperLogLog(10, 4, WINDOW);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add(random.nextLong(), 1_000L);
+        }
+
+        long estimate = sketch.estimate(1_000L);
+
+        // erro padrão ~3,3% com 1024 registradores; 4 desvios
+        assertEquals(100_000, estimate, 13_000);
+    }
+
+    @Test
+    void shouldForgetSlicesThatLeftTheWindow() {
+        SlidingHyperLogLog sketch = new SlidingHyperLogLog(6, 4, WINDOW);
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 10; i++) {
+            sketch.add(random.nextLong(), 0L);
+        }
+        sketch.add(random.nextLong(), 45_000L);
+
+        assertTrue(sketch.estimate(45_000L) >= 10);
+        assertEquals(1, sketch.estimate(WINDOW + 1_000L));
+        assertEquals(0, sketch.estimate(3 * WINDOW));
+    }
+
+    @Test
+    void shouldRejectInvalidPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new SlidingHyperLogLog(3, 4, WINDOW));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingHyperLogLog(17, 4, WINDOW));
+    }
+}
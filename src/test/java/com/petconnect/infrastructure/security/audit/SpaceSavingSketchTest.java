@@ -0,0 +1,64 @@
+package com.petconnect.infrastructure.security.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    void shouldCountExactlyWhileUnderCapacity() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(4);
+        for (int i = 0; i < 5; i++) {
+            sketch.offer("10.0.0.1");
+        }
+        sketch.offer("10.0.0.2");
+
+        List<HeavyHitter> top = sketch.snapshot();
+
+        assertEquals(2, top.size());
+        assertEquals("10.0.0.1", top.get(0).getKey());
+        assertEquals(5, top.get(0).getCount());
+        assertEquals(0, top.get(0).getError());
+    }
+
+    @Test
+    void shouldKeepHeavyHittersWithBoundedMemoryUnderHighCardinality() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(16);
+        int total = 0;
+        for (int i = 0; i < 20_000; i++) {
+            sketch.offer("scanner-" + (i % 3));
+            sketch.offer("10.1." + (i / 250) + "." + (i % 250));
+            total += 2;
+        }
+
+        List<HeavyHitter> top = sketch.snapshot();
+
+        assertEquals(16, top.size());
+        for (int i = 0; i < 3; i++) {
+            HeavyHitter hitter = top.get(i);
+            assertTrue(hitter.getKey().startsWith("scanner-"));
+            long trueCount = 20_000 / 3 + (i < 20_000 % 3 ? 1 : 0);
+            assertTrue(hitter.getCount() >= trueCount);
+            assertTrue(hitter.getCount() - hitter.getError() <= trueCount);
+            assertTrue(hitter.getError() <= total / 16);
+        }
+    }
+
+    @Test
+    void shouldMergeWindowsAndLimitResult() {
+        List<HeavyHitter> current = List.of(hitter("a", 5), hitter("b", 2));
+        List<HeavyHitter> previous = List.of(hitter("b", 4), hitter("c", 1));
+
+        List<HeavyHitter> merged = SpaceSavingSketch.merge(current, previous, 2);
+
+        assertEquals(List.of("b", "a"), merged.stream().map(HeavyHitter::getKey).toList());
+        assertEquals(6, merged.get(0).getCount());
+    }
+
+    private static HeavyHitter hitter(String key, long count) {
+        return HeavyHitter.builder().key(key).count(count).build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.petconnect.infrastructure.security.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldNeverReturnFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        String[] values = new String[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.put(values[i]);
+        }
+
+        for (String value : values) {
+            assertTrue(filter.mightContain(value));
+        }
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearConfiguredValue() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < probes * 0.02, "falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    void shouldRejectInvalidFalsePositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 1.0));
+    }
+}
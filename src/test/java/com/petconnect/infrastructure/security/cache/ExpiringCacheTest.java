@@ -0,0 +1,98 @@
+package com.petconnect.infrastructure.security.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheTest {
+
+    @Test
+    void shouldCountHitsAndMisses() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+        cache.put("key", "value");
+
+        assertEquals("value", cache.getIfPresent("key"));
+        assertNull(cache.getIfPresent("missing"));
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRatio());
+    }
+
+    @Test
+    void shouldNeverExceedMaxSize() {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(3, Duration.ofMinutes(1));
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i);
+        }
+
+        assertTrue(cache.size() <= 3);
+        assertEquals(7, cache.stats().getEvictions());
+    }
+
+    @Test
+    void shouldExpireEntriesAtTheirOwnDeadline() {
+        MutableClock clock = new MutableClock();
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(10), clock);
+
+        cache.put("short", "a", clock.millis() + 1_000);
+        cache.put("long", "b");
+
+        clock.advance(Duration.ofSeconds(2));
+
+        assertNull(cache.getIfPresent("short"));
+        assertEquals("b", cache.getIfPresent("long"));
+    }
+
+    @Test
+    void shouldCapExpiryAtDefaultTtl() {
+        MutableClock clock = new MutableClock();
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofSeconds(5), clock);
+
+        cache.put("key", "value", clock.millis() + Duration.ofHours(1).toMillis());
+        clock.advance(Duration.ofSeconds(6));
+
+        assertNull(cache.getIfPresent("key"));
+    }
+
+    @Test
+    void shouldInvalidateByPredicate() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", "keep");
+        cache.put("b", "drop");
+
+        cache.invalidateIf("drop"::equals);
+
+        assertEquals("keep", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
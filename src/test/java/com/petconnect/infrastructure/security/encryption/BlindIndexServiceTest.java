@@ -0,0 +1,33 @@
+package com.petconnect.infrastructure.security.encryption;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlindIndexServiceTest {
+
+    private final BlindIndexService blindIndexService = new BlindIndexService("test-blind-index-key");
+
+    @Test
+    void shouldBeDeterministicAndIgnoreCaseAndSurroundingSpaces() {
+        String index = blindIndexService.emailIndex("user@example.com");
+
+        assertEquals(index, blindIndexService.emailIndex("user@example.com"));
+        assertEquals(index, blindIndexService.emailIndex("  User@Example.COM "));
+        assertNotEquals(index, blindIndexService.emailIndex("other@example.com"));
+        assertEquals(43, index.length());
+    }
+
+    @Test
+    void shouldDependOnKey() {
+        BlindIndexService otherKey = new BlindIndexService("another-key");
+
+        assertNotEquals(blindIndexService.emailIndex("user@example.com"), otherKey.emailIndex("user@example.com"));
+    }
+
+    @Test
+    void shouldReturnNullForMissingEmail() {
+        assertNull(blindIndexService.emailIndex(null));
+        assertNull(blindIndexService.emailIndex("  "));
+    }
+}
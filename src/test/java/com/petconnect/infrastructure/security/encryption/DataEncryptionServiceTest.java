@@ -4,8 +4,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -140,4 +151,159 @@ class DataEncryptionServiceTest {
             assertEquals(data, decrypted, "Data integrity failed for: " + data);
         }
     }
+
+    @Test
+    void shouldWriteVersionedGcmHeader() {
+        String encrypted = dataEncryptionService.encryptSensitiveData("user@example.com");
+        assertTrue(encrypted.startsWith(DataEncryptionService.ENCRYPTED_PREFIX));
+        byte[] data = Base64.getDecoder().decode(encrypted.substring(DataEncryptionService.ENCRYPTED_PREFIX.length()));
+
+        assertEquals(DataEncryptionService.FORMAT_VERSION, data[0]);
+        assertEquals(1, data[1]);
+        assertEquals(14 + "user@example.com".length() + 16, data.length);
+    }
+
+    @Test
+    void shouldDecryptLegacyCbcValues() throws Exception {
+        String legacy = encryptLegacyCbc("legacy@example.com", new byte[16]);
+        byte[] versionLikeIv = new byte[16];
+        versionLikeIv[0] = DataEncryptionService.FORMAT_VERSION;
+        versionLikeIv[1] = 1;
+        String legacyWithVersionByte = encryptLegacyCbc("legacy@example.com", versionLikeIv);
+
+        assertEquals("legacy@example.com", dataEncryptionService.decryptSensitiveData(legacy));
+        assertEquals("legacy@example.com", dataEncryptionService.decryptSensitiveData(legacyWithVersionByte));
+    }
+
+    @Test
+    void shouldNotFallBackToCbcForUnrecognisedValuesWithBadGcmTag() throws Exception {
+        byte[] versionLikeIv = new byte[16];
+        versionLikeIv[0] = DataEncryptionService.FORMAT_VERSION;
+        String shortValue = encryptLegacyCbc("a@b.co", versionLikeIv);
+        String longValue = encryptLegacyCbc("legacy@example.com", versionLikeIv);
+
+        assertThrows(SecurityException.class, () -> dataEncryptionService.decryptSensitiveData(shortValue));
+
+        ReflectionTestUtils.setField(dataEncryptionService, "legacyDetection", false);
+        assertThrows(SecurityException.class, () -> dataEncryptionService.decryptSensitiveData(longValue));
+        assertEquals("legacy@example.com",
+                dataEncryptionService.decryptSensitiveData(encryptLegacyCbc("legacy@example.com", new byte[16])));
+    }
+
+    @Test
+    void shouldRejectTamperedCiphertext() {
+        String encrypted = dataEncryptionService.encryptSensitiveData("tamper@example.com");
+        byte[] data = Base64.getDecoder().decode(encrypted.substring(DataEncryptionService.ENCRYPTED_PREFIX.length()));
+        data[data.length - 1] ^= 1;
+
+        assertThrows(SecurityException.class, () -> dataEncryptionService.decryptSensitiveData(
+                DataEncryptionService.ENCRYPTED_PREFIX + Base64.getEncoder().encodeToString(data)));
+    }
+
+    @Test
+    void shouldReadUnprefixedGcmValues() {
+        String encrypted = dataEncryptionService.encryptSensitiveData("gcm@example.com");
+        String unprefixed = encrypted.substring(DataEncryptionService.ENCRYPTED_PREFIX.length());
+
+        assertEquals("gcm@example.com", dataEncryptionService.decryptSensitiveData(unprefixed));
+    }
+
+    @Test
+    void shouldDetectEncryptedValuesByPrefix() throws Exception {
+        String legacy = encryptLegacyCbc("legacy-user-with-long-email@example.com", new byte[16]);
+
+        assertTrue(dataEncryptionService.isEncrypted(dataEncryptionService.encryptSensitiveData("a")));
+        assertTrue(dataEncryptionService.isEncrypted(legacy));
+        assertFalse(dataEncryptionService.isEncrypted("user@example.com"));
+        assertFalse(dataEncryptionService.isEncrypted(null));
+
+        Field legacyDetectionField = DataEncryptionService.class.getDeclaredField("legacyDetection");
+        legacyDetectionField.setAccessible(true);
+        legacyDetectionField.set(dataEncryptionService, false);
+
+        assertFalse(dataEncryptionService.isEncrypted(legacy));
+        assertFalse(dataEncryptionService.isEncrypted("QmFzZTY0TG9va2luZ1BsYWluVGV4dFRoYXRJc0xvbmdFbm91Z2hUb01hdGNo"));
+    }
+
+    @Test
+    void shouldRejectCiphertextFromAnotherKey() throws Exception {
+        String encrypted = dataEncryptionService.encryptSensitiveData("user@example.com");
+        DataEncryptionService otherService = new DataEncryptionService();
+        Field encryptionKeyField = DataEncryptionService.class.getDeclaredField("encryptionKey");
+        encryptionKeyField.setAccessible(true);
+        encryptionKeyField.set(otherService, "AnotherSecret987");
+
+        assertThrows(SecurityException.class, () -> otherService.decryptSensitiveData(encrypted));
+    }
+
+    @Test
+    void shouldDecryptWithPreviousKeysAfterRotation() throws Exception {
+        String oldValue = dataEncryptionService.encryptSensitiveData("user@example.com");
+        String legacyValue = encryptLegacyCbc("legacy@example.com", new byte[16]);
+        DataEncryptionService rotatedService = new DataEncryptionService();
+        ReflectionTestUtils.setField(rotatedService, "encryptionKey", "AnotherSecret987");
+        ReflectionTestUtils.setField(rotatedService, "keyId", 2);
+        ReflectionTestUtils.setField(rotatedService, "previousKeys", "1:MySecretKey12345");
+        ReflectionTestUtils.setField(rotatedService, "legacyEncryptionKey", "MySecretKey12345");
+
+        String newValue = rotatedService.encryptSensitiveData("user@example.com");
+
+        assertEquals(2, rotatedService.getActiveKeyId());
+        assertEquals("user@example.com", rotatedService.decryptSensitiveData(oldValue));
+        assertEquals("legacy@example.com", rotatedService.decryptSensitiveData(legacyValue));
+        assertEquals("user@example.com", rotatedService.decryptSensitiveData(newValue));
+        assertThrows(SecurityException.class, () -> dataEncryptionService.decryptSensitiveData(newValue));
+
+        assertTrue(rotatedService.needsReencryption(oldValue));
+        assertTrue(rotatedService.needsReencryption(legacyValue));
+        assertTrue(rotatedService.needsReencryption("plain@example.com"));
+        assertFalse(rotatedService.needsReencryption(newValue));
+        assertFalse(rotatedService.needsReencryption(null));
+        assertFalse(rotatedService.needsReencryption(""));
+    }
+
+    @Test
+    void shouldRequireLegacyKeyAfterRotation() {
+        String oldValue = dataEncryptionService.encryptSensitiveData("user@example.com");
+        DataEncryptionService rotatedService = new DataEncryptionService();
+        ReflectionTestUtils.setField(rotatedService, "encryptionKey", "AnotherSecret987");
+        ReflectionTestUtils.setField(rotatedService, "keyId", 2);
+        ReflectionTestUtils.setField(rotatedService, "previousKeys", "1:MySecretKey12345");
+
+        assertThrows(IllegalStateException.class, rotatedService::validateKeys);
+
+        ReflectionTestUtils.setField(rotatedService, "legacyDetection", false);
+        rotatedService.validateKeys();
+        assertEquals("user@example.com", rotatedService.decryptSensitiveData(oldValue));
+    }
+
+    @Test
+    void shouldEncryptConcurrentlyWithPerThreadCiphers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String value = "user" + i + "@example.com";
+                results.add(executor.submit(() -> value.equals(
+                        dataEncryptionService.decryptSensitiveData(dataEncryptionService.encryptSensitiveData(value)))));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String encryptLegacyCbc(String plainText, byte[] iv) throws Exception {
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE,
+                new SecretKeySpec("MySecretKey12345".getBytes(StandardCharsets.UTF_8), "AES"),
+                new IvParameterSpec(iv));
+        byte[] encrypted = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+        byte[] withIv = new byte[iv.length + encrypted.length];
+        System.arraycopy(iv, 0, withIv, 0, iv.length);
+        System.arraycopy(encrypted, 0, withIv, iv.length, encrypted.length);
+        return Base64.getEncoder().encodeToString(withIv);
+    }
 }
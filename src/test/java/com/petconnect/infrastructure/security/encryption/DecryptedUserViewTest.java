@@ -0,0 +1,96 @@
+package com.petconnect.infrastructure.security.encryption;
+
+import com.petconnect.domain.user.entity.SecurityQuestions;
+import com.petconnect.domain.user.entity.User;
+import com.petconnect.domain.user.entity.UserProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class DecryptedUserViewTest {
+
+    private DataEncryptionService encryptionService;
+    private SensitiveDataDecryptionService decryptionService;
+
+    @BeforeEach
+    void setUp() {
+        DataEncryptionService realService = new DataEncryptionService();
+        ReflectionTestUtils.setField(realService, "encryptionKey", "MySecretKey12345");
+        encryptionService = spy(realService);
+        decryptionService = new SensitiveDataDecryptionService(encryptionService, 1, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void shouldDecryptOnlyFieldsThatAreRead() {
+        User user = encryptedUser();
+        clearInvocations(encryptionService);
+
+        DecryptedUserView view = decryptionService.view(user);
+
+        assertEquals("user@example.com", view.getEmail());
+        verify(encryptionService, times(1)).decryptSensitiveData(anyString());
+    }
+
+    @Test
+    void shouldMemoizeDecryptedValues() {
+        User user = encryptedUser();
+        clearInvocations(encryptionService);
+        DecryptedUserView view = decryptionService.view(user);
+
+        assertEquals("12.345.678/0001-90", view.getCnpj());
+        assertEquals("12.345.678/0001-90", view.getCnpj());
+        assertEquals("Rex", view.getSecurityAnswer1());
+        assertEquals("Rex", view.getSecurityAnswer1());
+
+        verify(encryptionService, times(2)).decryptSensitiveData(anyString());
+    }
+
+    @Test
+    void shouldPassThroughPlainValuesAndMissingParts() {
+        User user = User.builder()
+                .username("tutor")
+                .email("plain@example.com")
+                .build();
+
+        DecryptedUserView view = decryptionService.view(user);
+
+        assertEquals("plain@example.com", view.getEmail());
+        assertNull(view.getContactNumber());
+        assertNull(view.getSecurityAnswer2());
+        assertSame(user, view.getUser());
+        verify(encryptionService, never()).decryptSensitiveData(anyString());
+    }
+
+    @Test
+    void shouldReturnOriginalValueWhenDecryptionFails() {
+        String unreadable = DataEncryptionService.ENCRYPTED_PREFIX + "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA";
+        User user = User.builder().username("tutor").email(unreadable).build();
+
+        assertEquals(unreadable, decryptionService.view(user).getEmail());
+    }
+
+    @Test
+    void shouldReturnNullViewForNullUser() {
+        assertNull(decryptionService.view(null));
+    }
+
+    private User encryptedUser() {
+        return User.builder()
+                .username("tutor")
+                .email(encryptionService.encryptSensitiveData("user@example.com"))
+                .userProfile(UserProfile.builder()
+                        .nome("Tutor")
+                        .contactNumber(encryptionService.encryptSensitiveData("11987654321"))
+                        .cnpj(encryptionService.encryptSensitiveData("12.345.678/0001-90"))
+                        .build())
+                .securityQuestions(SecurityQuestions.builder()
+                        .question1("Nome do primeiro pet?")
+                        .answer1(encryptionService.encryptSensitiveData("Rex"))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.petconnect.infrastructure.security.encryption;
+
+import com.petconnect.infrastructure.adapter.persistence.entity.LojistaJpaEntity;
+import com.petconnect.infrastructure.adapter.persistence.entity.UserJpaEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncryptedFieldMetadataTest {
+
+    @Test
+    void shouldDiscoverAnnotatedFieldsOnce() {
+        EncryptedFieldMetadata metadata = EncryptedFieldMetadata.of(UserJpaEntity.class);
+
+        assertSame(metadata, EncryptedFieldMetadata.of(UserJpaEntity.class));
+        assertEquals(Set.of("email", "contactNumber", "cnpj", "crmv",
+                        "securityAnswer1", "securityAnswer2", "securityAnswer3"),
+                metadata.getFields().stream().map(EncryptedFieldMetadata.EncryptedField::getName)
+                        .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void shouldReadAndWriteThroughHandles() {
+        LojistaJpaEntity lojista = LojistaJpaEntity.builder().cnpj("12.345.678/0001-90").build();
+        EncryptedFieldMetadata.EncryptedField cnpj = EncryptedFieldMetadata.of(LojistaJpaEntity.class).getFields()
+                .stream().filter(field -> field.getName().equals("cnpj")).findFirst().orElseThrow();
+
+        assertEquals("12.345.678/0001-90", cnpj.get(lojista));
+        cnpj.set(lojista, "enc:valor");
+        assertEquals("enc:valor", lojista.getCnpj());
+    }
+
+    @Test
+    void shouldIncludeInheritedFields() {
+        List<String> names = EncryptedFieldMetadata.of(Child.class).getFields().stream()
+                .map(EncryptedFieldMetadata.EncryptedField::getName).collect(Collectors.toList());
+
+        assertEquals(List.of("own", "inherited"), names);
+    }
+
+    @Test
+    void shouldBeEmptyForClassesWithoutAnnotatedFields() {
+        assertTrue(EncryptedFieldMetadata.of(String.class).isEmpty());
+    }
+
+    @Test
+    void shouldRejectNonStringFields() {
+        assertThrows(IllegalStateException.class, () -> EncryptedFieldMetadata.of(InvalidEntity.class));
+    }
+
+    static class Parent {
+        @Encrypted
+        private String inherited;
+    }
+
+    static class Child extends Parent {
+        @Encrypted
+        private String own;
+        private String plain;
+    }
+
+    static class InvalidEntity {
+        @Encrypted
+        private Integer number;
+    }
+}
@@ -0,0 +1,107 @@
+package com.petconnect.infrastructure.security.encryption;
+
+import com.petconnect.domain.user.entity.User;
+import com.petconnect.domain.user.entity.UserProfile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SensitiveDataDecryptionServiceTest {
+
+    private DataEncryptionService encryptionService;
+    private SensitiveDataDecryptionService parallelService;
+
+    @BeforeEach
+    void setUp() {
+        encryptionService = new DataEncryptionService();
+        ReflectionTestUtils.setField(encryptionService, "encryptionKey", "MySecretKey12345");
+        parallelService = new SensitiveDataDecryptionService(encryptionService, 4, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelService.shutdown();
+    }
+
+    @Test
+    void shouldDecryptLargeBatchInParallelPreservingOrder() {
+        List<User> users = users(500);
+
+        List<User> decrypted = parallelService.decryptAll(users);
+
+        assertEquals(500, decrypted.size());
+        for (int i = 0; i < decrypted.size(); i++) {
+            assertEquals("user" + i + "@example.com", decrypted.get(i).getEmail());
+            assertEquals("1198765" + i, decrypted.get(i).getUserProfile().getContactNumber());
+        }
+    }
+
+    @Test
+    void shouldIsolateRowsThatFailToDecrypt() {
+        List<User> users = users(40);
+        String unreadable = DataEncryptionService.ENCRYPTED_PREFIX + "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA";
+        users.set(7, User.builder().username("broken").email(unreadable).build());
+
+        List<User> decrypted = parallelService.decryptAll(users);
+
+        assertEquals(unreadable, decrypted.get(7).getEmail());
+        assertEquals("user6@example.com", decrypted.get(6).getEmail());
+        assertEquals("user8@example.com", decrypted.get(8).getEmail());
+    }
+
+    @Test
+    void shouldStaySerialBelowThreshold() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<String> emails = parallelService.decryptAll(users(10), view -> {
+            threads.add(Thread.currentThread().getName());
+            return view.getEmail();
+        });
+
+        assertEquals(Set.of(Thread.currentThread().getName()), threads);
+        assertEquals("user9@example.com", emails.get(9));
+    }
+
+    @Test
+    void shouldMapViewsInParallelAboveThreshold() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<String> emails = parallelService.decryptAll(users(200), view -> {
+            threads.add(Thread.currentThread().getName());
+            return view.getEmail();
+        });
+
+        assertEquals(200, emails.size());
+        assertEquals("user0@example.com", emails.get(0));
+        assertEquals("user199@example.com", emails.get(199));
+        assertTrue(threads.stream().anyMatch(name -> name.startsWith("bulk-decrypt-")));
+    }
+
+    @Test
+    void shouldReturnEmptyListForEmptyInput() {
+        assertTrue(parallelService.decryptAll(List.of()).isEmpty());
+        assertTrue(parallelService.decryptAll(null).isEmpty());
+    }
+
+    private List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .username("user" + i)
+                    .email(encryptionService.encryptSensitiveData("user" + i + "@example.com"))
+                    .userProfile(UserProfile.builder()
+                            .contactNumber(encryptionService.encryptSensitiveData("1198765" + i))
+                            .build())
+                    .build());
+        }
+        return users;
+    }
+}
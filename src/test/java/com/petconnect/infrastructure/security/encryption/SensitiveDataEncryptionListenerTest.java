@@ -0,0 +1,73 @@
+package com.petconnect.infrastructure.security.encryption;
+
+import com.petconnect.infrastructure.adapter.persistence.entity.LojistaJpaEntity;
+import com.petconnect.infrastructure.adapter.persistence.entity.UserJpaEntity;
+import com.petconnect.infrastructure.adapter.persistence.entity.VeterinarioJpaEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SensitiveDataEncryptionListenerTest {
+
+    private DataEncryptionService encryptionService;
+    private BlindIndexService blindIndexService;
+    private SensitiveDataEncryptionListener listener;
+
+    @BeforeEach
+    void setUp() {
+        encryptionService = new DataEncryptionService();
+        ReflectionTestUtils.setField(encryptionService, "encryptionKey", "MySecretKey12345");
+        blindIndexService = new BlindIndexService("TestBlindIndexKey");
+        listener = new SensitiveDataEncryptionListener();
+        listener.setEncryptionService(encryptionService);
+        listener.setBlindIndexService(blindIndexService);
+    }
+
+    @Test
+    void shouldEncryptAnnotatedUserFieldsAndIndexEmail() {
+        UserJpaEntity user = UserJpaEntity.builder()
+                .username("tutor")
+                .email("Tutor@Example.com")
+                .contactNumber("11987654321")
+                .securityQuestion1("Nome do primeiro pet?")
+                .securityAnswer1("Rex")
+                .nome("Tutor")
+                .build();
+
+        listener.encryptSensitiveData(user);
+
+        assertTrue(user.getEmail().startsWith(DataEncryptionService.ENCRYPTED_PREFIX));
+        assertEquals("Tutor@Example.com", encryptionService.decryptSensitiveData(user.getEmail()));
+        assertEquals(blindIndexService.emailIndex("tutor@example.com"), user.getEmailBidx());
+        assertEquals("11987654321", encryptionService.decryptSensitiveData(user.getContactNumber()));
+        assertEquals("Rex", encryptionService.decryptSensitiveData(user.getSecurityAnswer1()));
+        assertEquals("Nome do primeiro pet?", user.getSecurityQuestion1());
+        assertEquals("Tutor", user.getNome());
+        assertNull(user.getCnpj());
+    }
+
+    @Test
+    void shouldEncryptLojistaAndVeterinarioDocuments() {
+        LojistaJpaEntity lojista = LojistaJpaEntity.builder().nome("Pet Shop").cnpj("12.345.678/0001-90").build();
+        VeterinarioJpaEntity veterinario = VeterinarioJpaEntity.builder().nome("Vet").crmv("CRMV-SP 12345").build();
+
+        listener.encryptSensitiveData(lojista);
+        listener.encryptSensitiveData(veterinario);
+
+        assertEquals("12.345.678/0001-90", encryptionService.decryptSensitiveData(lojista.getCnpj()));
+        assertEquals("CRMV-SP 12345", encryptionService.decryptSensitiveData(veterinario.getCrmv()));
+        assertEquals("Pet Shop", lojista.getNome());
+    }
+
+    @Test
+    void shouldNotEncryptTwice() {
+        String encrypted = encryptionService.encryptSensitiveData("12.345.678/0001-90");
+        LojistaJpaEntity lojista = LojistaJpaEntity.builder().cnpj(encrypted).build();
+
+        listener.encryptSensitiveData(lojista);
+
+        assertSame(encrypted, lojista.getCnpj());
+    }
+}
@@ -0,0 +1,324 @@
+package com.petconnect.infrastructure.security.encryption;
+
+import com.petconnect.domain.security.entity.EncryptionRotationCheckpoint;
+import com.petconnect.domain.security.entity.JwtSigningKey;
+import com.petconnect.domain.security.port.EncryptionRotationCheckpointRepositoryPort;
+import com.petconnect.domain.security.port.JwtSigningKeyRepositoryPort;
+import com.petconnect.infrastructure.adapter.persistence.repository.UserSensitiveDataJdbcRepository;
+import com.petconnect.infrastructure.adapter.persistence.repository.UserSensitiveDataJdbcRepository.SensitiveRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SensitiveDataReencryptionJobTest {
+
+    private static final String KEY = "MySecretKey12345";
+    private static final String NEW_KEY = "AnotherSecret987";
+
+    @Mock
+    private UserSensitiveDataJdbcRepository sensitiveDataRepository;
+
+    @Mock
+    private EncryptionRotationCheckpointRepositoryPort checkpointRepository;
+
+    @Mock
+    private JwtSigningKeyRepositoryPort signingKeyRepository;
+
+    private DataEncryptionService encryptionService;
+    private SensitiveDataReencryptionJob job;
+
+    @BeforeEach
+    void setUp() {
+        encryptionService = new DataEncryptionService();
+        ReflectionTestUtils.setField(encryptionService, "encryptionKey", KEY);
+        job = newJob(encryptionService);
+        lenient().when(checkpointRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void shouldRewriteLegacyAndPlainValuesWithPrefix() throws Exception {
+        UUID id = UUID.randomUUID();
+        String current = encryptionService.encryptSensitiveData("current@example.com");
+        String[] values = {current, legacyCbc("11987654321"), "12.345.678/0001-90", null,
+                "Rex", "", legacyCbc("Ribeirão Preto")};
+        when(sensitiveDataRepository.findBatchAfter(any(), eq(2)))
+                .thenReturn(List.of(new SensitiveRow(id, values)))
+                .thenReturn(List.of());
+        when(sensitiveDataRepository.update(eq(id), any(), any())).thenReturn(true);
+
+        assertTrue(job.runToCompletion());
+
+        ArgumentCaptor<String[]> written = ArgumentCaptor.forClass(String[].class);
+        verify(sensitiveDataRepository).update(eq(id), same(values), written.capture());
+        String[] result = written.getValue();
+        assertSame(current, result[0]);
+        assertEquals("11987654321", encryptionService.decryptSensitiveData(result[1]));
+        assertEquals("12.345.678/0001-90", encryptionService.decryptSensitiveData(result[2]));
+        assertNull(result[3]);
+        assertEquals("Rex", encryptionService.decryptSensitiveData(result[4]));
+        assertEquals("", result[5]);
+        assertEquals("Ribeirão Preto", encryptionService.decryptSensitiveData(result[6]));
+
+        ReencryptionProgress progress = job.getProgress();
+        assertEquals(1, progress.getRowsScanned());
+        assertEquals(1, progress.getRowsRewritten());
+        assertNotNull(progress.getCompletedAt());
+    }
+
+    @Test
+    void shouldKeepBase64LookingPlainTextWhoseLegacyDecryptionIsGarbage() throws Exception {
+        String plainToken = base64PlainTextAcceptedByLegacyCbc();
+        UUID id = UUID.randomUUID();
+        String[] values = {plainToken, null, null, null, null, null, null};
+        when(sensitiveDataRepository.findBatchAfter(any(), eq(2)))
+                .thenReturn(List.of(new SensitiveRow(id, values)))
+                .thenReturn(List.of());
+        when(sensitiveDataRepository.update(eq(id), any(), any())).thenReturn(true);
+
+        assertTrue(job.runToCompletion());
+
+        ArgumentCaptor<String[]> written = ArgumentCaptor.forClass(String[].class);
+        verify(sensitiveDataRepository).update(eq(id), same(values), written.capture());
+        assertEquals(plainToken, encryptionService.decryptSensitiveData(written.getValue()[0]));
+    }
+
+    @Test
+    void shouldRejectImplausibleDecryptedText() {
+        assertTrue(SensitiveDataReencryptionJob.isPrintableText("Ribeirão Preto\n"));
+        assertFalse(SensitiveDataReencryptionJob.isPrintableText(""));
+        assertFalse(SensitiveDataReencryptionJob.isPrintableText("abc\uFFFD"));
+        assertFalse(SensitiveDataReencryptionJob.isPrintableText("abc\u0001"));
+        assertFalse(SensitiveDataReencryptionJob.isPrintableText("abc\uD800"));
+    }
+
+    @Test
+    void shouldSkipRowsAlreadyInCurrentFormatAndWalkBatchesById() throws Exception {
+        UUID first = new UUID(0L, 1L);
+        UUID second = new UUID(0L, 2L);
+        when(sensitiveDataRepository.findBatchAfter(any(), eq(2)))
+                .thenReturn(List.of(row(first, encryptionService), row(second, encryptionService)))
+                .thenReturn(List.of());
+
+        assertTrue(job.runToCompletion());
+
+        verify(sensitiveDataRepository).findBatchAfter(new UUID(0L, 0L), 2);
+        verify(sensitiveDataRepository).findBatchAfter(second, 2);
+        verify(sensitiveDataRepository, never()).update(any(), any(), any());
+    }
+
+    @Test
+    void shouldReencryptValuesFromPreviousKey() throws Exception {
+        UUID id = new UUID(0L, 1L);
+        SensitiveRow oldRow = row(id, encryptionService);
+        DataEncryptionService rotatedService = rotatedService();
+        job = newJob(rotatedService);
+        when(sensitiveDataRepository.findBatchAfter(any(), eq(2)))
+                .thenReturn(List.of(oldRow))
+                .thenReturn(List.of());
+        when(sensitiveDataRepository.update(eq(id), any(), any())).thenReturn(true);
+
+        assertTrue(job.runToCompletion());
+
+        ArgumentCaptor<String[]> written = ArgumentCaptor.forClass(String[].class);
+        verify(sensitiveDataRepository).update(eq(id), same(oldRow.getValues()), written.capture());
+        assertFalse(rotatedService.needsReencryption(written.getValue()[0]));
+        assertEquals("user@example.com", rotatedService.decryptSensitiveData(written.getValue()[0]));
+        assertEquals(2, job.getProgress().getTargetKeyId());
+    }
+
+    @Test
+    void shouldReencryptSigningKeysBeforeCompleting() throws Exception {
+        String oldPrivateKey = encryptionService.encryptSensitiveData("pkcs8-private-key");
+        DataEncryptionService rotatedService = rotatedService();
+        job = newJob(rotatedService);
+        JwtSigningKey oldKey = JwtSigningKey.builder().keyId("old").privateKey(oldPrivateKey).build();
+        JwtSigningKey newKey = JwtSigningKey.builder().keyId("new")
+                .privateKey(rotatedService.encryptSensitiveData("pkcs8-private-key")).build();
+        when(sensitiveDataRepository.findBatchAfter(any(), eq(2))).thenReturn(List.of());
+        when(signingKeyRepository.findUnexpired(any())).thenReturn(List.of(oldKey, newKey));
+        when(signingKeyRepository.updatePrivateKey(eq("old"), eq(oldPrivateKey), anyString())).thenReturn(true);
+
+        assertTrue(job.runToCompletion());
+
+        ArgumentCaptor<String> written = ArgumentCaptor.forClass(String.class);
+        verify(signingKeyRepository).updatePrivateKey(eq("old"), eq(oldPrivateKey), written.capture());
+        verify(signingKeyRepository, never()).updatePrivateKey(eq("new"), any(), any());
+        assertFalse(rotatedService.needsReencryption(written.getValue()));
+        assertEquals("pkcs8-private-key", rotatedService.decryptSensitiveData(written.getValue()));
+    }
+
+    @Test
+    void shouldNotCompleteWhenSigningKeysCannotBeRead() throws Exception {
+        when(sensitiveDataRepository.findBatchAfter(any(), eq(2))).thenReturn(List.of());
+        when(signingKeyRepository.findUnexpired(any())).thenThrow(new RuntimeException("db down"));
+
+        assertThrows(RuntimeException.class, () -> job.runToCompletion());
+
+        verify(checkpointRepository, never()).save(argThat(checkpoint -> checkpoint.getCompletedAt() != null));
+    }
+
+    @Test
+    void shouldResumeFromPersistedCheckpointOfActiveKey() throws Exception {
+        UUID lastId = new UUID(0L, 42L);
+        when(checkpointRepository.findByJobName(SensitiveDataReencryptionJob.JOB_NAME))
+                .thenReturn(Optional.of(EncryptionRotationCheckpoint.builder()
+                        .jobName(SensitiveDataReencryptionJob.JOB_NAME)
+                        .targetKeyId(1)
+                        .lastId(lastId)
+                        .rowsScanned(42)
+                        .startedAt(LocalDateTime.now())
+                        .updatedAt(LocalDateTime.now())
+                        .build()));
+        when(sensitiveDataRepository.findBatchAfter(lastId, 2)).thenReturn(List.of());
+
+        assertTrue(job.runToCompletion());
+
+        verify(sensitiveDataRepository, never()).findBatchAfter(eq(new UUID(0L, 0L)), anyInt());
+        assertEquals(42, job.getProgress().getRowsScanned());
+    }
+
+    @Test
+    void shouldRestartWhenCheckpointTargetsAnotherKey() throws Exception {
+        when(checkpointRepository.findByJobName(SensitiveDataReencryptionJob.JOB_NAME))
+                .thenReturn(Optional.of(EncryptionRotationCheckpoint.builder()
+                        .jobName(SensitiveDataReencryptionJob.JOB_NAME)
+                        .targetKeyId(7)
+                        .lastId(new UUID(0L, 42L))
+                        .build()));
+        when(sensitiveDataRepository.findBatchAfter(new UUID(0L, 0L), 2)).thenReturn(List.of());
+
+        assertTrue(job.runToCompletion());
+
+        assertEquals(1, job.getProgress().getTargetKeyId());
+    }
+
+    @Test
+    void shouldSaveCheckpointAfterEachBatch() throws Exception {
+        UUID first = new UUID(0L, 1L);
+        UUID second = new UUID(0L, 2L);
+        UUID third = new UUID(0L, 3L);
+        when(sensitiveDataRepository.findBatchAfter(any(), eq(2)))
+                .thenReturn(List.of(row(first, encryptionService), row(second, encryptionService)))
+                .thenReturn(List.of(row(third, encryptionService)))
+                .thenReturn(List.of());
+
+        assertTrue(job.runToCompletion());
+
+        ArgumentCaptor<EncryptionRotationCheckpoint> saved = ArgumentCaptor.forClass(EncryptionRotationCheckpoint.class);
+        verify(checkpointRepository, times(3)).save(saved.capture());
+        List<EncryptionRotationCheckpoint> checkpoints = saved.getAllValues();
+        assertEquals(second, checkpoints.get(0).getLastId());
+        assertEquals(2, checkpoints.get(0).getRowsScanned());
+        assertNull(checkpoints.get(0).getCompletedAt());
+        assertEquals(third, checkpoints.get(1).getLastId());
+        assertEquals(3, checkpoints.get(1).getRowsScanned());
+        assertNotNull(checkpoints.get(2).getCompletedAt());
+    }
+
+    @Test
+    void shouldRetryConflictingRowWithFreshValues() throws Exception {
+        UUID id = new UUID(0L, 1L);
+        String[] stale = {"old@example.com", null, null, null, null, null, null};
+        String[] fresh = {"new@example.com", null, null, null, null, null, null};
+        when(sensitiveDataRepository.findBatchAfter(any(), eq(2)))
+                .thenReturn(List.of(new SensitiveRow(id, stale)))
+                .thenReturn(List.of());
+        when(sensitiveDataRepository.update(eq(id), same(stale), any())).thenReturn(false);
+        when(sensitiveDataRepository.findById(id)).thenReturn(Optional.of(new SensitiveRow(id, fresh)));
+        when(sensitiveDataRepository.update(eq(id), same(fresh), any())).thenReturn(true);
+
+        assertTrue(job.runToCompletion());
+
+        ArgumentCaptor<String[]> written = ArgumentCaptor.forClass(String[].class);
+        verify(sensitiveDataRepository).update(eq(id), same(fresh), written.capture());
+        assertEquals("new@example.com", encryptionService.decryptSensitiveData(written.getValue()[0]));
+        assertEquals(1, job.getProgress().getRowsRewritten());
+        assertEquals(0, job.getProgress().getConflicts());
+    }
+
+    @Test
+    void shouldStopBeforeNextBatchAndKeepCheckpoint() throws Exception {
+        job.stop();
+
+        assertFalse(job.runToCompletion());
+
+        verifyNoInteractions(sensitiveDataRepository);
+        verify(checkpointRepository, never()).save(any());
+    }
+
+    private SensitiveDataReencryptionJob newJob(DataEncryptionService service) {
+        return new SensitiveDataReencryptionJob(sensitiveDataRepository, service, checkpointRepository,
+                signingKeyRepository, TransactionOperations.withoutTransaction(), false, 2, 0,
+                Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC));
+    }
+
+    private static DataEncryptionService rotatedService() {
+        DataEncryptionService service = new DataEncryptionService();
+        ReflectionTestUtils.setField(service, "encryptionKey", NEW_KEY);
+        ReflectionTestUtils.setField(service, "keyId", 2);
+        ReflectionTestUtils.setField(service, "previousKeys", "1:" + KEY);
+        ReflectionTestUtils.setField(service, "legacyEncryptionKey", KEY);
+        return service;
+    }
+
+    private static SensitiveRow row(UUID id, DataEncryptionService service) {
+        return new SensitiveRow(id, new String[] {service.encryptSensitiveData("user@example.com"),
+                null, null, null, null, null, null});
+    }
+
+    /**
+     * Valor em claro com forma de Base64 que o CBC legado "decifra" sem erro (padding válido por acaso)
+     */
+    private String base64PlainTextAcceptedByLegacyCbc() {
+        for (int seed = 0; seed < 100_000; seed++) {
+            byte[] bytes = new byte[32];
+            new Random(seed).nextBytes(bytes);
+            String candidate = Base64.getEncoder().encodeToString(bytes);
+            try {
+                if (!SensitiveDataReencryptionJob.isPrintableText(encryptionService.decryptSensitiveData(candidate))) {
+                    return candidate;
+                }
+            } catch (SecurityException e) {
+                // padding inválido: o caso comum
+            }
+        }
+        throw new IllegalStateException("nenhum candidato encontrado");
+    }
+
+    private static String legacyCbc(String plainText) throws Exception {
+        byte[] iv = new byte[16];
+        iv[0] = 7;
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY.getBytes(StandardCharsets.UTF_8), "AES"),
+                new IvParameterSpec(iv));
+        byte[] encrypted = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+        byte[] withIv = new byte[iv.length + encrypted.length];
+        System.arraycopy(iv, 0, withIv, 0, iv.length);
+        System.arraycopy(encrypted, 0, withIv, iv.length, encrypted.length);
+        return Base64.getEncoder().encodeToString(withIv);
+    }
+}
@@ -0,0 +1,91 @@
+package com.petconnect.infrastructure.security.hashing;
+
+import com.petconnect.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor hashingExecutor;
+    private ExecutorService callers;
+
+    @AfterEach
+    void tearDown() {
+        if (hashingExecutor != null) {
+            hashingExecutor.shutdown();
+        }
+        if (callers != null) {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRunTaskAndRecordMetrics() {
+        hashingExecutor = new PasswordHashingExecutor(2, 4, 1000, 1);
+
+        String result = hashingExecutor.execute(() -> "hash");
+
+        assertEquals("hash", result);
+        PasswordHashingMetrics metrics = hashingExecutor.getMetrics();
+        assertEquals(2, metrics.getPoolSize());
+        assertEquals(4, metrics.getQueueCapacity());
+        assertEquals(0, metrics.getRejectedTasks());
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenQueueIsFull() throws Exception {
+        hashingExecutor = new PasswordHashingExecutor(1, 1, 5000, 3);
+        callers = Executors.newFixedThreadPool(2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        callers.submit(() -> hashingExecutor.execute(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> hashingExecutor.execute(() -> true));
+        waitForQueueDepth(1);
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> hashingExecutor.execute(() -> true));
+
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1, hashingExecutor.getMetrics().getRejectedTasks());
+        release.countDown();
+    }
+
+    @Test
+    void shouldFailFastWhenWaitExceedsLimit() {
+        hashingExecutor = new PasswordHashingExecutor(1, 1, 50, 1);
+
+        assertThrows(ServiceUnavailableException.class, () -> hashingExecutor.execute(() -> {
+            Thread.sleep(1000);
+            return true;
+        }));
+        assertEquals(1, hashingExecutor.getMetrics().getTimedOutTasks());
+    }
+
+    @Test
+    void shouldPropagateTaskExceptions() {
+        hashingExecutor = new PasswordHashingExecutor(1, 1, 1000, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> hashingExecutor.execute(() -> {
+            throw new IllegalArgumentException("invalid hash");
+        }));
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (hashingExecutor.getMetrics().getQueueDepth() < depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
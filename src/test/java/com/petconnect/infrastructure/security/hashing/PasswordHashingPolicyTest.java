@@ -0,0 +1,88 @@
+package com.petconnect.infrastructure.security.hashing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingPolicyTest {
+
+    private static final String PASSWORD = "Senha@Forte123";
+    private static final long TARGET_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void shouldPickHighestBcryptCostWithinTarget() {
+        int strength = PasswordHashingPolicy.chooseBcryptStrength(10, 16, TARGET_NANOS,
+                cost -> TimeUnit.MILLISECONDS.toNanos(25L << (cost - 10)));
+
+        assertEquals(12, strength);
+    }
+
+    @Test
+    void shouldKeepMinimumBcryptCostOnSlowHardware() {
+        int strength = PasswordHashingPolicy.chooseBcryptStrength(10, 16, TARGET_NANOS,
+                cost -> TimeUnit.MILLISECONDS.toNanos(300L << (cost - 10)));
+
+        assertEquals(10, strength);
+    }
+
+    @Test
+    void shouldCapBcryptCostAtMaximum() {
+        int strength = PasswordHashingPolicy.chooseBcryptStrength(10, 13, TARGET_NANOS, cost -> 1_000L);
+
+        assertEquals(13, strength);
+    }
+
+    @Test
+    void shouldScaleArgon2IterationsToTarget() {
+        long twentyMillis = TimeUnit.MILLISECONDS.toNanos(20);
+
+        assertEquals(10, PasswordHashingPolicy.chooseArgon2Iterations(2, 10, TARGET_NANOS, twentyMillis));
+        assertEquals(6, PasswordHashingPolicy.chooseArgon2Iterations(2, 6, TARGET_NANOS, twentyMillis));
+        assertEquals(2, PasswordHashingPolicy.chooseArgon2Iterations(2, 6, TARGET_NANOS, TARGET_NANOS * 4));
+    }
+
+    @Test
+    void shouldVerifyAndUpgradeLegacyUnprefixedHash() {
+        PasswordEncoder encoder = policy("bcrypt", 4).createEncoder();
+        String legacyHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        assertTrue(encoder.matches(PASSWORD, legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+
+        String upgraded = encoder.encode(PASSWORD);
+        assertTrue(upgraded.startsWith("{bcrypt}"));
+        assertFalse(encoder.upgradeEncoding(upgraded));
+    }
+
+    @Test
+    void shouldUpgradeHashBelowCurrentCost() {
+        PasswordEncoder encoder = policy("bcrypt", 5).createEncoder();
+        String weakHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        assertTrue(encoder.matches(PASSWORD, weakHash));
+        assertTrue(encoder.upgradeEncoding(weakHash));
+    }
+
+    @Test
+    void shouldMigrateBcryptHashesToArgon2WhenConfigured() {
+        PasswordHashingPolicy policy = policy("argon2id", 4);
+        PasswordEncoder encoder = policy.createEncoder();
+        String bcryptHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        assertTrue(encoder.matches(PASSWORD, bcryptHash));
+        assertTrue(encoder.upgradeEncoding(bcryptHash));
+
+        String argon2Hash = encoder.encode(PASSWORD);
+        assertTrue(argon2Hash.startsWith("{argon2}"));
+        assertTrue(encoder.matches(PASSWORD, argon2Hash));
+        assertEquals("argon2id", policy.getCalibration().getAlgorithm());
+    }
+
+    private PasswordHashingPolicy policy(String algorithm, int bcryptStrength) {
+        return new PasswordHashingPolicy(algorithm, 100, bcryptStrength, 4, 16, 2, 2, 10, 1024, 1);
+    }
+}
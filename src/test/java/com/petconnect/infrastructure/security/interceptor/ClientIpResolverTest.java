@@ -0,0 +1,57 @@
+package com.petconnect.infrastructure.security.interceptor;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientIpResolverTest {
+
+    private final ClientIpResolver resolver = new ClientIpResolver("10.0.0.0/8, 2001:db8::1");
+
+    @Test
+    void shouldIgnoreProxyHeadersFromUntrustedConnection() {
+        MockHttpServletRequest request = request("198.51.100.23");
+        request.addHeader("X-Forwarded-For", "203.0.113.7");
+        request.addHeader("X-Real-IP", "203.0.113.8");
+
+        assertEquals("198.51.100.23", resolver.resolve(request));
+        assertEquals("198.51.100.23", new ClientIpResolver("").resolve(request));
+    }
+
+    @Test
+    void shouldTakeRightmostUntrustedForwardedAddress() {
+        MockHttpServletRequest request = request("10.0.0.1");
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 203.0.113.195, 10.1.1.1");
+
+        assertEquals("203.0.113.195", resolver.resolve(request));
+    }
+
+    @Test
+    void shouldStopAtInvalidForwardedEntry() {
+        MockHttpServletRequest request = request("10.0.0.1");
+        request.addHeader("X-Forwarded-For", "203.0.113.195, not-an-ip, 10.1.1.1");
+
+        assertEquals("10.1.1.1", resolver.resolve(request));
+    }
+
+    @Test
+    void shouldUseRealIpOnlyFromTrustedProxy() {
+        MockHttpServletRequest request = request("2001:db8::1");
+        request.addHeader("X-Real-IP", "203.0.113.9");
+
+        assertEquals("203.0.113.9", resolver.resolve(request));
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientIpResolver("proxy.local"));
+        assertThrows(IllegalArgumentException.class, () -> new ClientIpResolver("10.0.0.0/33"));
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
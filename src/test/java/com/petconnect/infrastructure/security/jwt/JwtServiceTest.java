@@ -0,0 +1,204 @@
+package com.petconnect.infrastructure.security.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petconnect.domain.security.port.JwtSigningKeyRepositoryPort;
+import com.petconnect.infrastructure.security.cache.CacheStats;
+import com.petconnect.infrastructure.security.encryption.DataEncryptionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtServiceTest {
+
+    private static final String TEST_SECRET = "NDA0RTYzNTI2NjU1NkE1ODZFMzI3MjM1NzUzODc4MkY0MTNGNDQyODQ3MkI0QjYy";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jwtService = new JwtService();
+        setField("secretKey", TEST_SECRET);
+        setField("jwtExpiration", 3_600_000L);
+        setField("refreshExpiration", 7_200_000L);
+
+        userDetails = User.withUsername("test@example.com")
+                .password("irrelevant")
+                .authorities("ROLE_USER")
+                .build();
+    }
+
+    @Test
+    void shouldExtractClaimsFromGeneratedToken() {
+        String token = jwtService.generateTokenWithUserInfo(userDetails, "user-123", "TUTOR");
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertEquals("test@example.com", verified.getSubject());
+        assertEquals("user-123", verified.getClaim("userId", String.class));
+        assertEquals("TUTOR", verified.getClaim("userType", String.class));
+        assertNotNull(verified.getExpiration());
+        assertFalse(verified.isExpired());
+        assertTrue(jwtService.isTokenValid(token, userDetails));
+    }
+
+    @Test
+    void shouldEmbedRolesForStatelessPrincipal() {
+        String token = jwtService.generateTokenWithUserInfo(userDetails, "user-123", "TUTOR");
+
+        TokenUserPrincipal principal = TokenUserPrincipal.from(jwtService.verify(token));
+
+        assertNotNull(principal);
+        assertEquals("test@example.com", principal.getUsername());
+        assertEquals("user-123", principal.getUserId());
+        assertEquals("TUTOR", principal.getUserType());
+        assertTrue(principal.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_USER".equals(authority.getAuthority())));
+    }
+
+    @Test
+    void shouldNotBuildStatelessPrincipalWithoutUserClaims() {
+        String token = jwtService.generateToken(userDetails);
+
+        assertNull(TokenUserPrincipal.from(jwtService.verify(token)));
+    }
+
+    @Test
+    void shouldServeRepeatedVerificationsFromCache() {
+        String token = jwtService.generateToken(userDetails);
+
+        jwtService.extractUsername(token);
+        jwtService.isTokenValid(token, userDetails);
+        jwtService.extractUserId(token);
+
+        CacheStats stats = jwtService.getVerifiedTokenCacheStats();
+        assertEquals(1, stats.getMisses());
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void shouldReturnImmutableClaimsView() {
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken(userDetails));
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> verified.getClaims().put("userType", "ADMIN"));
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        String token = jwtService.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(Exception.class, () -> jwtService.verify(tampered));
+    }
+
+    @Test
+    void shouldNotValidateTokenForDifferentUser() {
+        String token = jwtService.generateToken(userDetails);
+        UserDetails otherUser = User.withUsername("other@example.com")
+                .password("irrelevant")
+                .authorities("ROLE_USER")
+                .build();
+
+        assertFalse(jwtService.isTokenValid(token, otherUser));
+    }
+
+    @Test
+    void shouldIssueUniqueTokenIds() {
+        VerifiedToken first = jwtService.verify(jwtService.generateToken(userDetails));
+        VerifiedToken second = jwtService.verify(jwtService.generateRefreshToken(userDetails));
+
+        assertNotNull(first.getTokenId());
+        assertNotNull(second.getTokenId());
+        assertNotEquals(first.getTokenId(), second.getTokenId());
+    }
+
+    @Test
+    void shouldSignWithRotatingKeyAndStillAcceptLegacyHmacTokens() throws Exception {
+        String legacyToken = jwtService.generateToken(userDetails);
+        JwtSigningKeyRing keyRing = newKeyRing();
+        setField("signingKeyRing", keyRing);
+
+        String token = jwtService.generateToken(userDetails);
+
+        assertEquals(keyRing.getSigningKey().getKeyId(), header(token).get("kid"));
+        assertEquals("RS256", header(token).get("alg"));
+        assertEquals("test@example.com", jwtService.verify(token).getSubject());
+        assertEquals("test@example.com", jwtService.verify(legacyToken).getSubject());
+    }
+
+    @Test
+    void shouldRejectLegacyHmacTokensWhenDisabled() throws Exception {
+        String legacyToken = jwtService.generateToken(userDetails);
+        setField("signingKeyRing", newKeyRing());
+        setField("acceptLegacyHmac", false);
+
+        assertThrows(Exception.class, () -> jwtService.verify(legacyToken));
+    }
+
+    @Test
+    void shouldRejectLegacyHmacTokensAfterCutoverWindow() throws Exception {
+        String legacyToken = jwtService.generateToken(userDetails);
+        // chaveiro ativado há 3h; a vida máxima de token é 2h
+        setField("signingKeyRing", newKeyRing(Clock.offset(Clock.systemUTC(), Duration.ofHours(-3))));
+
+        assertThrows(Exception.class, () -> jwtService.verify(legacyToken));
+    }
+
+    @Test
+    void shouldRejectTokenSignedByUnknownKey() throws Exception {
+        setField("signingKeyRing", newKeyRing());
+        String token = jwtService.generateToken(userDetails);
+
+        JwtService otherIssuer = jwtService;
+        jwtService = new JwtService();
+        setField("secretKey", TEST_SECRET);
+        setField("signingKeyRing", newKeyRing());
+
+        assertThrows(Exception.class, () -> jwtService.verify(token));
+        assertNotNull(otherIssuer.verify(token));
+    }
+
+    private JwtSigningKeyRing newKeyRing() {
+        return newKeyRing(Clock.systemUTC());
+    }
+
+    private JwtSigningKeyRing newKeyRing(Clock clock) {
+        JwtSigningKeyRepositoryPort repository = mock(JwtSigningKeyRepositoryPort.class);
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        DataEncryptionService encryption = mock(DataEncryptionService.class);
+        when(encryption.encryptSensitiveData(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        JwtSigningKeyRing keyRing = new JwtSigningKeyRing(repository, encryption, true, 2048,
+                Duration.ofDays(7), Duration.ofMinutes(10), Duration.ofDays(7), clock);
+        keyRing.initialize();
+        return keyRing;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> header(String token) throws Exception {
+        String json = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        return new ObjectMapper().readValue(json, Map.class);
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        Field field = JwtService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(jwtService, value);
+    }
+}
@@ -0,0 +1,188 @@
+package com.petconnect.infrastructure.security.jwt;
+
+import com.petconnect.domain.security.entity.JwtSigningKey;
+import com.petconnect.domain.security.port.JwtSigningKeyRepositoryPort;
+import com.petconnect.infrastructure.security.encryption.DataEncryptionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtSigningKeyRingTest {
+
+    private static final Duration ROTATION = Duration.ofHours(24);
+    private static final Duration ACTIVATION_DELAY = Duration.ofMinutes(10);
+    private static final Duration MAX_LIFETIME = Duration.ofHours(2);
+
+    @Mock
+    private JwtSigningKeyRepositoryPort signingKeyRepository;
+
+    @Mock
+    private DataEncryptionService dataEncryptionService;
+
+    private final List<JwtSigningKey> stored = new ArrayList<>();
+    private MutableClock clock;
+    private JwtSigningKeyRing keyRing;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        lenient().when(dataEncryptionService.encryptSensitiveData(anyString())).thenAnswer(inv -> inv.getArgument(0));
+        lenient().when(dataEncryptionService.decryptSensitiveData(anyString())).thenAnswer(inv -> inv.getArgument(0));
+        lenient().when(signingKeyRepository.save(any())).thenAnswer(inv -> {
+            stored.add(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+        lenient().when(signingKeyRepository.findUnexpired(any())).thenAnswer(inv -> {
+            LocalDateTime now = inv.getArgument(0);
+            return stored.stream().filter(key -> key.getExpiresAt().isAfter(now)).toList();
+        });
+        keyRing = newKeyRing();
+    }
+
+    @Test
+    void shouldCreateActiveKeyOnFirstStart() {
+        keyRing.initialize();
+
+        JwtSigningKeyRing.SigningKey signingKey = keyRing.getSigningKey();
+        assertNotNull(signingKey);
+        assertEquals(1, stored.size());
+        assertEquals(signingKey.getKeyId(), stored.get(0).getKeyId());
+        assertEquals("RS256", stored.get(0).getAlgorithm());
+        assertEquals(signingKey.getPublicKey(), keyRing.getVerificationKey(signingKey.getKeyId()));
+    }
+
+    @Test
+    void shouldPublishNewKeyBeforeSigningWithIt() {
+        keyRing.initialize();
+        String firstKeyId = keyRing.getSigningKey().getKeyId();
+        String firstVersion = keyRing.getJwksVersion();
+
+        clock.advance(ROTATION);
+        keyRing.refresh();
+
+        assertEquals(2, jwks().size());
+        assertNotEquals(firstVersion, keyRing.getJwksVersion());
+        assertEquals(firstKeyId, keyRing.getSigningKey().getKeyId());
+
+        clock.advance(ACTIVATION_DELAY);
+        assertNotEquals(firstKeyId, keyRing.getSigningKey().getKeyId());
+        assertNotNull(keyRing.getVerificationKey(firstKeyId));
+    }
+
+    @Test
+    void shouldDropRetiredKeyAfterLastTokenExpires() {
+        keyRing.initialize();
+        String firstKeyId = keyRing.getSigningKey().getKeyId();
+        Instant firstActivation = keyRing.getEarliestActivation();
+        assertEquals(clock.instant(), firstActivation);
+
+        clock.advance(ROTATION);
+        keyRing.refresh();
+        clock.advance(ROTATION.plus(MAX_LIFETIME).plus(ACTIVATION_DELAY));
+        keyRing.refresh();
+
+        assertTrue(jwks().stream().noneMatch(jwk -> firstKeyId.equals(jwk.get("kid"))));
+        assertTrue(keyRing.getEarliestActivation().isAfter(firstActivation));
+        verify(signingKeyRepository, atLeastOnce()).deleteExpired(any());
+    }
+
+    @Test
+    void shouldLoadKeysCreatedByAnotherInstance() {
+        keyRing.initialize();
+        JwtSigningKeyRing other = newKeyRing();
+
+        other.initialize();
+
+        assertEquals(1, stored.size());
+        assertEquals(keyRing.getSigningKey().getKeyId(), other.getSigningKey().getKeyId());
+        assertEquals(keyRing.getJwksVersion(), other.getJwksVersion());
+    }
+
+    @Test
+    void shouldKeepSigningWithLocalKeyWhenDatabaseIsDown() {
+        doThrow(new RuntimeException("db down")).when(signingKeyRepository).findUnexpired(any());
+        doThrow(new RuntimeException("db down")).when(signingKeyRepository).save(any());
+
+        keyRing.initialize();
+
+        JwtSigningKeyRing.SigningKey signingKey = keyRing.getSigningKey();
+        assertNotNull(signingKey);
+        assertNotNull(keyRing.getVerificationKey(signingKey.getKeyId()));
+        assertEquals(1, keyRing.getMetrics().getLocalKeys());
+    }
+
+    @Test
+    void shouldExposeRsaJwkWithThumbprintKid() {
+        keyRing.initialize();
+
+        Map<String, Object> jwk = jwks().get(0);
+        assertEquals("RSA", jwk.get("kty"));
+        assertEquals("sig", jwk.get("use"));
+        assertEquals("RS256", jwk.get("alg"));
+        assertEquals("AQAB", jwk.get("e"));
+        assertEquals(43, ((String) jwk.get("kid")).length());
+        assertFalse(jwk.containsKey("d"));
+    }
+
+    @Test
+    void shouldNotCreateKeysWhenDisabled() {
+        JwtSigningKeyRing disabled = new JwtSigningKeyRing(signingKeyRepository, dataEncryptionService, false,
+                2048, ROTATION, ACTIVATION_DELAY, MAX_LIFETIME, clock);
+
+        disabled.initialize();
+        disabled.refresh();
+
+        assertNull(disabled.getSigningKey());
+        verifyNoInteractions(signingKeyRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> jwks() {
+        return (List<Map<String, Object>>) keyRing.getJwks().get("keys");
+    }
+
+    private JwtSigningKeyRing newKeyRing() {
+        return new JwtSigningKeyRing(signingKeyRepository, dataEncryptionService, true,
+                2048, ROTATION, ACTIVATION_DELAY, MAX_LIFETIME, clock);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.petconnect.infrastructure.security.jwt;
+
+import com.petconnect.domain.security.entity.RefreshToken;
+import com.petconnect.domain.security.port.RefreshTokenRepositoryPort;
+import com.petconnect.exception.UnauthorizedException;
+import com.petconnect.domain.user.entity.UserType;
+import com.petconnect.infrastructure.security.audit.SecurityAuditService;
+import com.petconnect.infrastructure.security.service.CustomUserDetailsService;
+import com.petconnect.infrastructure.security.service.CustomUserDetailsService.CustomUserPrincipal;
+import com.petconnect.infrastructure.security.service.UserSecurityEpochService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final String TEST_SECRET = "NDA0RTYzNTI2NjU1NkE1ODZFMzI3MjM1NzUzODc4MkY0MTNGNDQyODQ3MkI0QjYy";
+    private static final String USER_ID = UUID.randomUUID().toString();
+
+    @Mock
+    private RefreshTokenRepositoryPort refreshTokenRepository;
+
+    @Mock
+    private UserSecurityEpochService securityEpochService;
+
+    @Mock
+    private SecurityAuditService securityAuditService;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    private JwtService jwtService;
+    private RefreshTokenService refreshTokenService;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jwtService = new JwtService();
+        setField("secretKey", TEST_SECRET);
+        setField("jwtExpiration", 3_600_000L);
+        setField("refreshExpiration", 7_200_000L);
+        refreshTokenService = new RefreshTokenService(jwtService, refreshTokenRepository,
+                securityEpochService, securityAuditService, userDetailsService);
+
+        userDetails = User.withUsername("test@example.com")
+                .password("irrelevant")
+                .authorities("ROLE_USER", "ROLE_TUTOR")
+                .build();
+    }
+
+    @Test
+    void shouldPersistOnlyHashOfTokenIdOnIssue() {
+        String refreshToken = refreshTokenService.issue(userDetails, USER_ID, "TUTOR");
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken stored = captor.getValue();
+        String tokenId = jwtService.verify(refreshToken).getTokenId();
+
+        assertEquals(64, stored.getTokenHash().length());
+        assertNotEquals(tokenId, stored.getTokenHash());
+        assertNotNull(stored.getFamilyId());
+        assertEquals(USER_ID, stored.getUserId());
+        assertEquals("test@example.com", stored.getUserIdentifier());
+    }
+
+    @Test
+    void shouldRotateWithRolesAndTypeOfCurrentUser() {
+        String refreshToken = refreshTokenService.issue(userDetails, USER_ID, "TUTOR");
+        when(securityEpochService.isTokenCurrent(eq(USER_ID), any())).thenReturn(true);
+        when(userDetailsService.loadUserByUsername("test@example.com"))
+                .thenReturn(currentUser(UserType.ADMIN, true, USER_ID));
+        when(refreshTokenRepository.rotate(anyString(), anyString(), any(), any()))
+                .thenReturn(Optional.of(RefreshToken.builder().familyId(UUID.randomUUID()).build()));
+
+        RefreshTokenRotation rotation = refreshTokenService.rotate(refreshToken);
+
+        assertNotEquals(refreshToken, rotation.getRefreshToken());
+        assertEquals("test@example.com", rotation.getPrincipal().getUsername());
+        assertEquals(USER_ID, rotation.getPrincipal().getUserId());
+        VerifiedToken access = jwtService.verify(rotation.getAccessToken());
+        assertFalse(jwtService.isRefreshToken(access));
+        assertEquals("ADMIN", access.getClaim(JwtService.CLAIM_USER_TYPE, String.class));
+        assertTrue(rotation.getPrincipal().getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority())));
+        assertTrue(jwtService.isRefreshToken(jwtService.verify(rotation.getRefreshToken())));
+        verify(refreshTokenRepository, never()).findByTokenHash(anyString());
+    }
+
+    @Test
+    void shouldRevokeFamilyWhenConsumedTokenIsReused() {
+        String refreshToken = refreshTokenService.issue(userDetails, USER_ID, "TUTOR");
+        UUID familyId = UUID.randomUUID();
+        when(securityEpochService.isTokenCurrent(eq(USER_ID), any())).thenReturn(true);
+        when(userDetailsService.loadUserByUsername("test@example.com"))
+                .thenReturn(currentUser(UserType.TUTOR, true, USER_ID));
+        when(refreshTokenRepository.rotate(anyString(), anyString(), any(), any())).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(RefreshToken.builder()
+                .familyId(familyId)
+                .usedAt(LocalDateTime.now().minusMinutes(1))
+                .build()));
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(refreshToken));
+
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any());
+        verify(securityAuditService).recordSecurityViolation(eq("REFRESH_TOKEN_REUSE"), anyString());
+    }
+
+    @Test
+    void shouldRejectUnknownTokenWithoutRevokingAnything() {
+        String refreshToken = refreshTokenService.issue(userDetails, USER_ID, "TUTOR");
+        when(securityEpochService.isTokenCurrent(eq(USER_ID), any())).thenReturn(true);
+        when(userDetailsService.loadUserByUsername("test@example.com"))
+                .thenReturn(currentUser(UserType.TUTOR, true, USER_ID));
+        when(refreshTokenRepository.rotate(anyString(), anyString(), any(), any())).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(refreshToken));
+
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void shouldRejectAccessTokenPresentedAsRefreshToken() {
+        String accessToken = jwtService.generateTokenWithUserInfo(userDetails, USER_ID, "TUTOR");
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(accessToken));
+
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    void shouldRejectTokenIssuedBeforeSecurityEpoch() {
+        String refreshToken = refreshTokenService.issue(userDetails, USER_ID, "TUTOR");
+        when(securityEpochService.isTokenCurrent(eq(USER_ID), any())).thenReturn(false);
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(refreshToken));
+
+        verify(refreshTokenRepository, never()).rotate(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void shouldRejectRefreshOfDeletedUser() {
+        String refreshToken = refreshTokenService.issue(userDetails, USER_ID, "TUTOR");
+        when(securityEpochService.isTokenCurrent(eq(USER_ID), any())).thenReturn(true);
+        when(userDetailsService.loadUserByUsername("test@example.com"))
+                .thenThrow(new UsernameNotFoundException("removido"));
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(refreshToken));
+
+        verify(refreshTokenRepository, never()).rotate(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void shouldRejectRefreshOfInactiveOrReplacedUser() {
+        String refreshToken = refreshTokenService.issue(userDetails, USER_ID, "TUTOR");
+        when(securityEpochService.isTokenCurrent(eq(USER_ID), any())).thenReturn(true);
+        when(userDetailsService.loadUserByUsername("test@example.com"))
+                .thenReturn(currentUser(UserType.TUTOR, false, USER_ID))
+                .thenReturn(currentUser(UserType.TUTOR, true, UUID.randomUUID().toString()));
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(refreshToken));
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(refreshToken));
+
+        verify(refreshTokenRepository, never()).rotate(anyString(), anyString(), any(), any());
+    }
+
+    private static CustomUserPrincipal currentUser(UserType userType, boolean active, String userId) {
+        return new CustomUserPrincipal(com.petconnect.domain.user.entity.User.builder()
+                .id(UUID.fromString(userId))
+                .email("test@example.com")
+                .userType(userType)
+                .active(active)
+                .roles(Set.of("USER"))
+                .build());
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        Field field = JwtService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(jwtService, value);
+    }
+}
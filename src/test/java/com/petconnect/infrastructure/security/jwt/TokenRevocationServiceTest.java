@@ -0,0 +1,137 @@
+package com.petconnect.infrastructure.security.jwt;
+
+import com.petconnect.domain.security.entity.RevokedToken;
+import com.petconnect.domain.security.port.RevokedTokenRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final String USER = "test@example.com";
+
+    @Mock
+    private RevokedTokenRepositoryPort revokedTokenRepository;
+
+    private MutableClock clock;
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        revocationService = new TokenRevocationService(revokedTokenRepository, 1000, 0.01, clock);
+    }
+
+    @Test
+    void shouldRejectRevokedTokenWithoutDatabaseLookup() {
+        assertTrue(revocationService.revoke("jti-1", USER, clock.instant().plus(Duration.ofHours(1)), "LOGOUT"));
+
+        assertTrue(revocationService.isRevoked("jti-1"));
+        assertFalse(revocationService.isRevoked("jti-2"));
+        assertFalse(revocationService.isRevoked(null));
+        verify(revokedTokenRepository, times(1)).save(argThat(token ->
+                "jti-1".equals(token.getTokenId()) && USER.equals(token.getUserIdentifier())));
+        verify(revokedTokenRepository, never()).findActiveRevokedSince(any(), any());
+    }
+
+    @Test
+    void shouldIgnoreTokensWithoutIdOrAlreadyExpired() {
+        assertFalse(revocationService.revoke(null, USER, clock.instant().plusSeconds(60), "LOGOUT"));
+        assertFalse(revocationService.revoke("jti-1", USER, clock.instant().minusSeconds(1), "LOGOUT"));
+
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void shouldLoadRevocationsFromOtherInstancesOnSync() {
+        RevokedToken remote = RevokedToken.builder()
+                .tokenId("remote-jti")
+                .userIdentifier(USER)
+                .expiresAt(LocalDateTime.now(clock).plusHours(1))
+                .revokedAt(LocalDateTime.now(clock))
+                .build();
+        when(revokedTokenRepository.findActiveRevokedSince(any(), any())).thenReturn(List.of(remote));
+
+        revocationService.sync();
+
+        assertTrue(revocationService.isRevoked("remote-jti"));
+        assertNotNull(revocationService.getMetrics().getLastSync());
+    }
+
+    @Test
+    void shouldReadOnlyRecentRevocationsAfterFirstSync() {
+        when(revokedTokenRepository.findActiveRevokedSince(any(), any())).thenReturn(List.of());
+        revocationService.sync();
+        LocalDateTime firstSync = LocalDateTime.now(clock);
+
+        clock.advance(Duration.ofMinutes(5));
+        revocationService.sync();
+
+        verify(revokedTokenRepository).findActiveRevokedSince(eq(firstSync.minusMinutes(1)), any());
+    }
+
+    @Test
+    void shouldPruneExpiredTokensAndRebuildFilter() {
+        revocationService.revoke("short", USER, clock.instant().plus(Duration.ofMinutes(5)), "LOGOUT");
+        revocationService.revoke("long", USER, clock.instant().plus(Duration.ofHours(2)), "LOGOUT");
+        when(revokedTokenRepository.findActiveRevokedSince(any(), any())).thenReturn(List.of());
+
+        clock.advance(Duration.ofMinutes(10));
+        revocationService.sync();
+
+        assertEquals(1, revocationService.getMetrics().getRevokedTokens());
+        assertFalse(revocationService.isRevoked("short"));
+        assertTrue(revocationService.isRevoked("long"));
+        verify(revokedTokenRepository).deleteExpired(any());
+    }
+
+    @Test
+    void shouldKeepServingLocalStateWhenSyncFails() {
+        revocationService.revoke("jti-1", USER, clock.instant().plus(Duration.ofHours(1)), "LOGOUT");
+        when(revokedTokenRepository.findActiveRevokedSince(any(), any()))
+                .thenThrow(new IllegalStateException("db down"));
+
+        revocationService.sync();
+
+        assertTrue(revocationService.isRevoked("jti-1"));
+        assertNull(revocationService.getMetrics().getLastSync());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.petconnect.infrastructure.security.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestRateLimiterTest {
+
+    private static final String IP = "10.0.0.1";
+
+    private final AtomicLong nanos = new AtomicLong(1_000L);
+    private RequestRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        // auth: 60/min (1 por segundo) com rajada de 3
+        limiter = new RequestRateLimiter(true,
+                RequestRateLimiter.RouteLimit.of("auth", "/api/auth", 60, 3),
+                RequestRateLimiter.RouteLimit.of("tutor", "/api/tutor", 600, 10),
+                null,
+                2, Duration.ofMinutes(10), nanos::get);
+    }
+
+    @Test
+    void shouldAllowBurstThenRejectWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(RequestRateLimiter.ALLOWED, limiter.tryAcquire("/api/auth/login", IP));
+        }
+
+        long waitNanos = limiter.tryAcquire("/api/auth/login", IP);
+
+        assertTrue(waitNanos > 0);
+        assertEquals(1, RequestRateLimiter.toRetryAfterSeconds(waitNanos));
+        assertEquals(1, limiter.getMetrics().getRejectedRequests());
+    }
+
+    @Test
+    void shouldRefillAtConfiguredRate() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("/api/auth/login", IP);
+        }
+        assertNotEquals(RequestRateLimiter.ALLOWED, limiter.tryAcquire("/api/auth/login", IP));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(RequestRateLimiter.ALLOWED, limiter.tryAcquire("/api/auth/login", IP));
+        assertNotEquals(RequestRateLimiter.ALLOWED, limiter.tryAcquire("/api/auth/login", IP));
+    }
+
+    @Test
+    void shouldKeepSeparateBucketsPerIpAndRouteGroup() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("/api/auth/login", IP);
+        }
+
+        assertNotEquals(RequestRateLimiter.ALLOWED, limiter.tryAcquire("/api/auth", IP));
+        assertEquals(RequestRateLimiter.ALLOWED, limiter.tryAcquire("/api/auth/login", "10.0.0.2"));
+        assertEquals(RequestRateLimiter.ALLOWED, limiter.tryAcquire("/api/tutor/pets", IP));
+    }
+
+    @Test
+    void shouldIgnoreRoutesOutsideLimitedGroups() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(RequestRateLimiter.ALLOWED, limiter.tryAcquire("/api/admin/users", IP));
+            assertEquals(RequestRateLimiter.ALLOWED, limiter.tryAcquire("/api/authx/login", IP));
+            assertEquals(RequestRateLimiter.ALLOWED, limiter.tryAcquire("/actuator/health", IP));
+        }
+        assertEquals(0, limiter.getMetrics().getTrackedBuckets());
+    }
+
+    @Test
+    void shouldShareOverflowBucketForNewIpsWhenMapIsFull() {
+        limiter.tryAcquire("/api/auth/login", "10.0.0.1");
+        limiter.tryAcquire("/api/auth/login", "10.0.0.2");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(RequestRateLimiter.ALLOWED, limiter.tryAcquire("/api/auth/login", "10.0.1." + i));
+        }
+        for (int i = 3; i < 10; i++) {
+            assertNotEquals(RequestRateLimiter.ALLOWED, limiter.tryAcquire("/api/auth/login", "10.0.1." + i));
+        }
+
+        assertEquals(2, limiter.getMetrics().getTrackedBuckets());
+        assertEquals(10, limiter.getMetrics().getOverflowRequests());
+        assertEquals(7, limiter.getMetrics().getRejectedRequests());
+    }
+
+    @Test
+    void shouldEvictIdleBucketsInlineWhenMapIsFull() {
+        limiter.tryAcquire("/api/auth/login", "10.0.0.1");
+        limiter.tryAcquire("/api/auth/login", "10.0.0.2");
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        limiter.tryAcquire("/api/auth/login", "10.0.1.1");
+
+        assertEquals(1, limiter.getMetrics().getTrackedBuckets());
+        assertEquals(2, limiter.getMetrics().getEvictedBuckets());
+        assertEquals(0, limiter.getMetrics().getOverflowRequests());
+    }
+
+    @Test
+    void shouldSweepFullMapAtMostOncePerSecond() {
+        limiter.tryAcquire("/api/auth/login", "10.0.0.1");
+        limiter.tryAcquire("/api/auth/login", "10.0.0.2");
+
+        // ainda não ociosos: a varredura não libera espaço e o IP novo vai para o overflow
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(10) + TimeUnit.MILLISECONDS.toNanos(500));
+        limiter.tryAcquire("/api/auth/login", "10.0.1.1");
+
+        // já ociosos, mas a última varredura foi há menos de um segundo
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(700));
+        limiter.tryAcquire("/api/auth/login", "10.0.1.2");
+        assertEquals(0, limiter.getMetrics().getEvictedBuckets());
+        assertEquals(2, limiter.getMetrics().getOverflowRequests());
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        limiter.tryAcquire("/api/auth/login", "10.0.1.3");
+        assertEquals(2, limiter.getMetrics().getEvictedBuckets());
+        assertEquals(2, limiter.getMetrics().getOverflowRequests());
+        assertEquals(1, limiter.getMetrics().getTrackedBuckets());
+    }
+
+    @Test
+    void shouldKeepLimitingTrackedIpsWhenMapIsFull() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("/api/auth/login", "10.0.0.1");
+        }
+        limiter.tryAcquire("/api/auth/login", "10.0.0.2");
+        limiter.tryAcquire("/api/auth/login", "10.0.1.1");
+
+        assertNotEquals(RequestRateLimiter.ALLOWED, limiter.tryAcquire("/api/auth/login", "10.0.0.1"));
+    }
+
+    @Test
+    void shouldEvictIdleBuckets() {
+        limiter.tryAcquire("/api/auth/login", IP);
+        limiter.tryAcquire("/api/tutor/pets", IP);
+
+        limiter.evictIdleBuckets();
+        assertEquals(2, limiter.getMetrics().getTrackedBuckets());
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        limiter.evictIdleBuckets();
+
+        assertEquals(0, limiter.getMetrics().getTrackedBuckets());
+        assertEquals(2, limiter.getMetrics().getEvictedBuckets());
+    }
+
+    @Test
+    void shouldNeverGrantMoreThanBurstUnderContention() throws Exception {
+        int threads = 8;
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire("/api/auth/login", IP) == RequestRateLimiter.ALLOWED) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(3, granted.get());
+    }
+
+    @Test
+    void shouldAllowEverythingWhenDisabled() {
+        RequestRateLimiter disabled = new RequestRateLimiter(false,
+                RequestRateLimiter.RouteLimit.of("auth", "/api/auth", 1, 1), null, null,
+                10, Duration.ofMinutes(10), nanos::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(RequestRateLimiter.ALLOWED, disabled.tryAcquire("/api/auth/login", IP));
+        }
+    }
+}
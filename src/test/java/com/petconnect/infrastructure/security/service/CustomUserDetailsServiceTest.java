@@ -0,0 +1,91 @@
+package com.petconnect.infrastructure.security.service;
+
+import com.petconnect.domain.user.entity.User;
+import com.petconnect.domain.user.entity.UserType;
+import com.petconnect.domain.user.event.UserChangedEvent;
+import com.petconnect.domain.user.port.UserRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepositoryPort userRepository;
+
+    @InjectMocks
+    private CustomUserDetailsService userDetailsService;
+
+    private static final String TEST_EMAIL = "test@example.com";
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .id(UUID.randomUUID())
+                .email(TEST_EMAIL)
+                .password("$2a$10$hashedPassword")
+                .userType(UserType.TUTOR)
+                .active(true)
+                .roles(Set.of("USER", "TUTOR"))
+                .build();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+
+        UserDetails first = userDetailsService.loadUserByUsername(TEST_EMAIL);
+        UserDetails second = userDetailsService.loadUserByUsername(TEST_EMAIL);
+
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByEmail(TEST_EMAIL);
+        assertEquals(1, userDetailsService.getPrincipalCacheStats().getHits());
+    }
+
+    @Test
+    void shouldEvictPrincipalWhenUserChanges() {
+        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+        userDetailsService.loadUserByUsername(TEST_EMAIL);
+
+        userDetailsService.onUserChanged(new UserChangedEvent(testUser.getId(), null));
+        userDetailsService.loadUserByUsername(TEST_EMAIL);
+
+        verify(userRepository, times(2)).findByEmail(TEST_EMAIL);
+    }
+
+    @Test
+    void shouldPersistRehashedPasswordForLoadedPrincipal() {
+        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+        UserDetails principal = userDetailsService.loadUserByUsername(TEST_EMAIL);
+
+        UserDetails updated = userDetailsService.updatePassword(principal, "{bcrypt}$2a$12$upgradedHash");
+
+        verify(userRepository).updatePassword(testUser.getId(), "{bcrypt}$2a$12$upgradedHash");
+        assertEquals("{bcrypt}$2a$12$upgradedHash", updated.getPassword());
+    }
+
+    @Test
+    void shouldNotCacheMissingUsers() {
+        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername(TEST_EMAIL));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername(TEST_EMAIL));
+
+        verify(userRepository, times(2)).findByEmail(TEST_EMAIL);
+    }
+}
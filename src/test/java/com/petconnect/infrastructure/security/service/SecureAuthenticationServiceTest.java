@@ -1,8 +1,18 @@
 package com.petconnect.infrastructure.security.service;
 
+import com.petconnect.domain.user.entity.User;
+import com.petconnect.domain.user.entity.UserType;
+import com.petconnect.infrastructure.security.audit.CredentialStuffingDetector;
 import com.petconnect.infrastructure.security.audit.SecurityAuditService;
 import com.petconnect.infrastructure.security.encryption.DataEncryptionService;
+import com.petconnect.exception.UnauthorizedException;
 import com.petconnect.infrastructure.security.jwt.JwtService;
+import com.petconnect.infrastructure.security.jwt.RefreshTokenRotation;
+import com.petconnect.infrastructure.security.jwt.RefreshTokenService;
+import com.petconnect.infrastructure.security.jwt.TokenRevocationService;
+import com.petconnect.infrastructure.security.jwt.TokenUserPrincipal;
+import com.petconnect.infrastructure.security.jwt.VerifiedToken;
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,12 +22,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -43,6 +59,15 @@ class SecureAuthenticationServiceTest {
     @Mock
     private DataEncryptionService dataEncryptionService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private CredentialStuffingDetector credentialStuffingDetector;
+
     @InjectMocks
     private SecureAuthenticationService secureAuthenticationService;
 
@@ -72,7 +97,7 @@ class SecureAuthenticationServiceTest {
         when(authentication.getPrincipal()).thenReturn(userDetails);
         when(userDetails.getUsername()).thenReturn(TEST_EMAIL);
         when(jwtService.generateTokenWithUserInfo(any(), anyString(), anyString())).thenReturn(TEST_TOKEN);
-        when(jwtService.generateRefreshToken(any())).thenReturn("refresh-token");
+        when(refreshTokenService.issue(userDetails, TEST_EMAIL, "USER")).thenReturn("refresh-token");
         when(dataEncryptionService.maskSensitiveData(anyString(), anyInt())).thenReturn("te*@***.com");
 
         SecureAuthenticationService.AuthenticationResult result = 
@@ -84,6 +109,40 @@ class SecureAuthenticationServiceTest {
         verify(securityAuditService).recordLoginAttempt(TEST_EMAIL, true);
     }
 
+    @Test
+    void shouldVerifyPasswordOnlyOncePerLogin() {
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email(TEST_EMAIL)
+                .password("$2a$10$hashedPassword")
+                .userType(UserType.TUTOR)
+                .active(true)
+                .roles(Set.of("USER", "TUTOR"))
+                .build();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        SecureAuthenticationService service = new SecureAuthenticationService(
+                new ProviderManager(provider), userDetailsService, passwordEncoder,
+                jwtService, securityAuditService, dataEncryptionService, tokenRevocationService,
+                refreshTokenService, credentialStuffingDetector);
+
+        when(userDetailsService.loadUserByUsername(TEST_EMAIL))
+                .thenReturn(new CustomUserDetailsService.CustomUserPrincipal(user));
+        when(passwordEncoder.matches(TEST_PASSWORD, user.getPassword())).thenReturn(true);
+        when(securityAuditService.isUserBlocked(TEST_EMAIL)).thenReturn(false);
+        when(securityAuditService.canAttemptLogin(TEST_EMAIL)).thenReturn(true);
+        when(jwtService.generateTokenWithUserInfo(any(), anyString(), anyString())).thenReturn(TEST_TOKEN);
+
+        SecureAuthenticationService.AuthenticationResult result =
+            service.authenticateUser(TEST_EMAIL, TEST_PASSWORD, TEST_IP);
+
+        assertTrue(result.isSuccess());
+        assertSame(user, result.getUser());
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+        verify(userDetailsService, times(1)).loadUserByUsername(TEST_EMAIL);
+    }
+
     @Test
     void shouldFailWhenUserIsBlocked() {
         when(securityAuditService.isUserBlocked(TEST_EMAIL)).thenReturn(true);
@@ -126,6 +185,35 @@ class SecureAuthenticationServiceTest {
         verify(securityAuditService).recordLoginAttempt(TEST_EMAIL, false);
     }
 
+    @Test
+    void shouldFailWhenIpIsBlockedForCredentialStuffing() {
+        when(credentialStuffingDetector.isBlocked(TEST_IP)).thenReturn(true);
+
+        SecureAuthenticationService.AuthenticationResult result = 
+            secureAuthenticationService.authenticateUser(TEST_EMAIL, TEST_PASSWORD, TEST_IP);
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getErrorMessage().contains("Muitas tentativas"));
+        verify(authenticationManager, never()).authenticate(any());
+        verify(securityAuditService, never()).isUserBlocked(any());
+    }
+
+    @Test
+    void shouldRecordViolationWhenFailureTripsCredentialStuffingDetector() {
+        when(securityAuditService.isUserBlocked(TEST_EMAIL)).thenReturn(false);
+        when(securityAuditService.canAttemptLogin(TEST_EMAIL)).thenReturn(true);
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Invalid credentials"));
+        when(credentialStuffingDetector.recordFailure(TEST_IP, TEST_EMAIL)).thenReturn(true);
+
+        SecureAuthenticationService.AuthenticationResult result = 
+            secureAuthenticationService.authenticateUser(TEST_EMAIL, TEST_PASSWORD, TEST_IP);
+
+        assertFalse(result.isSuccess());
+        verify(securityAuditService).recordLoginAttempt(TEST_EMAIL, false);
+        verify(securityAuditService).recordSecurityViolation(eq("CREDENTIAL_STUFFING"), contains(TEST_IP));
+    }
+
     @Test
     void shouldHandleDisabledException() {
         when(securityAuditService.isUserBlocked(TEST_EMAIL)).thenReturn(false);
@@ -195,11 +283,10 @@ class SecureAuthenticationServiceTest {
     @Test
     void shouldRefreshTokenSuccessfully() {
         String refreshToken = "valid-refresh-token";
-        when(jwtService.isTokenValid(refreshToken, null)).thenReturn(true);
-        when(jwtService.extractUsername(refreshToken)).thenReturn(TEST_EMAIL);
-        when(userDetailsService.loadUserByUsername(TEST_EMAIL)).thenReturn(userDetails);
-        when(jwtService.generateTokenWithUserInfo(any(), anyString(), anyString())).thenReturn("new-access-token");
-        when(jwtService.generateRefreshToken(any())).thenReturn("new-refresh-token");
+        TokenUserPrincipal principal = mock(TokenUserPrincipal.class);
+        when(principal.getUsername()).thenReturn(TEST_EMAIL);
+        when(refreshTokenService.rotate(refreshToken))
+                .thenReturn(new RefreshTokenRotation(principal, "new-access-token", "new-refresh-token"));
 
         SecureAuthenticationService.AuthenticationResult result = 
             secureAuthenticationService.refreshToken(refreshToken);
@@ -207,12 +294,14 @@ class SecureAuthenticationServiceTest {
         assertTrue(result.isSuccess());
         assertEquals("new-access-token", result.getAccessToken());
         assertEquals("new-refresh-token", result.getRefreshToken());
+        assertSame(principal, result.getPrincipal());
+        verifyNoInteractions(userDetailsService);
     }
 
     @Test
     void shouldFailRefreshTokenWithInvalidToken() {
         String invalidToken = "invalid-token";
-        when(jwtService.isTokenValid(invalidToken, null)).thenReturn(false);
+        when(refreshTokenService.rotate(invalidToken)).thenThrow(new UnauthorizedException("Token de refresh inválido"));
 
         SecureAuthenticationService.AuthenticationResult result = 
             secureAuthenticationService.refreshToken(invalidToken);
@@ -260,4 +349,27 @@ class SecureAuthenticationServiceTest {
         assertFalse(result2.isSuccess());
         assertFalse(result3.isSuccess());
     }
+
+    @Test
+    void shouldRevokeAccessTokenOnLogout() {
+        VerifiedToken token = mock(VerifiedToken.class);
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        when(token.getTokenId()).thenReturn("jti-1");
+        when(token.getSubject()).thenReturn(TEST_EMAIL);
+        when(token.getExpiration()).thenReturn(expiresAt);
+        when(jwtService.verify(TEST_TOKEN)).thenReturn(token);
+        when(tokenRevocationService.revoke("jti-1", TEST_EMAIL, expiresAt, "LOGOUT")).thenReturn(true);
+
+        assertTrue(secureAuthenticationService.logout(TEST_TOKEN));
+        verify(securityAuditService).recordLogout(TEST_EMAIL);
+    }
+
+    @Test
+    void shouldRejectLogoutWithInvalidToken() {
+        when(jwtService.verify("invalid")).thenThrow(new MalformedJwtException("invalid"));
+
+        assertFalse(secureAuthenticationService.logout("invalid"));
+        verifyNoInteractions(tokenRevocationService);
+        verify(securityAuditService, never()).recordLogout(anyString());
+    }
 }
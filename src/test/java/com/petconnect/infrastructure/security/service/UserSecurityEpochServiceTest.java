@@ -0,0 +1,59 @@
+package com.petconnect.infrastructure.security.service;
+
+import com.petconnect.domain.user.port.UserRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSecurityEpochServiceTest {
+
+    @Mock
+    private UserRepositoryPort userRepository;
+
+    @InjectMocks
+    private UserSecurityEpochService securityEpochService;
+
+    @Test
+    void shouldAcceptTokensForUsersWithoutEpoch() {
+        assertTrue(securityEpochService.isTokenCurrent(UUID.randomUUID().toString(), Instant.now()));
+    }
+
+    @Test
+    void shouldRejectTokensIssuedBeforeBump() {
+        UUID userId = UUID.randomUUID();
+        Instant issuedAt = Instant.now().minusSeconds(60);
+
+        securityEpochService.bump(userId);
+
+        assertFalse(securityEpochService.isTokenCurrent(userId.toString(), issuedAt));
+        assertTrue(securityEpochService.isTokenCurrent(userId.toString(), Instant.now().plusSeconds(1)));
+        verify(userRepository).updateSecurityEpoch(eq(userId), anyLong());
+    }
+
+    @Test
+    void shouldLoadPersistedEpochsOnRefresh() {
+        UUID userId = UUID.randomUUID();
+        long epoch = Instant.now().toEpochMilli();
+        when(userRepository.findSecurityEpochs()).thenReturn(Map.of(userId, epoch));
+
+        securityEpochService.refresh();
+
+        assertFalse(securityEpochService.isTokenCurrent(userId.toString(), Instant.ofEpochMilli(epoch - 1000)));
+    }
+
+    @Test
+    void shouldRejectTokensWithoutIssuedAt() {
+        assertFalse(securityEpochService.isTokenCurrent(UUID.randomUUID().toString(), null));
+    }
+}
@@ -9,7 +9,7 @@ public class TemporaryTest {
     @Test
     void testEmailValidation() {
         SecureAuthenticationService service = new SecureAuthenticationService(
-            null, null, null, null, null, null
+            null, null, null, null, null, null, null, null, null
         );
         
         System.out.println("Testing email validation:");